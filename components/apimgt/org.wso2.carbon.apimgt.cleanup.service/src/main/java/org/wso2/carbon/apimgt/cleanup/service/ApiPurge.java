@@ -40,6 +40,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.wso2.carbon.apimgt.persistence.utils.PersistenceUtil.handleException;
 
@@ -56,7 +57,7 @@ public class ApiPurge implements OrganizationPurge {
     private final ArtifactSaver artifactSaver;
     private final OrganizationPurgeDAO organizationPurgeDAO;
     private final GatewayArtifactsMgtDAO gatewayArtifactsMgtDAO;
-    LinkedHashMap<String, String> apiPurgeTaskMap = new LinkedHashMap<>();
+    private final OrganizationPurgeExecutor purgeExecutor = new OrganizationPurgeExecutor("API purge");
     APIPersistence apiPersistenceInstance;
     private static final Log log = LogFactory.getLog(ApiPurge.class);
 
@@ -65,7 +66,6 @@ public class ApiPurge implements OrganizationPurge {
         this.gatewayArtifactsMgtDAO = GatewayArtifactsMgtDAO.getInstance();
         organizationPurgeDAO = OrganizationPurgeDAO.getInstance();
         setupPersistenceManager();
-        initTaskList();
     }
 
     public ApiPurge(APIPersistence apiPersistence) {
@@ -73,7 +73,8 @@ public class ApiPurge implements OrganizationPurge {
         this.apiPersistenceInstance = apiPersistence;
     }
 
-    private void initTaskList() {
+    private LinkedHashMap<String, String> initTaskList() {
+        LinkedHashMap<String, String> apiPurgeTaskMap = new LinkedHashMap<>();
         apiPurgeTaskMap.put(APIConstants.OrganizationDeletion.API_ORG_EXIST, APIConstants.OrganizationDeletion.PENDING);
         apiPurgeTaskMap.put(APIConstants.OrganizationDeletion.API_RETRIEVER, APIConstants.OrganizationDeletion.PENDING);
         apiPurgeTaskMap.put(APIConstants.OrganizationDeletion.API_DB_DATA_REMOVER,
@@ -84,6 +85,7 @@ public class ApiPurge implements OrganizationPurge {
                 APIConstants.OrganizationDeletion.PENDING);
         apiPurgeTaskMap.put(APIConstants.OrganizationDeletion.API_ARTIFACT_DATA_REMOVER,
                 APIConstants.OrganizationDeletion.PENDING);
+        return apiPurgeTaskMap;
     }
 
     private void setupPersistenceManager(){
@@ -101,65 +103,42 @@ public class ApiPurge implements OrganizationPurge {
     }
 
     /**
-     * delete API data in given organization
+     * delete API data in given organization. The artifact server, gateway artifact and registry data are removed in
+     * parallel, and the database records are removed last so that a resumed purge can still find the APIs of the
+     * organization.
      * @param organization Organization Id
      */
     @MethodStats
     @Override
     public LinkedHashMap<String, String> purge(String organization) {
+        LinkedHashMap<String, String> apiPurgeTaskMap = initTaskList();
+        AtomicBoolean isAPIOrganizationExist = new AtomicBoolean(true);
         List<APIIdentifier> apiIdentifierList = new ArrayList<>();
-        boolean isAPIOrganizationExist = true;
-        for (Map.Entry<String, String> task : apiPurgeTaskMap.entrySet()) {
-            int count = 0;
-            int maxTries = 3;
-            while (true) {
-                try {
-                    switch (task.getKey()) {
-                    case APIConstants.OrganizationDeletion.API_ORG_EXIST:
-                        isAPIOrganizationExist = organizationPurgeDAO.apiOrganizationExist(organization);
-                        break;
-                    case APIConstants.OrganizationDeletion.API_RETRIEVER:
-                        apiIdentifierList = organizationPurgeDAO.getAPIIdList(organization);
-                        break;
-                    case APIConstants.OrganizationDeletion.API_DB_DATA_REMOVER:
-                        organizationPurgeDAO.deleteOrganizationAPIList(organization);
-                        break;
-                    case APIConstants.OrganizationDeletion.ARTIFACT_SERVER_DATA_REMOVER:
-                        removeArtifactsFromArtifactServer(apiIdentifierList, organization);
-                        break;
-                    case APIConstants.OrganizationDeletion.GW_ARTIFACT_DATA_REMOVER:
-                        gatewayArtifactsMgtDAO.removeOrganizationGatewayArtifacts(organization);
-                        break;
-                    case APIConstants.OrganizationDeletion.API_ARTIFACT_DATA_REMOVER:
-                        removeAllOrganizationAPIArtifacts(organization);
-                        break;
-                    }
-                    apiPurgeTaskMap.put(task.getKey(), APIConstants.OrganizationDeletion.COMPLETED);
-                    break;
-                } catch (APIManagementException e) {
-                    log.error("Error while deleting API Data in organization " + organization, e);
-                    apiPurgeTaskMap.put(task.getKey(), APIConstants.OrganizationDeletion.FAIL);
-                    log.info("Re-trying to execute " + task.getKey() + " process for organization" + organization, e);
-
-                    if (++count == maxTries) {
-                        log.error("Cannot execute " + task.getKey() + " process for organization" + organization, e);
-                        String errorMessage = e.getMessage();
-                        if (e.getCause() != null) {
-                            errorMessage = errorMessage + ". Cause: " + e.getCause().getMessage();
-                        }
-                        apiPurgeTaskMap.put(task.getKey(), errorMessage);
-                        break;
-                    }
-                }
-            }
-            if (!isAPIOrganizationExist) {
-                String msg = "No api related entities exist for the organization: " + organization;
-                log.warn(msg);
-                apiPurgeTaskMap.put(task.getKey(), APIConstants.OrganizationDeletion.COMPLETED);
-                moveStatusToCompleted();
-                break;
+
+        purgeExecutor.execute(organization, apiPurgeTaskMap, APIConstants.OrganizationDeletion.API_ORG_EXIST, false,
+                () -> isAPIOrganizationExist.set(organizationPurgeDAO.apiOrganizationExist(organization)));
+        if (!isAPIOrganizationExist.get()) {
+            log.warn("No api related entities exist for the organization: " + organization);
+            moveStatusToCompleted(apiPurgeTaskMap);
+        } else if (purgeExecutor.execute(organization, apiPurgeTaskMap,
+                APIConstants.OrganizationDeletion.API_RETRIEVER, false,
+                () -> apiIdentifierList.addAll(organizationPurgeDAO.getAPIIdList(organization)))) {
+            log.info("Purging " + apiIdentifierList.size() + " APIs of organization " + organization);
+
+            LinkedHashMap<String, OrganizationPurgeExecutor.PurgeTask> artifactRemovers = new LinkedHashMap<>();
+            artifactRemovers.put(APIConstants.OrganizationDeletion.ARTIFACT_SERVER_DATA_REMOVER,
+                    () -> removeArtifactsFromArtifactServer(apiIdentifierList, organization));
+            artifactRemovers.put(APIConstants.OrganizationDeletion.GW_ARTIFACT_DATA_REMOVER,
+                    () -> gatewayArtifactsMgtDAO.removeOrganizationGatewayArtifacts(organization));
+            artifactRemovers.put(APIConstants.OrganizationDeletion.API_ARTIFACT_DATA_REMOVER,
+                    () -> removeAllOrganizationAPIArtifacts(organization));
+            if (purgeExecutor.executeInParallel(organization, apiPurgeTaskMap, artifactRemovers)) {
+                purgeExecutor.execute(organization, apiPurgeTaskMap,
+                        APIConstants.OrganizationDeletion.API_DB_DATA_REMOVER, true,
+                        () -> organizationPurgeDAO.deleteOrganizationAPIList(organization));
             }
         }
+        purgeExecutor.complete(organization, apiPurgeTaskMap);
 
         APIUtil.logAuditMessage(APIConstants.AuditLogConstants.ORGANIZATION, new Gson().toJson(apiPurgeTaskMap),
                 APIConstants.AuditLogConstants.DELETED, OrganizationPurgeConstants.ORG_CLEANUP_EXECUTOR);
@@ -196,7 +175,9 @@ public class ApiPurge implements OrganizationPurge {
         }
     }
 
-    private void moveStatusToCompleted() {
+    private void moveStatusToCompleted(Map<String, String> apiPurgeTaskMap) {
+        apiPurgeTaskMap.put(APIConstants.OrganizationDeletion.API_ORG_EXIST,
+                APIConstants.OrganizationDeletion.COMPLETED);
         apiPurgeTaskMap.put(APIConstants.OrganizationDeletion.API_RETRIEVER, APIConstants.OrganizationDeletion.COMPLETED);
         apiPurgeTaskMap.put(APIConstants.OrganizationDeletion.API_DB_DATA_REMOVER,
                 APIConstants.OrganizationDeletion.COMPLETED);
@@ -27,6 +27,7 @@ import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This class used to remove application data
@@ -39,9 +40,10 @@ import java.util.Map;
 public class ApplicationPurge implements OrganizationPurge {
     private static final Log log = LogFactory.getLog(ApplicationPurge.class);
     protected OrganizationPurgeDAO organizationPurgeDAO;
-    LinkedHashMap<String, String> applicationPurgeTaskMap = new LinkedHashMap<>();
+    private final OrganizationPurgeExecutor purgeExecutor = new OrganizationPurgeExecutor("Application purge");
 
-    private void initTaskList() {
+    private LinkedHashMap<String, String> initTaskList() {
+        LinkedHashMap<String, String> applicationPurgeTaskMap = new LinkedHashMap<>();
         applicationPurgeTaskMap.put(APIConstants.OrganizationDeletion.APPLICATION_ORG_EXIST,
                 APIConstants.OrganizationDeletion.PENDING);
         applicationPurgeTaskMap.put(APIConstants.OrganizationDeletion.PENDING_SUBSCRIPTION_REMOVAL,
@@ -52,11 +54,11 @@ public class ApplicationPurge implements OrganizationPurge {
                 APIConstants.OrganizationDeletion.PENDING);
         applicationPurgeTaskMap.put(APIConstants.OrganizationDeletion.APPLICATION_REMOVAL,
                 APIConstants.OrganizationDeletion.PENDING);
+        return applicationPurgeTaskMap;
     }
 
     public ApplicationPurge() {
         organizationPurgeDAO = OrganizationPurgeDAO.getInstance();
-        initTaskList();
     }
 
     public ApplicationPurge(OrganizationPurgeDAO organizationPurgeDAO) {
@@ -72,55 +74,31 @@ public class ApplicationPurge implements OrganizationPurge {
     @MethodStats
     @Override
     public LinkedHashMap<String, String> purge(String organization) {
-        boolean isApplicationOrganizationExist = true;
-        for (Map.Entry<String, String> task : applicationPurgeTaskMap.entrySet()) {
-            int count = 0;
-            int maxTries = 3;
-            while (true) {
-                try {
-                    switch (task.getKey()) {
-                    case APIConstants.OrganizationDeletion.APPLICATION_ORG_EXIST:
-                        isApplicationOrganizationExist = applicationOrganizationExist(organization);
-                        break;
-                    case APIConstants.OrganizationDeletion.PENDING_SUBSCRIPTION_REMOVAL:
-                        removePendingSubscriptions(organization);
-                        break;
-                    case APIConstants.OrganizationDeletion.APPLICATION_CREATION_WF_REMOVAL:
-                        removeApplicationCreationWorkflows(organization);
-                        break;
-                    case APIConstants.OrganizationDeletion.APPLICATION_REGISTRATION_REMOVAL:
-                        deletePendingApplicationRegistrations(organization);
-                        break;
-                    case APIConstants.OrganizationDeletion.APPLICATION_REMOVAL:
-                        deleteApplicationList(organization);
-                        break;
-                    }
-                    applicationPurgeTaskMap.put(task.getKey(), APIConstants.OrganizationDeletion.COMPLETED);
-                    break;
-                } catch (APIManagementException e) {
-                    log.error("Error while deleting Application Data in organization " + organization, e);
-                    applicationPurgeTaskMap.put(task.getKey(), APIConstants.OrganizationDeletion.FAIL);
-                    log.info("Re-trying to execute " + task.getKey() + " process for organization" + organization, e);
-
-                    if (++count == maxTries) {
-                        log.error("Cannot execute " + task.getKey() + " process for organization" + organization, e);
-                        String errorMessage = e.getMessage();
-                        if (e.getCause() != null) {
-                            errorMessage = errorMessage + ". Cause: " + e.getCause().getMessage();
-                        }
-                        applicationPurgeTaskMap.put(task.getKey(), errorMessage);
-                        break;
-                    }
-                }
-            }
-            if (!isApplicationOrganizationExist) {
-                String msg = "No application related entities exist for the organization: " + organization;
-                log.warn(msg);
-                applicationPurgeTaskMap.put(task.getKey(), APIConstants.OrganizationDeletion.COMPLETED);
-                moveStatusToCompleted();
-                break;
-            }
+        LinkedHashMap<String, String> applicationPurgeTaskMap = initTaskList();
+        AtomicBoolean isApplicationOrganizationExist = new AtomicBoolean(true);
+
+        purgeExecutor.execute(organization, applicationPurgeTaskMap,
+                APIConstants.OrganizationDeletion.APPLICATION_ORG_EXIST, false,
+                () -> isApplicationOrganizationExist.set(applicationOrganizationExist(organization)));
+        if (!isApplicationOrganizationExist.get()) {
+            log.warn("No application related entities exist for the organization: " + organization);
+            moveStatusToCompleted(applicationPurgeTaskMap);
+        } else {
+            // Workflow clean up reads the applications of the organization, hence the applications are removed last
+            purgeExecutor.execute(organization, applicationPurgeTaskMap,
+                    APIConstants.OrganizationDeletion.PENDING_SUBSCRIPTION_REMOVAL, true,
+                    () -> removePendingSubscriptions(organization));
+            purgeExecutor.execute(organization, applicationPurgeTaskMap,
+                    APIConstants.OrganizationDeletion.APPLICATION_CREATION_WF_REMOVAL, true,
+                    () -> removeApplicationCreationWorkflows(organization));
+            purgeExecutor.execute(organization, applicationPurgeTaskMap,
+                    APIConstants.OrganizationDeletion.APPLICATION_REGISTRATION_REMOVAL, true,
+                    () -> deletePendingApplicationRegistrations(organization));
+            purgeExecutor.execute(organization, applicationPurgeTaskMap,
+                    APIConstants.OrganizationDeletion.APPLICATION_REMOVAL, true,
+                    () -> deleteApplicationList(organization));
         }
+        purgeExecutor.complete(organization, applicationPurgeTaskMap);
 
         APIUtil.logAuditMessage(APIConstants.AuditLogConstants.ORGANIZATION, new Gson().toJson(applicationPurgeTaskMap),
                 APIConstants.AuditLogConstants.DELETED, OrganizationPurgeConstants.ORG_CLEANUP_EXECUTOR);
@@ -152,7 +130,9 @@ public class ApplicationPurge implements OrganizationPurge {
         return organizationPurgeDAO.applicationOrganizationExist(organization);
     }
 
-    private void moveStatusToCompleted() {
+    private void moveStatusToCompleted(Map<String, String> applicationPurgeTaskMap) {
+        applicationPurgeTaskMap.put(APIConstants.OrganizationDeletion.APPLICATION_ORG_EXIST,
+                APIConstants.OrganizationDeletion.COMPLETED);
         applicationPurgeTaskMap.put(APIConstants.OrganizationDeletion.PENDING_SUBSCRIPTION_REMOVAL,
                 APIConstants.OrganizationDeletion.COMPLETED);
         applicationPurgeTaskMap.put(APIConstants.OrganizationDeletion.APPLICATION_CREATION_WF_REMOVAL,
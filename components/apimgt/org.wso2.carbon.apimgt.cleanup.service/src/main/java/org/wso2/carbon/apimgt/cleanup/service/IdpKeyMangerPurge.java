@@ -33,6 +33,9 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This class used to remove IDP and KM data
@@ -45,14 +48,13 @@ import java.util.Map;
 public class IdpKeyMangerPurge implements OrganizationPurge {
     protected String username;
     APIAdmin apiAdmin;
-    LinkedHashMap<String, String> IdpKeyMangerPurgeTaskMap = new LinkedHashMap<>();
+    private final OrganizationPurgeExecutor purgeExecutor = new OrganizationPurgeExecutor("IDP-KeyManager purge");
     OrganizationPurgeDAO organizationPurgeDAO;
     private static final Log log = LogFactory.getLog(IdpKeyMangerPurge.class);
 
     public IdpKeyMangerPurge() {
         organizationPurgeDAO = OrganizationPurgeDAO.getInstance();
         this.apiAdmin = new APIAdminImpl();
-        initTaskList();
     }
 
     public IdpKeyMangerPurge(OrganizationPurgeDAO organizationPurgeDAO) {
@@ -60,96 +62,92 @@ public class IdpKeyMangerPurge implements OrganizationPurge {
         this.organizationPurgeDAO = organizationPurgeDAO;
     }
 
-    private void initTaskList() {
-        IdpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.KM_ORGANIZATION_EXIST,
+    private LinkedHashMap<String, String> initTaskList() {
+        LinkedHashMap<String, String> idpKeyMangerPurgeTaskMap = new LinkedHashMap<>();
+        idpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.KM_ORGANIZATION_EXIST,
                 APIConstants.OrganizationDeletion.PENDING);
-        IdpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.KM_RETRIEVER,
+        idpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.KM_RETRIEVER,
                 APIConstants.OrganizationDeletion.PENDING);
-        IdpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.IDP_DATA_REMOVER,
+        idpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.IDP_DATA_REMOVER,
                 APIConstants.OrganizationDeletion.PENDING);
-        IdpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.KM_DATA_REMOVER,
+        idpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.KM_DATA_REMOVER,
                 APIConstants.OrganizationDeletion.PENDING);
+        return idpKeyMangerPurgeTaskMap;
     }
 
     @MethodStats
     @Override
     public LinkedHashMap<String, String> purge(String organization) {
-
+        LinkedHashMap<String, String> idpKeyMangerPurgeTaskMap = initTaskList();
         List<KeyManagerConfigurationDTO> keyManagerList = new ArrayList<>();
-        boolean isKeyManagerOrganizationExist = true;
-        for (Map.Entry<String, String> task : IdpKeyMangerPurgeTaskMap.entrySet()) {
-            int count = 0;
-            int maxTries = 3;
-            while (true) {
-                try {
-                    switch (task.getKey()) {
-                    case APIConstants.OrganizationDeletion.KM_ORGANIZATION_EXIST:
-                        isKeyManagerOrganizationExist = organizationPurgeDAO.keyManagerOrganizationExist(organization);
-                        break;
-                    case APIConstants.OrganizationDeletion.KM_RETRIEVER:
-                        keyManagerList = apiAdmin.getKeyManagerConfigurationsByOrganization(organization);
-                        break;
-                    case APIConstants.OrganizationDeletion.IDP_DATA_REMOVER:
-                        deleteIdpList(organization, keyManagerList);
-                        break;
-                    case APIConstants.OrganizationDeletion.KM_DATA_REMOVER:
-                        organizationPurgeDAO.deleteKeyManagerConfigurationList(keyManagerList, organization);
-                        break;
-                    }
-                    IdpKeyMangerPurgeTaskMap.put(task.getKey(), APIConstants.OrganizationDeletion.COMPLETED);
-                    break;
-                } catch (APIManagementException e) {
-                    log.error("Error while deleting IDP-KeyManager Data in organization " + organization, e);
-                    IdpKeyMangerPurgeTaskMap.put(task.getKey(), APIConstants.OrganizationDeletion.FAIL);
-                    log.info("Re-trying to execute " + task.getKey() + " process for organization" + organization, e);
+        AtomicBoolean isKeyManagerOrganizationExist = new AtomicBoolean(true);
 
-                    if (++count == maxTries) {
-                        log.error("Cannot execute " + task.getKey() + " process for organization" + organization, e);
-                        String errorMessage = e.getMessage();
-                        if (e.getCause() != null) {
-                            errorMessage = errorMessage + ". Cause: " + e.getCause().getMessage();
-                        }
-                        IdpKeyMangerPurgeTaskMap.put(task.getKey(), errorMessage);
-                        break;
-                    }
-                }
-            }
-            if (!isKeyManagerOrganizationExist) {
-                String msg = "No idp related entities exist for the organization: " + organization;
-                log.warn(msg);
-                IdpKeyMangerPurgeTaskMap.put(task.getKey(), APIConstants.OrganizationDeletion.COMPLETED);
-                moveStatusToCompleted();
-                break;
-            }
+        purgeExecutor.execute(organization, idpKeyMangerPurgeTaskMap,
+                APIConstants.OrganizationDeletion.KM_ORGANIZATION_EXIST, false,
+                () -> isKeyManagerOrganizationExist.set(
+                        organizationPurgeDAO.keyManagerOrganizationExist(organization)));
+        if (!isKeyManagerOrganizationExist.get()) {
+            log.warn("No idp related entities exist for the organization: " + organization);
+            moveStatusToCompleted(idpKeyMangerPurgeTaskMap);
+        } else if (purgeExecutor.execute(organization, idpKeyMangerPurgeTaskMap,
+                APIConstants.OrganizationDeletion.KM_RETRIEVER, false,
+                () -> keyManagerList.addAll(apiAdmin.getKeyManagerConfigurationsByOrganization(organization)))) {
+            purgeExecutor.execute(organization, idpKeyMangerPurgeTaskMap,
+                    APIConstants.OrganizationDeletion.IDP_DATA_REMOVER, true,
+                    () -> deleteIdpList(organization, keyManagerList));
+            purgeExecutor.execute(organization, idpKeyMangerPurgeTaskMap,
+                    APIConstants.OrganizationDeletion.KM_DATA_REMOVER, true,
+                    () -> organizationPurgeDAO.deleteKeyManagerConfigurationList(keyManagerList, organization));
         }
+        purgeExecutor.complete(organization, idpKeyMangerPurgeTaskMap);
 
         APIUtil.logAuditMessage(APIConstants.AuditLogConstants.ORGANIZATION,
-                new Gson().toJson(IdpKeyMangerPurgeTaskMap), APIConstants.AuditLogConstants.DELETED,
+                new Gson().toJson(idpKeyMangerPurgeTaskMap), APIConstants.AuditLogConstants.DELETED,
                 OrganizationPurgeConstants.ORG_CLEANUP_EXECUTOR);
-        return IdpKeyMangerPurgeTaskMap;
+        return idpKeyMangerPurgeTaskMap;
     }
 
+    /**
+     * Deletes the identity providers of the given key managers in parallel.
+     */
     private void deleteIdpList(String organization, List<KeyManagerConfigurationDTO> keyManagerList)
             throws APIManagementException {
+        List<CompletableFuture<Void>> deletions = new ArrayList<>(keyManagerList.size());
         for (KeyManagerConfigurationDTO keyManager : keyManagerList) {
+            deletions.add(CompletableFuture.runAsync(() -> {
+                try {
+                    apiAdmin.deleteIdentityProvider(organization, keyManager);
+                } catch (APIManagementException e) {
+                    throw new CompletionException(e);
+                }
+            }, OrganizationPurgeExecutor.getWorkers()));
+        }
+        APIManagementException error = null;
+        for (CompletableFuture<Void> deletion : deletions) {
             try {
-                apiAdmin.deleteIdentityProvider(organization, keyManager);
-            } catch (APIManagementException e) {
-                throw e;
+                deletion.join();
+            } catch (CompletionException e) {
+                error = new APIManagementException("Error while deleting identity providers of organization "
+                        + organization, e.getCause());
             }
         }
+        if (error != null) {
+            throw error;
+        }
     }
 
     @Override public int getPriority() {
         return 10;
     }
 
-    private void moveStatusToCompleted() {
-        IdpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.KM_RETRIEVER,
+    private void moveStatusToCompleted(Map<String, String> idpKeyMangerPurgeTaskMap) {
+        idpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.KM_ORGANIZATION_EXIST,
+                APIConstants.OrganizationDeletion.COMPLETED);
+        idpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.KM_RETRIEVER,
                 APIConstants.OrganizationDeletion.COMPLETED);
-        IdpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.IDP_DATA_REMOVER,
+        idpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.IDP_DATA_REMOVER,
                 APIConstants.OrganizationDeletion.COMPLETED);
-        IdpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.KM_DATA_REMOVER,
+        idpKeyMangerPurgeTaskMap.put(APIConstants.OrganizationDeletion.KM_DATA_REMOVER,
                 APIConstants.OrganizationDeletion.COMPLETED);
     }
 }
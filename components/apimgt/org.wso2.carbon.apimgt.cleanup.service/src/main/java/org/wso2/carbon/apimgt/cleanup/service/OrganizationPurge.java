@@ -20,6 +20,7 @@ package org.wso2.carbon.apimgt.cleanup.service;
 import org.wso2.carbon.apimgt.api.APIManagementException;
 
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
 
 public interface OrganizationPurge {
 
@@ -32,6 +33,17 @@ public interface OrganizationPurge {
        */
       LinkedHashMap<String, String> purge(String organization);
 
+      /**
+       * Runs the purge of the given organization as a background job. A purge which did not complete can be resumed
+       * by submitting it again, as tasks completed in the earlier run are skipped.
+       *
+       * @param organization organization
+       * @return future which completes with the purging result
+       */
+      default CompletableFuture<LinkedHashMap<String, String>> purgeAsync(String organization) {
+            return OrganizationPurgeExecutor.submit(() -> purge(organization));
+      }
+
       /**
        * Returns an integer with the Purging priority.
        * Purging with the lowest value will have the highest priority
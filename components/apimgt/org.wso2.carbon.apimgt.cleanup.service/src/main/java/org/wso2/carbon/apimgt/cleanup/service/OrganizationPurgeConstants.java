@@ -34,15 +34,9 @@ public class OrganizationPurgeConstants {
     public static final String GET_API_LIST_SQL_BY_ORG_SQL = "SELECT API.API_ID, API.API_UUID, API.API_NAME," +
             "API.API_VERSION, API.API_PROVIDER FROM AM_API API WHERE API.ORGANIZATION = ?";
 
-    public static final String REMOVE_BULK_APIS_DATA_FROM_AM_API_SQL = "DELETE FROM AM_API WHERE ORGANIZATION = ?";
-
     public static final String REMOVE_BULK_APIS_DEFAULT_VERSION_SQL = "DELETE FROM AM_API_DEFAULT_VERSION WHERE "
             + "ORGANIZATION = ?";
 
-    public static final String DELETE_BULK_API_WORKFLOWS_REQUEST_SQL = "DELETE FROM AM_WORKFLOWS WHERE " +
-            "WF_TYPE='AM_API_STATE' AND WF_REFERENCE IN (SELECT _CONVERT_PLACEHOLDER_ FROM AM_API API " +
-            "WHERE API.ORGANIZATION = ?)";
-
     public static final String DELETE_BULK_KEY_MANAGER_LIST_SQL = "DELETE FROM AM_KEY_MANAGER WHERE ORGANIZATION = ? "
             + "AND UUID IN (_KM_UUIDS_)";
 
@@ -66,7 +60,11 @@ public class OrganizationPurgeConstants {
             + "MAP.KEY_MANAGER = AKM.UUID JOIN AM_APPLICATION APP on MAP.APPLICATION_ID = APP.APPLICATION_ID WHERE "
             + "APP.ORGANIZATION = ?";
 
-    public static final String REMOVE_APPLICATION_LIST_FROM_APPLICATIONS_SQL = "DELETE FROM AM_APPLICATION WHERE ORGANIZATION = ?";
+    public static final String GET_APPLICATION_IDS_BY_ORG_SQL = "SELECT APP.APPLICATION_ID FROM AM_APPLICATION APP "
+            + "WHERE APP.ORGANIZATION = ?";
+
+    public static final String REMOVE_APPLICATIONS_BATCH_SQL = "DELETE FROM AM_APPLICATION WHERE APPLICATION_ID IN "
+            + "(_ID_LIST_)";
 
     public static final String REMOVE_GROUP_ID_MAPPING_BULK_SQL =
             "DELETE APP_GROUP FROM AM_APPLICATION_GROUP_MAPPING APP_GROUP JOIN AM_APPLICATION APP ON "
@@ -75,6 +73,19 @@ public class OrganizationPurgeConstants {
     public static final String REMOVE_MIGRATED_GROUP_ID_SQL_BULK_SQL =
             "UPDATE AM_APPLICATION APP SET APP.GROUP_ID = '' WHERE APP.ORGANIZATION = ?";
 
-    public static final String REMOVE_AM_URL_MAPPINGS_SQL = "DELETE URLMAP FROM AM_API_URL_MAPPING URLMAP "
-            + "JOIN AM_API AM ON AM.API_ID = URLMAP.API_ID WHERE AM.ORGANIZATION = ?";
+    public static final String REMOVE_API_URL_MAPPINGS_BATCH_SQL = "DELETE FROM AM_API_URL_MAPPING WHERE API_ID IN "
+            + "(_ID_LIST_)";
+
+    public static final String REMOVE_API_WORKFLOWS_BATCH_SQL = "DELETE FROM AM_WORKFLOWS WHERE WF_TYPE = "
+            + "'AM_API_STATE' AND WF_REFERENCE IN (_ID_LIST_)";
+
+    public static final String REMOVE_APIS_BATCH_SQL = "DELETE FROM AM_API WHERE API_ID IN (_ID_LIST_)";
+
+    public static final String ID_LIST_REGEX = "_ID_LIST_";
+
+    /**
+     * Maximum number of rows removed in a single transaction, so that purging a large organization does not hold
+     * locks on the shared tables for long
+     */
+    public static final int PURGE_BATCH_SIZE = 100;
 }
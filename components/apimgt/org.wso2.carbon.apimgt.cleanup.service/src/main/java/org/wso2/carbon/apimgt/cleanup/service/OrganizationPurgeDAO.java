@@ -40,6 +40,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class OrganizationPurgeDAO {
 
@@ -176,31 +178,38 @@ public class OrganizationPurgeDAO {
     }
 
     /**
-     * Delete all organization API data
+     * Delete all organization API data. APIs are removed in batches of
+     * {@link OrganizationPurgeConstants#PURGE_BATCH_SIZE}, each in its own transaction, so that the shared API tables
+     * are not locked for the whole purge. A failed purge can be re-run as it only removes the remaining APIs.
      *
      * @param organization organization
      * @throws APIManagementException
      */
     public void deleteOrganizationAPIList(String organization) throws APIManagementException {
 
+        List<Integer> apiIdList = getIdList(OrganizationPurgeConstants.API_ORGANIZATION_COMBINATION_EXIST,
+                organization);
+        long startTime = System.currentTimeMillis();
         try (Connection connection = APIMgtDBUtil.getConnection()) {
             connection.setAutoCommit(false);
-
-            deleteAmApiUrlMappings(connection, OrganizationPurgeConstants.REMOVE_AM_URL_MAPPINGS_SQL, organization);
-            // Remove records from AM_API table and associated data through cascade delete
-            deleteOrganizationAPIData(connection, OrganizationPurgeConstants.REMOVE_BULK_APIS_DATA_FROM_AM_API_SQL, organization);
-            deleteAPIsFromDefaultVersion(connection, OrganizationPurgeConstants.REMOVE_BULK_APIS_DEFAULT_VERSION_SQL, organization);
-
-            //Remove API Cleanup tasks
-            String convertStr = "";
-            if (connection.getMetaData().getURL().contains("sqlserver")) {
-                convertStr = "CONVERT(CHAR, API.API_ID)";
-            } else {
-                convertStr = "CONVERT(API.API_ID, CHAR)";
+            int deletedCount = 0;
+            for (List<Integer> batch : partition(apiIdList)) {
+                List<String> wfReferences = batch.stream().map(String::valueOf).collect(Collectors.toList());
+                try {
+                    deleteByIdList(connection, OrganizationPurgeConstants.REMOVE_API_URL_MAPPINGS_BATCH_SQL, batch);
+                    deleteByIdList(connection, OrganizationPurgeConstants.REMOVE_API_WORKFLOWS_BATCH_SQL, wfReferences);
+                    // Remove records from AM_API table and associated data through cascade delete
+                    deleteByIdList(connection, OrganizationPurgeConstants.REMOVE_APIS_BATCH_SQL, batch);
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                }
+                deletedCount += batch.size();
+                logProgress("APIs", organization, deletedCount, apiIdList.size(), startTime);
             }
-
-            String deleteBulkAPIWF = OrganizationPurgeConstants.DELETE_BULK_API_WORKFLOWS_REQUEST_SQL.replaceAll("_CONVERT_PLACEHOLDER_", convertStr);
-            deleteAPICleanupTasks(connection, deleteBulkAPIWF, organization);
+            deleteAPIsFromDefaultVersion(connection, OrganizationPurgeConstants.REMOVE_BULK_APIS_DEFAULT_VERSION_SQL,
+                    organization);
             connection.commit();
         } catch (SQLException e) {
             handleException("Error while removing the  API data of organization " + organization + " from the database",
@@ -208,52 +217,6 @@ public class OrganizationPurgeDAO {
         }
     }
 
-    private void deleteAmApiUrlMappings(Connection conn, String deleteURLMappingsQuery, String organization)
-            throws APIManagementException {
-        try (PreparedStatement prepStmt = conn.prepareStatement(deleteURLMappingsQuery)) {
-            prepStmt.setString(1, organization);
-            prepStmt.execute();
-        } catch (SQLException e) {
-            try {
-                conn.rollback();
-            } catch (SQLException e1) {
-                log.error("Error while rolling back the failed operation", e1);
-            }
-            handleException("Failed to remove API URL mapping data of organization " + organization + " from the database", e);
-        }
-    }
-
-    private void deleteOrganizationAPIData(Connection conn, String deleteAPIQuery, String organization)
-            throws APIManagementException {
-        try (PreparedStatement prepStmt = conn.prepareStatement(deleteAPIQuery)) {
-            prepStmt.setString(1, organization);
-            prepStmt.execute();
-        } catch (SQLException e) {
-            try {
-                conn.rollback();
-            } catch (SQLException e1) {
-                log.error("Error while rolling back the failed operation", e1);
-            }
-            handleException("Failed to remove API data of organization " + organization + " from the database", e);
-        }
-    }
-
-    private void deleteAPICleanupTasks(Connection conn, String deleteCleanUpTasksQuery, String organization)
-            throws APIManagementException {
-        try (PreparedStatement prepStmt = conn.prepareStatement(deleteCleanUpTasksQuery)) {
-            prepStmt.setString(1, organization);
-            prepStmt.executeUpdate();
-        } catch (SQLException e) {
-            try {
-                conn.rollback();
-            } catch (SQLException e1) {
-                log.error("Error while rolling back the failed operation", e1);
-            }
-            handleException("Failed to remove API cleanup tasks of organization " + organization + " from the database",
-                    e);
-        }
-    }
-
     private void deleteAPIsFromDefaultVersion(Connection conn, String deleteAPIDefaultVersionQuery, String organization)
             throws APIManagementException {
         try (PreparedStatement prepStmt = conn.prepareStatement(deleteAPIDefaultVersionQuery)) {
@@ -390,78 +353,41 @@ public class OrganizationPurgeDAO {
     }
 
     /**
-     * Deletes Applications along with subscriptions, keys and registration data
+     * Deletes Applications along with subscriptions, keys and registration data. The OAuth applications are removed
+     * from the key managers in parallel before touching the database, and the applications are then removed in
+     * batches of {@link OrganizationPurgeConstants#PURGE_BATCH_SIZE}, each in its own transaction.
      *
      * @param organization Organization
      * @throws APIManagementException if failed to delete applications for organization
      */
     public void deleteApplicationList(String organization) throws APIManagementException {
+        List<ApplicationKeyMapping> keyMappings = getApplicationKeyMappings(organization);
+        deleteClientApplications(keyMappings, organization);
+
+        long startTime = System.currentTimeMillis();
         try (Connection connection = APIMgtDBUtil.getConnection()) {
             connection.setAutoCommit(false);
 
             if (multiGroupAppSharingEnabled) {
                 updateGroupIDMappingsBulk(connection, organization);
+                connection.commit();
             }
 
-            try (PreparedStatement prepStmtGetConsumerKey = connection.prepareStatement(
-                    OrganizationPurgeConstants.GET_CONSUMER_KEYS_OF_APPLICATION_LIST_SQL);
-                    PreparedStatement deleteDomainApp = connection.prepareStatement(
-                            SQLConstants.REMOVE_APPLICATION_FROM_DOMAIN_MAPPINGS_SQL)) {
-                prepStmtGetConsumerKey.setString(1, organization);
-                try (ResultSet rs = prepStmtGetConsumerKey.executeQuery()) {
-                    while (rs.next()) {
-                        String consumerKey = rs.getString(APIConstants.FIELD_CONSUMER_KEY);
-                        String keyManagerName = rs.getString(NAME);
-                        String keyManagerOrganization = rs.getString(ORGANIZATION);
-
-                        // This is true when OAuth App has been created by pasting consumer key/secret in the screen.
-                        String mode = rs.getString("CREATE_MODE");
-                        if (consumerKey != null) {
-
-                            deleteDomainApp.setString(1, consumerKey);
-                            deleteDomainApp.addBatch();
-                            KeyManager keyManager = KeyManagerHolder.getKeyManagerInstance(keyManagerOrganization,
-                                    keyManagerName);
-
-                            if (keyManager != null) {
-                                try {
-                                    keyManager.deleteMappedApplication(consumerKey);
-                                    log.info("Mapped application deleted for consumer key: " + consumerKey
-                                            + " and organization: " + organization);
-                                } catch (APIManagementException e) {
-                                    handleException(
-                                            "Error while Deleting Client Application for consumer key: " + consumerKey
-                                                    + " and organization: " + organization, e);
-                                }
-                            }
-                            // OAuth app is deleted if only it has been created from API Store. For mapped clients we don't
-                            // call delete.
-                            if (!APIConstants.OAuthAppMode.MAPPED.name().equals(mode)) {
-                                //delete on oAuthorization server.
-                                if (log.isDebugEnabled()) {
-                                    log.debug(
-                                            "Deleting Oauth application with consumer key " + consumerKey + " from the "
-                                                    + "Oauth server for organization: " + organization);
-                                }
-                                if (keyManager != null) {
-                                    try {
-                                        keyManager.deleteApplication(consumerKey);
-                                        log.info("Client application deleted for consumer key: " + consumerKey
-                                                + " and organization: " + organization);
-                                    } catch (APIManagementException e) {
-                                        handleException("Error while Deleting Client Application for organization: "
-                                                + organization, e);
-                                    }
-                                }
-                            }
-                        }
+            List<String> consumerKeys = keyMappings.stream().map(keyMapping -> keyMapping.consumerKey)
+                    .collect(Collectors.toList());
+            for (List<String> batch : partition(consumerKeys)) {
+                try (PreparedStatement deleteDomainApp = connection.prepareStatement(
+                        SQLConstants.REMOVE_APPLICATION_FROM_DOMAIN_MAPPINGS_SQL)) {
+                    for (String consumerKey : batch) {
+                        deleteDomainApp.setString(1, consumerKey);
+                        deleteDomainApp.addBatch();
                     }
+                    deleteDomainApp.executeBatch();
+                    connection.commit();
+                } catch (SQLException domainAppsException) {
+                    connection.rollback();
+                    throw domainAppsException;
                 }
-                deleteDomainApp.executeBatch();
-            } catch (SQLException domainAppsException) {
-                connection.rollback();
-                log.error("Failed to rollback removing domain applications for organization: " + organization,
-                        domainAppsException);
             }
 
             if (log.isDebugEnabled()) {
@@ -469,28 +395,101 @@ public class OrganizationPurgeDAO {
                         + "organization: " + organization);
             }
 
-            try (PreparedStatement deleteApp = connection.prepareStatement(
-                    OrganizationPurgeConstants.REMOVE_APPLICATION_LIST_FROM_APPLICATIONS_SQL)) {
-                deleteApp.setString(1, organization);
-                deleteApp.execute();
-            } catch (SQLException appDeletionException) {
-                connection.rollback();
-                log.error("Failed to rollback removing applications for organization: " + organization,
-                        appDeletionException);
+            List<Integer> applicationIdList = getIdList(OrganizationPurgeConstants.GET_APPLICATION_IDS_BY_ORG_SQL,
+                    organization);
+            int deletedCount = 0;
+            for (List<Integer> batch : partition(applicationIdList)) {
+                try {
+                    deleteByIdList(connection, OrganizationPurgeConstants.REMOVE_APPLICATIONS_BATCH_SQL, batch);
+                    connection.commit();
+                } catch (SQLException appDeletionException) {
+                    connection.rollback();
+                    throw appDeletionException;
+                }
+                deletedCount += batch.size();
+                logProgress("applications", organization, deletedCount, applicationIdList.size(), startTime);
             }
 
             if (log.isDebugEnabled()) {
                 log.debug("Applications are deleted successfully for organization: " + organization);
             }
-
-            connection.commit();
-
         } catch (SQLException e) {
             handleException(
                     "Error while removing application details from the database for organization: " + organization, e);
         }
     }
 
+    private List<ApplicationKeyMapping> getApplicationKeyMappings(String organization) throws APIManagementException {
+        List<ApplicationKeyMapping> keyMappings = new ArrayList<>();
+        try (Connection connection = APIMgtDBUtil.getConnection();
+                PreparedStatement prepStmtGetConsumerKey = connection.prepareStatement(
+                        OrganizationPurgeConstants.GET_CONSUMER_KEYS_OF_APPLICATION_LIST_SQL)) {
+            prepStmtGetConsumerKey.setString(1, organization);
+            try (ResultSet rs = prepStmtGetConsumerKey.executeQuery()) {
+                while (rs.next()) {
+                    String consumerKey = rs.getString(APIConstants.FIELD_CONSUMER_KEY);
+                    if (consumerKey != null) {
+                        // CREATE_MODE is MAPPED when OAuth App has been created by pasting consumer key/secret in the
+                        // screen.
+                        keyMappings.add(new ApplicationKeyMapping(consumerKey, rs.getString(NAME),
+                                rs.getString(ORGANIZATION), rs.getString("CREATE_MODE")));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            handleException("Error while retrieving application keys of organization: " + organization, e);
+        }
+        return keyMappings;
+    }
+
+    private void deleteClientApplications(List<ApplicationKeyMapping> keyMappings, String organization)
+            throws APIManagementException {
+        List<CompletableFuture<Void>> deletions = new ArrayList<>(keyMappings.size());
+        for (ApplicationKeyMapping keyMapping : keyMappings) {
+            deletions.add(CompletableFuture.runAsync(() -> {
+                try {
+                    deleteClientApplication(keyMapping, organization);
+                } catch (APIManagementException e) {
+                    throw new CompletionException(e);
+                }
+            }, OrganizationPurgeExecutor.getWorkers()));
+        }
+        Throwable error = null;
+        for (CompletableFuture<Void> deletion : deletions) {
+            try {
+                deletion.join();
+            } catch (CompletionException e) {
+                error = e.getCause();
+            }
+        }
+        if (error != null) {
+            handleException("Error while Deleting Client Applications for organization: " + organization, error);
+        }
+    }
+
+    private void deleteClientApplication(ApplicationKeyMapping keyMapping, String organization)
+            throws APIManagementException {
+        String consumerKey = keyMapping.consumerKey;
+        KeyManager keyManager = KeyManagerHolder.getKeyManagerInstance(keyMapping.keyManagerOrganization,
+                keyMapping.keyManagerName);
+        if (keyManager == null) {
+            return;
+        }
+        keyManager.deleteMappedApplication(consumerKey);
+        log.info("Mapped application deleted for consumer key: " + consumerKey + " and organization: " + organization);
+        // OAuth app is deleted if only it has been created from API Store. For mapped clients we don't call delete.
+        if (!APIConstants.OAuthAppMode.MAPPED.name().equals(keyMapping.createMode)) {
+            //delete on oAuthorization server.
+            if (log.isDebugEnabled()) {
+                log.debug("Deleting Oauth application with consumer key " + consumerKey + " from the "
+                        + "Oauth server for organization: " + organization);
+            }
+            keyManager.deleteApplication(consumerKey);
+            log.info("Client application deleted for consumer key: " + consumerKey + " and organization: "
+                    + organization);
+        }
+    }
+
     /**
      * Purge records in Application Group Mappings
      *
@@ -524,8 +523,68 @@ public class OrganizationPurgeDAO {
         }
     }
 
+    private List<Integer> getIdList(String query, String organization) throws APIManagementException {
+        List<Integer> idList = new ArrayList<>();
+        try (Connection conn = APIMgtDBUtil.getConnection();
+                PreparedStatement ps = conn.prepareStatement(query)) {
+            ps.setString(1, organization);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    idList.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            handleException("Failed to get the entities to be removed for organization " + organization, e);
+        }
+        return idList;
+    }
+
+    private int deleteByIdList(Connection conn, String query, List<?> idList) throws SQLException {
+        String deleteQuery = query.replaceAll(OrganizationPurgeConstants.ID_LIST_REGEX,
+                String.join(",", Collections.nCopies(idList.size(), "?")));
+        try (PreparedStatement ps = conn.prepareStatement(deleteQuery)) {
+            for (int i = 0; i < idList.size(); i++) {
+                ps.setObject(i + 1, idList.get(i));
+            }
+            return ps.executeUpdate();
+        }
+    }
+
+    private static <T> List<List<T>> partition(List<T> list) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += OrganizationPurgeConstants.PURGE_BATCH_SIZE) {
+            batches.add(list.subList(i, Math.min(i + OrganizationPurgeConstants.PURGE_BATCH_SIZE, list.size())));
+        }
+        return batches;
+    }
+
+    private void logProgress(String entity, String organization, int deletedCount, int totalCount, long startTime) {
+        long elapsedTime = Math.max(System.currentTimeMillis() - startTime, 1);
+        log.info("Removed " + deletedCount + "/" + totalCount + " " + entity + " of organization " + organization
+                + " in " + elapsedTime + " ms (" + (deletedCount * 1000L / elapsedTime) + " per second)");
+    }
+
     private void handleException(String msg, Throwable t) throws APIManagementException {
         log.error(msg, t);
         throw new APIManagementException(msg, t);
     }
+
+    /**
+     * OAuth application of an organization which has to be removed from its key manager.
+     */
+    private static class ApplicationKeyMapping {
+
+        private final String consumerKey;
+        private final String keyManagerName;
+        private final String keyManagerOrganization;
+        private final String createMode;
+
+        ApplicationKeyMapping(String consumerKey, String keyManagerName, String keyManagerOrganization,
+                              String createMode) {
+            this.consumerKey = consumerKey;
+            this.keyManagerName = keyManagerName;
+            this.keyManagerOrganization = keyManagerOrganization;
+            this.createMode = createMode;
+        }
+    }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.cleanup.service;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the tasks of an organization purge. Each task is retried a bounded number of times, independent tasks can be
+ * run in parallel and tasks which completed in an earlier run for the same organization are skipped, so that a
+ * failed purge can be resumed by invoking it again.
+ */
+public class OrganizationPurgeExecutor {
+
+    private static final Log log = LogFactory.getLog(OrganizationPurgeExecutor.class);
+    private static final int MAX_TRIES = 3;
+    private static final int WORKER_POOL_SIZE = 8;
+    private static final int JOB_POOL_SIZE = 2;
+    private static final ExecutorService PURGE_WORKERS = Executors.newFixedThreadPool(WORKER_POOL_SIZE,
+            new PurgeThreadFactory("OrganizationPurgeWorker"));
+    private static final ExecutorService PURGE_JOBS = Executors.newFixedThreadPool(JOB_POOL_SIZE,
+            new PurgeThreadFactory("OrganizationPurgeJob"));
+
+    private final String purgeName;
+    private final Map<String, Set<String>> checkpoints = new ConcurrentHashMap<>();
+
+    /**
+     * A single step of an organization purge.
+     */
+    public interface PurgeTask {
+
+        void execute() throws APIManagementException;
+    }
+
+    public OrganizationPurgeExecutor(String purgeName) {
+        this.purgeName = purgeName;
+    }
+
+    /**
+     * Executes a task, retrying it on failure, and records its outcome in the task map.
+     *
+     * @param organization organization
+     * @param taskMap      task status map of the current purge
+     * @param taskName     name of the task
+     * @param resumable    whether a successful run of this task is remembered so that it is skipped when the purge
+     *                     of the organization is resumed. Tasks that load state needed by later tasks should not be
+     *                     resumable
+     * @param task         task to execute
+     * @return true if the task completed
+     */
+    public boolean execute(String organization, Map<String, String> taskMap, String taskName, boolean resumable,
+                           PurgeTask task) {
+        Set<String> completedTasks = checkpoints.computeIfAbsent(organization, k -> ConcurrentHashMap.newKeySet());
+        if (resumable && completedTasks.contains(taskName)) {
+            log.info("Skipping " + taskName + " of organization " + organization + " as it completed in an earlier "
+                    + purgeName + " run");
+            updateStatus(taskMap, taskName, APIConstants.OrganizationDeletion.COMPLETED);
+            return true;
+        }
+        int count = 0;
+        while (true) {
+            long startTime = System.currentTimeMillis();
+            try {
+                task.execute();
+                if (resumable) {
+                    completedTasks.add(taskName);
+                }
+                updateStatus(taskMap, taskName, APIConstants.OrganizationDeletion.COMPLETED);
+                log.info(purgeName + ": " + taskName + " of organization " + organization + " completed in "
+                        + (System.currentTimeMillis() - startTime) + " ms");
+                return true;
+            } catch (APIManagementException e) {
+                log.error("Error while executing " + taskName + " of " + purgeName + " in organization "
+                        + organization, e);
+                updateStatus(taskMap, taskName, APIConstants.OrganizationDeletion.FAIL);
+                if (++count == MAX_TRIES) {
+                    log.error("Cannot execute " + taskName + " process for organization " + organization, e);
+                    String errorMessage = e.getMessage();
+                    if (e.getCause() != null) {
+                        errorMessage = errorMessage + ". Cause: " + e.getCause().getMessage();
+                    }
+                    updateStatus(taskMap, taskName, errorMessage);
+                    return false;
+                }
+                log.info("Re-trying to execute " + taskName + " process for organization " + organization);
+            }
+        }
+    }
+
+    /**
+     * Executes independent resumable tasks in parallel and waits until all of them finish.
+     *
+     * @param organization organization
+     * @param taskMap      task status map of the current purge
+     * @param tasks        tasks keyed by task name
+     * @return true if all the tasks completed
+     */
+    public boolean executeInParallel(String organization, Map<String, String> taskMap,
+                                     LinkedHashMap<String, PurgeTask> tasks) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(tasks.size());
+        for (Map.Entry<String, PurgeTask> task : tasks.entrySet()) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> execute(organization, taskMap, task.getKey(), true, task.getValue()), PURGE_WORKERS));
+        }
+        boolean completed = true;
+        for (CompletableFuture<Boolean> future : futures) {
+            completed &= future.join();
+        }
+        return completed;
+    }
+
+    /**
+     * Marks the purge of an organization as finished. The checkpoint of the organization is dropped once all of its
+     * tasks completed, otherwise it is kept so that the next run resumes from the failed tasks.
+     *
+     * @param organization organization
+     * @param taskMap      task status map of the current purge
+     */
+    public void complete(String organization, Map<String, String> taskMap) {
+        boolean completed;
+        synchronized (taskMap) {
+            completed = taskMap.values().stream().allMatch(APIConstants.OrganizationDeletion.COMPLETED::equals);
+        }
+        if (completed) {
+            checkpoints.remove(organization);
+        } else {
+            log.warn(purgeName + " of organization " + organization + " did not complete. Completed tasks will be "
+                    + "skipped when the purge is re-run");
+        }
+    }
+
+    /**
+     * Returns the pool which runs the parallel steps of organization purges.
+     *
+     * @return executor service
+     */
+    public static ExecutorService getWorkers() {
+        return PURGE_WORKERS;
+    }
+
+    /**
+     * Runs an organization purge as a background job.
+     *
+     * @param job purge to run
+     * @return future which completes with the purge result
+     */
+    public static CompletableFuture<LinkedHashMap<String, String>> submit(Supplier<LinkedHashMap<String, String>> job) {
+        return CompletableFuture.supplyAsync(job, PURGE_JOBS);
+    }
+
+    private static void updateStatus(Map<String, String> taskMap, String taskName, String status) {
+        synchronized (taskMap) {
+            taskMap.put(taskName, status);
+        }
+    }
+
+    private static class PurgeThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+        private final String namePrefix;
+
+        PurgeThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -67,27 +67,7 @@ public class ApiPurgeTest {
 
     @Test public void testOrganizationRemoval() throws APIManagementException, APIPersistenceException {
 
-        PowerMockito.mockStatic(OrganizationPurgeDAO.class);
-        PowerMockito.when(OrganizationPurgeDAO.getInstance()).thenReturn(organizationPurgeDAO);
-
-        PowerMockito.mockStatic(GatewayArtifactsMgtDAO.class);
-        PowerMockito.when(GatewayArtifactsMgtDAO.getInstance()).thenReturn(gatewayArtifactsMgtDAO);
-
-        PowerMockito.mockStatic(ServiceReferenceHolder.class);
-        PowerMockito.when(ServiceReferenceHolder.getInstance()).thenReturn(serviceReferenceHolder);
-
-        ServiceReferenceHolder serviceReferenceHolder = Mockito.mock(ServiceReferenceHolder.class);
-        APIManagerConfigurationService apiManagerConfigurationService = Mockito
-                .mock(APIManagerConfigurationService.class);
-        Mockito.when(ServiceReferenceHolder.getInstance()).thenReturn(serviceReferenceHolder);
-        Mockito.when(serviceReferenceHolder.getAPIManagerConfigurationService()).
-                thenReturn(apiManagerConfigurationService);
-
-        APIManagerConfiguration apiManagerConfiguration = Mockito.mock(APIManagerConfiguration.class);
-        Mockito.when(apiManagerConfigurationService.getAPIManagerConfiguration()).thenReturn(apiManagerConfiguration);
-
-        PowerMockito.mockStatic(APIUtil.class);
-        Mockito.when(APIUtil.isAllowDisplayAPIsWithMultipleStatus()).thenReturn(true);
+        mockServices();
 
         APIIdentifier api = Mockito.mock(APIIdentifier.class);
         ArrayList<APIIdentifier> apiIdentifierList = new ArrayList<>();
@@ -112,4 +92,63 @@ public class ApiPurgeTest {
         Mockito.verify(gatewayArtifactsMgtDAO, Mockito.times(1)).
                 removeOrganizationGatewayArtifacts(Mockito.any());
     }
-}
\ No newline at end of file
+
+    @Test public void testResumeFailedOrganizationRemoval() throws APIManagementException, APIPersistenceException {
+
+        mockServices();
+
+        ArrayList<APIIdentifier> apiIdentifierList = new ArrayList<>();
+        apiIdentifierList.add(Mockito.mock(APIIdentifier.class));
+
+        Mockito.doReturn(apiIdentifierList).when(organizationPurgeDAO).getAPIIdList("resumedOrg");
+        Mockito.doThrow(new APIManagementException("Database unavailable"))
+                .doThrow(new APIManagementException("Database unavailable"))
+                .doThrow(new APIManagementException("Database unavailable"))
+                .doNothing().when(organizationPurgeDAO).deleteOrganizationAPIList("resumedOrg");
+        Mockito.doReturn(true).when(organizationPurgeDAO).apiOrganizationExist(Mockito.anyString());
+
+        ApiPurge apiPurge = new ApiPurgeWrapper(apiPersistenceInstance);
+
+        LinkedHashMap<String, String> subtaskResult = apiPurge.purge("resumedOrg");
+        Assert.assertNotEquals(APIConstants.OrganizationDeletion.COMPLETED,
+                subtaskResult.get(APIConstants.OrganizationDeletion.API_DB_DATA_REMOVER));
+        Assert.assertEquals(APIConstants.OrganizationDeletion.COMPLETED,
+                subtaskResult.get(APIConstants.OrganizationDeletion.GW_ARTIFACT_DATA_REMOVER));
+
+        subtaskResult = apiPurge.purge("resumedOrg");
+        for (Map.Entry<String, String> entry : subtaskResult.entrySet()) {
+            Assert.assertEquals(entry.getKey() + " is not successful",
+                    APIConstants.OrganizationDeletion.COMPLETED, entry.getValue());
+        }
+
+        // Artifacts removed in the first run are not removed again when the purge is resumed
+        Mockito.verify(gatewayArtifactsMgtDAO, Mockito.times(1)).removeOrganizationGatewayArtifacts("resumedOrg");
+        Mockito.verify(apiPersistenceInstance, Mockito.times(1)).deleteAllAPIs(any(Organization.class));
+        Mockito.verify(organizationPurgeDAO, Mockito.times(4)).deleteOrganizationAPIList("resumedOrg");
+    }
+
+    private void mockServices() {
+
+        PowerMockito.mockStatic(OrganizationPurgeDAO.class);
+        PowerMockito.when(OrganizationPurgeDAO.getInstance()).thenReturn(organizationPurgeDAO);
+
+        PowerMockito.mockStatic(GatewayArtifactsMgtDAO.class);
+        PowerMockito.when(GatewayArtifactsMgtDAO.getInstance()).thenReturn(gatewayArtifactsMgtDAO);
+
+        PowerMockito.mockStatic(ServiceReferenceHolder.class);
+        PowerMockito.when(ServiceReferenceHolder.getInstance()).thenReturn(serviceReferenceHolder);
+
+        ServiceReferenceHolder serviceReferenceHolder = Mockito.mock(ServiceReferenceHolder.class);
+        APIManagerConfigurationService apiManagerConfigurationService = Mockito
+                .mock(APIManagerConfigurationService.class);
+        Mockito.when(ServiceReferenceHolder.getInstance()).thenReturn(serviceReferenceHolder);
+        Mockito.when(serviceReferenceHolder.getAPIManagerConfigurationService()).
+                thenReturn(apiManagerConfigurationService);
+
+        APIManagerConfiguration apiManagerConfiguration = Mockito.mock(APIManagerConfiguration.class);
+        Mockito.when(apiManagerConfigurationService.getAPIManagerConfiguration()).thenReturn(apiManagerConfiguration);
+
+        PowerMockito.mockStatic(APIUtil.class);
+        Mockito.when(APIUtil.isAllowDisplayAPIsWithMultipleStatus()).thenReturn(true);
+    }
+}
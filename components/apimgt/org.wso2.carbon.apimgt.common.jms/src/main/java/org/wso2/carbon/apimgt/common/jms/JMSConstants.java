@@ -227,6 +227,20 @@ public class JMSConstants {
 
     public static final String PARAM_DURABLE_SUB_CLIENT_ID =
             "transport.jms.DurableSubscriberClientID";
+    /**
+     * The message property used as the ordering key of partitioned consumption. When set, polling is separated from
+     * processing and messages with different keys are processed in parallel while messages with the same key keep
+     * their order
+     */
+    public static final String PARAM_PARTITION_KEY_PROPERTY = "transport.jms.PartitionKeyProperty";
+    /**
+     * The number of worker partitions used for partitioned consumption
+     */
+    public static final String PARAM_PARTITION_COUNT = "transport.jms.PartitionCount";
+    /**
+     * The maximum number of messages received and acknowledged together in partitioned consumption
+     */
+    public static final String PARAM_RECEIVE_BATCH_SIZE = "transport.jms.ReceiveBatchSize";
 
     //-------------- message context / transport header properties and client options --------------
     /**
@@ -23,6 +23,7 @@ import org.apache.axis2.transport.base.threads.WorkerPool;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.apimgt.common.jms.utils.JMSUtils;
+import org.wso2.carbon.apimgt.common.jms.utils.KeyOrderedExecutor;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -30,6 +31,7 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.Destination;
@@ -242,6 +244,31 @@ public class JMSTaskManager {
 
     private volatile boolean isOnExceptionError = false;
 
+    /**
+     * Resolves the ordering key of messages when partitioned consumption is enabled
+     */
+    private PartitionKeyResolver partitionKeyResolver = null;
+    /**
+     * Number of worker partitions processing messages in partitioned consumption
+     */
+    private int partitionCount = 4;
+    /**
+     * Maximum number of messages received and acknowledged together in partitioned consumption
+     */
+    private int receiveBatchSize = 50;
+    /**
+     * Workers of partitioned consumption, created when the task manager starts
+     */
+    private volatile KeyOrderedExecutor partitionedExecutor = null;
+    /**
+     * Number of messages handed over to the message listener
+     */
+    private final AtomicLong processedMessageCount = new AtomicLong();
+    /**
+     * Time between publishing and processing of the last processed message
+     */
+    private volatile long lastMessageLagMillis = 0;
+
     public void setDurableSubscriberClientId(String durableSubscriberClientId) {
         this.durableSubscriberClientId = durableSubscriberClientId;
     }
@@ -292,7 +319,11 @@ public class JMSTaskManager {
             }
         }
 
-        for (int i = 0; i < concurrentConsumers; i++) {
+        if (isPartitionedConsumption() && partitionedExecutor == null) {
+            partitionedExecutor = new KeyOrderedExecutor(jmsConsumerName + "-partition", partitionCount);
+        }
+
+        for (int i = 0; i < getPollingTaskCount(); i++) {
             workerPool.execute(new MessageListenerTask());
         }
 
@@ -320,14 +351,14 @@ public class JMSTaskManager {
         }
 
         // try to wait a bit for task shutdown
-        for (int i = 0; i < 5; i++) {
-            if (activeTaskCount == 0) {
-                break;
-            }
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException ignore) {
-            }
+        waitForPollingTasks(5);
+
+        // A poller may still be waiting on a batch, so drain the partitions only after the pollers were asked to
+        // stop and let that poller complete its batch before the shared connection is closed
+        KeyOrderedExecutor executor = partitionedExecutor;
+        if (executor != null) {
+            executor.shutdown(5000);
+            waitForPollingTasks(1);
         }
 
         if (sharedConnection != null) {
@@ -344,12 +375,27 @@ public class JMSTaskManager {
             log.warn("Unable to shutdown all polling tasks of " + jmsConsumerName);
         }
 
+        partitionedExecutor = null;
+
         if (jmsTaskManagerState != STATE_FAILURE) {
             jmsTaskManagerState = STATE_STOPPED;
         }
         log.info("Task manager for jms consumer " + receiveTimeout + " shutdown");
     }
 
+    private void waitForPollingTasks(int seconds) {
+
+        for (int i = 0; i < seconds; i++) {
+            if (activeTaskCount == 0) {
+                break;
+            }
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException ignore) {
+            }
+        }
+    }
+
     /**
      * Temporarily suspend receipt and processing of messages. Accomplished by stopping the
      * connection / or connections used by the poller tasks
@@ -388,8 +434,17 @@ public class JMSTaskManager {
      * e do not have any idle tasks - i.e. scale up listening
      */
     private void scheduleNewTaskIfAppropriate() {
-        if (jmsTaskManagerState == STATE_STARTED &&
-                pollingTasks.size() < getMaxConcurrentConsumers() && getIdleTaskCount() == 0) {
+        if (jmsTaskManagerState != STATE_STARTED) {
+            return;
+        }
+        if (isPartitionedConsumption()) {
+            // replace the single poller if it went away, e.g. after an error
+            synchronized (pollingTasks) {
+                if (pollingTasks.isEmpty()) {
+                    workerPool.execute(new MessageListenerTask());
+                }
+            }
+        } else if (pollingTasks.size() < getMaxConcurrentConsumers() && getIdleTaskCount() == 0) {
             workerPool.execute(new MessageListenerTask());
         }
     }
@@ -510,9 +565,10 @@ public class JMSTaskManager {
             }
 
             try {
-                while (isActive() &&
-                        (getMaxMessagesPerTask() < 0 || messageCount < getMaxMessagesPerTask()) &&
-                        (getConcurrentConsumers() == 1 || idleExecutionCount < getIdleTaskExecutionLimit())) {
+                // The single poller of partitioned consumption is never retired, nothing else would resume polling
+                while (isActive() && (isPartitionedConsumption() ||
+                        ((getMaxMessagesPerTask() < 0 || messageCount < getMaxMessagesPerTask()) &&
+                        (getConcurrentConsumers() == 1 || idleExecutionCount < getIdleTaskExecutionLimit())))) {
 
                     UserTransaction ut = null;
                     try {
@@ -529,6 +585,20 @@ public class JMSTaskManager {
                         handleException("Error starting a JTA transaction", e);
                     }
 
+                    if (isPartitionedConsumption()) {
+                        List<Message> batch = receiveBatch();
+                        if (!batch.isEmpty()) {
+                            idle = false;
+                            idleExecutionCount = 0;
+                            messageCount += batch.size();
+                            handleBatch(batch);
+                        } else {
+                            idle = true;
+                            idleExecutionCount++;
+                        }
+                        continue;
+                    }
+
                     // Get a message by polling, or receive null
                     Message message = receiveMessage();
 
@@ -634,6 +704,70 @@ public class JMSTaskManager {
             return null;
         }
 
+        /**
+         * Poll for a message and drain up to the receive batch size of messages which are already available
+         *
+         * @return messages read, or an empty list
+         */
+        private List<Message> receiveBatch() {
+
+            Message first = receiveMessage();
+            if (first == null) {
+                return Collections.emptyList();
+            }
+            List<Message> batch = new ArrayList<>(receiveBatchSize);
+            batch.add(first);
+            try {
+                while (batch.size() < receiveBatchSize) {
+                    Message message = consumer.receiveNoWait();
+                    if (message == null) {
+                        break;
+                    }
+                    batch.add(message);
+                }
+            } catch (IllegalStateException ignore) {
+                // the consumer was closed, process what has been read so far
+            } catch (JMSException e) {
+                logError("Error receiving message batch for " + jmsConsumerName, e);
+            }
+            return batch;
+        }
+
+        /**
+         * Hand over a batch of messages to the partitioned workers, wait till all of them are processed and
+         * acknowledge or commit the batch once. A batch interrupted before it is fully processed is rolled back or
+         * recovered instead, so that it is redelivered
+         *
+         * @param batch the JMS messages received
+         */
+        private void handleBatch(List<Message> batch) {
+
+            boolean processed = false;
+            KeyOrderedExecutor executor = partitionedExecutor;
+            if (executor != null) {
+                PartitionedBatchProcessor processor = new PartitionedBatchProcessor(jmsConsumerName,
+                        partitionKeyResolver, executor, message -> {
+                            messageListener.onMessage(message);
+                            recordProcessed(message);
+                        });
+                processed = processor.process(batch);
+            }
+
+            try {
+                PartitionedBatchProcessor.complete(session, getSessionAckMode(), batch, processed);
+                if (log.isDebugEnabled()) {
+                    log.debug("Batch of " + batch.size() + " messages of " + jmsConsumerName
+                            + (processed ? " completed" : " rolled back"));
+                }
+            } catch (JMSException e) {
+                logError("Error completing a batch of " + batch.size() + " messages of " + jmsConsumerName, e);
+            }
+
+            closeConsumer(false);
+            closeSession(false);
+            closeConnection();
+        }
+
         /**
          * Invoke ultimate message handler/listener and ack message and/or
          * commit/rollback transactions
@@ -654,6 +788,7 @@ public class JMSTaskManager {
 
 
                 messageListener.onMessage(message);
+                recordProcessed(message);
 
             } finally {
 
@@ -756,7 +891,7 @@ public class JMSTaskManager {
 
                 boolean connected = false;
                 for (int i = 0; i < 5; i++) {
-                    if (getConnectedTaskCount() == concurrentConsumers) {
+                    if (getConnectedTaskCount() == getPollingTaskCount()) {
                         connected = true;
                         break;
                     }
@@ -785,7 +920,7 @@ public class JMSTaskManager {
                 }
 
 
-            } while (!isSTMActive() || getConnectedTaskCount() < concurrentConsumers);
+            } while (!isSTMActive() || getConnectedTaskCount() < getPollingTaskCount());
         }
 
         protected void requestShutdown() {
@@ -1024,6 +1159,36 @@ public class JMSTaskManager {
 
     // -------------- mundane private methods ----------------
 
+    /**
+     * Partitioned consumption is used when a partition key is configured, except for JTA transactions which are
+     * bound to the polling thread
+     *
+     * @return true if polling is separated from processing
+     */
+    private boolean isPartitionedConsumption() {
+        return partitionKeyResolver != null && transactionality != BaseConstants.TRANSACTION_JTA;
+    }
+
+    /**
+     * A single poller keeps the receive order in partitioned consumption, parallelism comes from the partitions
+     *
+     * @return number of polling tasks to run
+     */
+    private int getPollingTaskCount() {
+        return isPartitionedConsumption() ? 1 : concurrentConsumers;
+    }
+
+    private void recordProcessed(Message message) {
+        processedMessageCount.incrementAndGet();
+        try {
+            long timestamp = message.getJMSTimestamp();
+            if (timestamp > 0) {
+                lastMessageLagMillis = System.currentTimeMillis() - timestamp;
+            }
+        } catch (JMSException ignore) {
+        }
+    }
+
     /**
      * Get the InitialContext for lookup using the JNDI parameters
      *
@@ -1392,6 +1557,54 @@ public class JMSTaskManager {
         return activeTaskCount;
     }
 
+    public PartitionKeyResolver getPartitionKeyResolver() {
+        return partitionKeyResolver;
+    }
+
+    public void setPartitionKeyResolver(PartitionKeyResolver partitionKeyResolver) {
+        this.partitionKeyResolver = partitionKeyResolver;
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public void setPartitionCount(int partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    public int getReceiveBatchSize() {
+        return receiveBatchSize;
+    }
+
+    public void setReceiveBatchSize(int receiveBatchSize) {
+        this.receiveBatchSize = receiveBatchSize;
+    }
+
+    /**
+     * Get the number of received messages waiting for a partitioned worker
+     *
+     * @return pending message count, zero when partitioned consumption is not used
+     */
+    public int getPendingMessageCount() {
+        KeyOrderedExecutor executor = partitionedExecutor;
+        return executor == null ? 0 : executor.getPendingTaskCount();
+    }
+
+    public long getProcessedMessageCount() {
+        return processedMessageCount.get();
+    }
+
+    /**
+     * Get the time between publishing and processing of the last processed message, as an indication of the lag
+     * of this consumer
+     *
+     * @return lag in milliseconds
+     */
+    public long getLastMessageLagMillis() {
+        return lastMessageLagMillis;
+    }
+
     /**
      * Get the number of existing JMS message consumers.
      *
@@ -131,10 +131,25 @@ public class JMSTransportHandler {
      */
     public void subscribeForJmsEvents(String topicName, MessageListener messageListener) {
 
+        subscribeForJmsEvents(topicName, messageListener, null);
+    }
+
+    /**
+     * This method is used to subscribe to JMS topics and receive JMS messages with partitioned consumption. Messages
+     * are received in batches and processed in parallel across the keys returned by the resolver, while messages
+     * with the same key are processed in the order they were received.
+     *
+     * @param topicName            topic to subscribe
+     * @param messageListener      listener processing the messages
+     * @param partitionKeyResolver resolver of the ordering key of messages, or null to process messages one by one
+     */
+    public void subscribeForJmsEvents(String topicName, MessageListener messageListener,
+                                      PartitionKeyResolver partitionKeyResolver) {
+
         //Listening to throttleData topic
         JMSListener jmsMessageListener =
                 createJMSMessageListener(topicName, minThreadPoolSize, maxThreadPoolSize, keepAliveTimeInMillis,
-                        jobQueueSize, messageListener);
+                        jobQueueSize, messageListener, partitionKeyResolver);
         jmsMessageListener.startListener();
         jmsListenerList.add(jmsMessageListener);
         log.info("Starting jms topic consumer thread for the " + topicName + " topic...");
@@ -143,7 +158,8 @@ public class JMSTransportHandler {
 
     private JMSListener createJMSMessageListener(String topicName, int minThreadPoolSize, int maxThreadPoolSize,
                                                  int keepAliveTimeInMillis, int jobQueueSize,
-                                                 MessageListener messageListener) {
+                                                 MessageListener messageListener,
+                                                 PartitionKeyResolver partitionKeyResolver) {
 
         Map<String, String> messageConfig = new HashMap<>();
         messageConfig.put(JMSConstants.PARAM_DESTINATION, topicName);
@@ -154,6 +170,9 @@ public class JMSTransportHandler {
                                 keepAliveTimeInMillis, jobQueueSize, "JMS Threads",
                                 "JMSThreads" + UUID.randomUUID().toString()), messageConfig);
         jmsTaskManager.setMessageListener(messageListener);
+        if (partitionKeyResolver != null) {
+            jmsTaskManager.setPartitionKeyResolver(partitionKeyResolver);
+        }
 
         JMSListener jmsListener = new JMSListener(ListenerConstants.CONNECTION_FACTORY_NAME
                 + "#" + topicName, jmsTaskManager);
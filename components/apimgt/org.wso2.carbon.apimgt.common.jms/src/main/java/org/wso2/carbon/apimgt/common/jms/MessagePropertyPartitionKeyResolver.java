@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.common.jms;
+
+import javax.jms.JMSException;
+import javax.jms.MapMessage;
+import javax.jms.Message;
+
+/**
+ * Resolves the ordering key of a message from a message property, falling back to the entry of the same name of a
+ * {@link MapMessage}.
+ */
+public class MessagePropertyPartitionKeyResolver implements PartitionKeyResolver {
+
+    private final String propertyName;
+
+    public MessagePropertyPartitionKeyResolver(String propertyName) {
+
+        this.propertyName = propertyName;
+    }
+
+    @Override
+    public Object resolveKey(Message message) throws JMSException {
+
+        Object key = message.getObjectProperty(propertyName);
+        if (key == null && message instanceof MapMessage) {
+            key = ((MapMessage) message).getObject(propertyName);
+        }
+        return key;
+    }
+
+    public String getPropertyName() {
+
+        return propertyName;
+    }
+}
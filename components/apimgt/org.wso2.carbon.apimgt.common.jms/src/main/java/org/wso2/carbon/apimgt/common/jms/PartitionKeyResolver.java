@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.common.jms;
+
+import javax.jms.JMSException;
+import javax.jms.Message;
+
+/**
+ * Resolves the ordering key of a received message for partitioned consumption in {@link JMSTaskManager}. Messages
+ * resolving to equal keys are processed one after the other in the order they were received.
+ */
+public interface PartitionKeyResolver {
+
+    /**
+     * Returns the ordering key of the message.
+     *
+     * @param message received message
+     * @return ordering key, or null to process the message on the default partition
+     * @throws JMSException if the message could not be read
+     */
+    Object resolveKey(Message message) throws JMSException;
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.common.jms;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.common.jms.utils.KeyOrderedExecutor;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+import javax.jms.Session;
+
+/**
+ * Processes a batch of received messages on the partitions of a {@link KeyOrderedExecutor} for the partitioned
+ * consumption mode of {@link JMSTaskManager}, and completes the batch on the session once all of its messages are
+ * processed.
+ * <p>
+ * The partitions only pass the received messages to the listener. Every session operation (receive, acknowledge,
+ * commit, rollback and recover) stays on the polling thread that owns the session, and a batch is completed only
+ * after no partition is working on any of its messages any more.
+ */
+class PartitionedBatchProcessor {
+
+    private static final Log log = LogFactory.getLog(PartitionedBatchProcessor.class);
+    // How often a waiting poller checks whether the partitions were stopped underneath it
+    private static final long TERMINATION_CHECK_INTERVAL_MILLIS = 500;
+
+    private final String consumerName;
+    private final PartitionKeyResolver partitionKeyResolver;
+    private final KeyOrderedExecutor executor;
+    private final MessageListener messageListener;
+
+    PartitionedBatchProcessor(String consumerName, PartitionKeyResolver partitionKeyResolver,
+                              KeyOrderedExecutor executor, MessageListener messageListener) {
+
+        this.consumerName = consumerName;
+        this.partitionKeyResolver = partitionKeyResolver;
+        this.executor = executor;
+        this.messageListener = messageListener;
+    }
+
+    /**
+     * Hands over the messages of a batch to the partitions and waits till all of them are processed. If the waiting
+     * thread is interrupted, the messages not yet started are skipped and the messages already being processed are
+     * waited for, so that the batch can be rolled back without a partition still working on it. Messages dropped
+     * because the partitions were shut down also leave the batch unprocessed.
+     *
+     * @param batch messages in the order they were received
+     * @return true if every message was processed, false if the batch has to be redelivered
+     */
+    boolean process(List<Message> batch) {
+
+        CountDownLatch finished = new CountDownLatch(batch.size());
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicInteger processedCount = new AtomicInteger();
+        for (Message message : batch) {
+            Object key = null;
+            try {
+                key = partitionKeyResolver.resolveKey(message);
+            } catch (JMSException e) {
+                log.error("Error resolving partition key of message for " + consumerName, e);
+            }
+            boolean accepted = executor.execute(key, () -> {
+                try {
+                    if (!cancelled.get()) {
+                        // a listener failure still completes the message, as with one-by-one consumption
+                        try {
+                            messageListener.onMessage(message);
+                        } finally {
+                            processedCount.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    finished.countDown();
+                }
+            });
+            if (!accepted) {
+                finished.countDown();
+            }
+        }
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (finished.await(TERMINATION_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+                if (executor.isTerminated()) {
+                    // the partitions were stopped, the messages still queued on them will never run
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+                cancelled.set(true);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        boolean processed = processedCount.get() == batch.size();
+        if (!processed) {
+            log.warn("Processed " + processedCount.get() + " of " + batch.size() + " messages of a batch of "
+                    + consumerName + ", the batch will be redelivered");
+        }
+        return processed;
+    }
+
+    /**
+     * Acknowledges or commits a processed batch, or rolls back or recovers the session so that a batch which was not
+     * fully processed is redelivered.
+     *
+     * @param session   session the batch was received on
+     * @param ackMode   acknowledgement mode of the session
+     * @param batch     messages of the batch
+     * @param processed whether every message of the batch was processed
+     * @throws JMSException if the session could not be completed
+     */
+    static void complete(Session session, int ackMode, List<Message> batch, boolean processed)
+            throws JMSException {
+
+        if (processed) {
+            // acknowledging the last message acknowledges every message consumed by the session
+            if (ackMode == Session.CLIENT_ACKNOWLEDGE) {
+                batch.get(batch.size() - 1).acknowledge();
+            }
+            if (session.getTransacted()) {
+                session.commit();
+            }
+        } else if (session.getTransacted()) {
+            session.rollback();
+        } else if (ackMode == Session.CLIENT_ACKNOWLEDGE) {
+            session.recover();
+        }
+    }
+}
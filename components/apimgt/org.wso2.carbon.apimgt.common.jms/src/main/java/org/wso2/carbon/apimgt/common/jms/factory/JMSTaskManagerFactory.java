@@ -24,6 +24,7 @@ import org.apache.axis2.transport.base.threads.WorkerPool;
 import org.wso2.carbon.apimgt.common.jms.JMSConstants;
 import org.wso2.carbon.apimgt.common.jms.JMSTaskManager;
 import org.wso2.carbon.apimgt.common.jms.JmsRunTimeException;
+import org.wso2.carbon.apimgt.common.jms.MessagePropertyPartitionKeyResolver;
 
 import java.util.HashMap;
 import java.util.List;
@@ -131,6 +132,19 @@ public class JMSTaskManagerFactory {
             stm.setReconnectionProgressionFactor(dValue);
         }
 
+        String partitionKeyProperty = getOptionalStringProperty(JMSConstants.PARAM_PARTITION_KEY_PROPERTY, svc, cf);
+        if (partitionKeyProperty != null) {
+            stm.setPartitionKeyResolver(new MessagePropertyPartitionKeyResolver(partitionKeyProperty));
+        }
+        value = getOptionalIntProperty(JMSConstants.PARAM_PARTITION_COUNT, svc, cf);
+        if (value != null && value > 0) {
+            stm.setPartitionCount(value);
+        }
+        value = getOptionalIntProperty(JMSConstants.PARAM_RECEIVE_BATCH_SIZE, svc, cf);
+        if (value != null && value > 0) {
+            stm.setReceiveBatchSize(value);
+        }
+
         stm.setWorkerPool(workerPool);
 
         // remove processed properties from property bag
@@ -155,6 +169,9 @@ public class JMSTaskManagerFactory {
         stm.removeJmsProperties(JMSConstants.PARAM_RECON_MAX_DURATION);
         stm.removeJmsProperties(JMSConstants.PARAM_RECON_FACTOR);
         stm.removeJmsProperties(JMSConstants.PARAM_DURABLE_SUB_CLIENT_ID);
+        stm.removeJmsProperties(JMSConstants.PARAM_PARTITION_KEY_PROPERTY);
+        stm.removeJmsProperties(JMSConstants.PARAM_PARTITION_COUNT);
+        stm.removeJmsProperties(JMSConstants.PARAM_RECEIVE_BATCH_SIZE);
 
         return stm;
     }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.common.jms.utils;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor which runs tasks submitted for the same key in submission order, while tasks for unrelated keys run in
+ * parallel. Each key is mapped to one of a fixed set of single threaded lanes using its hash code.
+ */
+public class KeyOrderedExecutor {
+
+    private static final Log log = LogFactory.getLog(KeyOrderedExecutor.class);
+
+    private final String name;
+    private final ThreadPoolExecutor[] lanes;
+
+    public KeyOrderedExecutor(String name, int laneCount) {
+
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("Lane count of " + name + " should be a positive number");
+        }
+        this.name = name;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = laneCount == 1 ? name : name + "-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    r -> {
+                        Thread thread = new Thread(r, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    /**
+     * Submits a task to the lane owning the given key.
+     *
+     * @param key  ordering key of the task, tasks with equal keys never run concurrently or out of order
+     * @param task task to run
+     * @return true if the task was accepted, false if it was dropped since the executor is shut down
+     */
+    public boolean execute(Object key, Runnable task) {
+
+        try {
+            lanes[laneOf(key)].execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // Keep the lane thread alive so that tasks queued behind this one are not delayed by a respawn
+                    log.error("Error while executing task of key " + key + " in " + name, e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.error("Dropped task of key " + key + " since " + name + " is shut down", e);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of tasks waiting in all lanes.
+     *
+     * @return pending task count
+     */
+    public int getPendingTaskCount() {
+
+        int pending = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            pending += lane.getQueue().size();
+        }
+        return pending;
+    }
+
+    /**
+     * Returns the number of lanes of this executor.
+     *
+     * @return lane count
+     */
+    public int getLaneCount() {
+
+        return lanes.length;
+    }
+
+    /**
+     * Returns whether every lane has been shut down and has no task running or queued. Tasks which were still queued
+     * when a lane was forcibly stopped are never run.
+     *
+     * @return true once all lanes are terminated
+     */
+    public boolean isTerminated() {
+
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.isTerminated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops accepting new tasks and waits for the queued tasks to finish within the given timeout.
+     *
+     * @param timeoutMillis maximum time to wait for each lane to drain
+     */
+    public void shutdown(long timeoutMillis) {
+
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                if (!lane.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    lane.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                lane.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private int laneOf(Object key) {
+
+        if (lanes.length == 1 || key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        // spread the higher bits so that sequential ids do not cluster on a few lanes
+        hash ^= (hash >>> 16);
+        return (hash & Integer.MAX_VALUE) % lanes.length;
+    }
+}
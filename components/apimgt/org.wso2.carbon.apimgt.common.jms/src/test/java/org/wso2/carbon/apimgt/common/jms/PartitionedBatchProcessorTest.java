@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.common.jms;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.carbon.apimgt.common.jms.utils.KeyOrderedExecutor;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.jms.Message;
+import javax.jms.Session;
+
+public class PartitionedBatchProcessorTest {
+
+    private static final String KEY_PROPERTY = "key";
+    private static final String SEQUENCE_PROPERTY = "sequence";
+
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor("PartitionedBatchProcessorTest", 4);
+    private final Map<String, AtomicInteger> sessionCalls = new HashMap<>();
+    private final AtomicInteger acknowledgements = new AtomicInteger();
+
+    @After
+    public void tearDown() {
+
+        executor.shutdown(1000);
+    }
+
+    @Test
+    public void testMessagesOfSameKeyAreProcessedInReceiveOrder() {
+
+        List<Message> batch = new ArrayList<>();
+        for (int sequence = 0; sequence < 200; sequence++) {
+            batch.add(message("key-" + (sequence % 5), sequence));
+        }
+        Map<Object, List<Integer>> processedPerKey = new HashMap<>();
+        PartitionedBatchProcessor processor = new PartitionedBatchProcessor("test",
+                new MessagePropertyPartitionKeyResolver(KEY_PROPERTY), executor, message -> {
+                    try {
+                        Object key = message.getObjectProperty(KEY_PROPERTY);
+                        synchronized (processedPerKey) {
+                            processedPerKey.computeIfAbsent(key, k -> new ArrayList<>())
+                                    .add((Integer) message.getObjectProperty(SEQUENCE_PROPERTY));
+                        }
+                    } catch (javax.jms.JMSException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+
+        Assert.assertTrue(processor.process(batch));
+
+        Assert.assertEquals(5, processedPerKey.size());
+        for (List<Integer> sequences : processedPerKey.values()) {
+            Assert.assertEquals(40, sequences.size());
+            List<Integer> sorted = new ArrayList<>(sequences);
+            Collections.sort(sorted);
+            Assert.assertEquals(sorted, sequences);
+        }
+    }
+
+    @Test
+    public void testProcessedBatchIsAcknowledgedOnce() throws Exception {
+
+        List<Message> batch = new ArrayList<>();
+        for (int sequence = 0; sequence < 10; sequence++) {
+            batch.add(message("key", sequence));
+        }
+        AtomicInteger processedCount = new AtomicInteger();
+        PartitionedBatchProcessor processor = new PartitionedBatchProcessor("test",
+                new MessagePropertyPartitionKeyResolver(KEY_PROPERTY), executor,
+                message -> processedCount.incrementAndGet());
+
+        boolean processed = processor.process(batch);
+        PartitionedBatchProcessor.complete(session(false), Session.CLIENT_ACKNOWLEDGE, batch, processed);
+
+        Assert.assertEquals(10, processedCount.get());
+        Assert.assertEquals(1, acknowledgements.get());
+        Assert.assertEquals(0, calls("recover"));
+    }
+
+    @Test
+    public void testProcessedTransactedBatchIsCommitted() throws Exception {
+
+        List<Message> batch = Collections.singletonList(message("key", 0));
+        PartitionedBatchProcessor.complete(session(true), Session.SESSION_TRANSACTED, batch, true);
+
+        Assert.assertEquals(1, calls("commit"));
+        Assert.assertEquals(0, calls("rollback"));
+    }
+
+    @Test
+    public void testInterruptedBatchWaitsForRunningMessagesAndSkipsTheRest() throws Exception {
+
+        List<Message> batch = new ArrayList<>();
+        batch.add(message("key", 0));
+        batch.add(message("key", 1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> processedSequences = Collections.synchronizedList(new ArrayList<>());
+        PartitionedBatchProcessor processor = new PartitionedBatchProcessor("test",
+                new MessagePropertyPartitionKeyResolver(KEY_PROPERTY), executor, message -> {
+                    try {
+                        Integer sequence = (Integer) message.getObjectProperty(SEQUENCE_PROPERTY);
+                        if (sequence == 0) {
+                            started.countDown();
+                            release.await(5, TimeUnit.SECONDS);
+                        }
+                        processedSequences.add(sequence);
+                    } catch (javax.jms.JMSException | InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+
+        AtomicBoolean processed = new AtomicBoolean(true);
+        AtomicBoolean interruptRestored = new AtomicBoolean();
+        Thread poller = new Thread(() -> {
+            processed.set(processor.process(batch));
+            interruptRestored.set(Thread.currentThread().isInterrupted());
+        });
+        poller.start();
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        poller.interrupt();
+        // the batch is not completed while a partition is still processing one of its messages
+        poller.join(300);
+        Assert.assertTrue(poller.isAlive());
+
+        release.countDown();
+        poller.join(5000);
+        Assert.assertFalse(poller.isAlive());
+        Assert.assertFalse(processed.get());
+        Assert.assertTrue(interruptRestored.get());
+        // the message queued behind the running one is skipped, it is redelivered with the batch
+        Assert.assertEquals(Collections.singletonList(0), processedSequences);
+
+        PartitionedBatchProcessor.complete(session(false), Session.CLIENT_ACKNOWLEDGE, batch, processed.get());
+        Assert.assertEquals(0, acknowledgements.get());
+        Assert.assertEquals(1, calls("recover"));
+
+        PartitionedBatchProcessor.complete(session(true), Session.SESSION_TRANSACTED, batch, processed.get());
+        Assert.assertEquals(0, calls("commit"));
+        Assert.assertEquals(1, calls("rollback"));
+    }
+
+    @Test
+    public void testBatchRejectedByStoppedPartitionsIsNotProcessed() {
+
+        KeyOrderedExecutor stoppedExecutor = new KeyOrderedExecutor("StoppedPartitions", 2);
+        stoppedExecutor.shutdown(1000);
+        AtomicInteger processedCount = new AtomicInteger();
+        PartitionedBatchProcessor processor = new PartitionedBatchProcessor("test",
+                new MessagePropertyPartitionKeyResolver(KEY_PROPERTY), stoppedExecutor,
+                message -> processedCount.incrementAndGet());
+
+        // returns instead of waiting for messages which will never be processed
+        Assert.assertFalse(processor.process(Collections.singletonList(message("key", 0))));
+        Assert.assertEquals(0, processedCount.get());
+    }
+
+    @Test
+    public void testFailedMessageCompletesTheBatch() {
+
+        PartitionedBatchProcessor processor = new PartitionedBatchProcessor("test",
+                new MessagePropertyPartitionKeyResolver(KEY_PROPERTY), executor, message -> {
+                    throw new IllegalStateException("listener failure");
+                });
+
+        Assert.assertTrue(processor.process(Collections.singletonList(message("key", 0))));
+    }
+
+    private int calls(String method) {
+
+        AtomicInteger count = sessionCalls.get(method);
+        return count == null ? 0 : count.get();
+    }
+
+    private Session session(boolean transacted) {
+
+        return (Session) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Session.class},
+                (proxy, method, args) -> {
+                    if ("getTransacted".equals(method.getName())) {
+                        return transacted;
+                    }
+                    sessionCalls.computeIfAbsent(method.getName(), k -> new AtomicInteger()).incrementAndGet();
+                    return null;
+                });
+    }
+
+    private Message message(String key, int sequence) {
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(KEY_PROPERTY, key);
+        properties.put(SEQUENCE_PROPERTY, sequence);
+        return (Message) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Message.class},
+                (proxy, method, args) -> {
+                    if ("getObjectProperty".equals(method.getName())) {
+                        return properties.get(args[0]);
+                    }
+                    if ("acknowledge".equals(method.getName())) {
+                        acknowledgements.incrementAndGet();
+                    }
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.common.jms.utils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class KeyOrderedExecutorTest {
+
+    private static final int KEYS = 16;
+    private static final int PRODUCERS = 4;
+    private static final int TASKS_PER_KEY_PER_PRODUCER = 250;
+
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor("KeyOrderedExecutorTest", 4);
+
+    @After
+    public void tearDown() {
+
+        executor.shutdown(1000);
+    }
+
+    @Test
+    public void testTasksOfSameKeyRunInSubmissionOrder() throws Exception {
+
+        Map<String, List<Integer>> executedPerProducerKey = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(KEYS * PRODUCERS * TASKS_PER_KEY_PER_PRODUCER);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int sequence = 0; sequence < TASKS_PER_KEY_PER_PRODUCER; sequence++) {
+                    for (int key = 0; key < KEYS; key++) {
+                        int taskSequence = sequence;
+                        String producerKey = producer + ":" + key;
+                        // every producer submits to every key, so lanes receive interleaved submissions
+                        executor.execute("key-" + key, () -> {
+                            executedPerProducerKey.computeIfAbsent(producerKey,
+                                    k -> Collections.synchronizedList(new ArrayList<>())).add(taskSequence);
+                            completed.countDown();
+                        });
+                    }
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        Assert.assertTrue(completed.await(30, TimeUnit.SECONDS));
+
+        Assert.assertEquals(KEYS * PRODUCERS, executedPerProducerKey.size());
+        for (List<Integer> sequences : executedPerProducerKey.values()) {
+            Assert.assertEquals(TASKS_PER_KEY_PER_PRODUCER, sequences.size());
+            for (int i = 0; i < sequences.size(); i++) {
+                Assert.assertEquals(Integer.valueOf(i), sequences.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testTasksOfSameKeyNeverOverlap() throws Exception {
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(200);
+        for (int i = 0; i < 200; i++) {
+            executor.execute("same-key", () -> {
+                if (running.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                running.decrementAndGet();
+                completed.countDown();
+            });
+        }
+        Assert.assertTrue(completed.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(0, overlaps.get());
+    }
+
+    @Test
+    public void testFailingTaskDoesNotBlockLane() throws Exception {
+
+        CountDownLatch completed = new CountDownLatch(1);
+        executor.execute("key", () -> {
+            throw new IllegalStateException("expected");
+        });
+        executor.execute("key", completed::countDown);
+        Assert.assertTrue(completed.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -37,15 +37,19 @@ import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Logger manager to invoke the internal API and retrieve per API logging details.
  */
 public class APILoggerManager {
     private static final Log log = LogFactory.getLog(APILoggerManager.class);
-    private static final Map<String, String> logProperties = new HashMap<>();
+    private static final Map<String, String> logProperties = new ConcurrentHashMap<>();
+    // Enabled log levels keyed by API context without the leading slash, rebuilt whenever a log level changes
+    private static volatile Map<String, String> contextLogLevels = Collections.emptyMap();
     private static final APILoggerManager apiLoggerManager = new APILoggerManager();
     private final EventHubConfigurationDto eventHubConfigurationDto;
     public static final String UTF8 = "UTF-8";
@@ -60,6 +64,7 @@ public class APILoggerManager {
                 JSONObject apiLoggerObject = apiLogArray.getJSONObject(i);
                 logProperties.put(apiLoggerObject.getString("context"), apiLoggerObject.getString("logLevel"));
             }
+            rebuildContextLogLevels();
             if (log.isDebugEnabled()) {
                 log.debug("Response : " + responseString);
             }
@@ -70,6 +75,50 @@ public class APILoggerManager {
 
     public void updateLoggerMap(String apiContext, String logLevel) {
         logProperties.put(apiContext, logLevel);
+        rebuildContextLogLevels();
+    }
+
+    public boolean isPerAPILoggingEnabled() {
+        return !contextLogLevels.isEmpty();
+    }
+
+    /**
+     * Resolve the log level of the API which serves the given request path. The lookup only walks the path segments
+     * of the request, and returns immediately when logging is not enabled for any API.
+     *
+     * @param requestPath request path without the leading slash
+     * @return log level of the API or null if logging is not enabled for the API
+     */
+    public String getLogLevel(String requestPath) {
+        Map<String, String> levels = contextLogLevels;
+        if (levels.isEmpty() || requestPath == null) {
+            return null;
+        }
+        int end = requestPath.indexOf('?');
+        if (end < 0) {
+            end = requestPath.length();
+        }
+        // Prefer the longest matching context
+        while (end > 0) {
+            String logLevel = levels.get(requestPath.substring(0, end));
+            if (logLevel != null) {
+                return logLevel;
+            }
+            end = requestPath.lastIndexOf('/', end - 1);
+        }
+        return null;
+    }
+
+    private static synchronized void rebuildContextLogLevels() {
+        Map<String, String> levels = new HashMap<>();
+        for (Map.Entry<String, String> entry : logProperties.entrySet()) {
+            String context = entry.getKey();
+            if (context != null && context.length() > 1 && entry.getValue() != null
+                    && !APIConstants.LOG_LEVEL_OFF.equalsIgnoreCase(entry.getValue())) {
+                levels.put(context.substring(1), entry.getValue());
+            }
+        }
+        contextLogLevels = levels;
     }
 
     public Map<String, String> getPerAPILoggerList() {
@@ -176,6 +176,7 @@ public class APIMgtGatewayConstants {
     public static final String HOST_HEADER = "HostHeader";
     public static final String API_OBJECT = "API";
     public static final String OAUTH_ENDPOINT_INSTANCE = "oauth.instance";
+    public static final String OAUTH_BACKEND_ACCESS_TOKEN = "oauth.backend.access.token";
     public static final String VALIDATED_X509_CERT = "ValidatedX509Cert";
     public static final String RESOURCE_SPAN = "API:Resource";
 
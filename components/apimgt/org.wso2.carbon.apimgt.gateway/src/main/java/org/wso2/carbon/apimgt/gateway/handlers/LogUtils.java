@@ -19,7 +19,6 @@
 package org.wso2.carbon.apimgt.gateway.handlers;
 
 import org.apache.http.HttpHeaders;
-import org.apache.synapse.MessageContext;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.wso2.carbon.apimgt.gateway.APIMgtGatewayConstants;
 import org.wso2.carbon.apimgt.impl.APIConstants;
@@ -118,17 +117,4 @@ class LogUtils {
         String transportInURL = (String) axis2MsgContext.getProperty("TransportInURL");
         return transportInURL.substring(1);
     }
-
-    protected static String getMatchingLogLevel(MessageContext ctx, Map<String, String> logProperties) {
-        String apiCtx = LogUtils.getTransportInURL(ctx);
-        for (Map.Entry<String, String> entry : logProperties.entrySet()) {
-            String key = entry.getKey().substring(1);
-            if (apiCtx.startsWith(key + "/") || apiCtx.equals(key)) {
-                ctx.setProperty(LogsHandler.LOG_LEVEL, entry.getValue());
-                ctx.setProperty("API_TO", apiCtx);
-                return entry.getValue();
-            }
-        }
-        return null;
-    }
-}
\ No newline at end of file
+}
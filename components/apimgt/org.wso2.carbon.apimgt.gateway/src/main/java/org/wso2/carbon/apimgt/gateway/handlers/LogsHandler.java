@@ -18,8 +18,6 @@
 
 package org.wso2.carbon.apimgt.gateway.handlers;
 
-import org.apache.axiom.soap.SOAPBody;
-import org.apache.axiom.soap.SOAPEnvelope;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpHeaders;
@@ -27,18 +25,14 @@ import org.apache.logging.log4j.ThreadContext;
 import org.apache.synapse.AbstractSynapseHandler;
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
-import org.apache.synapse.transport.passthru.util.RelayUtils;
 import org.wso2.carbon.apimgt.gateway.APILoggerManager;
 import org.wso2.carbon.apimgt.gateway.APIMgtGatewayConstants;
 import org.wso2.carbon.apimgt.gateway.handlers.logging.APILogHandler;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.correlation.MethodCallsCorrelationConfigDataHolder;
 
-import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.Map;
 import java.util.Set;
-import javax.xml.stream.XMLStreamException;
 
 /**
  * This Handler can be used to log all external calls done by the api manager via synapse.
@@ -55,8 +49,6 @@ public class LogsHandler extends AbstractSynapseHandler {
     private static final String CORRELATION_ID_HEADER = "CORRELATION_ID_HEADER";
     protected static final String LOG_LEVEL = "LOG_LEVEL";
 
-    private static final String REQUEST_BODY_SIZE_ERROR = "Error occurred while building the message to calculate" +
-            " the response body size";
     private static final String REQUEST_EVENT_PUBLICATION_ERROR = "Cannot publish request event. ";
     private static final String RESPONSE_EVENT_PUBLICATION_ERROR = "Cannot publish response event. ";
 
@@ -150,7 +142,7 @@ public class LogsHandler extends AbstractSynapseHandler {
                             + LogUtils.getRestMethod(messageContext) + "|" + LogUtils.getAPICtx(messageContext)
                             + LogUtils.getElectedResource(messageContext) + "|" + apiTo + "|" + authHeader + "|"
                             + orgIdHeader + "|" + SrcIdHeader + "|" + applIdHeader + "|" + uuIdHeader + "|"
-                            + getContentLength(messageContext) + "|" + responseSize + "|"
+                            + responseSize + "|" + responseSize + "|"
                             + LogUtils.getRestHttpResponseStatusCode(messageContext) + "|"
                             + LogUtils.getApplicationName(messageContext) + "|"
                             + LogUtils.getConsumerKey(messageContext) + "|" + responseTime);
@@ -244,35 +236,6 @@ public class LogsHandler extends AbstractSynapseHandler {
         return requestSize;
     }
 
-    private long buildResponseMessage(org.apache.synapse.MessageContext messageContext) {
-        long responseSize = 0;
-        org.apache.axis2.context.MessageContext axis2MC = ((Axis2MessageContext) messageContext)
-                .getAxis2MessageContext();
-        Map headers = (Map) axis2MC.getProperty(org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS);
-        String contentLength = (String) headers.get(HttpHeaders.CONTENT_LENGTH);
-        if (contentLength != null) {
-            responseSize = Integer.parseInt(contentLength);
-        } else {
-            // When chunking is enabled
-            try {
-                RelayUtils.buildMessage(axis2MC);
-            } catch (IOException | XMLStreamException ex) {
-                // In case of an exception, it won't be propagated up,and set response size to 0
-                log.error(REQUEST_BODY_SIZE_ERROR, ex);
-            }
-        }
-        SOAPEnvelope env = messageContext.getEnvelope();
-        if (env != null) {
-            SOAPBody soapbody = env.getBody();
-            if (soapbody != null) {
-                byte[] size = soapbody.toString().getBytes(Charset.defaultCharset());
-                responseSize = size.length;
-            }
-
-        }
-        return responseSize;
-
-    }
     /**
      * Sync the node's map based on the user given values.
      *
@@ -299,11 +262,17 @@ public class LogsHandler extends AbstractSynapseHandler {
      * @return log level of the API or null if not
      */
     private String getAPILogLevel(MessageContext ctx) {
-        Map<String, String> logProperties = APILoggerManager.getInstance().getPerAPILoggerList();
-        // if the logging API data holder is empty or null return null
-        if (!logProperties.isEmpty()) {
-            return LogUtils.getMatchingLogLevel(ctx, logProperties);
+        APILoggerManager apiLoggerManager = APILoggerManager.getInstance();
+        // if per API logging is not enabled for any API, avoid resolving the request path
+        if (!apiLoggerManager.isPerAPILoggingEnabled()) {
+            return null;
+        }
+        String apiCtx = LogUtils.getTransportInURL(ctx);
+        String logLevel = apiLoggerManager.getLogLevel(apiCtx);
+        if (logLevel != null) {
+            ctx.setProperty(LOG_LEVEL, logLevel);
+            ctx.setProperty("API_TO", apiCtx);
         }
-        return null;
+        return logLevel;
     }
 }
@@ -433,6 +433,8 @@ public class APIAuthenticationHandler extends AbstractHandler implements Managed
                 }
                 try {
                     if (isAuthenticate(messageContext)) {
+                        APISecurityUtils.setRequestTokenContext(messageContext,
+                                APISecurityUtils.getAuthenticationContext(messageContext));
                         setAPIParametersToMessageContext(messageContext);
                         return ExtensionListenerUtil.postProcessRequest(messageContext, type);
                     }
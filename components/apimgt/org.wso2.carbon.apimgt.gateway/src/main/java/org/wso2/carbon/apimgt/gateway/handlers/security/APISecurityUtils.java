@@ -18,13 +18,17 @@ package org.wso2.carbon.apimgt.gateway.handlers.security;
 
 import org.apache.synapse.MessageContext;
 import org.apache.synapse.core.axis2.Axis2MessageContext;
+import org.wso2.carbon.apimgt.common.gateway.util.JWTUtil;
 import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.jwt.SignedJWTInfo;
 
 import java.util.Map;
 
 public class APISecurityUtils {
 
     public static final String API_AUTH_CONTEXT = "__API_AUTH_CONTEXT";
+    public static final String API_REQUEST_TOKEN_CONTEXT = "__API_REQUEST_TOKEN_CONTEXT";
+    public static final String API_SIGNED_JWT_INFO = "__API_SIGNED_JWT_INFO";
 
     private static String keyValidatorClientType;
 
@@ -80,4 +84,47 @@ public class APISecurityUtils {
         return (AuthenticationContext) synCtx.getProperty(API_AUTH_CONTEXT);
     }
 
+    /**
+     * Attach the tokens of an authenticated request to the request, so that they are parsed only once during the
+     * mediation. The JWT access token parsed by the authenticator, if any, is picked from the request.
+     *
+     * @param synCtx      A newly authenticated request
+     * @param authContext AuthenticationContext information of the request
+     */
+    public static void setRequestTokenContext(MessageContext synCtx, AuthenticationContext authContext) {
+        SignedJWTInfo signedJWTInfo = (SignedJWTInfo) synCtx.getProperty(API_SIGNED_JWT_INFO);
+        synCtx.setProperty(API_REQUEST_TOKEN_CONTEXT, new RequestTokenContext(signedJWTInfo,
+                authContext != null ? authContext.getCallerToken() : null));
+    }
+
+    /**
+     * Retrieve the RequestTokenContext of the request. If the request hasn't been authenticated yet, this method
+     * will return null.
+     *
+     * @param synCtx Current message
+     * @return A RequestTokenContext instance or null
+     */
+    public static RequestTokenContext getRequestTokenContext(MessageContext synCtx) {
+        return (RequestTokenContext) synCtx.getProperty(API_REQUEST_TOKEN_CONTEXT);
+    }
+
+    /**
+     * Retrieve the claims of the caller token of the request. The claims decoded by the RequestTokenContext of the
+     * request are reused, and the caller token is decoded only if it is not the one in the RequestTokenContext.
+     *
+     * @param synCtx      Current message
+     * @param authContext AuthenticationContext information of the request
+     * @return claims of the caller token or null if there is no caller token
+     */
+    public static Map<String, String> getCallerTokenClaims(MessageContext synCtx, AuthenticationContext authContext) {
+        String callerToken = authContext.getCallerToken();
+        if (callerToken == null) {
+            return null;
+        }
+        RequestTokenContext requestTokenContext = synCtx != null ? getRequestTokenContext(synCtx) : null;
+        if (requestTokenContext != null && callerToken.equals(requestTokenContext.getCallerToken())) {
+            return requestTokenContext.getCallerTokenClaims();
+        }
+        return JWTUtil.getJWTClaims(callerToken);
+    }
 }
@@ -47,13 +47,14 @@ import org.wso2.carbon.apimgt.tracing.telemetry.TelemetryUtil;
 import org.wso2.carbon.metrics.manager.MetricManager;
 import org.wso2.carbon.metrics.manager.Timer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 public class CORSRequestHandler extends AbstractHandler implements ManagedLifecycle {
@@ -64,12 +65,19 @@ public class CORSRequestHandler extends AbstractHandler implements ManagedLifecy
     private String exposeHeaders;
     private String allowCredentials;
     private Set<String> allowedOrigins;
+    private boolean allowAllOrigins;
+    private List<Pattern> wildcardOriginPatterns = new ArrayList<>();
     private boolean initializeHeaderValues;
     private String allowedMethods;
     private List<String> allowedMethodList;
     private boolean allowCredentialsEnabled;
     private String authorizationHeader;
     private String apiKeyHeader;
+    private boolean corsEnabled;
+    private boolean forbidBlockedRequests;
+    private boolean setStatusCodeFromMessageContext;
+    // Access-Control-Allow-Methods header value of each resource of the API
+    private final Map<Resource, ResourceAllowedMethods> resourceAllowedMethods = new ConcurrentHashMap<>();
 
     public void init(SynapseEnvironment synapseEnvironment) {
         if (log.isDebugEnabled()) {
@@ -102,7 +110,7 @@ public class CORSRequestHandler extends AbstractHandler implements ManagedLifecy
         if (allowedOrigins == null) {
             String allowedOriginsList = APIUtil.getAllowedOrigins();
             if (!allowedOriginsList.isEmpty()) {
-                allowedOrigins = new HashSet<String>(Arrays.asList(allowedOriginsList.split(",")));
+                setAllowedOrigins(allowedOriginsList);
             }
         }
         if (allowCredentials == null) {
@@ -117,6 +125,11 @@ public class CORSRequestHandler extends AbstractHandler implements ManagedLifecy
         if (exposeHeaders == null) {
             exposeHeaders = APIUtil.getAccessControlExposedHeaders();
         }
+        corsEnabled = APIUtil.isCORSEnabled();
+        forbidBlockedRequests = Boolean.parseBoolean(
+                System.getProperty(APIMgtGatewayConstants.CORS_FORBID_BLOCKED_REQUESTS));
+        setStatusCodeFromMessageContext = Boolean.parseBoolean(
+                System.getProperty(APIMgtGatewayConstants.CORS_SET_STATUS_CODE_FROM_MSG_CONTEXT));
 
         initializeHeaderValues = true;
     }
@@ -173,11 +186,12 @@ public class CORSRequestHandler extends AbstractHandler implements ManagedLifecy
                 Resource[] allAPIResources = selectedApi.getResources();
                 Set<Resource> acceptableResources = new LinkedHashSet<>();
 
+                boolean isOptionsRequest = RESTConstants.METHOD_OPTIONS.equals(httpMethod);
                 for (Resource resource : allAPIResources) {
+                    String[] resourceMethods = resource.getMethods();
                     //If the requesting method is OPTIONS or if the Resource contains the requesting method
-                    if ((RESTConstants.METHOD_OPTIONS.equals(httpMethod) && resource.getMethods() != null &&
-                            Arrays.asList(resource.getMethods()).contains(corsRequestMethod)) ||
-                            (resource.getMethods() != null && Arrays.asList(resource.getMethods()).contains(httpMethod))) {
+                    if (resourceMethods != null && ((isOptionsRequest && contains(resourceMethods, corsRequestMethod))
+                            || contains(resourceMethods, httpMethod))) {
                         acceptableResources.add(resource);
                     }
                 }
@@ -221,8 +235,7 @@ public class CORSRequestHandler extends AbstractHandler implements ManagedLifecy
             //If this is an OPTIONS request
             if (APIConstants.SupportedHTTPVerbs.OPTIONS.name().equalsIgnoreCase(httpMethod)) {
                 //If the OPTIONS method is explicity specified in the resource
-                if (Arrays.asList(selectedResource.getMethods()).contains(
-                        APIConstants.SupportedHTTPVerbs.OPTIONS.name())) {
+                if (contains(selectedResource.getMethods(), APIConstants.SupportedHTTPVerbs.OPTIONS.name())) {
                     //We will not handle the CORS headers, let the back-end do it.
                     return true;
                 }
@@ -231,8 +244,7 @@ public class CORSRequestHandler extends AbstractHandler implements ManagedLifecy
                 if (corsSequence != null) {
                     corsSequence.mediate(messageContext);
                 }
-                if (Boolean.parseBoolean(
-                        System.getProperty(APIMgtGatewayConstants.CORS_SET_STATUS_CODE_FROM_MSG_CONTEXT))
+                if (setStatusCodeFromMessageContext
                         && messageContext.getProperty(APIMgtGatewayConstants.HTTP_SC) != null) {
                     Utils.send(messageContext,
                                Integer.parseInt(messageContext.getProperty(APIMgtGatewayConstants.HTTP_SC).toString()));
@@ -340,23 +352,12 @@ public class CORSRequestHandler extends AbstractHandler implements ManagedLifecy
 
         messageContext.setProperty(APIConstants.CORSHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, allowedOrigin);
         //If the request origin is not allowed, set the HTTP status code to 403
-        if (Boolean.parseBoolean(System.getProperty(APIMgtGatewayConstants.CORS_FORBID_BLOCKED_REQUESTS))
-                && allowedOrigin == null) {
+        if (forbidBlockedRequests && allowedOrigin == null) {
             messageContext.setProperty(APIMgtGatewayConstants.HTTP_SC, HttpStatus.SC_FORBIDDEN);
         }
         String allowedMethods;
-        StringBuffer allowedMethodsBuffer = new StringBuffer(20);
         if (selectedResource != null) {
-            String[] methods = selectedResource.getMethods();
-            for (String method : methods) {
-                if (this.allowedMethodList.contains(method)) {
-                    allowedMethodsBuffer.append(method).append(',');
-                }
-            }
-            allowedMethods = allowedMethodsBuffer.toString();
-            if (allowedMethods.endsWith(",")) {
-                allowedMethods = allowedMethods.substring(0, allowedMethods.length() - 1);
-            }
+            allowedMethods = getAllowedMethods(selectedResource);
         } else {
             allowedMethods = this.allowedMethods;
         }
@@ -372,7 +373,41 @@ public class CORSRequestHandler extends AbstractHandler implements ManagedLifecy
     }
 
     protected boolean isCorsEnabled() {
-        return APIUtil.isCORSEnabled();
+        return corsEnabled;
+    }
+
+    /**
+     * Returns the Access-Control-Allow-Methods header value of a resource, built once for each resource.
+     *
+     * @param resource resource according to the request
+     * @return comma separated methods of the resource allowed by the CORS configuration
+     */
+    private String getAllowedMethods(Resource resource) {
+        String[] methods = resource.getMethods();
+        ResourceAllowedMethods cached = resourceAllowedMethods.get(resource);
+        if (cached == null || cached.methods != methods) {
+            StringBuilder allowedMethodsBuilder = new StringBuilder(20);
+            for (String method : methods) {
+                if (this.allowedMethodList.contains(method)) {
+                    if (allowedMethodsBuilder.length() > 0) {
+                        allowedMethodsBuilder.append(',');
+                    }
+                    allowedMethodsBuilder.append(method);
+                }
+            }
+            cached = new ResourceAllowedMethods(methods, allowedMethodsBuilder.toString());
+            resourceAllowedMethods.put(resource, cached);
+        }
+        return cached.headerValue;
+    }
+
+    private static boolean contains(String[] methods, String method) {
+        for (String resourceMethod : methods) {
+            if (resourceMethod.equals(method)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public String getAllowHeaders() {
@@ -384,18 +419,14 @@ public class CORSRequestHandler extends AbstractHandler implements ManagedLifecy
     }
 
     public String getAllowedOrigins(String origin) {
-        if (allowedOrigins.contains("*")) {
+        if (allowAllOrigins) {
             return "*";
         } else if (allowedOrigins.contains(origin)) {
             return origin;
         } else if (origin != null) {
-            for (String allowedOrigin : allowedOrigins) {
-                if (allowedOrigin.contains("*")) {
-                    Pattern pattern = Pattern.compile(allowedOrigin.replace("*", ".*"));
-                    Matcher matcher = pattern.matcher(origin);
-                    if (matcher.find()) {
-                        return origin;
-                    }
+            for (Pattern pattern : wildcardOriginPatterns) {
+                if (pattern.matcher(origin).find()) {
+                    return origin;
                 }
             }
         }
@@ -404,6 +435,15 @@ public class CORSRequestHandler extends AbstractHandler implements ManagedLifecy
 
     public void setAllowedOrigins(String allowedOrigins) {
         this.allowedOrigins = new HashSet<String>(Arrays.asList(allowedOrigins.split(",")));
+        // Wildcard origins are compiled once here instead of on each request
+        List<Pattern> patterns = new ArrayList<>();
+        for (String allowedOrigin : this.allowedOrigins) {
+            if (allowedOrigin.contains("*")) {
+                patterns.add(Pattern.compile(allowedOrigin.replace("*", ".*")));
+            }
+        }
+        this.allowAllOrigins = this.allowedOrigins.contains("*");
+        this.wildcardOriginPatterns = patterns;
     }
 
     public String getApiImplementationType() {
@@ -442,6 +482,7 @@ public class CORSRequestHandler extends AbstractHandler implements ManagedLifecy
         if (allowedMethods != null) {
             allowedMethodList = Arrays.asList(allowedMethods.split(","));
         }
+        resourceAllowedMethods.clear();
     }
 
     public String getAuthorizationHeader() {
@@ -459,4 +500,18 @@ public class CORSRequestHandler extends AbstractHandler implements ManagedLifecy
     public void setApiKeyHeader(String apiKeyHeader) {
         this.apiKeyHeader = apiKeyHeader;
     }
+
+    /**
+     * Access-Control-Allow-Methods header value of a resource, along with the resource methods it was built from.
+     */
+    private static final class ResourceAllowedMethods {
+
+        private final String[] methods;
+        private final String headerValue;
+
+        ResourceAllowedMethods(String[] methods, String headerValue) {
+            this.methods = methods;
+            this.headerValue = headerValue;
+        }
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.security;
+
+import com.nimbusds.jose.JWSHeader;
+import org.apache.commons.lang3.StringUtils;
+import org.wso2.carbon.apimgt.common.gateway.util.JWTUtil;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.jwt.SignedJWTInfo;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tokens of an authenticated request, attached to the message context once by the {@link APIAuthenticationHandler}
+ * so that the handlers further down the flow do not decode the same tokens again. The parsed access token is the one
+ * already parsed by the authenticator, and the claims of the caller token are decoded on first access and reused.
+ */
+public class RequestTokenContext {
+
+    private final SignedJWTInfo signedJWTInfo;
+    private final String callerToken;
+    private volatile Map<String, String> callerTokenClaims;
+    private volatile Set<String> scopes;
+
+    public RequestTokenContext(SignedJWTInfo signedJWTInfo, String callerToken) {
+
+        this.signedJWTInfo = signedJWTInfo;
+        this.callerToken = callerToken;
+    }
+
+    /**
+     * @return parsed JWT access token of the request or null if the request was not authenticated with a JWT
+     */
+    public SignedJWTInfo getSignedJWTInfo() {
+
+        return signedJWTInfo;
+    }
+
+    /**
+     * @return header of the JWT access token or null if the request was not authenticated with a JWT
+     */
+    public JWSHeader getHeader() {
+
+        return signedJWTInfo != null ? signedJWTInfo.getSignedJWT().getHeader() : null;
+    }
+
+    /**
+     * @return jti claim of the JWT access token or null if not available
+     */
+    public String getJti() {
+
+        return signedJWTInfo != null ? signedJWTInfo.getJwtClaimsSet().getJWTID() : null;
+    }
+
+    /**
+     * @return signature segment of the JWT access token or null if the request was not authenticated with a JWT
+     */
+    public String getSignature() {
+
+        if (signedJWTInfo == null) {
+            return null;
+        }
+        String token = signedJWTInfo.getToken();
+        return token.substring(token.lastIndexOf(APIConstants.DOT) + 1);
+    }
+
+    /**
+     * @return scopes of the JWT access token, empty if the request was not authenticated with a JWT
+     */
+    public Set<String> getScopes() {
+
+        Set<String> tokenScopes = scopes;
+        if (tokenScopes == null) {
+            tokenScopes = Collections.emptySet();
+            if (signedJWTInfo != null) {
+                Object scope = signedJWTInfo.getJwtClaimsSet().getClaim(APIConstants.JwtTokenConstants.SCOPE);
+                if (scope instanceof String && StringUtils.isNotBlank((String) scope)) {
+                    tokenScopes = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+                            ((String) scope).trim().split(APIConstants.JwtTokenConstants.SCOPE_DELIMITER))));
+                }
+            }
+            scopes = tokenScopes;
+        }
+        return tokenScopes;
+    }
+
+    /**
+     * @return caller token of the request, passed to the backend
+     */
+    public String getCallerToken() {
+
+        return callerToken;
+    }
+
+    /**
+     * Returns the claims of the caller token in the format of {@link JWTUtil#getJWTClaims(String)}. The token is
+     * decoded on the first call only.
+     *
+     * @return read only claims map or null if there is no caller token
+     */
+    public Map<String, String> getCallerTokenClaims() {
+
+        Map<String, String> claims = callerTokenClaims;
+        if (claims == null && callerToken != null) {
+            Map<String, String> decodedClaims = JWTUtil.getJWTClaims(callerToken);
+            claims = decodedClaims != null ? Collections.unmodifiableMap(decodedClaims) : null;
+            callerTokenClaims = claims;
+        }
+        return claims;
+    }
+}
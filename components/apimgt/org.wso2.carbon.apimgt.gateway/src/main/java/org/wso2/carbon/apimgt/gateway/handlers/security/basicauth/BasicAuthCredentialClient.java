@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.security.basicauth;
+
+import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityException;
+import org.wso2.carbon.apimgt.impl.dto.BasicAuthValidationInfoDTO;
+
+/**
+ * Retrieves the authentication result and the role list of a basic auth user from the key manager.
+ */
+public interface BasicAuthCredentialClient {
+
+    /**
+     * Authenticates the given credentials and returns the role list of the user in the same call.
+     *
+     * @param username tenant qualified username
+     * @param password password of the user
+     * @return validation information of the user
+     * @throws APISecurityException if the key manager could not be reached or returned an error
+     */
+    BasicAuthValidationInfoDTO getUserAuthenticationInfo(String username, String password)
+            throws APISecurityException;
+}
@@ -17,10 +17,7 @@
 package org.wso2.carbon.apimgt.gateway.handlers.security.basicauth;
 
 import io.swagger.v3.oas.models.OpenAPI;
-import org.apache.axis2.AxisFault;
-import org.apache.axis2.client.Options;
-import org.apache.axis2.client.ServiceClient;
-import org.apache.axis2.context.ConfigurationContext;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.synapse.MessageContext;
@@ -37,33 +34,62 @@ import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
 import org.wso2.carbon.apimgt.impl.caching.CacheProvider;
 import org.wso2.carbon.apimgt.impl.dto.BasicAuthValidationInfoDTO;
-import org.wso2.carbon.apimgt.impl.dto.EventHubConfigurationDto;
-import org.wso2.carbon.apimgt.impl.utils.GatewayUtils;
 import org.wso2.carbon.apimgt.keymgt.model.entity.Scope;
-import org.wso2.carbon.apimgt.keymgt.stub.usermanager.APIKeyMgtRemoteUserStoreMgtServiceAPIManagementException;
-import org.wso2.carbon.apimgt.keymgt.stub.usermanager.APIKeyMgtRemoteUserStoreMgtServiceStub;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.user.core.UserCoreConstants;
-import org.wso2.carbon.utils.CarbonUtils;
 
 import java.nio.charset.StandardCharsets;
-import java.rmi.RemoteException;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import javax.cache.Cache;
 import javax.cache.Caching;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
 /**
  * This class will validate the basic auth credentials.
  */
 public class BasicAuthCredentialValidator {
 
+    private static final String CREDENTIAL_HASH_ALGORITHM = "HmacSHA256";
+
+    /**
+     * Key of the credential hash. It is generated per process so that the password hashes held in the caches cannot
+     * be matched against precomputed tables, even if the cache contents are exposed.
+     */
+    private static final SecretKeySpec CREDENTIAL_HASH_KEY = generateCredentialHashKey();
+
+    private static final ThreadLocal<Mac> CREDENTIAL_HASH = new ThreadLocal<Mac>() {
+        @Override
+        protected Mac initialValue() {
+            try {
+                Mac mac = Mac.getInstance(CREDENTIAL_HASH_ALGORITHM);
+                mac.init(CREDENTIAL_HASH_KEY);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to initialize the basic auth credential hash", e);
+            }
+        }
+    };
+
+    /**
+     * Validations that are waiting on the key manager, keyed by username and credential hash. Concurrent requests
+     * with the same credentials wait on the same validation instead of calling the key manager again.
+     */
+    private static final Map<String, CompletableFuture<BasicAuthValidationInfoDTO>> inFlightValidations =
+            new ConcurrentHashMap<>();
+
     private boolean gatewayKeyCacheEnabled;
 
     protected Log log = LogFactory.getLog(getClass());
-    private APIKeyMgtRemoteUserStoreMgtServiceStub apiKeyMgtRemoteUserStoreMgtServiceStub;
+    private BasicAuthCredentialClient basicAuthCredentialClient;
     private APIKeyValidator apiKeyValidator;
     /**
      * Initialize the validator with the synapse environment.
@@ -74,28 +100,15 @@ public class BasicAuthCredentialValidator {
         this.gatewayKeyCacheEnabled = isGatewayTokenCacheEnabled();
         this.getGatewayUsernameCache();
         this.apiKeyValidator = new APIKeyValidator();
-        ConfigurationContext configurationContext = ServiceReferenceHolder.getInstance().getAxis2ConfigurationContext();
         APIManagerConfiguration config = ServiceReferenceHolder.getInstance().getAPIManagerConfiguration();
-        EventHubConfigurationDto eventHubConfigurationDto = config.getEventHubConfigurationDto();
-        String username = eventHubConfigurationDto.getUsername();
-        String password = eventHubConfigurationDto.getPassword();
-        String url = eventHubConfigurationDto.getServiceUrl();
-        if (url == null) {
-            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
-                    "API key manager URL unspecified");
-        }
+        this.basicAuthCredentialClient = new RemoteBasicAuthCredentialClient(config.getEventHubConfigurationDto());
+    }
 
-        try {
-            apiKeyMgtRemoteUserStoreMgtServiceStub = new APIKeyMgtRemoteUserStoreMgtServiceStub(configurationContext, url +
-                    "/services/APIKeyMgtRemoteUserStoreMgtService");
-            ServiceClient client = apiKeyMgtRemoteUserStoreMgtServiceStub._getServiceClient();
-            Options options = client.getOptions();
-            options.setCallTransportCleanup(true);
-            options.setManageSession(true);
-            CarbonUtils.setBasicAccessSecurityHeaders(username, password, client);
-        } catch (AxisFault axisFault) {
-            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR, axisFault.getMessage(), axisFault);
-        }
+    BasicAuthCredentialValidator(BasicAuthCredentialClient basicAuthCredentialClient, APIKeyValidator apiKeyValidator,
+                                 boolean gatewayKeyCacheEnabled) {
+        this.basicAuthCredentialClient = basicAuthCredentialClient;
+        this.apiKeyValidator = apiKeyValidator;
+        this.gatewayKeyCacheEnabled = gatewayKeyCacheEnabled;
     }
 
     /**
@@ -108,12 +121,10 @@ public class BasicAuthCredentialValidator {
      */
     @MethodStats
     public BasicAuthValidationInfoDTO validate(String username, String password) throws APISecurityException {
-        boolean isAuthenticated;
         String cachedPasswordHash = null;
-        String providedPasswordHash = null;
+        String providedPasswordHash = hashCredentials(username, password);
         String invalidCachedPasswordHash;
         if (gatewayKeyCacheEnabled) {
-            providedPasswordHash = GatewayUtils.hashString(password.getBytes(StandardCharsets.UTF_8));
             BasicAuthValidationInfoDTO cachedValidationInfoObj = (BasicAuthValidationInfoDTO) getGatewayUsernameCache()
                     .get(username);
             if (cachedValidationInfoObj != null) {
@@ -140,22 +151,44 @@ public class BasicAuthCredentialValidator {
             }
         }
 
+        String validationKey = username + ":" + providedPasswordHash;
+        CompletableFuture<BasicAuthValidationInfoDTO> validation = new CompletableFuture<>();
+        CompletableFuture<BasicAuthValidationInfoDTO> inFlightValidation =
+                inFlightValidations.putIfAbsent(validationKey, validation);
+        if (inFlightValidation != null) {
+            log.debug("Basic Authentication: Waiting on an in-flight validation of the same credentials");
+            return awaitValidation(inFlightValidation, username);
+        }
+        try {
+            BasicAuthValidationInfoDTO basicAuthValidationInfoDTO =
+                    validateWithKeyManager(username, password, providedPasswordHash);
+            validation.complete(basicAuthValidationInfoDTO);
+            return basicAuthValidationInfoDTO;
+        } catch (APISecurityException | RuntimeException e) {
+            validation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightValidations.remove(validationKey, validation);
+        }
+    }
+
+    private BasicAuthValidationInfoDTO validateWithKeyManager(String username, String password,
+                                                              String providedPasswordHash)
+            throws APISecurityException {
+
         BasicAuthValidationInfoDTO basicAuthValidationInfoDTO;
         try {
-            org.wso2.carbon.apimgt.impl.dto.xsd.BasicAuthValidationInfoDTO generatedInfoDTO = apiKeyMgtRemoteUserStoreMgtServiceStub
-                    .getUserAuthenticationInfo(username, password);
-            basicAuthValidationInfoDTO = convertToDTO(generatedInfoDTO);
-            isAuthenticated = basicAuthValidationInfoDTO.isAuthenticated();
-        } catch (APIKeyMgtRemoteUserStoreMgtServiceAPIManagementException | RemoteException e) {
+            basicAuthValidationInfoDTO = basicAuthCredentialClient.getUserAuthenticationInfo(username, password);
+        } catch (APISecurityException e) {
             log.error(
                     "Basic Authentication: Error while accessing backend services to validate user authentication for user : "
                             + username);
-            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR, e.getMessage(), e);
+            throw e;
         }
 
         if (gatewayKeyCacheEnabled) {
             basicAuthValidationInfoDTO.setHashedPassword(providedPasswordHash);
-            if (isAuthenticated) {
+            if (basicAuthValidationInfoDTO.isAuthenticated()) {
                 // put (username->password) into the valid cache
                 getGatewayUsernameCache().put(username, basicAuthValidationInfoDTO);
             } else {
@@ -163,18 +196,49 @@ public class BasicAuthCredentialValidator {
                 getInvalidUsernameCache().put(username, basicAuthValidationInfoDTO);
             }
         }
-
         return basicAuthValidationInfoDTO;
     }
 
-    private BasicAuthValidationInfoDTO convertToDTO(
-            org.wso2.carbon.apimgt.impl.dto.xsd.BasicAuthValidationInfoDTO generatedDto) {
-        BasicAuthValidationInfoDTO dto = new BasicAuthValidationInfoDTO();
-        dto.setAuthenticated(generatedDto.getAuthenticated());
-        dto.setHashedPassword(generatedDto.getHashedPassword());
-        dto.setDomainQualifiedUsername(generatedDto.getDomainQualifiedUsername());
-        dto.setUserRoleList(generatedDto.getUserRoleList());
-        return dto;
+    private BasicAuthValidationInfoDTO awaitValidation(CompletableFuture<BasicAuthValidationInfoDTO> validation,
+                                                       String username) throws APISecurityException {
+
+        try {
+            return validation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                    "Interrupted while validating user authentication for user : " + username, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof APISecurityException) {
+                throw new APISecurityException(((APISecurityException) cause).getErrorCode(), cause.getMessage(),
+                        cause);
+            }
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                    APISecurityConstants.API_AUTH_GENERAL_ERROR_MESSAGE, cause);
+        }
+    }
+
+    /**
+     * Hashes the given credentials with the per process credential hash key.
+     *
+     * @param username given username
+     * @param password given password
+     * @return hex encoded hash of the credentials
+     */
+    static String hashCredentials(String username, String password) {
+
+        Mac mac = CREDENTIAL_HASH.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Hex.encodeHexString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static SecretKeySpec generateCredentialHashKey() {
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return new SecretKeySpec(key, CREDENTIAL_HASH_ALGORITHM);
     }
 
     /**
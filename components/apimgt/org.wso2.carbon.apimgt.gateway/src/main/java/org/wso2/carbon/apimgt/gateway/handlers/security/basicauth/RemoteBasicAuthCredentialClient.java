@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.security.basicauth;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityConstants;
+import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityException;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.dto.BasicAuthValidationInfoDTO;
+import org.wso2.carbon.apimgt.impl.dto.EventHubConfigurationDto;
+import org.wso2.carbon.apimgt.impl.utils.APIUtil;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Validates basic auth credentials through the user authentication resource of the internal REST API. The HTTP
+ * client is created once and its connection pool is shared by all the requests of the gateway.
+ */
+public class RemoteBasicAuthCredentialClient implements BasicAuthCredentialClient {
+
+    private static final String USER_AUTHENTICATION_RESOURCE = "/user-authentication";
+
+    private final String url;
+    private final String authorizationHeader;
+    private final HttpClient httpClient;
+
+    public RemoteBasicAuthCredentialClient(EventHubConfigurationDto eventHubConfigurationDto)
+            throws APISecurityException {
+
+        String serviceUrl = eventHubConfigurationDto.getServiceUrl();
+        if (serviceUrl == null) {
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                    "API key manager URL unspecified");
+        }
+        this.url = serviceUrl.concat(APIConstants.INTERNAL_WEB_APP_EP).concat(USER_AUTHENTICATION_RESOURCE);
+        byte[] credentials = Base64.encodeBase64((eventHubConfigurationDto.getUsername() + ":" +
+                eventHubConfigurationDto.getPassword()).getBytes(StandardCharsets.UTF_8));
+        this.authorizationHeader = "Basic " + new String(credentials, StandardCharsets.UTF_8);
+        try {
+            URL keyMgtURL = new URL(url);
+            this.httpClient = APIUtil.getHttpClient(keyMgtURL.getPort(), keyMgtURL.getProtocol());
+        } catch (MalformedURLException e) {
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                    "Invalid API key manager URL " + serviceUrl, e);
+        }
+    }
+
+    @Override
+    public BasicAuthValidationInfoDTO getUserAuthenticationInfo(String username, String password)
+            throws APISecurityException {
+
+        JsonObject payload = new JsonObject();
+        payload.addProperty("username", username);
+        payload.addProperty("password", password);
+        HttpPost method = new HttpPost(url);
+        method.setHeader(HttpHeaders.AUTHORIZATION, authorizationHeader);
+        method.setEntity(new StringEntity(payload.toString(), ContentType.APPLICATION_JSON));
+        try {
+            HttpResponse httpResponse = httpClient.execute(method);
+            try {
+                String responseString = EntityUtils.toString(httpResponse.getEntity(), StandardCharsets.UTF_8);
+                int statusCode = httpResponse.getStatusLine().getStatusCode();
+                if (statusCode != HttpStatus.SC_OK) {
+                    throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                            "Error while validating user authentication. Received response with status code "
+                                    + statusCode);
+                }
+                return toValidationInfo(responseString);
+            } finally {
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
+            }
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR, e.getMessage(), e);
+        } finally {
+            method.releaseConnection();
+        }
+    }
+
+    private static BasicAuthValidationInfoDTO toValidationInfo(String responseString) {
+
+        JsonObject response = new JsonParser().parse(responseString).getAsJsonObject();
+        BasicAuthValidationInfoDTO validationInfo = new BasicAuthValidationInfoDTO();
+        JsonElement authenticated = response.get("authenticated");
+        validationInfo.setAuthenticated(authenticated != null && !authenticated.isJsonNull()
+                && authenticated.getAsBoolean());
+        JsonElement domainQualifiedUsername = response.get("domainQualifiedUsername");
+        if (domainQualifiedUsername != null && !domainQualifiedUsername.isJsonNull()) {
+            validationInfo.setDomainQualifiedUsername(domainQualifiedUsername.getAsString());
+        }
+        JsonElement roles = response.get("roles");
+        if (roles != null && roles.isJsonArray()) {
+            JsonArray roleArray = roles.getAsJsonArray();
+            String[] userRoles = new String[roleArray.size()];
+            for (int i = 0; i < userRoles.length; i++) {
+                userRoles[i] = roleArray.get(i).getAsString();
+            }
+            validationInfo.setUserRoleList(userRoles);
+        }
+        return validationInfo;
+    }
+}
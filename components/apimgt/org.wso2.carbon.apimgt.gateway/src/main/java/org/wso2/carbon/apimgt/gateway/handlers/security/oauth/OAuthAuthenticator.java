@@ -297,6 +297,7 @@ public class OAuthAuthenticator implements Authenticator {
                 try {
                     AuthenticationContext authenticationContext = jwtValidator.authenticate(signedJWTInfo, synCtx);
                     APISecurityUtils.setAuthenticationContext(synCtx, authenticationContext, securityContextHeader);
+                    synCtx.setProperty(APISecurityUtils.API_SIGNED_JWT_INFO, signedJWTInfo);
                     log.debug("User is authorized using JWT token to access the resource.");
                     synCtx.setProperty(APIMgtGatewayConstants.END_USER_NAME, authenticationContext.getUsername());
                     return new AuthenticationResponse(true, isMandatory, false, 0, null);
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.throttling;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node local burst control limiter based on the generic cell rate algorithm. Each throttle key allows up to the
+ * configured number of requests at once, after which requests are admitted at the rate of the limit spread over the
+ * unit time. The state of a key is a single theoretical arrival time updated with compare-and-set, so a decision does
+ * not take a lock. Keys which became idle are evicted once the number of tracked keys reaches the configured bound.
+ * A key which is still inside its burst is never evicted, since that would reset a live limit. When the bound is
+ * reached and no tracked key is idle, new keys are reported as {@link Decision#UNTRACKED} and the caller is expected to
+ * evaluate them in another way.
+ */
+public class SpikeArrestLimiter {
+
+    private static final long EVICTION_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private boolean evictionPostponed;
+    private long nextEvictionTime;
+
+    public SpikeArrestLimiter(int maxKeys) {
+
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Consume a request for the given throttle key.
+     *
+     * @param throttleKey      throttle key
+     * @param maxCount         maximum number of requests allowed within the unit time
+     * @param unitTimeInMillis unit time in milliseconds
+     * @return whether the request is allowed, throttled or could not be tracked because the limiter is full
+     */
+    public Decision tryAcquire(String throttleKey, int maxCount, long unitTimeInMillis) {
+
+        return tryAcquire(throttleKey, maxCount, unitTimeInMillis, System.nanoTime());
+    }
+
+    Decision tryAcquire(String throttleKey, int maxCount, long unitTimeInMillis, long now) {
+
+        if (maxCount <= 0 || unitTimeInMillis <= 0) {
+            return Decision.ALLOWED;
+        }
+        Bucket bucket = buckets.get(throttleKey);
+        if (bucket == null || !bucket.matches(maxCount, unitTimeInMillis)) {
+            if (bucket == null && buckets.size() >= maxKeys && !evict(now)) {
+                return Decision.UNTRACKED;
+            }
+            Bucket newBucket = new Bucket(maxCount, unitTimeInMillis, now);
+            if (bucket == null) {
+                bucket = buckets.putIfAbsent(throttleKey, newBucket);
+                if (bucket == null) {
+                    bucket = newBucket;
+                }
+            } else {
+                // The limit of the key changed, start over with the new limit
+                buckets.put(throttleKey, newBucket);
+                bucket = newBucket;
+            }
+        }
+        return bucket.tryAcquire(now) ? Decision.ALLOWED : Decision.THROTTLED;
+    }
+
+    int size() {
+
+        return buckets.size();
+    }
+
+    /**
+     * Remove idle keys, which are equivalent to a fresh bucket. When no key could be removed, the next sweep is
+     * postponed by a second so that a limiter full of active keys is not scanned on every new key.
+     *
+     * @param now current time in nanoseconds
+     * @return true if there is room for a new key
+     */
+    private synchronized boolean evict(long now) {
+
+        if (buckets.size() < maxKeys) {
+            return true;
+        }
+        if (evictionPostponed && nextEvictionTime - now > 0) {
+            return false;
+        }
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        evictionPostponed = buckets.size() >= maxKeys;
+        nextEvictionTime = now + EVICTION_INTERVAL;
+        return !evictionPostponed;
+    }
+
+    /**
+     * Outcome of consuming a request.
+     */
+    public enum Decision {
+        ALLOWED,
+        THROTTLED,
+        UNTRACKED
+    }
+
+    private static final class Bucket {
+
+        private final int maxCount;
+        private final long unitTimeInMillis;
+        private final long unitTimeInNanos;
+        private final long emissionInterval;
+        private final AtomicLong theoreticalArrivalTime;
+
+        private Bucket(int maxCount, long unitTimeInMillis, long now) {
+
+            this.maxCount = maxCount;
+            this.unitTimeInMillis = unitTimeInMillis;
+            this.unitTimeInNanos = TimeUnit.MILLISECONDS.toNanos(unitTimeInMillis);
+            this.emissionInterval = unitTimeInNanos / maxCount;
+            this.theoreticalArrivalTime = new AtomicLong(now);
+        }
+
+        private boolean matches(int maxCount, long unitTimeInMillis) {
+
+            return this.maxCount == maxCount && this.unitTimeInMillis == unitTimeInMillis;
+        }
+
+        private boolean isIdle(long now) {
+
+            return theoreticalArrivalTime.get() - now <= 0;
+        }
+
+        private boolean tryAcquire(long now) {
+
+            while (true) {
+                long current = theoreticalArrivalTime.get();
+                long next = (current - now > 0 ? current : now) + emissionInterval;
+                if (next - now > unitTimeInNanos) {
+                    return false;
+                }
+                if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -26,7 +26,7 @@ import org.apache.synapse.core.axis2.Axis2MessageContext;
 import org.wso2.carbon.apimgt.api.dto.ConditionDTO;
 import org.wso2.carbon.apimgt.api.dto.ConditionGroupDTO;
 import org.wso2.carbon.apimgt.api.model.policy.PolicyConstants;
-import org.wso2.carbon.apimgt.common.gateway.util.JWTUtil;
+import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityUtils;
 import org.wso2.carbon.apimgt.gateway.handlers.security.AuthenticationContext;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.gateway.utils.GatewayUtils;
@@ -145,7 +145,7 @@ public class ThrottleConditionEvaluator {
                 break;
             }
             case PolicyConstants.JWT_CLAIMS_TYPE: {
-                state = isJWTClaimPresent(authenticationContext, condition);
+                state = isJWTClaimPresent(synapseContext, authenticationContext, condition);
                 break;
             }
             case PolicyConstants.HEADER_TYPE: {
@@ -203,9 +203,11 @@ public class ThrottleConditionEvaluator {
         }
     }
 
-    private boolean isJWTClaimPresent(AuthenticationContext authenticationContext, ConditionDTO condition) {
+    private boolean isJWTClaimPresent(org.apache.synapse.MessageContext synapseContext,
+                                      AuthenticationContext authenticationContext, ConditionDTO condition) {
 
-        Map<String, String> assertions = JWTUtil.getJWTClaims(authenticationContext.getCallerToken());
+        Map<String, String> assertions = APISecurityUtils.getCallerTokenClaims(synapseContext,
+                authenticationContext);
         if (assertions != null) {
             String value = assertions.get(condition.getConditionName());
             if (value == null) {
@@ -219,14 +221,16 @@ public class ThrottleConditionEvaluator {
         return false;
     }
 
-    private boolean isJWTClaimPresent(AuthenticationContext authenticationContext, ConditionDto.JWTClaimConditions
-            condition) {
+    private boolean isJWTClaimPresent(org.apache.synapse.MessageContext synapseContext,
+                                      AuthenticationContext authenticationContext,
+                                      ConditionDto.JWTClaimConditions condition) {
                 
         if (authenticationContext.getCallerToken() == null) {
             return false;
         }
 
-        Map<String, String> assertions = JWTUtil.getJWTClaims(authenticationContext.getCallerToken());
+        Map<String, String> assertions = APISecurityUtils.getCallerTokenClaims(synapseContext,
+                authenticationContext);
         boolean status = true;
 
         for (Map.Entry<String, String> jwtClaim : condition.getValues().entrySet()) {
@@ -342,8 +346,8 @@ public class ThrottleConditionEvaluator {
         String condition = null;
         for (Map.Entry<String, List<ConditionDto>> conditionList : conditionDtoMap.entrySet()) {
             if (!"default".equals(conditionList.getKey())) {
-                boolean pipeLineStatus = isThrottledWithinCondition(axis2MessageContext, authContext, conditionList
-                        .getValue());
+                boolean pipeLineStatus = isThrottledWithinCondition(synCtx, axis2MessageContext, authContext,
+                        conditionList.getValue());
                 if (pipeLineStatus) {
                     condition = conditionList.getKey();
                     break;
@@ -354,7 +358,7 @@ public class ThrottleConditionEvaluator {
             if (conditionDtoMap.containsKey("default")) {
                 List<ConditionDto> conditionDtoList = conditionDtoMap.get("default");
                 if (conditionDtoList != null && !conditionDtoList.isEmpty()) {
-                    boolean pipeLineStatus = isThrottledWithinCondition(axis2MessageContext, authContext,
+                    boolean pipeLineStatus = isThrottledWithinCondition(synCtx, axis2MessageContext, authContext,
                             conditionDtoList);
                     if (!pipeLineStatus) {
                         condition = "default";
@@ -367,7 +371,8 @@ public class ThrottleConditionEvaluator {
         return condition;
     }
 
-    private boolean isThrottledWithinCondition(MessageContext axis2MessageContext, AuthenticationContext authContext,
+    private boolean isThrottledWithinCondition(org.apache.synapse.MessageContext synCtx,
+                                               MessageContext axis2MessageContext, AuthenticationContext authContext,
                                                List<ConditionDto> conditionDtoList) {
 
         ThrottleProperties throttleProperties = ServiceReferenceHolder.getInstance().getThrottleProperties();
@@ -391,7 +396,7 @@ public class ThrottleConditionEvaluator {
             }
             if (condition.getJwtClaimConditions() != null && throttleProperties.isEnableJwtConditions() &&
                     !condition.getJwtClaimConditions().getValues().isEmpty()) {
-                if (!isJWTClaimPresent(authContext, condition.getJwtClaimConditions())) {
+                if (!isJWTClaimPresent(synCtx, authContext, condition.getJwtClaimConditions())) {
                     status = false;
                 }
             }
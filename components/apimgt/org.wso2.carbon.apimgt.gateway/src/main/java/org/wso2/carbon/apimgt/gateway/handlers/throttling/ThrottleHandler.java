@@ -62,6 +62,7 @@ import org.wso2.carbon.apimgt.gateway.throttling.ThrottleDataHolder;
 import org.wso2.carbon.apimgt.gateway.utils.GatewayUtils;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.dto.ConditionDto;
+import org.wso2.carbon.apimgt.impl.dto.ThrottleProperties;
 import org.wso2.carbon.apimgt.impl.dto.VerbInfoDTO;
 import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 import org.wso2.carbon.apimgt.tracing.TracingSpan;
@@ -81,6 +82,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.stream.XMLStreamException;
 
 
@@ -102,8 +104,30 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
     private static final String HANDLE_THROTTLE_OUT = "HANDLE_THROTTLE_OUT";
     private static final String RESOURCE_THROTTLE = "RESOURCE_THROTTLE";
     private static final String BLOCKED_TEST = "BLOCKED_TEST";
+    private static final int SPIKE_ARREST_MAX_KEYS = 100000;
+    private static final SpikeArrestLimiter subscriptionSpikeArrestLimiter =
+            new SpikeArrestLimiter(SPIKE_ARREST_MAX_KEYS);
+    private static final SpikeArrestLimiter applicationSpikeArrestLimiter =
+            new SpikeArrestLimiter(SPIKE_ARREST_MAX_KEYS);
     private final String type = ExtensionType.THROTTLING.toString();
 
+    /**
+     * Metric names of the throttling stages, built once per handler instead of on every request.
+     */
+    private final String throttleMainMetric = getMetricName(THROTTLE_MAIN);
+    private final String initSpikeArrestMetric = getMetricName(INIT_SPIKE_ARREST);
+    private final String initApplicationSpikeArrestMetric = getMetricName(INIT_APPLICATION_SPIKE_ARREST);
+    private final String cepThrottleMetric = getMetricName(CEP_THROTTLE);
+    private final String handleThrottleOutMetric = getMetricName(HANDLE_THROTTLE_OUT);
+    private final String resourceThrottleMetric = getMetricName(RESOURCE_THROTTLE);
+    private final String blockedTestMetric = getMetricName(BLOCKED_TEST);
+
+    /**
+     * Timers of the throttling stages keyed by metric name. They are looked up in the metric registry on first use,
+     * as the metric service may not be available yet when the handler is created.
+     */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
     /**
      * The key for getting the throttling policy - key refers to a/an [registry] Resource entry
      */
@@ -212,8 +236,7 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
                 appLevelBlockingKey = authContext.getSubscriber() + ":" + authContext.getApplicationName();
                 subscriptionLevelBlockingKey = apiContext + ":" + apiVersion + ":" + authContext.getSubscriber()
                         + "-" + authContext.getApplicationName() + ":" + authContext.getKeyType();
-                Timer timer = getTimer(MetricManager.name(
-                        APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), BLOCKED_TEST));
+                Timer timer = getCachedTimer(blockedTestMetric);
                 Timer.Context context = timer.start();
                 isBlockedRequest = getThrottleDataHolder()
                         .isRequestBlocked(apiContext, appLevelBlockingKey, authorizedUser, clientIp, apiTenantDomain,
@@ -276,8 +299,7 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
                         resourceLevelThrottleConditions = verbInfoDTO.getThrottlingConditions();
                         conditionGroupDTOs = verbInfoDTO.getConditionGroups();
 
-                        Timer timer1 = getTimer(MetricManager.name(
-                                APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), RESOURCE_THROTTLE));
+                        Timer timer1 = getCachedTimer(resourceThrottleMetric);
                         Timer.Context context1 = timer1.start();
 
                         if (getThrottleDataHolder().isAPIThrottled
@@ -359,8 +381,7 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
                 }
 
                 if (!isApiLevelThrottled) {
-                    Timer timer2 = getTimer(MetricManager.name(
-                            APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), RESOURCE_THROTTLE));
+                    Timer timer2 = getCachedTimer(resourceThrottleMetric);
                     Timer.Context context2 = timer2.start();
 
                     //Here check resource level throttled. If throttled then call handler throttled and pass.
@@ -550,8 +571,7 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
             return true;
         }
 
-        Timer timer3 = getTimer(MetricManager.name(
-                APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), THROTTLE_MAIN));
+        Timer timer3 = getCachedTimer(throttleMainMetric);
         Timer.Context context3 = timer3.start();
         TracingSpan throttleLatencyTracingSpan = null;
         TelemetrySpan throttleLatencySpan = null;
@@ -632,18 +652,19 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
                 getAxis2MessageContext();
         ConfigurationContext cc = axis2MC.getConfigurationContext();
         AuthenticationContext authenticationContext = APISecurityUtils.getAuthenticationContext(messageContext);
+        boolean nativeSpikeArrestEnabled = isNativeSpikeArrestEnabled();
 
-        if (authenticationContext != null && authenticationContext.getSpikeArrestLimit() > 0) {
-            Timer timer = getTimer(MetricManager.name(
-                    APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), INIT_SPIKE_ARREST));
+        if (!nativeSpikeArrestEnabled && authenticationContext != null
+                && authenticationContext.getSpikeArrestLimit() > 0) {
+            Timer timer = getCachedTimer(initSpikeArrestMetric);
             Timer.Context context = timer.start();
             initThrottleForSubscriptionLevelSpikeArrest(messageContext, authenticationContext);
             context.stop();
         }
 
-        if (authenticationContext != null && authenticationContext.getApplicationSpikesArrestLimit() > 0) {
-            Timer timer = getTimer(MetricManager.name(
-                    APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), INIT_APPLICATION_SPIKE_ARREST));
+        if (!nativeSpikeArrestEnabled && authenticationContext != null
+                && authenticationContext.getApplicationSpikesArrestLimit() > 0) {
+            Timer timer = getCachedTimer(initApplicationSpikeArrestMetric);
             Timer.Context context = timer.start();
             initThrottleForApplicationLevelSpikeArrest(messageContext, authenticationContext);
             context.stop();
@@ -655,15 +676,13 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
             //org.apache.axis2.context.MessageContext axis2MC = ((Axis2MessageContext) messageContext).
             //      getAxis2MessageContext();
             //ConfigurationContext cc = axis2MC.getConfigurationContext();
-            Timer timer = getTimer(MetricManager.name(
-                    APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), CEP_THROTTLE));
+            Timer timer = getCachedTimer(cepThrottleMetric);
             Timer.Context context = timer.start();
             isThrottled = doRoleBasedAccessThrottlingWithCEP(messageContext, cc, authenticationContext);
             context.stop();
         }
         if (isThrottled) {
-            Timer timer = getTimer(MetricManager.name(
-                    APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), HANDLE_THROTTLE_OUT));
+            Timer timer = getCachedTimer(handleThrottleOutMetric);
             Timer.Context context = timer.start();
             handleThrottleOut(messageContext);
             context.stop();
@@ -676,6 +695,18 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
         return MetricManager.timer(Level.INFO, name);
     }
 
+    private Timer getCachedTimer(String name) {
+        Timer timer = timers.get(name);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(name, this::getTimer);
+        }
+        return timer;
+    }
+
+    private String getMetricName(String metric) {
+        return MetricManager.name(APIConstants.METRICS_PREFIX, getClass().getSimpleName(), metric);
+    }
+
 
     private OMElement getFaultPayload(int throttleErrorCode, String message, String description,
                                       String nextAccessTimeValue) {
@@ -1046,6 +1077,26 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
     }
 
     public boolean isApplicationLevelSpike(MessageContext synCtx, String throttleKey) {
+        if (isNativeSpikeArrestEnabled()) {
+            AuthenticationContext authContext = APISecurityUtils.getAuthenticationContext(synCtx);
+            if (authContext.getKeyType() == null) {
+                return false;
+            }
+            SpikeArrestLimiter.Decision decision = applicationSpikeArrestLimiter.tryAcquire(throttleKey,
+                    authContext.getApplicationSpikesArrestLimit(),
+                    getSpikeArrestUnitTime(authContext.getApplicationSpikesArrestUnit()));
+            if (decision == SpikeArrestLimiter.Decision.THROTTLED) {
+                synCtx.setProperty(APIThrottleConstants.THROTTLED_OUT_REASON,
+                        APIThrottleConstants.APPLICATION_BURST_LIMIT_EXCEEDED);
+                log.debug("Application level burst control limit exceeded for key " + throttleKey);
+                return true;
+            } else if (decision == SpikeArrestLimiter.Decision.ALLOWED) {
+                return false;
+            }
+            // The limiter is full of active keys, evaluate this key with a throttle context instead
+            log.debug("Application level burst control limiter is full, using a throttle context for " + throttleKey);
+            initThrottleForApplicationLevelSpikeArrest(synCtx, authContext);
+        }
         ThrottleContext applicationLevelSpikeArrestThrottleContext = throttle.getThrottleContext(throttleKey);
         try {
             AuthenticationContext authContext = APISecurityUtils.getAuthenticationContext(synCtx);
@@ -1090,6 +1141,25 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
      * @return true if message is throttled else false
      */
     public boolean isSubscriptionLevelSpike(MessageContext synCtx, String throttleKey) {
+        if (isNativeSpikeArrestEnabled()) {
+            AuthenticationContext authContext = APISecurityUtils.getAuthenticationContext(synCtx);
+            if (authContext.getKeyType() == null) {
+                return false;
+            }
+            SpikeArrestLimiter.Decision decision = subscriptionSpikeArrestLimiter.tryAcquire(throttleKey,
+                    authContext.getSpikeArrestLimit(), getSpikeArrestUnitTime(authContext.getSpikeArrestUnit()));
+            if (decision == SpikeArrestLimiter.Decision.THROTTLED) {
+                synCtx.setProperty(APIThrottleConstants.THROTTLED_OUT_REASON,
+                        APIThrottleConstants.SUBSCRIPTON_BURST_LIMIT_EXCEEDED);
+                log.debug("Subscription level burst control limit exceeded for key " + throttleKey);
+                return true;
+            } else if (decision == SpikeArrestLimiter.Decision.ALLOWED) {
+                return false;
+            }
+            // The limiter is full of active keys, evaluate this key with a throttle context instead
+            log.debug("Subscription level burst control limiter is full, using a throttle context for " + throttleKey);
+            initThrottleForSubscriptionLevelSpikeArrest(synCtx, authContext);
+        }
         ThrottleContext subscriptionLevelSpikeArrestThrottleContext = throttle.getThrottleContext(throttleKey);
         try {
             AuthenticationContext authContext = APISecurityUtils.getAuthenticationContext(synCtx);
@@ -1128,6 +1198,25 @@ public class ThrottleHandler extends AbstractHandler implements ManagedLifecycle
         return GatewayUtils.isClusteringEnabled();
     }
 
+    /**
+     * Burst control limits are evaluated by the node local {@link SpikeArrestLimiter} when it is enabled and the
+     * gateway is not clustered. Clustered gateways keep using throttle contexts, which are replicated across nodes.
+     * Keys which do not fit into a full limiter fall back to throttle contexts as well.
+     *
+     * @return true if the native spike arrest limiter should be used
+     */
+    protected boolean isNativeSpikeArrestEnabled() {
+        ThrottleProperties throttleProperties = ServiceReferenceHolder.getInstance().getThrottleProperties();
+        return throttleProperties != null && throttleProperties.isEnableNativeSpikeArrest() && !isClusteringEnabled();
+    }
+
+    private static long getSpikeArrestUnitTime(String unitTime) {
+        if (APIThrottleConstants.MIN.equalsIgnoreCase(unitTime)) {
+            return 60000;
+        }
+        return 1000;
+    }
+
     /**
      * Validate custom policy is handle by this method. This method call is an expensive operation
      * and should not enabled by default. If we enabled this policy then all APIs available in system
@@ -21,12 +21,11 @@ package org.wso2.carbon.apimgt.gateway.listeners;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.gson.Gson;
-import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.apimgt.api.APIManagementException;
 import org.wso2.carbon.apimgt.api.model.APIStatus;
+import org.wso2.carbon.apimgt.common.jms.utils.KeyOrderedExecutor;
 import org.wso2.carbon.apimgt.gateway.APILoggerManager;
 import org.wso2.carbon.apimgt.gateway.EndpointCertificateDeployer;
 import org.wso2.carbon.apimgt.gateway.GatewayPolicyDeployer;
@@ -36,7 +35,6 @@ import org.wso2.carbon.apimgt.gateway.internal.DataHolder;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.APIConstants.EventType;
-import org.wso2.carbon.apimgt.impl.APIConstants.PolicyType;
 import org.wso2.carbon.apimgt.impl.certificatemgt.CertificateManagerImpl;
 import org.wso2.carbon.apimgt.impl.dto.EventHubConfigurationDto;
 import org.wso2.carbon.apimgt.impl.dto.GatewayArtifactSynchronizerProperties;
@@ -61,8 +59,6 @@ import org.wso2.carbon.context.PrivilegedCarbonContext;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.MessageListener;
@@ -72,13 +68,33 @@ import javax.jms.Topic;
 public class GatewayJMSMessageListener implements MessageListener {
 
     private static final Log log = LogFactory.getLog(GatewayJMSMessageListener.class);
+    private static final int DEFAULT_APPLICATION_EVENT_LANES = 4;
+    private static final int DEFAULT_API_EVENT_LANES = 2;
     private boolean debugEnabled = log.isDebugEnabled();
     private InMemoryAPIDeployer inMemoryApiDeployer = new InMemoryAPIDeployer();
     private EventHubConfigurationDto eventHubConfigurationDto = ServiceReferenceHolder.getInstance()
             .getAPIManagerConfiguration().getEventHubConfigurationDto();
     private GatewayArtifactSynchronizerProperties gatewayArtifactSynchronizerProperties = ServiceReferenceHolder
             .getInstance().getAPIManagerConfiguration().getGatewayArtifactSynchronizerProperties();
-    ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "DeploymentThread"));
+    /*
+     * Deployments keep running on a single thread as they mutate the synapse configuration. Application and API data
+     * events get their own lanes so that a burst of subscription events does not hold back API deployments, while
+     * events of the same application or API are still applied in the order they were published.
+     */
+    private final KeyOrderedExecutor deploymentExecutor = new KeyOrderedExecutor("DeploymentThread", 1);
+    private final KeyOrderedExecutor applicationEventExecutor = new KeyOrderedExecutor("ApplicationEventThread",
+            laneCount(eventHubConfigurationDto.getApplicationEventLanes(), DEFAULT_APPLICATION_EVENT_LANES));
+    private final KeyOrderedExecutor apiEventExecutor = new KeyOrderedExecutor("APIEventThread",
+            laneCount(eventHubConfigurationDto.getApiEventLanes(), DEFAULT_API_EVENT_LANES));
+
+    private static int laneCount(int configuredLanes, int defaultLanes) {
+
+        if (configuredLanes > 0) {
+            return configuredLanes;
+        }
+        log.warn("Invalid event lane count " + configuredLanes + " configured. Using " + defaultLanes);
+        return defaultLanes;
+    }
 
     public void onMessage(Message message) {
 
@@ -143,167 +159,109 @@ public class GatewayJMSMessageListener implements MessageListener {
 
     private void handleNotificationMessage(String eventType, long timestamp, String encodedEvent) {
 
-        byte[] eventDecoded = Base64.decodeBase64(encodedEvent);
-        String eventJson = new String(eventDecoded);
-
-        if (APIConstants.EventType.DEPLOY_API_IN_GATEWAY.name().equals(eventType)
-                || APIConstants.EventType.REMOVE_API_FROM_GATEWAY.name().equals(eventType)) {
-            executor.submit(new Runnable() {
-                @Override
-                public void run() {
-
-                    DeployAPIInGatewayEvent gatewayEvent = new Gson().fromJson(new String(eventDecoded),
-                            DeployAPIInGatewayEvent.class);
-                    String tenantDomain = gatewayEvent.getTenantDomain();
-                    boolean tenantLoaded = ServiceReferenceHolder.getInstance().isTenantLoaded(tenantDomain);
-                    if (!tenantLoaded) {
-                        String syncKey = tenantDomain.concat("__").concat(this.getClass().getName());
-                        synchronized (syncKey.intern()) {
-                            tenantLoaded = ServiceReferenceHolder.getInstance().isTenantLoaded(tenantDomain);
-                            if (!tenantLoaded) {
-                                APIUtil.loadTenantConfigBlockingMode(tenantDomain);
-                            }
-                        }
-                    }
-
-                    if (tenantLoaded) {
-                        Set<String> systemConfiguredGatewayLabels = new HashSet(gatewayEvent.getGatewayLabels());
-                        systemConfiguredGatewayLabels.retainAll(gatewayArtifactSynchronizerProperties.getGatewayLabels());
-                        if (!systemConfiguredGatewayLabels.isEmpty()) {
-                            ServiceReferenceHolder.getInstance().getKeyManagerDataService().updateDeployedAPIRevision(gatewayEvent);
-                            if (EventType.DEPLOY_API_IN_GATEWAY.name().equals(eventType)) {
-                                boolean tenantFlowStarted = false;
-                                try {
-                                    startTenantFlow(tenantDomain);
-                                    tenantFlowStarted = true;
-                                    inMemoryApiDeployer.deployAPI(gatewayEvent);
-                                } catch (ArtifactSynchronizerException e) {
-                                    log.error("Error in deploying artifacts for " + gatewayEvent.getUuid() +
-                                            "in the Gateway");
-                                } finally {
-                                    if (tenantFlowStarted) {
-                                        endTenantFlow();
-                                    }
-                                }
-                            }
-                            if (APIConstants.EventType.REMOVE_API_FROM_GATEWAY.name().equals(eventType)) {
-                                boolean tenantFlowStarted = false;
-                                try {
-                                    startTenantFlow(tenantDomain);
-                                    tenantFlowStarted = true;
-                                    inMemoryApiDeployer.unDeployAPI(gatewayEvent);
-                                } catch (ArtifactSynchronizerException e) {
-                                    log.error("Error in undeploying artifacts");
-                                } finally {
-                                    if (tenantFlowStarted) {
-                                        endTenantFlow();
-                                    }
-                                }
-                                DataHolder.getInstance().removeAPIFromAllTenantMap(gatewayEvent.getContext(),
-                                        gatewayEvent.getTenantDomain());
-                            }
-                        }
+        EventType type = NotificationEventCodec.resolveEventType(eventType);
+        if (type == null) {
+            if (debugEnabled) {
+                log.debug("Ignoring notification event of unknown type " + eventType);
+            }
+            return;
+        }
+        String eventJson = NotificationEventCodec.decode(encodedEvent);
 
-                        if (debugEnabled) {
-                            log.debug("Event with ID " + gatewayEvent.getEventId() + " is received and " +
-                                    gatewayEvent.getUuid() + " is successfully deployed/undeployed");
-                        }
+        switch (type) {
+            case DEPLOY_API_IN_GATEWAY:
+            case REMOVE_API_FROM_GATEWAY: {
+                DeployAPIInGatewayEvent gatewayEvent = NotificationEventCodec.read(type, eventJson);
+                deploymentExecutor.execute(gatewayEvent.getUuid(), () -> handleDeploymentEvent(type, gatewayEvent));
+                break;
+            }
+            case APPLICATION_CREATE:
+            case APPLICATION_UPDATE: {
+                ApplicationEvent event = NotificationEventCodec.read(type, eventJson);
+                applicationEventExecutor.execute(event.getApplicationId(), () -> ServiceReferenceHolder.getInstance()
+                        .getKeyManagerDataService().addOrUpdateApplication(event));
+                break;
+            }
+            case APPLICATION_DELETE: {
+                ApplicationEvent event = NotificationEventCodec.read(type, eventJson);
+                applicationEventExecutor.execute(event.getApplicationId(), () -> ServiceReferenceHolder.getInstance()
+                        .getKeyManagerDataService().removeApplication(event));
+                break;
+            }
+            case SUBSCRIPTIONS_CREATE:
+            case SUBSCRIPTIONS_UPDATE: {
+                SubscriptionEvent event = NotificationEventCodec.read(type, eventJson);
+                applicationEventExecutor.execute(event.getApplicationId(), () -> ServiceReferenceHolder.getInstance()
+                        .getKeyManagerDataService().addOrUpdateSubscription(event));
+                break;
+            }
+            case SUBSCRIPTIONS_DELETE: {
+                SubscriptionEvent event = NotificationEventCodec.read(type, eventJson);
+                applicationEventExecutor.execute(event.getApplicationId(), () -> ServiceReferenceHolder.getInstance()
+                        .getKeyManagerDataService().removeSubscription(event));
+                break;
+            }
+            case APPLICATION_REGISTRATION_CREATE: {
+                ApplicationRegistrationEvent event = NotificationEventCodec.read(type, eventJson);
+                applicationEventExecutor.execute(event.getApplicationId(), () -> ServiceReferenceHolder.getInstance()
+                        .getKeyManagerDataService().addOrUpdateApplicationKeyMapping(event));
+                break;
+            }
+            case REMOVE_APPLICATION_KEYMAPPING: {
+                ApplicationRegistrationEvent event = NotificationEventCodec.read(type, eventJson);
+                applicationEventExecutor.execute(event.getApplicationId(), () -> ServiceReferenceHolder.getInstance()
+                        .getKeyManagerDataService().removeApplicationKeyMapping(event));
+                break;
+            }
+            case API_UPDATE: {
+                APIEvent event = NotificationEventCodec.read(type, eventJson);
+                apiEventExecutor.execute(event.getUuid(), () -> {
+                    ServiceReferenceHolder.getInstance().getKeyManagerDataService().addOrUpdateAPI(event);
+                    DataHolder.getInstance().addAPIMetaData(event);
+                });
+                break;
+            }
+            case API_LIFECYCLE_CHANGE: {
+                APIEvent event = NotificationEventCodec.read(type, eventJson);
+                apiEventExecutor.execute(event.getUuid(), () -> {
+                    if (APIStatus.RETIRED.toString().equals(event.getApiStatus())) {
+                        ServiceReferenceHolder.getInstance().getKeyManagerDataService().removeAPI(event);
+                        DataHolder.getInstance().removeAPIFromAllTenantMap(event.getApiContext(),
+                                event.getTenantDomain());
+                    } else {
+                        ServiceReferenceHolder.getInstance().getKeyManagerDataService().addOrUpdateAPI(event);
                     }
-                }
-            });
-        }
-        if (EventType.APPLICATION_CREATE.toString().equals(eventType)
-                || EventType.APPLICATION_UPDATE.toString().equals(eventType)) {
-            ApplicationEvent event = new Gson().fromJson(eventJson, ApplicationEvent.class);
-            ServiceReferenceHolder.getInstance().getKeyManagerDataService().addOrUpdateApplication(event);
-        } else if (EventType.SUBSCRIPTIONS_CREATE.toString().equals(eventType)
-                || EventType.SUBSCRIPTIONS_UPDATE.toString().equals(eventType)) {
-            SubscriptionEvent event = new Gson().fromJson(eventJson, SubscriptionEvent.class);
-            ServiceReferenceHolder.getInstance().getKeyManagerDataService().addOrUpdateSubscription(event);
-        } else if (EventType.API_UPDATE.toString().equals(eventType)) {
-            APIEvent event = new Gson().fromJson(eventJson, APIEvent.class);
-            ServiceReferenceHolder.getInstance().getKeyManagerDataService().addOrUpdateAPI(event);
-            DataHolder.getInstance().addAPIMetaData(event);
-        } else if (EventType.API_LIFECYCLE_CHANGE.toString().equals(eventType)) {
-            APIEvent event = new Gson().fromJson(eventJson, APIEvent.class);
-            if (APIStatus.RETIRED.toString().equals(event.getApiStatus())) {
-                ServiceReferenceHolder.getInstance().getKeyManagerDataService().removeAPI(event);
-                DataHolder.getInstance().removeAPIFromAllTenantMap(event.getApiContext(), event.getTenantDomain());
-            } else {
-                ServiceReferenceHolder.getInstance().getKeyManagerDataService().addOrUpdateAPI(event);
+                });
+                break;
             }
-        } else if (EventType.APPLICATION_REGISTRATION_CREATE.toString().equals(eventType)) {
-            ApplicationRegistrationEvent event = new Gson().fromJson(eventJson, ApplicationRegistrationEvent.class);
-            ServiceReferenceHolder.getInstance().getKeyManagerDataService().addOrUpdateApplicationKeyMapping(event);
-        } else if (EventType.SUBSCRIPTIONS_DELETE.toString().equals(eventType)) {
-            SubscriptionEvent event = new Gson().fromJson(eventJson, SubscriptionEvent.class);
-            ServiceReferenceHolder.getInstance().getKeyManagerDataService().removeSubscription(event);
-        } else if (EventType.APPLICATION_DELETE.toString().equals(eventType)) {
-            ApplicationEvent event = new Gson().fromJson(eventJson, ApplicationEvent.class);
-            ServiceReferenceHolder.getInstance().getKeyManagerDataService().removeApplication(event);
-        } else if (EventType.REMOVE_APPLICATION_KEYMAPPING.toString().equals(eventType)) {
-            ApplicationRegistrationEvent event = new Gson().fromJson(eventJson, ApplicationRegistrationEvent.class);
-            ServiceReferenceHolder.getInstance().getKeyManagerDataService().removeApplicationKeyMapping(event);
-        } else if (EventType.SCOPE_CREATE.toString().equals(eventType)) {
-            ScopeEvent event = new Gson().fromJson(eventJson, ScopeEvent.class);
-            ServiceReferenceHolder.getInstance().getKeyManagerDataService().addScope(event);
-        } else if (EventType.SCOPE_UPDATE.toString().equals(eventType)) {
-            ScopeEvent event = new Gson().fromJson(eventJson, ScopeEvent.class);
-            ServiceReferenceHolder.getInstance().getKeyManagerDataService().addScope(event);
-        } else if (EventType.SCOPE_DELETE.toString().equals(eventType)) {
-            ScopeEvent event = new Gson().fromJson(eventJson, ScopeEvent.class);
-            ServiceReferenceHolder.getInstance().getKeyManagerDataService().deleteScope(event);
-        } else if (EventType.POLICY_CREATE.toString().equals(eventType) ||
-                EventType.POLICY_DELETE.toString().equals(eventType) ||
-                EventType.POLICY_UPDATE.toString().equals(eventType)) {
-            PolicyEvent event = new Gson().fromJson(eventJson, PolicyEvent.class);
-            boolean updatePolicy = false;
-            boolean deletePolicy = false;
-            if (EventType.POLICY_CREATE.toString().equals(eventType)
-                    || EventType.POLICY_UPDATE.toString().equals(eventType)) {
-                updatePolicy = true;
-            } else if (EventType.POLICY_DELETE.toString().equals(eventType)) {
-                deletePolicy = true;
+            case SCOPE_CREATE:
+            case SCOPE_UPDATE: {
+                ScopeEvent event = NotificationEventCodec.read(type, eventJson);
+                ServiceReferenceHolder.getInstance().getKeyManagerDataService().addScope(event);
+                break;
             }
-            if (event.getPolicyType() == PolicyType.API) {
-                APIPolicyEvent policyEvent = new Gson().fromJson(eventJson, APIPolicyEvent.class);
-                if (updatePolicy) {
-                    ServiceReferenceHolder.getInstance().getKeyManagerDataService()
-                            .addOrUpdateAPIPolicy(policyEvent);
-                } else if (deletePolicy) {
-                    ServiceReferenceHolder.getInstance().getKeyManagerDataService()
-                            .removeAPIPolicy(policyEvent);
-                }
-            } else if (event.getPolicyType() == PolicyType.SUBSCRIPTION) {
-                SubscriptionPolicyEvent policyEvent = new Gson().fromJson(eventJson, SubscriptionPolicyEvent.class);
-                if (updatePolicy) {
-                    ServiceReferenceHolder.getInstance().getKeyManagerDataService()
-                            .addOrUpdateSubscriptionPolicy(policyEvent);
-                } else if (deletePolicy) {
-                    ServiceReferenceHolder.getInstance().getKeyManagerDataService()
-                            .removeSubscriptionPolicy(policyEvent);
-                }
-            } else if (event.getPolicyType() == PolicyType.APPLICATION) {
-                ApplicationPolicyEvent policyEvent = new Gson().fromJson(eventJson, ApplicationPolicyEvent.class);
-                if (updatePolicy) {
-                    ServiceReferenceHolder.getInstance().getKeyManagerDataService()
-                            .addOrUpdateApplicationPolicy(policyEvent);
-                } else if (deletePolicy) {
-                    ServiceReferenceHolder.getInstance().getKeyManagerDataService()
-                            .removeApplicationPolicy(policyEvent);
-                }
+            case SCOPE_DELETE: {
+                ScopeEvent event = NotificationEventCodec.read(type, eventJson);
+                ServiceReferenceHolder.getInstance().getKeyManagerDataService().deleteScope(event);
+                break;
             }
-        } else if (EventType.ENDPOINT_CERTIFICATE_ADD.toString().equals(eventType) ||
-                EventType.ENDPOINT_CERTIFICATE_REMOVE.toString().equals(eventType)) {
-            CertificateEvent certificateEvent = new Gson().fromJson(eventJson, CertificateEvent.class);
-            if (EventType.ENDPOINT_CERTIFICATE_ADD.toString().equals(eventType)) {
+            case POLICY_CREATE:
+            case POLICY_UPDATE:
+            case POLICY_DELETE:
+                handlePolicyEvent(type, NotificationEventCodec.readPolicyEvent(eventJson));
+                break;
+            case ENDPOINT_CERTIFICATE_ADD: {
+                CertificateEvent certificateEvent = NotificationEventCodec.read(type, eventJson);
                 try {
                     new EndpointCertificateDeployer(certificateEvent.getTenantDomain())
                             .deployCertificate(certificateEvent.getAlias());
                 } catch (APIManagementException e) {
                     log.error(e);
                 }
-            } else if (EventType.ENDPOINT_CERTIFICATE_REMOVE.toString().equals(eventType)) {
+                break;
+            }
+            case ENDPOINT_CERTIFICATE_REMOVE: {
+                CertificateEvent certificateEvent = NotificationEventCodec.read(type, eventJson);
                 boolean tenantFlowStarted = false;
                 try {
                     PrivilegedCarbonContext.startTenantFlow();
@@ -316,80 +274,184 @@ public class GatewayJMSMessageListener implements MessageListener {
                         PrivilegedCarbonContext.endTenantFlow();
                     }
                 }
+                break;
             }
-        } else if (EventType.GA_CONFIG_UPDATE.toString().equals(eventType)) {
-            GoogleAnalyticsConfigEvent googleAnalyticsConfigEvent =
-                    new Gson().fromJson(eventJson, GoogleAnalyticsConfigEvent.class);
-            try {
-                new GoogleAnalyticsConfigDeployer(googleAnalyticsConfigEvent.getTenantDomain()).deploy();
-            } catch (APIManagementException e) {
-                log.error(e);
+            case GA_CONFIG_UPDATE: {
+                GoogleAnalyticsConfigEvent googleAnalyticsConfigEvent = NotificationEventCodec.read(type, eventJson);
+                try {
+                    new GoogleAnalyticsConfigDeployer(googleAnalyticsConfigEvent.getTenantDomain()).deploy();
+                } catch (APIManagementException e) {
+                    log.error(e);
+                }
+                break;
             }
-        } else if (EventType.UDATE_API_LOG_LEVEL.toString().equals(eventType)) {
-            APIEvent apiEvent = new Gson().fromJson(eventJson, APIEvent.class);
-            APILoggerManager.getInstance().updateLoggerMap(apiEvent.getApiContext(), apiEvent.getLogLevel());
-        } else if (EventType.CUSTOM_POLICY_ADD.toString().equals(eventType)) {
-            KeyTemplateEvent keyTemplateEvent = new Gson().fromJson(eventJson, KeyTemplateEvent.class);
-            String key = keyTemplateEvent.getKeyTemplate();
-            String keyTemplateValue = keyTemplateEvent.getKeyTemplate();
-            ServiceReferenceHolder.getInstance().getAPIThrottleDataService()
-                    .addKeyTemplate(key, keyTemplateValue);
-        } else if (EventType.CUSTOM_POLICY_DELETE.toString().equals(eventType)) {
-            KeyTemplateEvent keyTemplateEvent = new Gson().fromJson(eventJson, KeyTemplateEvent.class);
-            String key = keyTemplateEvent.getKeyTemplate();
-            ServiceReferenceHolder.getInstance().getAPIThrottleDataService()
-                    .removeKeyTemplate(key);
-        } else if (EventType.CUSTOM_POLICY_UPDATE.toString().equals(eventType)) {
-            KeyTemplateEvent keyTemplateEvent = new Gson().fromJson(eventJson, KeyTemplateEvent.class);
-            String oldKey = keyTemplateEvent.getOldKeyTemplate();
-            String newKey = keyTemplateEvent.getNewKeyTemplate();
-            String newTemplateValue = newKey;
-            ServiceReferenceHolder.getInstance().getAPIThrottleDataService()
-                    .removeKeyTemplate(oldKey);
-            ServiceReferenceHolder.getInstance().getAPIThrottleDataService()
-                    .addKeyTemplate(newKey, newTemplateValue);
-        } else if (EventType.DEPLOY_POLICY_MAPPING_IN_GATEWAY.toString().equals(eventType)
-                || EventType.REMOVE_POLICY_MAPPING_FROM_GATEWAY.toString().equals(eventType)) {
-            GatewayPolicyEvent gatewayPolicyEvent = new Gson().fromJson(eventJson, GatewayPolicyEvent.class);
-            Set<String> systemConfiguredGatewayLabels = new HashSet(gatewayPolicyEvent.getGatewayLabels());
+            case UDATE_API_LOG_LEVEL: {
+                APIEvent apiEvent = NotificationEventCodec.read(type, eventJson);
+                APILoggerManager.getInstance().updateLoggerMap(apiEvent.getApiContext(), apiEvent.getLogLevel());
+                break;
+            }
+            case CUSTOM_POLICY_ADD: {
+                KeyTemplateEvent keyTemplateEvent = NotificationEventCodec.read(type, eventJson);
+                String key = keyTemplateEvent.getKeyTemplate();
+                String keyTemplateValue = keyTemplateEvent.getKeyTemplate();
+                ServiceReferenceHolder.getInstance().getAPIThrottleDataService()
+                        .addKeyTemplate(key, keyTemplateValue);
+                break;
+            }
+            case CUSTOM_POLICY_DELETE: {
+                KeyTemplateEvent keyTemplateEvent = NotificationEventCodec.read(type, eventJson);
+                String key = keyTemplateEvent.getKeyTemplate();
+                ServiceReferenceHolder.getInstance().getAPIThrottleDataService()
+                        .removeKeyTemplate(key);
+                break;
+            }
+            case CUSTOM_POLICY_UPDATE: {
+                KeyTemplateEvent keyTemplateEvent = NotificationEventCodec.read(type, eventJson);
+                String oldKey = keyTemplateEvent.getOldKeyTemplate();
+                String newKey = keyTemplateEvent.getNewKeyTemplate();
+                String newTemplateValue = newKey;
+                ServiceReferenceHolder.getInstance().getAPIThrottleDataService()
+                        .removeKeyTemplate(oldKey);
+                ServiceReferenceHolder.getInstance().getAPIThrottleDataService()
+                        .addKeyTemplate(newKey, newTemplateValue);
+                break;
+            }
+            case DEPLOY_POLICY_MAPPING_IN_GATEWAY:
+            case REMOVE_POLICY_MAPPING_FROM_GATEWAY:
+                handleGatewayPolicyEvent(type, NotificationEventCodec.read(type, eventJson));
+                break;
+            default:
+                if (debugEnabled) {
+                    log.debug("No gateway action is registered for the event type " + eventType);
+                }
+        }
+    }
+
+    private void handleDeploymentEvent(EventType eventType, DeployAPIInGatewayEvent gatewayEvent) {
+
+        String tenantDomain = gatewayEvent.getTenantDomain();
+        boolean tenantLoaded = ServiceReferenceHolder.getInstance().isTenantLoaded(tenantDomain);
+        if (!tenantLoaded) {
+            String syncKey = tenantDomain.concat("__").concat(GatewayJMSMessageListener.class.getName());
+            synchronized (syncKey.intern()) {
+                tenantLoaded = ServiceReferenceHolder.getInstance().isTenantLoaded(tenantDomain);
+                if (!tenantLoaded) {
+                    APIUtil.loadTenantConfigBlockingMode(tenantDomain);
+                }
+            }
+        }
+
+        if (tenantLoaded) {
+            Set<String> systemConfiguredGatewayLabels = new HashSet(gatewayEvent.getGatewayLabels());
             systemConfiguredGatewayLabels.retainAll(gatewayArtifactSynchronizerProperties.getGatewayLabels());
             if (!systemConfiguredGatewayLabels.isEmpty()) {
-                if (EventType.DEPLOY_POLICY_MAPPING_IN_GATEWAY.toString().equals(eventType)) {
+                ServiceReferenceHolder.getInstance().getKeyManagerDataService().updateDeployedAPIRevision(gatewayEvent);
+                if (EventType.DEPLOY_API_IN_GATEWAY == eventType) {
                     boolean tenantFlowStarted = false;
                     try {
-                        PrivilegedCarbonContext.startTenantFlow();
-                        PrivilegedCarbonContext.getThreadLocalCarbonContext()
-                                .setTenantDomain(gatewayPolicyEvent.getTenantDomain(), true);
+                        startTenantFlow(tenantDomain);
                         tenantFlowStarted = true;
-                        new GatewayPolicyDeployer(
-                                gatewayPolicyEvent.getGatewayPolicyMappingUuid()).deployGatewayPolicyMapping();
-                    } catch (ArtifactSynchronizerException | APIManagementException e) {
-                        log.error("Error in deploying artifacts for " + gatewayPolicyEvent.getGatewayPolicyMappingUuid()
-                                + "in the Gateway");
+                        inMemoryApiDeployer.deployAPI(gatewayEvent);
+                    } catch (ArtifactSynchronizerException e) {
+                        log.error("Error in deploying artifacts for " + gatewayEvent.getUuid() +
+                                "in the Gateway");
                     } finally {
                         if (tenantFlowStarted) {
-                            PrivilegedCarbonContext.endTenantFlow();
+                            endTenantFlow();
                         }
                     }
-                } else if (EventType.REMOVE_POLICY_MAPPING_FROM_GATEWAY.toString().equals(eventType)) {
+                }
+                if (EventType.REMOVE_API_FROM_GATEWAY == eventType) {
                     boolean tenantFlowStarted = false;
                     try {
-                        PrivilegedCarbonContext.startTenantFlow();
-                        PrivilegedCarbonContext.getThreadLocalCarbonContext()
-                                .setTenantDomain(gatewayPolicyEvent.getTenantDomain(), true);
+                        startTenantFlow(tenantDomain);
                         tenantFlowStarted = true;
-                        new GatewayPolicyDeployer(
-                                gatewayPolicyEvent.getGatewayPolicyMappingUuid()).undeployGatewayPolicyMapping();
-                    } catch (ArtifactSynchronizerException | APIManagementException e) {
-                        log.error("Error while un-deploying artifacts for " + gatewayPolicyEvent.getGatewayPolicyMappingUuid()
-                                + "from the Gateway");
+                        inMemoryApiDeployer.unDeployAPI(gatewayEvent);
+                    } catch (ArtifactSynchronizerException e) {
+                        log.error("Error in undeploying artifacts");
                     } finally {
                         if (tenantFlowStarted) {
-                            PrivilegedCarbonContext.endTenantFlow();
+                            endTenantFlow();
                         }
                     }
+                    DataHolder.getInstance().removeAPIFromAllTenantMap(gatewayEvent.getContext(),
+                            gatewayEvent.getTenantDomain());
                 }
             }
+
+            if (debugEnabled) {
+                log.debug("Event with ID " + gatewayEvent.getEventId() + " is received and " +
+                        gatewayEvent.getUuid() + " is successfully deployed/undeployed");
+            }
+        }
+    }
+
+    private void handlePolicyEvent(EventType eventType, PolicyEvent event) {
+
+        boolean updatePolicy = EventType.POLICY_CREATE == eventType || EventType.POLICY_UPDATE == eventType;
+        boolean deletePolicy = EventType.POLICY_DELETE == eventType;
+        if (event instanceof APIPolicyEvent) {
+            APIPolicyEvent policyEvent = (APIPolicyEvent) event;
+            if (updatePolicy) {
+                ServiceReferenceHolder.getInstance().getKeyManagerDataService()
+                        .addOrUpdateAPIPolicy(policyEvent);
+            } else if (deletePolicy) {
+                ServiceReferenceHolder.getInstance().getKeyManagerDataService()
+                        .removeAPIPolicy(policyEvent);
+            }
+        } else if (event instanceof SubscriptionPolicyEvent) {
+            SubscriptionPolicyEvent policyEvent = (SubscriptionPolicyEvent) event;
+            if (updatePolicy) {
+                ServiceReferenceHolder.getInstance().getKeyManagerDataService()
+                        .addOrUpdateSubscriptionPolicy(policyEvent);
+            } else if (deletePolicy) {
+                ServiceReferenceHolder.getInstance().getKeyManagerDataService()
+                        .removeSubscriptionPolicy(policyEvent);
+            }
+        } else if (event instanceof ApplicationPolicyEvent) {
+            ApplicationPolicyEvent policyEvent = (ApplicationPolicyEvent) event;
+            if (updatePolicy) {
+                ServiceReferenceHolder.getInstance().getKeyManagerDataService()
+                        .addOrUpdateApplicationPolicy(policyEvent);
+            } else if (deletePolicy) {
+                ServiceReferenceHolder.getInstance().getKeyManagerDataService()
+                        .removeApplicationPolicy(policyEvent);
+            }
+        }
+    }
+
+    private void handleGatewayPolicyEvent(EventType eventType, GatewayPolicyEvent gatewayPolicyEvent) {
+
+        Set<String> systemConfiguredGatewayLabels = new HashSet(gatewayPolicyEvent.getGatewayLabels());
+        systemConfiguredGatewayLabels.retainAll(gatewayArtifactSynchronizerProperties.getGatewayLabels());
+        if (systemConfiguredGatewayLabels.isEmpty()) {
+            return;
+        }
+        boolean tenantFlowStarted = false;
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                    .setTenantDomain(gatewayPolicyEvent.getTenantDomain(), true);
+            tenantFlowStarted = true;
+            if (EventType.DEPLOY_POLICY_MAPPING_IN_GATEWAY == eventType) {
+                new GatewayPolicyDeployer(gatewayPolicyEvent.getGatewayPolicyMappingUuid())
+                        .deployGatewayPolicyMapping();
+            } else {
+                new GatewayPolicyDeployer(gatewayPolicyEvent.getGatewayPolicyMappingUuid())
+                        .undeployGatewayPolicyMapping();
+            }
+        } catch (ArtifactSynchronizerException | APIManagementException e) {
+            if (EventType.DEPLOY_POLICY_MAPPING_IN_GATEWAY == eventType) {
+                log.error("Error in deploying artifacts for " + gatewayPolicyEvent.getGatewayPolicyMappingUuid()
+                        + "in the Gateway");
+            } else {
+                log.error("Error while un-deploying artifacts for "
+                        + gatewayPolicyEvent.getGatewayPolicyMappingUuid() + "from the Gateway");
+            }
+        } finally {
+            if (tenantFlowStarted) {
+                PrivilegedCarbonContext.endTenantFlow();
+            }
         }
     }
 
@@ -207,18 +207,23 @@ public class GatewayStartupListener extends AbstractAxis2ConfigurationContextObs
             retrieveAndDeployArtifacts(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
             retrieveBlockConditionsAndKeyTemplates();
             WebhooksDataHolder.getInstance().registerTenantSubscriptionStore(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
-            jmsTransportHandlerForTrafficManager
-                    .subscribeForJmsEvents(APIConstants.TopicNames.TOPIC_THROTTLE_DATA, new JMSMessageListener());
+            // Throttle decisions of unrelated APIs are applied in parallel, in order per API or resource
+            JMSMessageListener throttleDataListener = new JMSMessageListener();
+            jmsTransportHandlerForTrafficManager.subscribeForJmsEvents(APIConstants.TopicNames.TOPIC_THROTTLE_DATA,
+                    throttleDataListener, throttleDataListener);
             jmsTransportHandlerForEventHub.subscribeForJmsEvents(APIConstants.TopicNames.TOPIC_TOKEN_REVOCATION,
                     new GatewayTokenRevocationMessageListener());
             jmsTransportHandlerForEventHub.subscribeForJmsEvents(APIConstants.TopicNames.TOPIC_CACHE_INVALIDATION,
                     new APIMgtGatewayCacheMessageListener());
+            // A single listener so that both topics share its ordered event lanes and deployment thread
+            GatewayJMSMessageListener gatewayJMSMessageListener = new GatewayJMSMessageListener();
             jmsTransportHandlerForEventHub
-                    .subscribeForJmsEvents(APIConstants.TopicNames.TOPIC_NOTIFICATION, new GatewayJMSMessageListener());
-            jmsTransportHandlerForEventHub
-                    .subscribeForJmsEvents(APIConstants.TopicNames.TOPIC_THROTTLE_DATA, new JMSMessageListener());
+                    .subscribeForJmsEvents(APIConstants.TopicNames.TOPIC_NOTIFICATION, gatewayJMSMessageListener);
+            JMSMessageListener eventHubThrottleDataListener = new JMSMessageListener();
+            jmsTransportHandlerForEventHub.subscribeForJmsEvents(APIConstants.TopicNames.TOPIC_THROTTLE_DATA,
+                    eventHubThrottleDataListener, eventHubThrottleDataListener);
             jmsTransportHandlerForEventHub.subscribeForJmsEvents(APIConstants.TopicNames.TOPIC_ASYNC_WEBHOOKS_DATA,
-                    new GatewayJMSMessageListener());
+                    gatewayJMSMessageListener);
             copyTenantArtifacts();
             APILoggerManager.getInstance().initializeAPILoggerList();
         } else {
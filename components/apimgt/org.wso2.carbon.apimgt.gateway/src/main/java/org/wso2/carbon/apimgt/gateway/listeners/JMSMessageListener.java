@@ -24,6 +24,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.json.simple.parser.ParseException;
+import org.wso2.carbon.apimgt.common.jms.PartitionKeyResolver;
 import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.utils.APIUtil;
@@ -40,9 +41,12 @@ import javax.jms.MessageListener;
 import javax.jms.TextMessage;
 import javax.jms.Topic;
 
-public class JMSMessageListener implements MessageListener {
+public class JMSMessageListener implements MessageListener, PartitionKeyResolver {
 
     private static final Log log = LogFactory.getLog(JMSMessageListener.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    // Partition of the blocking condition messages, which are applied in the order they were published
+    private static final String BLOCKING_CONDITIONS_PARTITION = "blockingConditions";
 
     // These patterns will be used to determine for which type of keys the throttling condition has occurred.
     private Pattern apiPattern = Pattern.compile("/.*/(.*):\\1_(condition_(\\d*)|default)");
@@ -108,6 +112,37 @@ public class JMSMessageListener implements MessageListener {
         }
     }
 
+    /**
+     * Resolves the partition of a throttle data message. Throttle decisions of the same API or resource keep their
+     * publish order, while decisions of unrelated APIs are applied in parallel.
+     *
+     * @param message throttle data message
+     * @return API or resource key of a throttle decision, a shared key for blocking conditions, or null
+     * @throws JMSException if the message text cannot be read
+     */
+    @Override
+    public Object resolveKey(Message message) throws JMSException {
+
+        if (!(message instanceof TextMessage)) {
+            return null;
+        }
+        try {
+            JsonNode payloadData = objectMapper.readTree(((TextMessage) message).getText())
+                    .path(APIConstants.EVENT_PAYLOAD).path(APIConstants.EVENT_PAYLOAD_DATA);
+            JsonNode throttleKey = payloadData.get(APIConstants.THROTTLE_KEY);
+            if (throttleKey != null) {
+                APICondition extractedKey = extractAPIorResourceKey(throttleKey.asText());
+                return extractedKey != null ? extractedKey.getResourceKey() : throttleKey.asText();
+            }
+            if (payloadData.get(APIConstants.BLOCKING_CONDITION_KEY) != null) {
+                return BLOCKING_CONDITIONS_PARTITION;
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Error while parsing JMS payload to resolve its partition", e);
+        }
+        return null;
+    }
+
     private void handleThrottleUpdateMessage(JsonNode msg) throws ParseException {
         String throttleKey = msg.get(APIConstants.AdvancedThrottleConstants.THROTTLE_KEY).asText();
         String throttleState = msg.get(APIConstants.AdvancedThrottleConstants.IS_THROTTLED).asText();
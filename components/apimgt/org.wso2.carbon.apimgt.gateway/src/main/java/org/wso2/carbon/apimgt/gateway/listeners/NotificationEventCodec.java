@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.listeners;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import org.apache.commons.codec.binary.Base64;
+import org.wso2.carbon.apimgt.impl.APIConstants.EventType;
+import org.wso2.carbon.apimgt.impl.APIConstants.PolicyType;
+import org.wso2.carbon.apimgt.impl.notifier.events.APIEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.APIPolicyEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.ApplicationEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.ApplicationPolicyEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.ApplicationRegistrationEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.CertificateEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.DeployAPIInGatewayEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.Event;
+import org.wso2.carbon.apimgt.impl.notifier.events.GatewayPolicyEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.GoogleAnalyticsConfigEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.KeyTemplateEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.PolicyEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.ScopeEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.SubscriptionEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.SubscriptionPolicyEvent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodes the notification events received by the gateway. Event type names are resolved through a prebuilt lookup
+ * table and the Gson type adapters of all event payloads are created once, so that a message is Base64 decoded and
+ * parsed only once.
+ */
+final class NotificationEventCodec {
+
+    private static final Gson gson = new Gson();
+    private static final Map<String, EventType> eventTypes = new HashMap<>();
+    private static final Map<EventType, TypeAdapter<? extends Event>> eventAdapters = new EnumMap<>(EventType.class);
+    private static final Map<PolicyType, TypeAdapter<? extends PolicyEvent>> policyAdapters =
+            new EnumMap<>(PolicyType.class);
+    private static final TypeAdapter<PolicyEvent> policyEventAdapter = gson.getAdapter(PolicyEvent.class);
+    private static final String POLICY_TYPE = "policyType";
+
+    static {
+        for (EventType eventType : EventType.values()) {
+            eventTypes.put(eventType.name(), eventType);
+        }
+        register(DeployAPIInGatewayEvent.class, EventType.DEPLOY_API_IN_GATEWAY, EventType.REMOVE_API_FROM_GATEWAY);
+        register(ApplicationEvent.class, EventType.APPLICATION_CREATE, EventType.APPLICATION_UPDATE,
+                EventType.APPLICATION_DELETE);
+        register(SubscriptionEvent.class, EventType.SUBSCRIPTIONS_CREATE, EventType.SUBSCRIPTIONS_UPDATE,
+                EventType.SUBSCRIPTIONS_DELETE);
+        register(APIEvent.class, EventType.API_UPDATE, EventType.API_LIFECYCLE_CHANGE,
+                EventType.UDATE_API_LOG_LEVEL);
+        register(ApplicationRegistrationEvent.class, EventType.APPLICATION_REGISTRATION_CREATE,
+                EventType.REMOVE_APPLICATION_KEYMAPPING);
+        register(ScopeEvent.class, EventType.SCOPE_CREATE, EventType.SCOPE_UPDATE, EventType.SCOPE_DELETE);
+        register(CertificateEvent.class, EventType.ENDPOINT_CERTIFICATE_ADD, EventType.ENDPOINT_CERTIFICATE_REMOVE);
+        register(GoogleAnalyticsConfigEvent.class, EventType.GA_CONFIG_UPDATE);
+        register(KeyTemplateEvent.class, EventType.CUSTOM_POLICY_ADD, EventType.CUSTOM_POLICY_DELETE,
+                EventType.CUSTOM_POLICY_UPDATE);
+        register(GatewayPolicyEvent.class, EventType.DEPLOY_POLICY_MAPPING_IN_GATEWAY,
+                EventType.REMOVE_POLICY_MAPPING_FROM_GATEWAY);
+        policyAdapters.put(PolicyType.API, gson.getAdapter(APIPolicyEvent.class));
+        policyAdapters.put(PolicyType.SUBSCRIPTION, gson.getAdapter(SubscriptionPolicyEvent.class));
+        policyAdapters.put(PolicyType.APPLICATION, gson.getAdapter(ApplicationPolicyEvent.class));
+    }
+
+    private NotificationEventCodec() {
+
+    }
+
+    private static void register(Class<? extends Event> eventClass, EventType... types) {
+
+        TypeAdapter<? extends Event> adapter = gson.getAdapter(eventClass);
+        for (EventType type : types) {
+            eventAdapters.put(type, adapter);
+        }
+    }
+
+    /**
+     * Resolves the event type of a notification without relying on exceptions for unknown types.
+     *
+     * @param eventType name of the event type
+     * @return matching event type or null if the type is unknown to this gateway
+     */
+    static EventType resolveEventType(String eventType) {
+
+        if (eventType == null) {
+            return null;
+        }
+        return eventTypes.get(eventType);
+    }
+
+    /**
+     * Decodes the Base64 encoded event payload into its JSON representation.
+     *
+     * @param encodedEvent Base64 encoded event
+     * @return event JSON
+     */
+    static String decode(String encodedEvent) {
+
+        return new String(Base64.decodeBase64(encodedEvent), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the payload of the given event type using its prebuilt type adapter.
+     *
+     * @param eventType type of the event
+     * @param eventJson decoded event payload
+     * @param <T>       event class registered for the event type
+     * @return event or null if no payload class is registered for the type
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Event> T read(EventType eventType, String eventJson) {
+
+        TypeAdapter<? extends Event> adapter = eventAdapters.get(eventType);
+        if (adapter == null) {
+            return null;
+        }
+        try {
+            return (T) adapter.fromJson(eventJson);
+        } catch (IOException e) {
+            throw new JsonSyntaxException("Error while reading " + eventType + " event", e);
+        }
+    }
+
+    /**
+     * Reads a throttle policy event into the concrete event class of its policy type. The payload is parsed into a
+     * tree only once and bound to the matching event class from there.
+     *
+     * @param eventJson decoded event payload
+     * @return policy event of the concrete policy type
+     */
+    static PolicyEvent readPolicyEvent(String eventJson) {
+
+        JsonObject tree = JsonParser.parseString(eventJson).getAsJsonObject();
+        JsonElement policyType = tree.get(POLICY_TYPE);
+        TypeAdapter<? extends PolicyEvent> adapter = null;
+        if (policyType != null && !policyType.isJsonNull()) {
+            try {
+                adapter = policyAdapters.get(PolicyType.valueOf(policyType.getAsString()));
+            } catch (IllegalArgumentException e) {
+                adapter = null;
+            }
+        }
+        if (adapter == null) {
+            adapter = policyEventAdapter;
+        }
+        return adapter.fromJsonTree(tree);
+    }
+}
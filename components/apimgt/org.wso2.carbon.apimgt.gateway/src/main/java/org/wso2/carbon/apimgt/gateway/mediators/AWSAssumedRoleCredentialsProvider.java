@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.mediators;
+
+import com.amazonaws.SdkBaseException;
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.BasicSessionCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClientBuilder;
+import com.amazonaws.services.securitytoken.model.AssumeRoleRequest;
+import com.amazonaws.services.securitytoken.model.Credentials;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.gateway.utils.redis.RedisCacheUtils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides the temporary credentials of an assumed IAM role to the AWS Lambda clients. Credentials are kept in memory
+ * and are refreshed in the background before they expire, so that requests do not call STS. Refreshed credentials are
+ * shared through the Redis or the local credentials cache as before, keyed by the role session name.
+ */
+public class AWSAssumedRoleCredentialsProvider implements AWSCredentialsProvider {
+
+    private static final Log log = LogFactory.getLog(AWSAssumedRoleCredentialsProvider.class);
+    private static final long REFRESH_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final long RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long MIN_VALIDITY_MILLIS = 1000;
+    private static final ScheduledExecutorService REFRESHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "AWSAssumedRoleCredentialsRefresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AWSSecurityTokenService stsClient;
+    private final String roleArn;
+    private final String roleSessionName;
+    private final long refreshMarginMillis;
+    private final long retryDelayMillis;
+    private volatile Credentials credentials;
+    private volatile AWSCredentials sessionCredentials;
+    private volatile boolean used;
+    private ScheduledFuture<?> refreshTask;
+    private boolean closed;
+
+    public AWSAssumedRoleCredentialsProvider(AWSCredentialsProvider credentialsProvider, String roleArn,
+                                             String roleSessionName, String region) {
+        this(buildSTSClient(credentialsProvider, region), roleArn, roleSessionName, REFRESH_MARGIN_MILLIS,
+                RETRY_DELAY_MILLIS);
+    }
+
+    AWSAssumedRoleCredentialsProvider(AWSSecurityTokenService stsClient, String roleArn, String roleSessionName,
+                                      long refreshMarginMillis, long retryDelayMillis) {
+        this.stsClient = stsClient;
+        this.roleArn = roleArn;
+        this.roleSessionName = roleSessionName;
+        this.refreshMarginMillis = refreshMarginMillis;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    @Override
+    public AWSCredentials getCredentials() {
+        used = true;
+        Credentials current = credentials;
+        if (current == null || getRemainingValidity(current) <= MIN_VALIDITY_MILLIS) {
+            synchronized (this) {
+                current = credentials;
+                if (current == null || getRemainingValidity(current) <= MIN_VALIDITY_MILLIS) {
+                    update(loadCredentials());
+                }
+            }
+        }
+        return sessionCredentials;
+    }
+
+    @Override
+    public synchronized void refresh() {
+        update(loadCredentials());
+    }
+
+    /**
+     * Stops refreshing the credentials and releases the STS client. Called when the Lambda client using these
+     * credentials is evicted.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (refreshTask != null) {
+            refreshTask.cancel(false);
+        }
+        stsClient.shutdown();
+    }
+
+    private void backgroundRefresh() {
+        if (!used) {
+            // Not used since the last refresh. The next request loads fresh credentials if these expire meanwhile.
+            return;
+        }
+        used = false;
+        try {
+            refresh();
+        } catch (SdkBaseException e) {
+            // Covers errors returned by STS as well as client side errors. The current credentials stay in use
+            log.warn("Error while refreshing the credentials of AWS role session " + roleSessionName
+                    + ". Retrying in " + retryDelayMillis + " ms", e);
+            retryRefresh();
+        } catch (RuntimeException e) {
+            // Such as errors of the shared credentials cache, which would otherwise silently stop the refreshes
+            log.error("Unexpected error while refreshing the credentials of AWS role session " + roleSessionName
+                    + ". Retrying in " + retryDelayMillis + " ms", e);
+            retryRefresh();
+        }
+    }
+
+    private synchronized void retryRefresh() {
+        used = true;
+        Credentials current = credentials;
+        if (current != null && getRemainingValidity(current) > retryDelayMillis + MIN_VALIDITY_MILLIS) {
+            scheduleRefresh(retryDelayMillis);
+        }
+    }
+
+    private void update(Credentials newCredentials) {
+        credentials = newCredentials;
+        sessionCredentials = new BasicSessionCredentials(newCredentials.getAccessKeyId(),
+                newCredentials.getSecretAccessKey(), newCredentials.getSessionToken());
+        scheduleRefresh(Math.max(getRemainingValidity(newCredentials) - refreshMarginMillis, MIN_VALIDITY_MILLIS));
+    }
+
+    private void scheduleRefresh(long delay) {
+        if (refreshTask != null) {
+            refreshTask.cancel(false);
+        }
+        if (!closed) {
+            refreshTask = REFRESHER.schedule(this::backgroundRefresh, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the credentials shared by another request or gateway node if they are valid beyond the refresh margin,
+     * otherwise assumes the role through STS and shares the new credentials.
+     */
+    private Credentials loadCredentials() {
+        Credentials sharedCredentials;
+        if (ServiceReferenceHolder.getInstance().isRedisEnabled()) {
+            sharedCredentials = (Credentials) new RedisCacheUtils(ServiceReferenceHolder.getInstance().getRedisPool())
+                    .getObject(roleSessionName, Credentials.class);
+        } else {
+            sharedCredentials = CredentialsCache.getInstance().getCredentialsMap().get(roleSessionName);
+        }
+        if (sharedCredentials != null && getRemainingValidity(sharedCredentials) > refreshMarginMillis) {
+            return sharedCredentials;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Assuming AWS role " + roleArn + " for session " + roleSessionName);
+        }
+        AssumeRoleRequest roleRequest = new AssumeRoleRequest()
+                .withRoleArn(roleArn)
+                .withRoleSessionName(roleSessionName);
+        Credentials newCredentials = stsClient.assumeRole(roleRequest).getCredentials();
+        if (ServiceReferenceHolder.getInstance().isRedisEnabled()) {
+            new RedisCacheUtils(ServiceReferenceHolder.getInstance().getRedisPool())
+                    .addObject(roleSessionName, newCredentials);
+        } else {
+            CredentialsCache.getInstance().getCredentialsMap().put(roleSessionName, newCredentials);
+        }
+        return newCredentials;
+    }
+
+    private static long getRemainingValidity(Credentials credentials) {
+        return credentials.getExpiration().getTime() - System.currentTimeMillis();
+    }
+
+    private static AWSSecurityTokenService buildSTSClient(AWSCredentialsProvider credentialsProvider, String region) {
+        if (StringUtils.isEmpty(region)) {
+            return AWSSecurityTokenServiceClientBuilder.standard()
+                    .withCredentials(credentialsProvider)
+                    .build();
+        }
+        return AWSSecurityTokenServiceClientBuilder.standard()
+                .withCredentials(credentialsProvider)
+                .withEndpointConfiguration(new EndpointConfiguration("https://sts." + region + ".amazonaws.com",
+                        region))
+                .build();
+    }
+}
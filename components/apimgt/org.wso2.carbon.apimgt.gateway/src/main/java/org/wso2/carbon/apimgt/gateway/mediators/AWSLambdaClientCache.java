@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.mediators;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.regions.Region;
+import com.amazonaws.regions.Regions;
+import com.amazonaws.services.lambda.AWSLambda;
+import com.amazonaws.services.lambda.AWSLambdaClientBuilder;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the AWS Lambda clients used by {@link AWSLambdaMediator}. Building a client sets up a connection pool and
+ * resolves credentials, so one client is built per credential, role, region and timeout combination and reused by
+ * all the requests of the APIs which share that configuration. When the number of clients exceeds the bound, the
+ * least recently used client is evicted and shut down.
+ */
+public class AWSLambdaClientCache {
+
+    private static final Log log = LogFactory.getLog(AWSLambdaClientCache.class);
+    private static final int MAX_CLIENTS = 100;
+    private static final AWSLambdaClientCache INSTANCE = new AWSLambdaClientCache();
+
+    private final Map<ClientKey, CachedClient> clients = new ConcurrentHashMap<>();
+    // Logical clock ordering the uses of the clients
+    private final AtomicLong useCounter = new AtomicLong();
+    private final int maxClients;
+
+    AWSLambdaClientCache() {
+        this(MAX_CLIENTS);
+    }
+
+    AWSLambdaClientCache(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * @return shared Lambda client cache
+     */
+    public static AWSLambdaClientCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the Lambda client for the given configuration, building it on first use.
+     *
+     * @param accessKey       access key, empty to use the credentials of the IAM role attached to the instance
+     * @param secretKey       secret key
+     * @param region          region of the Lambda function when stored credentials are used
+     * @param roleArn         ARN of the role to assume, empty when no role is assumed
+     * @param roleSessionName session name of the assumed role
+     * @param roleRegion      region of the Lambda function when a role is assumed
+     * @param resourceTimeout socket timeout of the Lambda invocation in milliseconds
+     * @return Lambda client or null if the configuration is incomplete
+     */
+    public AWSLambda getClient(String accessKey, String secretKey, String region, String roleArn,
+                               String roleSessionName, String roleRegion, int resourceTimeout) {
+        ClientKey key = new ClientKey(accessKey, secretKey, region, roleArn, roleSessionName, roleRegion,
+                resourceTimeout);
+        CachedClient cachedClient = clients.get(key);
+        if (cachedClient == null) {
+            // Only requests for the same configuration wait while the client is built
+            cachedClient = clients.computeIfAbsent(key, this::buildClient);
+            if (cachedClient == null) {
+                return null;
+            }
+            if (clients.size() > maxClients) {
+                evictLeastRecentlyUsed(key);
+            }
+        }
+        cachedClient.lastUsed = useCounter.incrementAndGet();
+        return cachedClient.client;
+    }
+
+    int size() {
+        return clients.size();
+    }
+
+    private void evictLeastRecentlyUsed(ClientKey keep) {
+        while (clients.size() > maxClients) {
+            Map.Entry<ClientKey, CachedClient> eldest = null;
+            for (Map.Entry<ClientKey, CachedClient> entry : clients.entrySet()) {
+                if (!entry.getKey().equals(keep)
+                        && (eldest == null || entry.getValue().lastUsed < eldest.getValue().lastUsed)) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            if (clients.remove(eldest.getKey(), eldest.getValue())) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Shutting down the least recently used AWS Lambda client");
+                }
+                eldest.getValue().shutdown();
+            }
+        }
+    }
+
+    private CachedClient buildClient(ClientKey key) {
+        ClientConfiguration clientConfig = new ClientConfiguration();
+        clientConfig.setSocketTimeout(key.resourceTimeout);
+        boolean assumeRole = StringUtils.isNotEmpty(key.roleArn) && StringUtils.isNotEmpty(key.roleSessionName)
+                && StringUtils.isNotEmpty(key.roleRegion);
+        boolean noRole = StringUtils.isEmpty(key.roleArn) && StringUtils.isEmpty(key.roleSessionName)
+                && StringUtils.isEmpty(key.roleRegion);
+
+        AWSCredentialsProvider credentialsProvider;
+        String clientRegion;
+        if (StringUtils.isEmpty(key.accessKey) && StringUtils.isEmpty(key.secretKey)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Using temporary credentials supplied by the IAM role attached to AWS instance");
+            }
+            if (noRole) {
+                credentialsProvider = DefaultAWSCredentialsProviderChain.getInstance();
+                clientRegion = null;
+            } else if (assumeRole) {
+                Region currentRegion = Regions.getCurrentRegion();
+                credentialsProvider = new AWSAssumedRoleCredentialsProvider(
+                        DefaultAWSCredentialsProviderChain.getInstance(), key.roleArn, key.roleSessionName,
+                        currentRegion != null ? currentRegion.getName() : null);
+                clientRegion = key.roleRegion;
+            } else {
+                log.error("Missing AWS STS configurations");
+                return null;
+            }
+        } else if (StringUtils.isNotEmpty(key.accessKey) && StringUtils.isNotEmpty(key.secretKey)
+                && StringUtils.isNotEmpty(key.region)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Using user given stored credentials");
+            }
+            AWSCredentialsProvider storedCredentials = new AWSStaticCredentialsProvider(
+                    new BasicAWSCredentials(key.accessKey, key.secretKey));
+            if (noRole) {
+                credentialsProvider = storedCredentials;
+                clientRegion = key.region;
+            } else if (assumeRole) {
+                credentialsProvider = new AWSAssumedRoleCredentialsProvider(storedCredentials, key.roleArn,
+                        key.roleSessionName, key.region);
+                clientRegion = key.roleRegion;
+            } else {
+                log.error("Missing AWS STS configurations");
+                return null;
+            }
+        } else {
+            log.error("Missing AWS Credentials");
+            return null;
+        }
+
+        AWSLambdaClientBuilder builder = AWSLambdaClientBuilder.standard()
+                .withCredentials(credentialsProvider)
+                .withClientConfiguration(clientConfig);
+        if (clientRegion != null) {
+            builder.withRegion(clientRegion);
+        }
+        return new CachedClient(builder.build(), credentialsProvider);
+    }
+
+    private static final class CachedClient {
+
+        private final AWSLambda client;
+        private final AWSCredentialsProvider credentialsProvider;
+        private volatile long lastUsed;
+
+        CachedClient(AWSLambda client, AWSCredentialsProvider credentialsProvider) {
+            this.client = client;
+            this.credentialsProvider = credentialsProvider;
+        }
+
+        void shutdown() {
+            client.shutdown();
+            if (credentialsProvider instanceof AWSAssumedRoleCredentialsProvider) {
+                ((AWSAssumedRoleCredentialsProvider) credentialsProvider).close();
+            }
+        }
+    }
+
+    private static final class ClientKey {
+
+        private final String accessKey;
+        private final String secretKey;
+        private final String region;
+        private final String roleArn;
+        private final String roleSessionName;
+        private final String roleRegion;
+        private final int resourceTimeout;
+
+        ClientKey(String accessKey, String secretKey, String region, String roleArn, String roleSessionName,
+                  String roleRegion, int resourceTimeout) {
+            this.accessKey = accessKey;
+            this.secretKey = secretKey;
+            this.region = region;
+            this.roleArn = roleArn;
+            this.roleSessionName = roleSessionName;
+            this.roleRegion = roleRegion;
+            this.resourceTimeout = resourceTimeout;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClientKey)) {
+                return false;
+            }
+            ClientKey that = (ClientKey) o;
+            return resourceTimeout == that.resourceTimeout && Objects.equals(accessKey, that.accessKey)
+                    && Objects.equals(secretKey, that.secretKey) && Objects.equals(region, that.region)
+                    && Objects.equals(roleArn, that.roleArn) && Objects.equals(roleSessionName, that.roleSessionName)
+                    && Objects.equals(roleRegion, that.roleRegion);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accessKey, secretKey, region, roleArn, roleSessionName, roleRegion, resourceTimeout);
+        }
+    }
+}
@@ -17,31 +17,18 @@
  */
 package org.wso2.carbon.apimgt.gateway.mediators;
 
-import com.amazonaws.ClientConfiguration;
 import com.amazonaws.SdkClientException;
-import com.amazonaws.auth.AWSCredentialsProvider;
-import com.amazonaws.auth.AWSStaticCredentialsProvider;
-import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.auth.BasicSessionCredentials;
-import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
-import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
-import com.amazonaws.regions.Regions;
 import com.amazonaws.services.lambda.AWSLambda;
-import com.amazonaws.services.lambda.AWSLambdaClientBuilder;
 import com.amazonaws.services.lambda.model.InvocationType;
 import com.amazonaws.services.lambda.model.InvokeRequest;
 import com.amazonaws.services.lambda.model.InvokeResult;
-import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
-import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClientBuilder;
-import com.amazonaws.services.securitytoken.model.AssumeRoleRequest;
-import com.amazonaws.services.securitytoken.model.AssumeRoleResult;
-import com.amazonaws.services.securitytoken.model.Credentials;
-import com.google.gson.JsonObject;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.soap.SOAPBody;
 import org.apache.axiom.soap.SOAPEnvelope;
-import org.apache.axis2.AxisFault;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
@@ -55,12 +42,11 @@ import org.apache.synapse.mediators.AbstractMediator;
 import org.apache.synapse.rest.RESTConstants;
 import org.wso2.carbon.apimgt.gateway.APIMgtGatewayConstants;
 import org.wso2.carbon.apimgt.gateway.handlers.analytics.Constants;
-import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
-import org.wso2.carbon.apimgt.gateway.utils.redis.RedisCacheUtils;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.Set;
@@ -87,6 +73,7 @@ public class AWSLambdaMediator extends AbstractMediator {
     private static final String IS_BASE64_ENCODED_PARAMETER = "isBase64Encoded";
     private static final String PATH = "path";
     private static final String HTTP_METHOD = "httpMethod";
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
 
     public AWSLambdaMediator() {
 
@@ -102,70 +89,15 @@ public class AWSLambdaMediator extends AbstractMediator {
         try {
             org.apache.axis2.context.MessageContext axis2MessageContext = ((Axis2MessageContext) messageContext)
                     .getAxis2MessageContext();
-            JsonObject payload = new JsonObject();
-
-            // set headers
-            JsonObject headers = new JsonObject();
-            TreeMap transportHeaders =
-                    (TreeMap) axis2MessageContext.getProperty(org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS);
-            for (Object keyObj : transportHeaders.keySet()) {
-                String key = (String) keyObj;
-                String value = (String) transportHeaders.get(keyObj);
-                headers.addProperty(key, value);
-            }
-            payload.add(APIConstants.PROPERTY_HEADERS_KEY, headers);
-
-            // set path/query parameters
-            JsonObject pathParameters = new JsonObject();
-            JsonObject queryStringParameters = new JsonObject();
-            Set propertySet = messageContext.getPropertyKeySet();
-            for (Object key : propertySet) {
-                if (key != null) {
-                    String propertyKey = key.toString();
-                    if (propertyKey.startsWith(RESTConstants.REST_URI_VARIABLE_PREFIX)) {
-                        pathParameters.addProperty(propertyKey.substring(RESTConstants.REST_URI_VARIABLE_PREFIX.length()),
-                                (String) messageContext.getProperty(propertyKey));
-                    } else if (propertyKey.startsWith(RESTConstants.REST_QUERY_PARAM_PREFIX)) {
-                        queryStringParameters.addProperty(propertyKey.substring(RESTConstants.REST_QUERY_PARAM_PREFIX.length()),
-                                (String) messageContext.getProperty(propertyKey));
-                    }
-                }
-            }
-            payload.add(PATH_PARAMETERS, pathParameters);
-            payload.add(QUERY_STRING_PARAMETERS, queryStringParameters);
-            payload.addProperty(HTTP_METHOD, (String) messageContext.getProperty(APIConstants.REST_METHOD));
-            payload.addProperty(PATH, (String) messageContext.getProperty(APIConstants.API_ELECTED_RESOURCE));
-
             // Set lambda backend invocation start time for analytics
             messageContext.setProperty(Constants.BACKEND_START_TIME_PROPERTY, System.currentTimeMillis());
 
-            String body = "{}";
-            if (JsonUtil.hasAJsonPayload(axis2MessageContext)) {
-                String jsonPayload = JsonUtil.jsonPayloadToString(axis2MessageContext);
-                if (!isContentEncodingEnabled) {
-                    payload.add(BODY_PARAMETER, new JsonParser().parse(body).getAsJsonObject());
-                } else {
-                    payload.addProperty(BODY_PARAMETER, Base64.encodeBase64String(jsonPayload.getBytes()));
-                }
-            } else {
-                String multipartContent = extractFormDataContent(axis2MessageContext);
-                if (StringUtils.isNotEmpty(multipartContent)) {
-                    body = isContentEncodingEnabled ? Base64.encodeBase64String(multipartContent.getBytes()) :
-                            multipartContent;
-                    payload.addProperty(BODY_PARAMETER, body);
-                } else {
-                    // If the request does not have a payload(as either a json payload or multipart content),
-                    // set an empty JSON object as the payload
-                    payload.add(BODY_PARAMETER, new JsonParser().parse(body).getAsJsonObject());
-                }
-            }
-            payload.addProperty(IS_BASE64_ENCODED_PARAMETER, isContentEncodingEnabled);
-
+            String payload = buildPayload(messageContext, axis2MessageContext);
             if (log.isDebugEnabled()) {
-                log.debug("Passing the payload " + payload.toString() + " to AWS Lambda function with resource name "
+                log.debug("Passing the payload " + payload + " to AWS Lambda function with resource name "
                         + resourceName);
             }
-            InvokeResult invokeResult = invokeLambda(payload.toString());
+            InvokeResult invokeResult = invokeLambda(payload);
 
             if (invokeResult != null) {
                 if (log.isDebugEnabled()) {
@@ -184,7 +116,7 @@ public class AWSLambdaMediator extends AbstractMediator {
                 axis2MessageContext.setProperty(APIMgtGatewayConstants.HTTP_SC, APIMgtGatewayConstants.HTTP_SC_CODE);
                 axis2MessageContext.setProperty(APIConstants.NO_ENTITY_BODY, true);
             }
-        } catch (AxisFault e) {
+        } catch (IOException e) {
             log.error("Exception has occurred while performing AWS Lambda mediation : " + e.getMessage(), e);
             return false;
         }
@@ -192,6 +124,75 @@ public class AWSLambdaMediator extends AbstractMediator {
         return true;
     }
 
+    /**
+     * Build the event passed to the AWS Lambda function. The event is written with a streaming writer instead of
+     * building a JSON tree of the whole request first.
+     *
+     * @param messageContext      - synapse message context
+     * @param axis2MessageContext - axis2 message context
+     * @return event as a JSON string
+     * @throws IOException if the request payload cannot be read
+     */
+    private String buildPayload(MessageContext messageContext,
+                                org.apache.axis2.context.MessageContext axis2MessageContext) throws IOException {
+        StringWriter payload = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(payload)) {
+            writer.beginObject();
+
+            // set headers
+            writer.name(APIConstants.PROPERTY_HEADERS_KEY).beginObject();
+            TreeMap transportHeaders = (TreeMap) axis2MessageContext.getProperty(
+                    org.apache.axis2.context.MessageContext.TRANSPORT_HEADERS);
+            for (Object keyObj : transportHeaders.keySet()) {
+                writer.name((String) keyObj).value((String) transportHeaders.get(keyObj));
+            }
+            writer.endObject();
+
+            // set path/query parameters
+            writeParameters(writer, messageContext, PATH_PARAMETERS, RESTConstants.REST_URI_VARIABLE_PREFIX);
+            writeParameters(writer, messageContext, QUERY_STRING_PARAMETERS, RESTConstants.REST_QUERY_PARAM_PREFIX);
+            writer.name(HTTP_METHOD).value((String) messageContext.getProperty(APIConstants.REST_METHOD));
+            writer.name(PATH).value((String) messageContext.getProperty(APIConstants.API_ELECTED_RESOURCE));
+
+            writer.name(BODY_PARAMETER);
+            if (JsonUtil.hasAJsonPayload(axis2MessageContext)) {
+                String jsonPayload = JsonUtil.jsonPayloadToString(axis2MessageContext);
+                if (!isContentEncodingEnabled) {
+                    GSON.toJson(new JsonParser().parse(jsonPayload), writer);
+                } else {
+                    writer.value(Base64.encodeBase64String(jsonPayload.getBytes()));
+                }
+            } else {
+                String multipartContent = extractFormDataContent(axis2MessageContext);
+                if (StringUtils.isNotEmpty(multipartContent)) {
+                    writer.value(isContentEncodingEnabled ? Base64.encodeBase64String(multipartContent.getBytes()) :
+                            multipartContent);
+                } else {
+                    // If the request does not have a payload(as either a json payload or multipart content),
+                    // set an empty JSON object as the payload
+                    writer.beginObject().endObject();
+                }
+            }
+            writer.name(IS_BASE64_ENCODED_PARAMETER).value(isContentEncodingEnabled);
+            writer.endObject();
+        }
+        return payload.toString();
+    }
+
+    private void writeParameters(JsonWriter writer, MessageContext messageContext, String name, String prefix)
+            throws IOException {
+        writer.name(name).beginObject();
+        Set propertySet = messageContext.getPropertyKeySet();
+        for (Object key : propertySet) {
+            if (key != null && key.toString().startsWith(prefix)) {
+                String propertyKey = key.toString();
+                writer.name(propertyKey.substring(prefix.length()))
+                        .value((String) messageContext.getProperty(propertyKey));
+            }
+        }
+        writer.endObject();
+    }
+
     /**
      * invoke AWS Lambda function
      *
@@ -204,70 +205,9 @@ public class AWSLambdaMediator extends AbstractMediator {
             if (resourceTimeout < 1000 || resourceTimeout > 900000) {
                 setResourceTimeout(APIConstants.AWS_DEFAULT_CONNECTION_TIMEOUT);
             }
-            ClientConfiguration clientConfig = new ClientConfiguration();
-            clientConfig.setSocketTimeout(resourceTimeout);
-
-            AWSLambda awsLambdaClient;
-            if (StringUtils.isEmpty(accessKey) && StringUtils.isEmpty(secretKey)) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Using temporary credentials supplied by the IAM role attached to AWS instance");
-                }
-                if (StringUtils.isEmpty(roleArn) && StringUtils.isEmpty(roleSessionName)
-                        && StringUtils.isEmpty(roleRegion)) {
-                    awsLambdaClient = AWSLambdaClientBuilder.standard()
-                            .withCredentials(DefaultAWSCredentialsProviderChain.getInstance())
-                            .withClientConfiguration(clientConfig)
-                            .build();
-                } else if (StringUtils.isNotEmpty(roleArn) && StringUtils.isNotEmpty(roleSessionName)
-                        && StringUtils.isNotEmpty(roleRegion)) {
-                    Credentials sessionCredentials = getSessionCredentials(
-                            DefaultAWSCredentialsProviderChain.getInstance(), roleArn, roleSessionName,
-                            String.valueOf(Regions.getCurrentRegion()));
-                    BasicSessionCredentials basicSessionCredentials = new BasicSessionCredentials(
-                            sessionCredentials.getAccessKeyId(),
-                            sessionCredentials.getSecretAccessKey(),
-                            sessionCredentials.getSessionToken());
-                    awsLambdaClient = AWSLambdaClientBuilder.standard()
-                            .withCredentials(new AWSStaticCredentialsProvider(basicSessionCredentials))
-                            .withClientConfiguration(clientConfig)
-                            .withRegion(roleRegion)
-                            .build();
-                } else {
-                    log.error("Missing AWS STS configurations");
-                    return null;
-                }
-            } else if (StringUtils.isNotEmpty(accessKey) && StringUtils.isNotEmpty(secretKey)
-                    && StringUtils.isNotEmpty(region)) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Using user given stored credentials");
-                }
-                BasicAWSCredentials awsCredentials = new BasicAWSCredentials(accessKey, secretKey);
-                if (StringUtils.isEmpty(roleArn) && StringUtils.isEmpty(roleSessionName)
-                        && StringUtils.isEmpty(roleRegion)) {
-                    awsLambdaClient = AWSLambdaClientBuilder.standard()
-                            .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
-                            .withClientConfiguration(clientConfig)
-                            .withRegion(region)
-                            .build();
-                } else if (StringUtils.isNotEmpty(roleArn) && StringUtils.isNotEmpty(roleSessionName)
-                        && StringUtils.isNotEmpty(roleRegion)) {
-                    Credentials sessionCredentials = getSessionCredentials(
-                            new AWSStaticCredentialsProvider(awsCredentials), roleArn, roleSessionName, region);
-                    BasicSessionCredentials basicSessionCredentials = new BasicSessionCredentials(
-                            sessionCredentials.getAccessKeyId(),
-                            sessionCredentials.getSecretAccessKey(),
-                            sessionCredentials.getSessionToken());
-                    awsLambdaClient = AWSLambdaClientBuilder.standard()
-                            .withCredentials(new AWSStaticCredentialsProvider(basicSessionCredentials))
-                            .withClientConfiguration(clientConfig)
-                            .withRegion(roleRegion)
-                            .build();
-                } else {
-                    log.error("Missing AWS STS configurations");
-                    return null;
-                }
-            } else {
-                log.error("Missing AWS Credentials");
+            AWSLambda awsLambdaClient = AWSLambdaClientCache.getInstance().getClient(accessKey, secretKey, region,
+                    roleArn, roleSessionName, roleRegion, resourceTimeout);
+            if (awsLambdaClient == null) {
                 return null;
             }
             InvokeRequest invokeRequest = new InvokeRequest()
@@ -282,52 +222,6 @@ public class AWSLambdaMediator extends AbstractMediator {
         return null;
     }
 
-    private Credentials getSessionCredentials(AWSCredentialsProvider credentialsProvider, String roleArn,
-                                              String roleSessionName, String region) {
-        Credentials sessionCredentials = null;
-        if (ServiceReferenceHolder.getInstance().isRedisEnabled()) {
-            Object previousCredentialsObject = new RedisCacheUtils(ServiceReferenceHolder.getInstance().getRedisPool())
-                    .getObject(roleSessionName, Credentials.class);
-            if (previousCredentialsObject != null) {
-                sessionCredentials = (Credentials) previousCredentialsObject;
-            }
-        } else {
-            sessionCredentials = CredentialsCache.getInstance().getCredentialsMap().get(roleSessionName);
-        }
-        if (sessionCredentials != null) {
-            long expirationTime = sessionCredentials.getExpiration().getTime();
-            long currentTime = System.currentTimeMillis();
-            long timeDifference = expirationTime - currentTime;
-            if (timeDifference > 1000) {
-                return sessionCredentials;
-            }
-        }
-        AWSSecurityTokenService awsSTSClient;
-        if (StringUtils.isEmpty(region)) {
-            awsSTSClient = AWSSecurityTokenServiceClientBuilder.standard()
-                    .withCredentials(credentialsProvider)
-                    .build();
-        } else {
-            awsSTSClient = AWSSecurityTokenServiceClientBuilder.standard()
-                    .withCredentials(credentialsProvider)
-                    .withEndpointConfiguration(new EndpointConfiguration("https://sts." + region + ".amazonaws.com",
-                            region))
-                    .build();
-        }
-        AssumeRoleRequest roleRequest = new AssumeRoleRequest()
-                .withRoleArn(roleArn)
-                .withRoleSessionName(roleSessionName);
-        AssumeRoleResult assumeRoleResult = awsSTSClient.assumeRole(roleRequest);
-        sessionCredentials = assumeRoleResult.getCredentials();
-        if (ServiceReferenceHolder.getInstance().isRedisEnabled()) {
-            new RedisCacheUtils(ServiceReferenceHolder.getInstance().getRedisPool())
-                    .addObject(roleSessionName, sessionCredentials);
-        } else {
-            CredentialsCache.getInstance().getCredentialsMap().put(roleSessionName, sessionCredentials);
-        }
-        return sessionCredentials;
-    }
-
     /**
      * Extract form data content from the message context
      *
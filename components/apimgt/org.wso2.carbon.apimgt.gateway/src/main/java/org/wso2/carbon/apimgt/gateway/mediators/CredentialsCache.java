@@ -19,15 +19,15 @@ package org.wso2.carbon.apimgt.gateway.mediators;
 
 import com.amazonaws.services.securitytoken.model.Credentials;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Credentials Cache Singleton Implementation to store AWS Credentials temporarily
  */
 public class CredentialsCache {
     private static final CredentialsCache instance = new CredentialsCache();
-    private final Map<String, Credentials> credentialsMap = new HashMap<>();
+    private final Map<String, Credentials> credentialsMap = new ConcurrentHashMap<>();
 
     /**
      * Private constructor
@@ -37,7 +37,6 @@ import org.wso2.carbon.apimgt.gateway.utils.GatewayUtils;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
 
 /**
  * OAuth Mediator for generating OAuth tokens for invoking service endpoints secured with OAuth.
@@ -46,6 +45,7 @@ public class OAuthMediator extends AbstractMediator implements ManagedLifecycle
 
     private static final Log log = LogFactory.getLog(OAuthMediator.class);
     public OAuthEndpoint oAuthEndpoint;
+    private OAuthTokenManager tokenManager;
     private String tokenEndpointUrl;
     private String uniqueIdentifier;
     private String clientId;
@@ -74,19 +74,24 @@ public class OAuthMediator extends AbstractMediator implements ManagedLifecycle
         oAuthEndpoint.setClientSecret(clientSecret);
         oAuthEndpoint.setGrantType(grantType);
         oAuthEndpoint.setCustomParameters(customParameterJson);
-        if (APIConstants.GRANT_TYPE_PASSWORD.equalsIgnoreCase(grantType)) {
-            if (StringUtils.isEmpty(username) || StringUtils.isEmpty(password)) {
-                log.warn("User Credentials are empty OAuthMediator will not work properly.");
-            } else {
-                oAuthEndpoint.setPassword(password.toCharArray());
-                oAuthEndpoint.setUsername(username);
-            }
+        oAuthEndpoint.setUsername(username);
+        if (password != null) {
+            oAuthEndpoint.setPassword(password.toCharArray());
+        }
+        if (APIConstants.GRANT_TYPE_PASSWORD.equalsIgnoreCase(grantType)
+                && (StringUtils.isEmpty(username) || StringUtils.isEmpty(password))) {
+            log.warn("User Credentials are empty OAuthMediator will not work properly.");
         }
+        tokenManager = OAuthTokenManager.register(oAuthEndpoint);
+        tokenManager.prefetch();
     }
 
     @Override
     public void destroy() {
 
+        if (tokenManager != null) {
+            tokenManager.destroy();
+        }
     }
 
     @Override
@@ -96,21 +101,11 @@ public class OAuthMediator extends AbstractMediator implements ManagedLifecycle
             log.debug("OAuth Mediator is invoked...");
         }
 
-        CountDownLatch latch = new CountDownLatch(1);
-
         TokenResponse tokenResponse = null;
-        if (oAuthEndpoint != null) {
+        if (tokenManager != null) {
             try {
-                oAuthEndpoint.setUsername(username);
-                if (clientSecret != null) {
-                    oAuthEndpoint.setClientSecret(clientSecret);
-                }
-                if (password != null) {
-                    oAuthEndpoint.setPassword(password.toCharArray());
-                }
-                tokenResponse = OAuthTokenGenerator.generateToken(oAuthEndpoint, latch);
-                latch.await();
-            } catch (InterruptedException | APISecurityException e) {
+                tokenResponse = tokenManager.getToken();
+            } catch (APISecurityException e) {
                 log.error("Could not generate access token...", e);
             }
         }
@@ -120,6 +115,7 @@ public class OAuthMediator extends AbstractMediator implements ManagedLifecycle
             Map<String, Object> transportHeaders = (Map<String, Object>) ((Axis2MessageContext) messageContext)
                     .getAxis2MessageContext().getProperty("TRANSPORT_HEADERS");
             transportHeaders.put("Authorization", "Bearer " + accessToken);
+            messageContext.setProperty(APIMgtGatewayConstants.OAUTH_BACKEND_ACCESS_TOKEN, accessToken);
             if (log.isDebugEnabled()) {
                 log.debug("Access token set: " + GatewayUtils.getMaskedToken(accessToken));
             }
@@ -30,7 +30,6 @@ import org.apache.synapse.transport.passthru.TargetResponse;
 import org.wso2.carbon.apimgt.gateway.APIMgtGatewayConstants;
 import org.wso2.carbon.apimgt.gateway.handlers.Utils;
 import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityConstants;
-import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityException;
 import org.wso2.carbon.apimgt.gateway.mediators.oauth.conf.OAuthEndpoint;
 
 /**
@@ -58,14 +57,15 @@ public class OAuthResponseMediator extends AbstractMediator implements ManagedLi
             if (statusCode == 401) {
                 Object oauthEndpointObject = messageContext.getProperty(APIMgtGatewayConstants.OAUTH_ENDPOINT_INSTANCE);
                 if (oauthEndpointObject instanceof OAuthEndpoint) {
-                    try {
-                        OAuthTokenGenerator.generateToken((OAuthEndpoint) oauthEndpointObject, null);
-                        log.error("OAuth 2.0 access token has been rejected by the backend...");
-                        handleFailure(APISecurityConstants.OAUTH_TEMPORARY_SERVER_ERROR, messageContext,
-                                APISecurityConstants.OAUTH_TEMPORARY_SERVER_ERROR_MESSAGE, "Please try again");
-                    } catch (APISecurityException e) {
-                        log.error("Error when generating oauth 2.0 access token...", e);
+                    OAuthTokenManager tokenManager =
+                            OAuthTokenManager.getManager(((OAuthEndpoint) oauthEndpointObject).getId());
+                    if (tokenManager != null) {
+                        tokenManager.invalidate((String) messageContext.getProperty(
+                                APIMgtGatewayConstants.OAUTH_BACKEND_ACCESS_TOKEN));
                     }
+                    log.error("OAuth 2.0 access token has been rejected by the backend...");
+                    handleFailure(APISecurityConstants.OAUTH_TEMPORARY_SERVER_ERROR, messageContext,
+                            APISecurityConstants.OAUTH_TEMPORARY_SERVER_ERROR_MESSAGE, "Please try again");
                 }
             }
         }
@@ -35,7 +35,7 @@ import java.util.concurrent.CountDownLatch;
 
 /**
  * OAuthTokenGenerator class to check validity of tokens, request for tokens
- * and add tokens to in-memory cache or redis cache
+ * and add tokens to in-memory cache and redis cache
  */
 public class OAuthTokenGenerator {
 
@@ -53,33 +53,54 @@ public class OAuthTokenGenerator {
             throws APISecurityException {
 
         try {
-            TokenResponse tokenResponse = null;
-            if (ServiceReferenceHolder.getInstance().isRedisEnabled()) {
-                Object previousResponseObject =
-                        new RedisCacheUtils(ServiceReferenceHolder.getInstance().getRedisPool())
-                                .getObject(oAuthEndpoint.getId(), TokenResponse.class);
-                if (previousResponseObject != null) {
-                    tokenResponse = (TokenResponse) previousResponseObject;
-                }
-            } else {
-                tokenResponse = TokenCache.getInstance().getTokenMap().get(oAuthEndpoint.getId());
-            }
+            TokenResponse tokenResponse = getCachedToken(oAuthEndpoint.getId());
             if (tokenResponse != null) {
-                long validTill = tokenResponse.getValidTill();
-                long currentTimeInSeconds = System.currentTimeMillis() / 1000;
-                long timeDifference = validTill - currentTimeInSeconds;
-
-                if (timeDifference <= 1) {
+                if (getRemainingValidity(tokenResponse) <= 1) {
                     if (tokenResponse.getRefreshToken() != null) {
                         // Remove expired token from cache
                         TokenCache.getInstance().getTokenMap().remove(oAuthEndpoint.getId(), tokenResponse);
-                        tokenResponse = addTokenToCache(oAuthEndpoint, tokenResponse.getRefreshToken());
+                        tokenResponse = requestToken(oAuthEndpoint, tokenResponse.getRefreshToken());
                     } else {
-                        tokenResponse = addTokenToCache(oAuthEndpoint, null);
+                        tokenResponse = requestToken(oAuthEndpoint, null);
                     }
                 }
             } else {
-                tokenResponse = addTokenToCache(oAuthEndpoint, null);
+                tokenResponse = requestToken(oAuthEndpoint, null);
+            }
+            return tokenResponse;
+        } finally {
+            if (latch != null) {
+                latch.countDown();
+            }
+        }
+    }
+
+    /**
+     * Method to request for access token and add the generated token into the in-memory cache, writing it through
+     * to the redis cache when enabled
+     *
+     * @param oAuthEndpoint OAuthEndpoint object for token endpoint properties
+     * @param refreshToken  Refresh token if exists
+     * @return TokenResponse object
+     * @throws APISecurityException In the event of errors when generating new token
+     */
+    static TokenResponse requestToken(OAuthEndpoint oAuthEndpoint, String refreshToken)
+            throws APISecurityException {
+
+        try {
+            TokenResponse tokenResponse = OAuthClient.generateToken(oAuthEndpoint.getTokenApiUrl(),
+                    oAuthEndpoint.getClientId(), oAuthEndpoint.getClientSecret(), oAuthEndpoint.getUsername(),
+                    oAuthEndpoint.getPassword(), oAuthEndpoint.getGrantType(), oAuthEndpoint.getCustomParameters(),
+                    refreshToken);
+            if (tokenResponse == null) {
+                throw new APIManagementException("Access token not found in the token endpoint response");
+            }
+            if (tokenResponse.getExpiresIn() != null) {
+                TokenCache.getInstance().getTokenMap().put(oAuthEndpoint.getId(), tokenResponse);
+                if (ServiceReferenceHolder.getInstance().isRedisEnabled()) {
+                    new RedisCacheUtils(ServiceReferenceHolder.getInstance().getRedisPool())
+                            .addObject(oAuthEndpoint.getId(), tokenResponse);
+                }
             }
             return tokenResponse;
         } catch (IOException e) {
@@ -94,43 +115,57 @@ public class OAuthTokenGenerator {
             log.error("Could not retrieve OAuth Token" + getEndpointId(oAuthEndpoint));
             throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
                     "Error while parsing OAuth Token endpoint response", e);
-        } finally {
-            if (latch != null) {
-                latch.countDown();
-            }
         }
     }
 
     /**
-     * Method to request for access token and add the generated token into
-     * in-memory cache or redis cache
+     * Method to get the cached token of an OAuth endpoint. The in-memory cache is checked first and the redis cache
+     * is only read when the token is not available locally.
      *
-     * @param oAuthEndpoint OAuthEndpoint object for token endpoint properties
-     * @param refreshToken  Refresh token if exists
-     * @return TokenResponse object
-     * @throws IOException            In the event of errors with HttpClient connections
-     * @throws APIManagementException In the event of errors when accessing the token endpoint url
+     * @param endpointId unique identifier of the OAuth endpoint
+     * @return cached TokenResponse object or null if not cached
      */
-    private static TokenResponse addTokenToCache(OAuthEndpoint oAuthEndpoint, String refreshToken)
-            throws IOException, APIManagementException, ParseException {
-
-        TokenResponse tokenResponse = OAuthClient.generateToken(oAuthEndpoint.getTokenApiUrl(),
-                oAuthEndpoint.getClientId(), oAuthEndpoint.getClientSecret(), oAuthEndpoint.getUsername(),
-                oAuthEndpoint.getPassword(), oAuthEndpoint.getGrantType(), oAuthEndpoint.getCustomParameters(),
-                refreshToken);
-
-        assert tokenResponse != null;
-        if (tokenResponse.getExpiresIn() != null) {
-            if (ServiceReferenceHolder.getInstance().isRedisEnabled()) {
-                new RedisCacheUtils(ServiceReferenceHolder.getInstance().getRedisPool())
-                        .addObject(oAuthEndpoint.getId(), tokenResponse);
-            } else {
-                TokenCache.getInstance().getTokenMap().put(oAuthEndpoint.getId(), tokenResponse);
+    static TokenResponse getCachedToken(String endpointId) {
+
+        TokenResponse tokenResponse = TokenCache.getInstance().getTokenMap().get(endpointId);
+        if (tokenResponse == null) {
+            tokenResponse = getSharedToken(endpointId);
+            if (tokenResponse != null && tokenResponse.getValidTill() != null) {
+                TokenCache.getInstance().getTokenMap().put(endpointId, tokenResponse);
             }
         }
         return tokenResponse;
     }
 
+    /**
+     * Method to get the token of an OAuth endpoint shared through the redis cache
+     *
+     * @param endpointId unique identifier of the OAuth endpoint
+     * @return TokenResponse object or null if redis is not enabled or the token is not available
+     */
+    static TokenResponse getSharedToken(String endpointId) {
+
+        if (ServiceReferenceHolder.getInstance().isRedisEnabled()) {
+            return (TokenResponse) new RedisCacheUtils(ServiceReferenceHolder.getInstance().getRedisPool())
+                    .getObject(endpointId, TokenResponse.class);
+        }
+        return null;
+    }
+
+    /**
+     * Method to get the remaining validity period of a token
+     *
+     * @param tokenResponse TokenResponse object
+     * @return remaining validity period in seconds, 0 if the token or its expiry time is not available
+     */
+    static long getRemainingValidity(TokenResponse tokenResponse) {
+
+        if (tokenResponse == null || tokenResponse.getValidTill() == null) {
+            return 0;
+        }
+        return tokenResponse.getValidTill() - System.currentTimeMillis() / 1000;
+    }
+
     /**
      * Method to construct string for logging
      *
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.mediators.oauth;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityConstants;
+import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityException;
+import org.wso2.carbon.apimgt.gateway.mediators.oauth.client.TokenResponse;
+import org.wso2.carbon.apimgt.gateway.mediators.oauth.conf.OAuthEndpoint;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Manages the backend access token of an OAuth endpoint. Tokens are read from the in-memory cache without locking
+ * and are refreshed in the background before they expire. Concurrent callers share a single in-flight token request,
+ * so request threads only wait on the token endpoint when no valid token is available at all.
+ */
+public class OAuthTokenManager {
+
+    private static final Log log = LogFactory.getLog(OAuthTokenManager.class);
+    private static final long MIN_VALIDITY_SECONDS = 1;
+    private static final long MIN_REFRESH_MARGIN_SECONDS = 5;
+    private static final long MAX_REFRESH_MARGIN_SECONDS = 60;
+    private static final long MIN_FORCED_REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final Map<String, OAuthTokenManager> managers = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService refresher = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "OAuthBackendTokenRefresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final OAuthEndpoint oAuthEndpoint;
+    private final AtomicReference<CompletableFuture<TokenResponse>> inFlight = new AtomicReference<>();
+    private final AtomicLong lastForcedRefresh = new AtomicLong(System.nanoTime() - MIN_FORCED_REFRESH_INTERVAL_NANOS);
+    private volatile boolean used;
+    private volatile boolean destroyed;
+    private ScheduledFuture<?> refreshTask;
+
+    OAuthTokenManager(OAuthEndpoint oAuthEndpoint) {
+
+        this.oAuthEndpoint = oAuthEndpoint;
+    }
+
+    /**
+     * Creates the token manager of an OAuth endpoint, replacing the manager of a previous deployment of the endpoint.
+     *
+     * @param oAuthEndpoint OAuthEndpoint object for token endpoint properties
+     * @return token manager of the endpoint
+     */
+    public static OAuthTokenManager register(OAuthEndpoint oAuthEndpoint) {
+
+        OAuthTokenManager manager = new OAuthTokenManager(oAuthEndpoint);
+        managers.put(oAuthEndpoint.getId(), manager);
+        return manager;
+    }
+
+    /**
+     * Returns the token manager of an OAuth endpoint.
+     *
+     * @param endpointId unique identifier of the OAuth endpoint
+     * @return token manager or null if the endpoint is not deployed
+     */
+    public static OAuthTokenManager getManager(String endpointId) {
+
+        return managers.get(endpointId);
+    }
+
+    /**
+     * Returns a valid access token for the endpoint. A cached token is returned immediately, and a background refresh
+     * is started if it is about to expire. The caller waits only if no valid token is cached.
+     *
+     * @return TokenResponse object
+     * @throws APISecurityException In the event of errors when generating new token
+     */
+    public TokenResponse getToken() throws APISecurityException {
+
+        used = true;
+        TokenResponse tokenResponse = OAuthTokenGenerator.getCachedToken(oAuthEndpoint.getId());
+        long remainingValidity = OAuthTokenGenerator.getRemainingValidity(tokenResponse);
+        if (remainingValidity > MIN_VALIDITY_SECONDS) {
+            if (remainingValidity <= getRefreshMargin(tokenResponse)) {
+                refresh(false, false);
+            }
+            return tokenResponse;
+        }
+        return await(refresh(true, false));
+    }
+
+    /**
+     * Starts fetching a token in the background if no valid token is cached, so that the first requests do not wait
+     * on the token endpoint.
+     */
+    public void prefetch() {
+
+        TokenResponse tokenResponse = OAuthTokenGenerator.getCachedToken(oAuthEndpoint.getId());
+        if (OAuthTokenGenerator.getRemainingValidity(tokenResponse) <= getRefreshMargin(tokenResponse)) {
+            refresh(false, false);
+        }
+    }
+
+    /**
+     * Discards a token rejected by the backend and starts fetching a new one in the background. Nothing is done when
+     * the rejected token is no longer the cached token, as it was already replaced, and forced refreshes are limited
+     * to one per interval so that a backend rejecting every token does not flood the token endpoint.
+     *
+     * @param rejectedToken access token rejected by the backend
+     * @return true if a new token is being fetched
+     */
+    public boolean invalidate(String rejectedToken) {
+
+        TokenResponse tokenResponse = TokenCache.getInstance().getTokenMap().get(oAuthEndpoint.getId());
+        if (rejectedToken == null || tokenResponse == null || !rejectedToken.equals(tokenResponse.getAccessToken())) {
+            return false;
+        }
+        long last = lastForcedRefresh.get();
+        long now = System.nanoTime();
+        if (now - last < MIN_FORCED_REFRESH_INTERVAL_NANOS || !lastForcedRefresh.compareAndSet(last, now)) {
+            if (log.isDebugEnabled()) {
+                log.debug("OAuth token of endpoint " + oAuthEndpoint.getId() + " was refreshed recently. Ignoring "
+                        + "the rejection of the token by the backend");
+            }
+            return false;
+        }
+        TokenCache.getInstance().getTokenMap().remove(oAuthEndpoint.getId(), tokenResponse);
+        refresh(false, true);
+        return true;
+    }
+
+    /**
+     * Stops the background refresh of the token. The manager is unregistered unless it was already replaced by a
+     * new deployment of the endpoint.
+     */
+    public void destroy() {
+
+        destroyed = true;
+        managers.remove(oAuthEndpoint.getId(), this);
+        synchronized (this) {
+            if (refreshTask != null) {
+                refreshTask.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Returns the in-flight token request, starting one if none is running.
+     *
+     * @param inline       whether a new request runs on the calling thread instead of the refresher
+     * @param ignoreShared whether a token shared through the redis cache should not be reused
+     * @return future completed with the new token
+     */
+    private CompletableFuture<TokenResponse> refresh(boolean inline, boolean ignoreShared) {
+
+        while (true) {
+            CompletableFuture<TokenResponse> pending = inFlight.get();
+            if (pending != null) {
+                return pending;
+            }
+            CompletableFuture<TokenResponse> future = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, future)) {
+                if (inline) {
+                    load(future, ignoreShared);
+                } else {
+                    refresher.execute(() -> load(future, ignoreShared));
+                }
+                return future;
+            }
+        }
+    }
+
+    private void load(CompletableFuture<TokenResponse> future, boolean ignoreShared) {
+
+        try {
+            TokenResponse tokenResponse = ignoreShared ? null : OAuthTokenGenerator.getSharedToken(
+                    oAuthEndpoint.getId());
+            if (tokenResponse != null
+                    && OAuthTokenGenerator.getRemainingValidity(tokenResponse) > getRefreshMargin(tokenResponse)) {
+                // Refreshed by another gateway node
+                TokenCache.getInstance().getTokenMap().put(oAuthEndpoint.getId(), tokenResponse);
+            } else {
+                TokenResponse current = TokenCache.getInstance().getTokenMap().get(oAuthEndpoint.getId());
+                tokenResponse = OAuthTokenGenerator.requestToken(oAuthEndpoint,
+                        current != null ? current.getRefreshToken() : null);
+            }
+            scheduleRefresh(tokenResponse);
+            future.complete(tokenResponse);
+        } catch (APISecurityException | RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.compareAndSet(future, null);
+        }
+    }
+
+    private synchronized void scheduleRefresh(TokenResponse tokenResponse) {
+
+        if (destroyed || tokenResponse.getValidTill() == null) {
+            return;
+        }
+        if (refreshTask != null) {
+            refreshTask.cancel(false);
+        }
+        long delay = Math.max(OAuthTokenGenerator.getRemainingValidity(tokenResponse)
+                - getRefreshMargin(tokenResponse), MIN_VALIDITY_SECONDS);
+        refreshTask = refresher.schedule(this::backgroundRefresh, delay, TimeUnit.SECONDS);
+    }
+
+    private void backgroundRefresh() {
+
+        if (destroyed || !used) {
+            // Not used since the last refresh. The next request fetches a new token if this one expires meanwhile.
+            return;
+        }
+        used = false;
+        refresh(true, false).whenComplete((tokenResponse, e) -> {
+            if (e != null && log.isDebugEnabled()) {
+                log.debug("Background refresh of the OAuth token failed for endpoint " + oAuthEndpoint.getId()
+                        + ". Retrying on the next request", e);
+            }
+        });
+    }
+
+    private static long getRefreshMargin(TokenResponse tokenResponse) {
+
+        if (tokenResponse == null) {
+            return MIN_REFRESH_MARGIN_SECONDS;
+        }
+        try {
+            long expiresIn = Long.parseLong(tokenResponse.getExpiresIn());
+            return Math.max(Math.min(MAX_REFRESH_MARGIN_SECONDS, expiresIn / 5), MIN_REFRESH_MARGIN_SECONDS);
+        } catch (NumberFormatException e) {
+            return MIN_REFRESH_MARGIN_SECONDS;
+        }
+    }
+
+    private static TokenResponse await(CompletableFuture<TokenResponse> future) throws APISecurityException {
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                    "Interrupted while retrieving OAuth token", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof APISecurityException) {
+                throw (APISecurityException) e.getCause();
+            }
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR,
+                    "Error while retrieving OAuth token", e.getCause());
+        }
+    }
+}
@@ -20,8 +20,8 @@ package org.wso2.carbon.apimgt.gateway.mediators.oauth;
 
 import org.wso2.carbon.apimgt.gateway.mediators.oauth.client.TokenResponse;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Token Cache Singleton Implementation
@@ -29,7 +29,7 @@ import java.util.Map;
 public class TokenCache {
     private static final TokenCache instance = new TokenCache();
 
-    private final Map<String, TokenResponse> tokenMap = new HashMap<>();
+    private final Map<String, TokenResponse> tokenMap = new ConcurrentHashMap<>();
 
     /**
      * Private Constructor
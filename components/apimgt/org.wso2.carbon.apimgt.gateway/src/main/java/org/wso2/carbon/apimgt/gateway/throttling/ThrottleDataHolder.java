@@ -30,6 +30,9 @@ import org.wso2.carbon.apimgt.impl.dto.ConditionDto;
 import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -60,6 +63,8 @@ public class ThrottleDataHolder {
         throttleDataMap.put(key, value);
     }
     private Map<String, String> blockedSubscriptionConditionsMap = new ConcurrentHashMap<String, String>();
+    private final Object blockingConditionsLock = new Object();
+    private volatile BlockingConditions blockingConditions = BlockingConditions.EMPTY;
 
     public void addThrottleDataFromMap(Map<String, Long> data) {
         throttleDataMap.putAll(data);
@@ -71,40 +76,44 @@ public class ThrottleDataHolder {
 
     public void addThrottledApiConditions(String key, String conditionKey, List<ConditionDto> conditionValue) {
 
-        Map<String, List<ConditionDto>> conditionMap;
-        if (conditionDtoMap.containsKey(key)) {
-            conditionMap = conditionDtoMap.get(key);
-        } else {
-            conditionMap = new ConcurrentHashMap<>();
-            conditionDtoMap.put(key, conditionMap);
-        }
-        if (!conditionMap.containsKey(conditionKey)) {
-            conditionMap.put(conditionKey, conditionValue);
-        }
+        // Inserted within compute so that a concurrent removal cannot drop the condition map in between.
+        conditionDtoMap.compute(key, (k, conditionMap) -> {
+            if (conditionMap == null) {
+                conditionMap = new ConcurrentHashMap<>();
+            }
+            conditionMap.putIfAbsent(conditionKey, conditionValue);
+            return conditionMap;
+        });
     }
 
     public void removeThrottledApiConditions(String key, String conditionKey) {
-        if (conditionDtoMap.containsKey(key)) {
-            Map<String, List<ConditionDto>> conditionMap = conditionDtoMap.get(key);
+        conditionDtoMap.computeIfPresent(key, (k, conditionMap) -> {
             conditionMap.remove(conditionKey);
-            if (conditionMap.isEmpty()) {
-                conditionDtoMap.remove(key);
-            }
-        }
+            return conditionMap.isEmpty() ? null : conditionMap;
+        });
     }
 
     public void addSubscriptionBlockingCondition(String name, String value) {
-        blockedSubscriptionConditionsMap.put(name, value);
+        synchronized (blockingConditionsLock) {
+            blockedSubscriptionConditionsMap.put(name, value);
+            publishBlockingConditions();
+        }
     }
 
     public void addSubscriptionBlockingConditionsFromMap(Map<String, String> data) {
         if (data.size() > 0) {
-            blockedSubscriptionConditionsMap.putAll(data);
+            synchronized (blockingConditionsLock) {
+                blockedSubscriptionConditionsMap.putAll(data);
+                publishBlockingConditions();
+            }
         }
     }
 
     public void removeSubscriptionBlockingCondition(String name) {
-        blockedSubscriptionConditionsMap.remove(name);
+        synchronized (blockingConditionsLock) {
+            blockedSubscriptionConditionsMap.remove(name);
+            publishBlockingConditions();
+        }
     }
 
     public void removeThrottledAPIKey(String key){
@@ -112,20 +121,18 @@ public class ThrottleDataHolder {
     }
 
     public boolean isAPIThrottled(String apiKey){
-        boolean isThrottled = this.throttledAPIKeysMap.containsKey(apiKey);
-        if(isThrottled) {
-            long currentTime = System.currentTimeMillis();
-            long timestamp = this.throttledAPIKeysMap.get(apiKey);
-            if(timestamp >= currentTime) {
-                return isThrottled;
-            } else {
-                this.throttledAPIKeysMap.remove(apiKey);
-                this.conditionDtoMap.remove(apiKey);
-                return false;
-            }
-        } else {
-            return isThrottled;
+        Long timestamp = this.throttledAPIKeysMap.get(apiKey);
+        if (timestamp == null) {
+            return false;
+        }
+        if (timestamp >= System.currentTimeMillis()) {
+            return true;
         }
+        // Only drop the expired entry, a newer throttle event may have replaced it in the meantime.
+        if (this.throttledAPIKeysMap.remove(apiKey, timestamp)) {
+            this.conditionDtoMap.remove(apiKey);
+        }
+        return false;
     }
 
     public boolean isConditionsAvailable(String key) {
@@ -141,27 +148,34 @@ public class ThrottleDataHolder {
     }
 
     public void addAPIBlockingCondition(String name, String value) {
-        blockedAPIConditionsMap.put(name, value);
+        synchronized (blockingConditionsLock) {
+            blockedAPIConditionsMap.put(name, value);
+            publishBlockingConditions();
+        }
     }
 
     public void addApplicationBlockingCondition(String name, String value) {
-        blockedApplicationConditionsMap.put(name, value);
+        synchronized (blockingConditionsLock) {
+            blockedApplicationConditionsMap.put(name, value);
+            publishBlockingConditions();
+        }
     }
 
 
     public void addUserBlockingCondition(String name, String value) {
-        blockedUserConditionsMap.put(name, value);
+        synchronized (blockingConditionsLock) {
+            blockedUserConditionsMap.put(name, value);
+            publishBlockingConditions();
+        }
     }
 
     public void addIpBlockingCondition(String tenantDomain, int conditionId, String value, String type) {
 
-        Set<IPRange> ipRanges = blockedIpConditionsMap.get(tenantDomain);
-        if (ipRanges == null){
-            ipRanges = new HashSet<>();
+        IPRange ipRange = convertValueToIPRange(tenantDomain, conditionId, value, type);
+        synchronized (blockingConditionsLock) {
+            blockedIpConditionsMap.computeIfAbsent(tenantDomain, k -> new HashSet<>()).add(ipRange);
+            publishBlockingConditions();
         }
-
-        ipRanges.add(convertValueToIPRange(tenantDomain, conditionId, value, type));
-        blockedIpConditionsMap.put(tenantDomain, ipRanges);
     }
 
     private IPRange convertValueToIPRange(String tenantDomain, int conditionId, String value, String type) {
@@ -196,53 +210,79 @@ public class ThrottleDataHolder {
     }
     public void addUserBlockingConditionsFromMap(Map<String, String> data) {
         if(data.size() > 0) {
-            blockedUserConditionsMap.putAll(data);
+            synchronized (blockingConditionsLock) {
+                blockedUserConditionsMap.putAll(data);
+                publishBlockingConditions();
+            }
         }
     }
 
     public void addIplockingConditionsFromMap(Map<String, Set<IPRange>> data) {
         if(data.size() > 0) {
-            blockedIpConditionsMap.putAll(data);
+            synchronized (blockingConditionsLock) {
+                for (Map.Entry<String, Set<IPRange>> entry : data.entrySet()) {
+                    blockedIpConditionsMap.put(entry.getKey(), new HashSet<>(entry.getValue()));
+                }
+                publishBlockingConditions();
+            }
         }
     }
 
     public void addAPIBlockingConditionsFromMap(Map<String, String> data) {
         if(data.size() > 0) {
-            blockedAPIConditionsMap.putAll(data);
+            synchronized (blockingConditionsLock) {
+                blockedAPIConditionsMap.putAll(data);
+                publishBlockingConditions();
+            }
         }
     }
 
     public void addApplicationBlockingConditionsFromMap(Map<String, String> data) {
         if(data.size() > 0) {
-            blockedApplicationConditionsMap.putAll(data);
+            synchronized (blockingConditionsLock) {
+                blockedApplicationConditionsMap.putAll(data);
+                publishBlockingConditions();
+            }
         }
     }
 
     public void removeAPIBlockingCondition(String name) {
-        blockedAPIConditionsMap.remove(name);
+        synchronized (blockingConditionsLock) {
+            blockedAPIConditionsMap.remove(name);
+            publishBlockingConditions();
+        }
     }
 
     public void removeApplicationBlockingCondition(String name) {
-        blockedApplicationConditionsMap.remove(name);
+        synchronized (blockingConditionsLock) {
+            blockedApplicationConditionsMap.remove(name);
+            publishBlockingConditions();
+        }
     }
 
 
     public void removeUserBlockingCondition(String name) {
-        blockedUserConditionsMap.remove(name);
+        synchronized (blockingConditionsLock) {
+            blockedUserConditionsMap.remove(name);
+            publishBlockingConditions();
+        }
     }
 
     public void removeIpBlockingCondition(String tenantDomain, int conditionId) {
 
-        Set<IPRange> ipRanges = blockedIpConditionsMap.get(tenantDomain);
-        if (ipRanges != null) {
-            Iterator<IPRange> iterator = ipRanges.iterator();
-            while (iterator.hasNext()) {
-                IPRange ipRange = iterator.next();
-                if (ipRange.getId() == conditionId) {
-                    iterator.remove();
-                    break;
+        synchronized (blockingConditionsLock) {
+            Set<IPRange> ipRanges = blockedIpConditionsMap.get(tenantDomain);
+            if (ipRanges != null) {
+                Iterator<IPRange> iterator = ipRanges.iterator();
+                while (iterator.hasNext()) {
+                    IPRange ipRange = iterator.next();
+                    if (ipRange.getId() == conditionId) {
+                        iterator.remove();
+                        break;
+                    }
                 }
             }
+            publishBlockingConditions();
         }
     }
 
@@ -273,18 +313,20 @@ public class ThrottleDataHolder {
 
     public boolean isRequestBlocked(String apiBlockingKey, String applicationBlockingKey, String userBlockingKey,
                                     String ipBlockingKey, String apiTenantDomain, String subscriptionBlockingKey) {
-        return (blockedAPIConditionsMap.containsKey(apiBlockingKey) ||
-                blockedApplicationConditionsMap.containsKey(applicationBlockingKey) ||
-                blockedUserConditionsMap.containsKey(userBlockingKey) ||
-                blockedSubscriptionConditionsMap.containsKey(subscriptionBlockingKey) ||
-                isIpLevelBlocked(apiTenantDomain, ipBlockingKey));
+        BlockingConditions conditions = blockingConditions;
+        return (conditions.apis.contains(apiBlockingKey) ||
+                conditions.applications.contains(applicationBlockingKey) ||
+                conditions.users.contains(userBlockingKey) ||
+                conditions.subscriptions.contains(subscriptionBlockingKey) ||
+                isIpLevelBlocked(conditions, apiTenantDomain, ipBlockingKey));
     }
 
-    private boolean isIpLevelBlocked(String apiTenantDomain, String ip) {
+    private boolean isIpLevelBlocked(BlockingConditions conditions, String apiTenantDomain, String ip) {
 
-        Set<IPRange> ipRanges = blockedIpConditionsMap.get(apiTenantDomain);
+        List<IPRange> ipRanges = conditions.ipRanges.get(apiTenantDomain);
         if (ipRanges != null && ipRanges.size() > 0) {
             log.debug("Tenant " + apiTenantDomain + " contains block conditions");
+            BigInteger ipBigIntegerValue = null;
             for (IPRange ipRange : ipRanges) {
                 if (APIConstants.BLOCKING_CONDITIONS_IP.equals(ipRange.getType())) {
                     if (ip.equals(ipRange.getFixedIp())) {
@@ -299,8 +341,9 @@ public class ThrottleDataHolder {
                         }
                     }
                 } else if (APIConstants.BLOCK_CONDITION_IP_RANGE.equals(ipRange.getType())) {
-                    BigInteger ipBigIntegerValue = APIUtil.ipToBigInteger(ip);
-
+                    if (ipBigIntegerValue == null) {
+                        ipBigIntegerValue = APIUtil.ipToBigInteger(ip);
+                    }
                     if (((ipBigIntegerValue.compareTo(ipRange.getStartingIpBigIntValue()) > 0) &&
                             (ipBigIntegerValue.compareTo(ipRange.getEndingIpBigIntValue()) < 0))) {
                         if (!ipRange.isInvert()) {
@@ -319,6 +362,28 @@ public class ThrottleDataHolder {
         return false;
     }
 
+    /**
+     * Rebuilds the blocking condition snapshot read by {@link #isRequestBlocked}. Must be called while holding
+     * the blocking conditions lock, after the backing maps have been updated.
+     */
+    private void publishBlockingConditions() {
+
+        Map<String, List<IPRange>> ipRanges = new HashMap<>();
+        for (Map.Entry<String, Set<IPRange>> entry : blockedIpConditionsMap.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                ipRanges.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+            }
+        }
+        blockingConditions = new BlockingConditions(copyKeys(blockedAPIConditionsMap),
+                copyKeys(blockedApplicationConditionsMap), copyKeys(blockedUserConditionsMap),
+                copyKeys(blockedSubscriptionConditionsMap), Collections.unmodifiableMap(ipRanges));
+    }
+
+    private static Set<String> copyKeys(Map<String, ?> map) {
+
+        return map.isEmpty() ? Collections.<String>emptySet() : Collections.unmodifiableSet(new HashSet<>(map.keySet()));
+    }
+
     /**
      * This method will check given key in throttle data Map. Throttle data map need to be update from topic
      * subscriber with all latest updates from global policy engine. This method will perfoem only local map
@@ -329,19 +394,15 @@ public class ThrottleDataHolder {
      * false if key is not there in throttle map(that means its not throttled).
      */
     public boolean isThrottled(String key) {
-        boolean isThrottled = this.throttleDataMap.containsKey(key);
-        if(isThrottled) {
-            long currentTime = System.currentTimeMillis();
-            long timestamp = this.throttleDataMap.get(key);
-            if(timestamp >= currentTime) {
-                return isThrottled;
-            } else {
-                this.throttleDataMap.remove(key);
-                return false;
-            }
-        } else {
-            return isThrottled;
+        Long timestamp = this.throttleDataMap.get(key);
+        if (timestamp == null) {
+            return false;
+        }
+        if (timestamp >= System.currentTimeMillis()) {
+            return true;
         }
+        this.throttleDataMap.remove(key, timestamp);
+        return false;
     }
 
     /**
@@ -365,4 +426,31 @@ public class ThrottleDataHolder {
     public void setKeyTemplatesPresent(boolean keyTemplatesPresent) {
         isKeyTemplatesPresent = keyTemplatesPresent;
     }
+
+    /**
+     * Immutable view of all blocking conditions of the node. A new instance is published on every blocking
+     * condition update, so request threads check a consistent set of conditions without any locking.
+     */
+    private static final class BlockingConditions {
+
+        private static final BlockingConditions EMPTY = new BlockingConditions(Collections.<String>emptySet(),
+                Collections.<String>emptySet(), Collections.<String>emptySet(), Collections.<String>emptySet(),
+                Collections.<String, List<IPRange>>emptyMap());
+
+        private final Set<String> apis;
+        private final Set<String> applications;
+        private final Set<String> users;
+        private final Set<String> subscriptions;
+        private final Map<String, List<IPRange>> ipRanges;
+
+        private BlockingConditions(Set<String> apis, Set<String> applications, Set<String> users,
+                                   Set<String> subscriptions, Map<String, List<IPRange>> ipRanges) {
+
+            this.apis = apis;
+            this.applications = applications;
+            this.users = users;
+            this.subscriptions = subscriptions;
+            this.ipRanges = ipRanges;
+        }
+    }
 }
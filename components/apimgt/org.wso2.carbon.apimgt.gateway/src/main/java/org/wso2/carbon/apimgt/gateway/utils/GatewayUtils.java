@@ -1555,6 +1555,17 @@ public class GatewayUtils {
         return DataHolder.getInstance().isAllGatewayPoliciesDeployed();
     }
 
+    /**
+     * Whether the subscription data of the super tenant, which is loaded at server startup, has finished loading.
+     * Tenants are loaded on their first request and are not waited for.
+     *
+     * @return true if the super tenant subscription store is not being loaded
+     */
+    public static boolean isSubscriptionDataLoaded() {
+        return !SubscriptionDataHolder.getInstance()
+                .isTenantSubscriptionStoreLoading(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+    }
+
     public static List<String> getKeyManagers(org.apache.synapse.MessageContext messageContext) {
 
         API api = getAPI(messageContext);
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.gateway;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+import org.wso2.carbon.apimgt.impl.APIManagerConfigurationService;
+import org.wso2.carbon.apimgt.impl.dto.EventHubConfigurationDto;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ServiceReferenceHolder.class})
+public class APILoggerManagerTest {
+
+    private APILoggerManager apiLoggerManager;
+
+    @Before
+    public void init() {
+        PowerMockito.mockStatic(ServiceReferenceHolder.class);
+        ServiceReferenceHolder serviceReferenceHolder = Mockito.mock(ServiceReferenceHolder.class);
+        APIManagerConfigurationService apiManagerConfigurationService =
+                Mockito.mock(APIManagerConfigurationService.class);
+        APIManagerConfiguration apiManagerConfiguration = Mockito.mock(APIManagerConfiguration.class);
+        PowerMockito.when(ServiceReferenceHolder.getInstance()).thenReturn(serviceReferenceHolder);
+        Mockito.when(serviceReferenceHolder.getApiManagerConfigurationService())
+                .thenReturn(apiManagerConfigurationService);
+        Mockito.when(apiManagerConfigurationService.getAPIManagerConfiguration()).thenReturn(apiManagerConfiguration);
+        Mockito.when(apiManagerConfiguration.getEventHubConfigurationDto())
+                .thenReturn(new EventHubConfigurationDto());
+        apiLoggerManager = APILoggerManager.getInstance();
+        apiLoggerManager.getPerAPILoggerList().clear();
+    }
+
+    @Test
+    public void testGetLogLevelAfterRebuild() {
+        apiLoggerManager.updateLoggerMap("/pizzashack", "BASIC");
+        apiLoggerManager.updateLoggerMap("/pizzashack/1.0.0", "FULL");
+        apiLoggerManager.updateLoggerMap("/t/abc.com/weather/1.0.0", "STANDARD");
+
+        Assert.assertTrue(apiLoggerManager.isPerAPILoggingEnabled());
+        // the longest matching context wins and the query string is ignored
+        Assert.assertEquals("FULL", apiLoggerManager.getLogLevel("pizzashack/1.0.0/menu?size=large"));
+        Assert.assertEquals("FULL", apiLoggerManager.getLogLevel("pizzashack/1.0.0"));
+        Assert.assertEquals("BASIC", apiLoggerManager.getLogLevel("pizzashack/2.0.0/menu"));
+        Assert.assertEquals("STANDARD", apiLoggerManager.getLogLevel("t/abc.com/weather/1.0.0/current"));
+        // a context is only matched on whole path segments
+        Assert.assertNull(apiLoggerManager.getLogLevel("pizzashackv2/1.0.0/menu"));
+
+        // updating a level rebuilds the lookup
+        apiLoggerManager.updateLoggerMap("/pizzashack/1.0.0", "HEADERS");
+        Assert.assertEquals("HEADERS", apiLoggerManager.getLogLevel("pizzashack/1.0.0/menu"));
+    }
+
+    @Test
+    public void testGetLogLevelFallsBackToDefault() {
+        apiLoggerManager.updateLoggerMap("/pizzashack/1.0.0", "OFF");
+
+        // no API has logging enabled, so requests use the default behaviour of no per API logging
+        Assert.assertFalse(apiLoggerManager.isPerAPILoggingEnabled());
+        Assert.assertNull(apiLoggerManager.getLogLevel("pizzashack/1.0.0/menu"));
+        Assert.assertNull(apiLoggerManager.getLogLevel(null));
+
+        apiLoggerManager.updateLoggerMap("/pizzashack", "FULL");
+        Assert.assertTrue(apiLoggerManager.isPerAPILoggingEnabled());
+        // the disabled version falls back to the enabled parent context
+        Assert.assertEquals("FULL", apiLoggerManager.getLogLevel("pizzashack/1.0.0/menu"));
+        Assert.assertNull(apiLoggerManager.getLogLevel("weather/1.0.0/current"));
+
+        apiLoggerManager.updateLoggerMap("/pizzashack", "off");
+        Assert.assertFalse(apiLoggerManager.isPerAPILoggingEnabled());
+        Assert.assertNull(apiLoggerManager.getLogLevel("pizzashack/1.0.0/menu"));
+    }
+}
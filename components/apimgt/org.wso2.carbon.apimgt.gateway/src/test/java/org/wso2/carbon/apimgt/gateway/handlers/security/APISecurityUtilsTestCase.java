@@ -31,6 +31,8 @@ import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -79,4 +81,30 @@ public class APISecurityUtilsTestCase {
                 "newCallerToken");
     }
 
+    @Test
+    public void testGetCallerTokenClaims() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String callerToken = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString("{\"sub\":\"admin\",\"groups\":[\"a\",\"b\"]}"
+                .getBytes(StandardCharsets.UTF_8)) + ".signature";
+        MessageContext messageContext = Mockito.mock(Axis2MessageContext.class);
+        AuthenticationContext authenticationContext = new AuthenticationContext();
+        authenticationContext.setCallerToken(callerToken);
+
+        // decoded on each call when the token context is not attached
+        Map<String, String> claims = APISecurityUtils.getCallerTokenClaims(messageContext, authenticationContext);
+        Assert.assertEquals("admin", claims.get("sub"));
+        Assert.assertEquals("a|b", claims.get("groups"));
+
+        RequestTokenContext requestTokenContext = new RequestTokenContext(null, callerToken);
+        Mockito.when(messageContext.getProperty(APISecurityUtils.API_REQUEST_TOKEN_CONTEXT))
+                .thenReturn(requestTokenContext);
+        claims = APISecurityUtils.getCallerTokenClaims(messageContext, authenticationContext);
+        Assert.assertEquals("admin", claims.get("sub"));
+        Assert.assertSame(claims, APISecurityUtils.getCallerTokenClaims(messageContext, authenticationContext));
+        Assert.assertTrue(requestTokenContext.getScopes().isEmpty());
+
+        authenticationContext.setCallerToken(null);
+        Assert.assertNull(APISecurityUtils.getCallerTokenClaims(messageContext, authenticationContext));
+    }
 }
@@ -173,6 +173,19 @@ public class CORSRequestHandlerTestCase {
 
     }
 
+    @Test
+    public void testGetAllowedOrigins() {
+        CORSRequestHandler corsRequestHandler = new CORSRequestHandler();
+        corsRequestHandler.setAllowedOrigins("https://localhost:9443,https://*.wso2.com");
+        Assert.assertEquals("https://localhost:9443", corsRequestHandler.getAllowedOrigins("https://localhost:9443"));
+        Assert.assertEquals("https://apim.wso2.com", corsRequestHandler.getAllowedOrigins("https://apim.wso2.com"));
+        Assert.assertNull(corsRequestHandler.getAllowedOrigins("https://example.org"));
+        Assert.assertNull(corsRequestHandler.getAllowedOrigins(null));
+
+        corsRequestHandler.setAllowedOrigins("*");
+        Assert.assertEquals("*", corsRequestHandler.getAllowedOrigins("https://example.org"));
+    }
+
     private CORSRequestHandler createCORSRequestHandler() {
         return new CORSRequestHandler() {
 
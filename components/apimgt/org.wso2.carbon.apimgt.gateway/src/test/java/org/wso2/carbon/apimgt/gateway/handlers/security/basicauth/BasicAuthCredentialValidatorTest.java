@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.security.basicauth;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityConstants;
+import org.wso2.carbon.apimgt.gateway.handlers.security.APISecurityException;
+import org.wso2.carbon.apimgt.impl.dto.BasicAuthValidationInfoDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BasicAuthCredentialValidatorTest {
+
+    @Test
+    public void testConcurrentValidationsShareKeyManagerCall() throws Exception {
+
+        final int callers = 8;
+        final CountDownLatch started = new CountDownLatch(callers);
+        final List<Thread> callerThreads = new CopyOnWriteArrayList<>();
+        final AtomicInteger invocations = new AtomicInteger();
+        BasicAuthCredentialClient client = (username, password) -> {
+            invocations.incrementAndGet();
+            // hold the key manager call until every other caller is waiting on it
+            try {
+                Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+                awaitWaiting(callerThreads);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            BasicAuthValidationInfoDTO validationInfo = new BasicAuthValidationInfoDTO();
+            validationInfo.setAuthenticated(true);
+            validationInfo.setDomainQualifiedUsername(username);
+            validationInfo.setUserRoleList(new String[]{"Internal/subscriber"});
+            return validationInfo;
+        };
+        final BasicAuthCredentialValidator validator = new BasicAuthCredentialValidator(client, null, false);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<BasicAuthValidationInfoDTO>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executorService.submit(() -> {
+                    callerThreads.add(Thread.currentThread());
+                    started.countDown();
+                    return validator.validate("admin", "admin");
+                }));
+            }
+            for (Future<BasicAuthValidationInfoDTO> result : results) {
+                BasicAuthValidationInfoDTO validationInfo = result.get(10, TimeUnit.SECONDS);
+                Assert.assertTrue(validationInfo.isAuthenticated());
+                Assert.assertEquals("admin", validationInfo.getDomainQualifiedUsername());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assert.assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void testFailedValidationIsNotShared() throws Exception {
+
+        final AtomicInteger invocations = new AtomicInteger();
+        BasicAuthCredentialClient client = (username, password) -> {
+            invocations.incrementAndGet();
+            throw new APISecurityException(APISecurityConstants.API_AUTH_GENERAL_ERROR, "Key manager unavailable");
+        };
+        BasicAuthCredentialValidator validator = new BasicAuthCredentialValidator(client, null, false);
+        for (int i = 0; i < 2; i++) {
+            try {
+                validator.validate("admin", "admin");
+                Assert.fail("Expected the key manager failure to be propagated");
+            } catch (APISecurityException e) {
+                Assert.assertEquals(APISecurityConstants.API_AUTH_GENERAL_ERROR, e.getErrorCode());
+            }
+        }
+        Assert.assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void testHashCredentials() {
+
+        String hash = BasicAuthCredentialValidator.hashCredentials("admin", "admin");
+        Assert.assertEquals(hash, BasicAuthCredentialValidator.hashCredentials("admin", "admin"));
+        Assert.assertNotEquals(hash, BasicAuthCredentialValidator.hashCredentials("admin", "admin1"));
+        Assert.assertNotEquals(hash, BasicAuthCredentialValidator.hashCredentials("admin1", "admin"));
+    }
+
+    /**
+     * Waits until all the given threads except the current one are parked, i.e. waiting on the in-flight validation.
+     */
+    private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        for (Thread thread : threads) {
+            while (thread != Thread.currentThread() && thread.getState() != Thread.State.WAITING) {
+                if (System.nanoTime() > deadline) {
+                    Assert.fail("Caller " + thread.getName() + " did not join the in-flight validation");
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                Thread.yield();
+            }
+        }
+    }
+}
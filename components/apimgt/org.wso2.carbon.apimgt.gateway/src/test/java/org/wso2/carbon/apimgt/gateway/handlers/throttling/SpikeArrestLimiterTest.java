@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.handlers.throttling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class SpikeArrestLimiterTest {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(100);
+
+    @Test
+    public void testBurstIsAllowedUpToLimit() {
+        SpikeArrestLimiter limiter = new SpikeArrestLimiter(10);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(SpikeArrestLimiter.Decision.ALLOWED, limiter.tryAcquire("key", 5, 1000, START));
+        }
+        Assert.assertEquals(SpikeArrestLimiter.Decision.THROTTLED, limiter.tryAcquire("key", 5, 1000, START));
+    }
+
+    @Test
+    public void testRequestsAreAdmittedAtConfiguredRate() {
+        SpikeArrestLimiter limiter = new SpikeArrestLimiter(10);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("key", 5, 1000, START);
+        }
+        long after100Millis = START + TimeUnit.MILLISECONDS.toNanos(100);
+        long after200Millis = START + TimeUnit.MILLISECONDS.toNanos(200);
+        Assert.assertEquals(SpikeArrestLimiter.Decision.THROTTLED, limiter.tryAcquire("key", 5, 1000, after100Millis));
+        Assert.assertEquals(SpikeArrestLimiter.Decision.ALLOWED, limiter.tryAcquire("key", 5, 1000, after200Millis));
+        Assert.assertEquals(SpikeArrestLimiter.Decision.THROTTLED, limiter.tryAcquire("key", 5, 1000, after200Millis));
+    }
+
+    @Test
+    public void testKeysAreIndependent() {
+        SpikeArrestLimiter limiter = new SpikeArrestLimiter(10);
+        Assert.assertEquals(SpikeArrestLimiter.Decision.ALLOWED, limiter.tryAcquire("key1", 1, 60000, START));
+        Assert.assertEquals(SpikeArrestLimiter.Decision.THROTTLED, limiter.tryAcquire("key1", 1, 60000, START));
+        Assert.assertEquals(SpikeArrestLimiter.Decision.ALLOWED, limiter.tryAcquire("key2", 1, 60000, START));
+    }
+
+    @Test
+    public void testLimitChangeResetsKey() {
+        SpikeArrestLimiter limiter = new SpikeArrestLimiter(10);
+        Assert.assertEquals(SpikeArrestLimiter.Decision.ALLOWED, limiter.tryAcquire("key", 1, 1000, START));
+        Assert.assertEquals(SpikeArrestLimiter.Decision.THROTTLED, limiter.tryAcquire("key", 1, 1000, START));
+        Assert.assertEquals(SpikeArrestLimiter.Decision.ALLOWED, limiter.tryAcquire("key", 2, 1000, START));
+    }
+
+    @Test
+    public void testTrackedKeysAreBounded() {
+        SpikeArrestLimiter limiter = new SpikeArrestLimiter(10);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("key" + i, 1, 60000, START);
+        }
+        Assert.assertTrue(limiter.size() <= 10);
+    }
+
+    @Test
+    public void testActiveKeysAreNotEvicted() {
+        SpikeArrestLimiter limiter = new SpikeArrestLimiter(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("key" + i, 1, 60000, START);
+        }
+        Assert.assertEquals(SpikeArrestLimiter.Decision.UNTRACKED, limiter.tryAcquire("new", 1, 60000, START));
+        Assert.assertEquals(10, limiter.size());
+        Assert.assertEquals(SpikeArrestLimiter.Decision.THROTTLED, limiter.tryAcquire("key0", 1, 60000, START));
+    }
+
+    @Test
+    public void testIdleKeysAreEvictedForNewKeys() {
+        SpikeArrestLimiter limiter = new SpikeArrestLimiter(10);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("key" + i, 1, 1000, START);
+        }
+        long later = START + TimeUnit.SECONDS.toNanos(2);
+        Assert.assertEquals(SpikeArrestLimiter.Decision.ALLOWED, limiter.tryAcquire("new", 1, 1000, later));
+        Assert.assertEquals(1, limiter.size());
+    }
+}
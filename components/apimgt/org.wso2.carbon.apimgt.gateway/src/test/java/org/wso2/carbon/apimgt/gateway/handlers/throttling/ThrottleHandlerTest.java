@@ -212,6 +212,25 @@ public class ThrottleHandlerTest {
         Assert.assertTrue(throttleHandler.handleRequest(messageContext));
     }
 
+    @Test
+    public void testTimersResolvedOncePerHandler() {
+        ThrottleDataHolder throttleDataHolder = new ThrottleDataHolder();
+        ServiceReferenceHolder.getInstance().setThrottleDataPublisher(new ThrottleDataPublisher());
+        ThrottleHandler throttleHandler =
+                Mockito.spy(new ThrottlingHandlerWrapper(timer, throttleDataHolder, throttleEvaluator));
+        for (int i = 0; i < 3; i++) {
+            MessageContext messageContext = TestUtils.getMessageContextWithAuthContext(apiContext, apiVersion);
+            messageContext.setProperty(VERB_INFO_DTO, verbInfoDTO);
+            AuthenticationContext authenticationContext = (AuthenticationContext) messageContext.getProperty
+                    (API_AUTH_CONTEXT);
+            authenticationContext.setApiTier(throttlingTier);
+            Assert.assertTrue(throttleHandler.handleRequest(messageContext));
+        }
+        //Each throttling stage timer should be looked up once and reused by the later requests
+        Mockito.verify(throttleHandler, Mockito.times(1)).getTimer(Mockito.endsWith("THROTTLE_MAIN"));
+        Mockito.verify(throttleHandler, Mockito.times(1)).getTimer(Mockito.endsWith("CEP_THROTTLE"));
+    }
+
     @Test
     public void testMsgDoThrottleWhenUserLevelThrottlingIsTriggerred() {
         ThrottleDataHolder throttleDataHolder = new ThrottleDataHolder();
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.listeners;
+
+import org.apache.commons.codec.binary.Base64;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.notifier.events.APIPolicyEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.PolicyEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.SubscriptionEvent;
+import org.wso2.carbon.apimgt.impl.notifier.events.SubscriptionPolicyEvent;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test cases for NotificationEventCodec.
+ */
+public class NotificationEventCodecTest {
+
+    @Test
+    public void testResolveEventType() {
+
+        Assert.assertEquals(APIConstants.EventType.SUBSCRIPTIONS_CREATE,
+                NotificationEventCodec.resolveEventType("SUBSCRIPTIONS_CREATE"));
+        Assert.assertNull(NotificationEventCodec.resolveEventType("UNKNOWN_EVENT"));
+        Assert.assertNull(NotificationEventCodec.resolveEventType(null));
+    }
+
+    @Test
+    public void testReadSubscriptionEvent() {
+
+        String encoded = Base64.encodeBase64String(("{\"subscriptionId\":3,\"apiId\":5,\"applicationId\":7," +
+                "\"policyId\":\"Gold\",\"subscriptionState\":\"UNBLOCKED\",\"tenantDomain\":\"carbon.super\"}")
+                .getBytes(StandardCharsets.UTF_8));
+        SubscriptionEvent event = NotificationEventCodec.read(APIConstants.EventType.SUBSCRIPTIONS_CREATE,
+                NotificationEventCodec.decode(encoded));
+        Assert.assertEquals(7, event.getApplicationId());
+        Assert.assertEquals(5, event.getApiId());
+        Assert.assertEquals("Gold", event.getPolicyId());
+        Assert.assertEquals("carbon.super", event.getTenantDomain());
+    }
+
+    @Test
+    public void testReadPolicyEventOfEachType() {
+
+        PolicyEvent subscriptionPolicy = NotificationEventCodec.readPolicyEvent(
+                "{\"policyId\":5,\"policyName\":\"Unlimited\",\"policyType\":\"SUBSCRIPTION\"}");
+        Assert.assertTrue(subscriptionPolicy instanceof SubscriptionPolicyEvent);
+        Assert.assertEquals(APIConstants.PolicyType.SUBSCRIPTION, subscriptionPolicy.getPolicyType());
+
+        PolicyEvent apiPolicy = NotificationEventCodec.readPolicyEvent(
+                "{\"policyId\":2,\"policyName\":\"10KPerMin\",\"policyType\":\"API\"}");
+        Assert.assertTrue(apiPolicy instanceof APIPolicyEvent);
+
+        PolicyEvent globalPolicy = NotificationEventCodec.readPolicyEvent(
+                "{\"policyId\":1,\"policyType\":\"GLOBAL\"}");
+        Assert.assertEquals(PolicyEvent.class, globalPolicy.getClass());
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.gateway.mediators;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
+import com.amazonaws.services.securitytoken.model.AssumeRoleRequest;
+import com.amazonaws.services.securitytoken.model.AssumeRoleResult;
+import com.amazonaws.services.securitytoken.model.Credentials;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the background refresh of assumed role credentials by the AWSAssumedRoleCredentialsProvider.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({ServiceReferenceHolder.class})
+public class AWSAssumedRoleCredentialsProviderTest {
+
+    private static final String ROLE_ARN = "arn:aws:iam::123456789012:role/lambda";
+    private static final long VALIDITY = TimeUnit.HOURS.toMillis(1);
+    // Refresh 200 ms after the credentials are issued
+    private static final long REFRESH_MARGIN = VALIDITY - 200;
+
+    private AWSSecurityTokenService stsClient;
+    private String roleSessionName;
+
+    @Before
+    public void init() {
+
+        PowerMockito.mockStatic(ServiceReferenceHolder.class);
+        ServiceReferenceHolder serviceReferenceHolder = Mockito.mock(ServiceReferenceHolder.class);
+        PowerMockito.when(ServiceReferenceHolder.getInstance()).thenReturn(serviceReferenceHolder);
+        Mockito.when(serviceReferenceHolder.isRedisEnabled()).thenReturn(false);
+        stsClient = Mockito.mock(AWSSecurityTokenService.class);
+        roleSessionName = "session-" + System.nanoTime();
+    }
+
+    @After
+    public void cleanup() {
+
+        CredentialsCache.getInstance().getCredentialsMap().remove(roleSessionName);
+    }
+
+    @Test
+    public void testCredentialsRefreshedBeforeExpiry() {
+
+        Mockito.when(stsClient.assumeRole(Mockito.any(AssumeRoleRequest.class)))
+                .thenReturn(createResult("first"), createResult("second"));
+        AWSAssumedRoleCredentialsProvider provider = new AWSAssumedRoleCredentialsProvider(stsClient, ROLE_ARN,
+                roleSessionName, REFRESH_MARGIN, 100);
+        try {
+            Assert.assertEquals("first", provider.getCredentials().getAWSAccessKeyId());
+
+            Mockito.verify(stsClient, Mockito.timeout(5000).times(2)).assumeRole(Mockito.any(AssumeRoleRequest.class));
+            waitForAccessKey(provider, "second");
+            Assert.assertEquals("second", provider.getCredentials().getAWSAccessKeyId());
+            Assert.assertEquals("second", CredentialsCache.getInstance().getCredentialsMap().get(roleSessionName)
+                    .getAccessKeyId());
+        } finally {
+            provider.close();
+        }
+    }
+
+    @Test
+    public void testFailedRefreshKeepsCredentials() {
+
+        Mockito.when(stsClient.assumeRole(Mockito.any(AssumeRoleRequest.class)))
+                .thenReturn(createResult("first"))
+                .thenThrow(new AmazonServiceException("Rate exceeded"))
+                .thenReturn(createResult("second"));
+        AWSAssumedRoleCredentialsProvider provider = new AWSAssumedRoleCredentialsProvider(stsClient, ROLE_ARN,
+                roleSessionName, REFRESH_MARGIN, 300);
+        try {
+            AWSCredentials credentials = provider.getCredentials();
+            Assert.assertEquals("first", credentials.getAWSAccessKeyId());
+
+            Mockito.verify(stsClient, Mockito.timeout(5000).times(2)).assumeRole(Mockito.any(AssumeRoleRequest.class));
+            // the failure does not affect requests, which keep using the current credentials
+            Assert.assertEquals("first", provider.getCredentials().getAWSAccessKeyId());
+
+            // the refresh is retried
+            Mockito.verify(stsClient, Mockito.timeout(5000).times(3)).assumeRole(Mockito.any(AssumeRoleRequest.class));
+            waitForAccessKey(provider, "second");
+            Assert.assertEquals("second", provider.getCredentials().getAWSAccessKeyId());
+        } finally {
+            provider.close();
+        }
+        Mockito.verify(stsClient).shutdown();
+    }
+
+    private void waitForAccessKey(AWSAssumedRoleCredentialsProvider provider, String accessKey) {
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!accessKey.equals(provider.getCredentials().getAWSAccessKeyId())
+                && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+    }
+
+    private AssumeRoleResult createResult(String accessKey) {
+
+        Credentials credentials = new Credentials()
+                .withAccessKeyId(accessKey)
+                .withSecretAccessKey("secret-" + accessKey)
+                .withSessionToken("token-" + accessKey)
+                .withExpiration(new Date(System.currentTimeMillis() + VALIDITY));
+        return new AssumeRoleResult().withCredentials(credentials);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.mediators;
+
+import com.amazonaws.services.lambda.AWSLambda;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the reuse of Lambda clients by the AWSLambdaClientCache.
+ */
+public class AWSLambdaClientCacheTest {
+
+    @Test
+    public void testClientReusedForSameConfiguration() {
+
+        AWSLambdaClientCache cache = new AWSLambdaClientCache();
+        AWSLambda client = cache.getClient("accessKey", "secretKey", "us-east-1", "", "", "", 50000);
+        Assert.assertNotNull(client);
+        Assert.assertSame(client, cache.getClient("accessKey", "secretKey", "us-east-1", "", "", "", 50000));
+        Assert.assertNotSame(client, cache.getClient("accessKey", "secretKey", "us-east-1", "", "", "", 60000));
+        Assert.assertNotSame(client, cache.getClient("accessKey", "otherKey", "us-east-1", "", "", "", 50000));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedClientEvicted() {
+
+        AWSLambdaClientCache cache = new AWSLambdaClientCache(2);
+        AWSLambda first = cache.getClient("accessKey", "secretKey", "us-east-1", "", "", "", 50000);
+        AWSLambda second = cache.getClient("accessKey", "secretKey", "us-east-2", "", "", "", 50000);
+        Assert.assertSame(first, cache.getClient("accessKey", "secretKey", "us-east-1", "", "", "", 50000));
+        cache.getClient("accessKey", "secretKey", "us-west-1", "", "", "", 50000);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertSame(first, cache.getClient("accessKey", "secretKey", "us-east-1", "", "", "", 50000));
+        Assert.assertNotSame(second, cache.getClient("accessKey", "secretKey", "us-east-2", "", "", "", 50000));
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testIncompleteConfiguration() {
+
+        AWSLambdaClientCache cache = new AWSLambdaClientCache();
+        Assert.assertNull(cache.getClient("accessKey", "", "us-east-1", "", "", "", 50000));
+        Assert.assertNull(cache.getClient("accessKey", "secretKey", "us-east-1", "arn", "", "", 50000));
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.gateway.mediators.oauth;
+
+import org.json.simple.JSONObject;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.wso2.carbon.apimgt.gateway.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.gateway.mediators.oauth.client.OAuthClient;
+import org.wso2.carbon.apimgt.gateway.mediators.oauth.client.TokenResponse;
+import org.wso2.carbon.apimgt.gateway.mediators.oauth.conf.OAuthEndpoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the OAuthTokenManager against a stubbed token endpoint.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({OAuthClient.class, ServiceReferenceHolder.class})
+public class OAuthTokenManagerTest {
+
+    private static final String ENDPOINT_ID = "oauth-endpoint";
+
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private OAuthEndpoint oAuthEndpoint;
+    private OAuthTokenManager tokenManager;
+
+    @Before
+    public void init() throws Exception {
+
+        PowerMockito.mockStatic(OAuthClient.class);
+        PowerMockito.mockStatic(ServiceReferenceHolder.class);
+        ServiceReferenceHolder serviceReferenceHolder = Mockito.mock(ServiceReferenceHolder.class);
+        Mockito.when(ServiceReferenceHolder.getInstance()).thenReturn(serviceReferenceHolder);
+        Mockito.when(serviceReferenceHolder.isRedisEnabled()).thenReturn(false);
+
+        oAuthEndpoint = new OAuthEndpoint();
+        oAuthEndpoint.setId(ENDPOINT_ID);
+        oAuthEndpoint.setTokenApiUrl("testTokenURL");
+        oAuthEndpoint.setClientId("testClientID");
+        oAuthEndpoint.setClientSecret("decryptedClientSecret");
+        oAuthEndpoint.setGrantType("CLIENT_CREDENTIALS");
+        oAuthEndpoint.setCustomParameters(new JSONObject());
+    }
+
+    @After
+    public void cleanup() {
+
+        if (tokenManager != null) {
+            tokenManager.destroy();
+        }
+        TokenCache.getInstance().getTokenMap().remove(ENDPOINT_ID);
+    }
+
+    /**
+     * Test that a cached token is served without calling the token endpoint
+     */
+    @Test
+    public void testCachedTokenIsReused() throws Exception {
+
+        mockTokenEndpoint(createToken("testAccessToken", "1800"), null, null);
+        tokenManager = OAuthTokenManager.register(oAuthEndpoint);
+
+        TokenResponse first = tokenManager.getToken();
+        TokenResponse second = tokenManager.getToken();
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, tokenRequests.get());
+        tokenManager.destroy();
+        Assert.assertNull(OAuthTokenManager.getManager(ENDPOINT_ID));
+    }
+
+    /**
+     * Test that concurrent requests without a cached token share a single token endpoint call
+     */
+    @Test
+    public void testConcurrentRequestsShareTokenRequest() throws Exception {
+
+        CountDownLatch requested = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        mockTokenEndpoint(createToken("testAccessToken", "1800"), requested, release);
+        tokenManager = OAuthTokenManager.register(oAuthEndpoint);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<TokenResponse>> results = new ArrayList<>();
+            Callable<TokenResponse> getToken = tokenManager::getToken;
+            for (int i = 0; i < 4; i++) {
+                results.add(executorService.submit(getToken));
+            }
+            Assert.assertTrue(requested.await(10, TimeUnit.SECONDS));
+            release.countDown();
+            for (Future<TokenResponse> result : results) {
+                Assert.assertEquals("testAccessToken", result.get().getAccessToken());
+            }
+            Assert.assertEquals(1, tokenRequests.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that the rejection of a token which was already replaced is ignored
+     */
+    @Test
+    public void testInvalidateIgnoresTokenAlreadyReplaced() throws Exception {
+
+        mockTokenEndpoint(createToken("refreshed", null), null, null);
+        tokenManager = new OAuthTokenManager(oAuthEndpoint);
+        TokenResponse current = createToken("current", "3600");
+        TokenCache.getInstance().getTokenMap().put(ENDPOINT_ID, current);
+
+        Assert.assertFalse(tokenManager.invalidate("previous"));
+        Assert.assertFalse(tokenManager.invalidate(null));
+        Assert.assertSame(current, TokenCache.getInstance().getTokenMap().get(ENDPOINT_ID));
+        Assert.assertEquals(0, tokenRequests.get());
+    }
+
+    /**
+     * Test that a token rejected by the backend is discarded and a new one is requested
+     */
+    @Test
+    public void testInvalidateRefreshesRejectedToken() throws Exception {
+
+        CountDownLatch requested = new CountDownLatch(1);
+        // the stubbed token has no expiry, so that the background refresh does not cache it
+        mockTokenEndpoint(createToken("refreshed", null), requested, null);
+        tokenManager = new OAuthTokenManager(oAuthEndpoint);
+        TokenCache.getInstance().getTokenMap().put(ENDPOINT_ID, createToken("current", "3600"));
+
+        Assert.assertTrue(tokenManager.invalidate("current"));
+        Assert.assertNull(TokenCache.getInstance().getTokenMap().get(ENDPOINT_ID));
+        Assert.assertTrue(requested.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that a backend rejecting every token does not trigger a forced refresh for each rejection
+     */
+    @Test
+    public void testForcedRefreshesAreRateLimited() throws Exception {
+
+        CountDownLatch requested = new CountDownLatch(1);
+        mockTokenEndpoint(createToken("refreshed", null), requested, null);
+        tokenManager = new OAuthTokenManager(oAuthEndpoint);
+        TokenCache.getInstance().getTokenMap().put(ENDPOINT_ID, createToken("current", "3600"));
+        Assert.assertTrue(tokenManager.invalidate("current"));
+        Assert.assertTrue(requested.await(10, TimeUnit.SECONDS));
+
+        // the backend rejects the new token as well, right after the forced refresh
+        TokenResponse refreshed = createToken("refreshed", "3600");
+        TokenCache.getInstance().getTokenMap().put(ENDPOINT_ID, refreshed);
+        Assert.assertFalse(tokenManager.invalidate("refreshed"));
+        Assert.assertSame(refreshed, TokenCache.getInstance().getTokenMap().get(ENDPOINT_ID));
+    }
+
+    /**
+     * Stub the token endpoint.
+     *
+     * @param tokenResponse token returned by the endpoint
+     * @param requested     latch counted down when the endpoint is called, or null
+     * @param release       latch the endpoint waits on before responding, or null
+     */
+    private void mockTokenEndpoint(TokenResponse tokenResponse, CountDownLatch requested, CountDownLatch release)
+            throws Exception {
+
+        PowerMockito.when(OAuthClient.generateToken(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
+                Mockito.any(), Mockito.any(), Mockito.anyString(), Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    tokenRequests.incrementAndGet();
+                    if (requested != null) {
+                        requested.countDown();
+                    }
+                    if (release != null) {
+                        release.await();
+                    }
+                    return tokenResponse;
+                });
+    }
+
+    private TokenResponse createToken(String accessToken, String expiresIn) {
+
+        TokenResponse tokenResponse = new TokenResponse();
+        tokenResponse.setAccessToken(accessToken);
+        tokenResponse.setTokenType("Bearer");
+        if (expiresIn != null) {
+            tokenResponse.setExpiresIn(expiresIn);
+            tokenResponse.setValidTill(System.currentTimeMillis() / 1000 + Long.parseLong(expiresIn));
+        }
+        return tokenResponse;
+    }
+}
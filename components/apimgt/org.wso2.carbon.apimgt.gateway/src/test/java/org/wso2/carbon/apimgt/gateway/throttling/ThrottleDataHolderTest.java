@@ -18,10 +18,14 @@
 
 package org.wso2.carbon.apimgt.gateway.throttling;
 
+import org.junit.Assert;
 import org.junit.Test;
+import org.wso2.carbon.apimgt.impl.APIConstants;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 public class ThrottleDataHolderTest {
@@ -56,6 +60,80 @@ public class ThrottleDataHolderTest {
         throttleDataHolder.setKeyTemplatesPresent(true);
     }
 
+    @Test
+    public void testRequestBlockedReflectsConditionUpdates() throws Exception {
+        ThrottleDataHolder throttleDataHolder = new ThrottleDataHolder();
+        Assert.assertFalse(throttleDataHolder.isRequestBlocked("/api1/1.0.0", "admin:DefaultApplication", "user1",
+                "127.0.0.1", "carbon.super", "admin:/api1/1.0.0"));
+
+        throttleDataHolder.addAPIBlockingCondition("/api1/1.0.0", "enabled");
+        Assert.assertTrue(throttleDataHolder.isRequestBlocked("/api1/1.0.0", "admin:DefaultApplication", "user1",
+                "127.0.0.1", "carbon.super", "admin:/api1/1.0.0"));
+        throttleDataHolder.removeAPIBlockingCondition("/api1/1.0.0");
+
+        Map<String, String> subscriptions = new HashMap<>();
+        subscriptions.put("admin:/api1/1.0.0", "enabled");
+        throttleDataHolder.addSubscriptionBlockingConditionsFromMap(subscriptions);
+        Assert.assertTrue(throttleDataHolder.isRequestBlocked("/api1/1.0.0", "admin:DefaultApplication", "user1",
+                "127.0.0.1", "carbon.super", "admin:/api1/1.0.0"));
+        throttleDataHolder.removeSubscriptionBlockingCondition("admin:/api1/1.0.0");
+        Assert.assertFalse(throttleDataHolder.isRequestBlocked("/api1/1.0.0", "admin:DefaultApplication", "user1",
+                "127.0.0.1", "carbon.super", "admin:/api1/1.0.0"));
+    }
+
+    @Test
+    public void testIpBlockingConditionRemoval() throws Exception {
+        ThrottleDataHolder throttleDataHolder = new ThrottleDataHolder();
+        throttleDataHolder.addIpBlockingCondition("carbon.super", 1, "{\"fixedIp\":\"127.0.0.1\",\"invert\":false}",
+                APIConstants.BLOCKING_CONDITIONS_IP);
+        Assert.assertTrue(throttleDataHolder.isRequestBlocked("/api1/1.0.0", "admin:DefaultApplication", "user1",
+                "127.0.0.1", "carbon.super", "admin:/api1/1.0.0"));
+        Assert.assertFalse(throttleDataHolder.isRequestBlocked("/api1/1.0.0", "admin:DefaultApplication", "user1",
+                "127.0.0.1", "wso2.com", "admin:/api1/1.0.0"));
+
+        throttleDataHolder.removeIpBlockingCondition("carbon.super", 1);
+        Assert.assertFalse(throttleDataHolder.isRequestBlocked("/api1/1.0.0", "admin:DefaultApplication", "user1",
+                "127.0.0.1", "carbon.super", "admin:/api1/1.0.0"));
+    }
+
+    @Test
+    public void testExpiredThrottledAPIKeyIsDropped() throws Exception {
+        ThrottleDataHolder throttleDataHolder = new ThrottleDataHolder();
+        throttleDataHolder.addThrottledAPIKey("/api/1.0.0", System.currentTimeMillis() + 60000);
+        Assert.assertTrue(throttleDataHolder.isAPIThrottled("/api/1.0.0"));
+        throttleDataHolder.addThrottledAPIKey("/api/2.0.0", System.currentTimeMillis() - 1000);
+        throttleDataHolder.addThrottledApiConditions("/api/2.0.0", "condition", new ArrayList<>());
+        Assert.assertFalse(throttleDataHolder.isAPIThrottled("/api/2.0.0"));
+        Assert.assertFalse(throttleDataHolder.isConditionsAvailable("/api/2.0.0"));
+    }
+
+    @Test
+    public void testThrottledApiConditionsAddedWhileOthersAreRemoved() throws Exception {
+        ThrottleDataHolder throttleDataHolder = new ThrottleDataHolder();
+        String apiKey = "/api/1.0.0";
+        AtomicBoolean running = new AtomicBoolean(true);
+        // Keeps emptying the condition map of the API, which drops it from the holder
+        Thread remover = new Thread(() -> {
+            while (running.get()) {
+                throttleDataHolder.addThrottledApiConditions(apiKey, "removed", new ArrayList<>());
+                throttleDataHolder.removeThrottledApiConditions(apiKey, "removed");
+            }
+        });
+        remover.start();
+        try {
+            for (int i = 0; i < 10000; i++) {
+                String conditionKey = "condition" + i;
+                throttleDataHolder.addThrottledApiConditions(apiKey, conditionKey, new ArrayList<>());
+                Map<String, ?> conditions = throttleDataHolder.getConditionDtoMap(apiKey);
+                Assert.assertTrue(conditions != null && conditions.containsKey(conditionKey));
+                throttleDataHolder.removeThrottledApiConditions(apiKey, conditionKey);
+            }
+        } finally {
+            running.set(false);
+            remover.join();
+        }
+    }
+
     @Test
     public void addApplicationBlockingCondition() throws Exception {
     }
@@ -798,6 +798,7 @@ public final class APIConstants {
     public static final String API_RESTAPI_ETAG_SKIP_URI = API_RESTAPI_ETAG_SKIP_LIST + "ETagSkipURI.";
     public static final String API_RESTAPI_ETAG_SKIP_URI_URI = API_RESTAPI_ETAG_SKIP_URI + "URI";
     public static final String API_RESTAPI_ETAG_SKIP_URI_HTTPMETHOD = API_RESTAPI_ETAG_SKIP_URI + "HTTPMethods";
+    public static final String API_RESTAPI_ETAG_CACHE_EXPIRY = API_RESTAPI + "ETagCacheExpiry";
 
     public static final String JWT_EXPIRY_TIME = API_KEY_VALIDATOR + "JWTExpiryTime";
     public static final String JWT_AUDIENCES = "JWTAudiences";
@@ -1890,6 +1891,8 @@ public final class APIConstants {
     public static final String REVOKED_TOKEN_EXPIRY_TIME = "expiryTime";
     public static final String EVENT_TYPE = "eventType";
     public static final String EVENT_WAITING_TIME_CONFIG = "EventWaitingTime";
+    public static final String APPLICATION_EVENT_LANES_CONFIG = "ApplicationEventLanes";
+    public static final String API_EVENT_LANES_CONFIG = "APIEventLanes";
     public static final String EVENT_TIMESTAMP = "timestamp";
     public static final String EVENT_PAYLOAD = "event";
     public static final String EVENT_PAYLOAD_DATA = "payloadData";
@@ -1967,6 +1970,9 @@ public final class APIConstants {
         public static final String ENABLE_JWT_CLAIM_CONDITIONS = "EnableJWTClaimConditions";
         public static final String ENABLE_QUERY_PARAM_CONDITIONS = "EnableQueryParamConditions";
         public static final String SKIP_REDEPLOYING_POLICIES = "SkipRedeployingPolicies";
+        public static final String ENABLE_NATIVE_THROTTLE_COUNTERS = "EnableNativeThrottleCounters";
+        public static final String NATIVE_THROTTLE_COUNTER_SLIDING_WINDOW = "NativeThrottleCounterSlidingWindow";
+        public static final String ENABLE_NATIVE_SPIKE_ARREST = "EnableNativeSpikeArrest";
         public static final String ENABLED = "Enabled";
         public static final String IS_THROTTLED = "isThrottled";
         public static final String THROTTLE_KEY = "throttleKey";
@@ -2714,6 +2720,7 @@ public final class APIConstants {
         public static final String GATEWAY_POLICY_SYNAPSE_ARTIFACTS = "/gateway-policy-artifacts";
         public static final String DATA_SOURCE_NAME = "DataSourceName";
         public static final String DATA_RETRIEVAL_MODE = "DataRetrievalMode";
+        public static final String RUNTIME_ARTIFACT_CACHE_SIZE = "RuntimeArtifactCacheSize";
         public static final String GATEWAY_STARTUP_SYNC = "sync";
         public static final String GATEWAY_STARTUP_ASYNC = "async";
         public static final String API_ID = "apiId";
@@ -228,6 +228,13 @@ public class APIConsumerImpl extends AbstractAPIManager implements APIConsumer {
         readRecommendationConfigs();
     }
 
+    public APIConsumerImpl(String username, APIManagerTenantContext tenantContext) {
+        super(username, tenantContext);
+        userNameWithoutChange = username;
+        readTagCacheConfigs();
+        readRecommendationConfigs();
+    }
+
     private void readRecommendationConfigs() {
         APIManagerConfiguration config = ServiceReferenceHolder.getInstance().getAPIManagerConfigurationService()
                 .getAPIManagerConfiguration();
@@ -2869,6 +2876,15 @@ public class APIConsumerImpl extends AbstractAPIManager implements APIConsumer {
         }
 
             isAppUpdated = apiMgtDAO.updateApplicationOwner(userId, application);
+            if (isAppUpdated) {
+                ApplicationEvent applicationEvent = new ApplicationEvent(UUID.randomUUID().toString(),
+                        System.currentTimeMillis(), APIConstants.EventType.APPLICATION_UPDATE.name(),
+                        APIUtil.getTenantIdFromTenantDomain(newTenantDomain), organization, application.getId(),
+                        application.getUUID(), application.getName(), application.getTokenType(),
+                        application.getTier(), application.getGroupId(), application.getApplicationAttributes(),
+                        userId);
+                APIUtil.sendNotification(applicationEvent, APIConstants.NotifierType.APPLICATION.name());
+            }
             return isAppUpdated;
     }
 
@@ -1160,6 +1160,30 @@ public class APIManagerConfiguration {
                 throttleProperties.setEnableQueryParamConditions(JavaUtils.isTrueExplicitly(enableQueryParamElement
                         .getText()));
             }
+            // Check native throttle counters enable
+            OMElement enableNativeThrottleCountersElement = throttleConfigurationElement
+                    .getFirstChildWithName(new QName(APIConstants.AdvancedThrottleConstants
+                            .ENABLE_NATIVE_THROTTLE_COUNTERS));
+            if (enableNativeThrottleCountersElement != null) {
+                throttleProperties.setEnableNativeThrottleCounters(JavaUtils.isTrueExplicitly(
+                        enableNativeThrottleCountersElement.getText()));
+            }
+            // Check sliding windows of native throttle counters
+            OMElement nativeThrottleCounterSlidingWindowElement = throttleConfigurationElement
+                    .getFirstChildWithName(new QName(APIConstants.AdvancedThrottleConstants
+                            .NATIVE_THROTTLE_COUNTER_SLIDING_WINDOW));
+            if (nativeThrottleCounterSlidingWindowElement != null) {
+                throttleProperties.setNativeThrottleCounterSlidingWindow(JavaUtils.isTrueExplicitly(
+                        nativeThrottleCounterSlidingWindowElement.getText()));
+            }
+            // Check native spike arrest enable
+            OMElement enableNativeSpikeArrestElement = throttleConfigurationElement
+                    .getFirstChildWithName(new QName(APIConstants.AdvancedThrottleConstants
+                            .ENABLE_NATIVE_SPIKE_ARREST));
+            if (enableNativeSpikeArrestElement != null) {
+                throttleProperties.setEnableNativeSpikeArrest(JavaUtils.isTrueExplicitly(
+                        enableNativeSpikeArrestElement.getText()));
+            }
             // Check skip redeploy throttle policies
             OMElement skipRedeployingPoliciesElement = throttleConfigurationElement
                     .getFirstChildWithName(new QName(APIConstants.AdvancedThrottleConstants
@@ -1998,6 +2022,17 @@ public class APIManagerConfiguration {
                     log.debug("Event hub event waiting time not set.");
                 }
             }
+            OMElement applicationEventLanesElement = omElement
+                    .getFirstChildWithName(new QName(APIConstants.APPLICATION_EVENT_LANES_CONFIG));
+            if (applicationEventLanesElement != null) {
+                eventHubConfigurationDto.setApplicationEventLanes(
+                        Integer.parseInt(applicationEventLanesElement.getText().trim()));
+            }
+            OMElement apiEventLanesElement = omElement
+                    .getFirstChildWithName(new QName(APIConstants.API_EVENT_LANES_CONFIG));
+            if (apiEventLanesElement != null) {
+                eventHubConfigurationDto.setApiEventLanes(Integer.parseInt(apiEventLanesElement.getText().trim()));
+            }
 
             OMElement configurationRetrieverElement =
                     omElement.getFirstChildWithName(new QName(APIConstants.KeyManager.EVENT_RECEIVER_CONFIGURATION));
@@ -2113,6 +2148,18 @@ public class APIManagerConfiguration {
             log.debug("Data Source Element is not set. Set to default Data Source");
         }
 
+        OMElement runtimeArtifactCacheSizeElement = omElement.getFirstChildWithName(
+                new QName(APIConstants.GatewayArtifactSynchronizer.RUNTIME_ARTIFACT_CACHE_SIZE));
+        if (runtimeArtifactCacheSizeElement != null) {
+            long runtimeArtifactCacheSize = Long.parseLong(runtimeArtifactCacheSizeElement.getText().trim());
+            if (runtimeArtifactCacheSize >= 0) {
+                gatewayArtifactSynchronizerProperties.setRuntimeArtifactCacheSize(runtimeArtifactCacheSize);
+            } else {
+                log.warn("Invalid runtime artifact cache size " + runtimeArtifactCacheSize + ". Set to default size");
+            }
+        } else {
+            log.debug("Runtime artifact cache size is not set. Set to default size");
+        }
     }
 
     private void setRuntimeArtifactsSyncGatewayConfig (OMElement omElement){
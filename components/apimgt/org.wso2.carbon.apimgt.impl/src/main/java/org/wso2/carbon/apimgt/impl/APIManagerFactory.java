@@ -17,7 +17,9 @@
 package org.wso2.carbon.apimgt.impl;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.apimgt.api.APIConsumer;
@@ -25,18 +27,30 @@ import org.wso2.carbon.apimgt.api.APIManagementException;
 import org.wso2.carbon.apimgt.api.APIManager;
 import org.wso2.carbon.apimgt.api.APIProvider;
 import org.wso2.carbon.apimgt.impl.utils.LRUCache;
+import org.wso2.carbon.metrics.manager.Counter;
+import org.wso2.carbon.metrics.manager.Level;
+import org.wso2.carbon.metrics.manager.MetricManager;
+import org.wso2.carbon.metrics.manager.Timer;
 import org.wso2.carbon.user.core.UserCoreConstants;
+import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
+import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 
 public class APIManagerFactory {
 
     private static final Log log = LogFactory.getLog(APIManagerFactory.class);
 
     private static final String ANONYMOUS_USER = "__wso2.am.anon__";
+    private static final String PROVIDER = "PROVIDER";
+    private static final String CONSUMER = "CONSUMER";
+    private static final String CACHE_HIT = "_CACHE_HIT";
+    private static final String CACHE_MISS = "_CACHE_MISS";
+    private static final String CREATE = "_CREATE";
 
     private static final APIManagerFactory instance = new APIManagerFactory();
 
-    private APIManagerCache<APIProvider> providers = new APIManagerCache<APIProvider>(50);
-    private APIManagerCache<APIConsumer> consumers = new APIManagerCache<APIConsumer>(500);
+    private APIManagerCache<APIProvider> providers = new APIManagerCache<APIProvider>(500, PROVIDER);
+    private APIManagerCache<APIConsumer> consumers = new APIManagerCache<APIConsumer>(500, CONSUMER);
+    private final Map<String, APIManagerTenantContext> tenantContexts = new ConcurrentHashMap<>();
 
     private APIManagerFactory() {
 
@@ -47,26 +61,49 @@ public class APIManagerFactory {
     }
 
     private APIProvider newProvider(String username) throws APIManagementException {
-        return new UserAwareAPIProvider(username);
+        return new UserAwareAPIProvider(username, getTenantContext(getOrganization(username)));
     }
 
     private APIConsumer newConsumer(String username) throws APIManagementException {
         if (username.equals(ANONYMOUS_USER)) {
-            username = null;
+            return new UserAwareAPIConsumer(null);
         }
-        return new UserAwareAPIConsumer(username);
+        return new UserAwareAPIConsumer(username, getTenantContext(getOrganization(username)));
 
     }
 
     private APIConsumer newConsumer(String username, String organization) throws APIManagementException {
         if (username.equals(ANONYMOUS_USER)) {
-            username = null;
+            return new UserAwareAPIConsumer(null, organization);
         }
-        return new UserAwareAPIConsumer(username, organization);
+        return new UserAwareAPIConsumer(username, getTenantContext(organization));
+    }
+
+    private String getOrganization(String username) {
+        return StringUtils.isNoneBlank(username) ? MultitenantUtils.getTenantDomain(username)
+                : MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+    }
+
+    /**
+     * Tenant contexts are immutable and shared by the managers of all users of an organization. Unresolved tenants
+     * are not cached, so that a tenant created later is picked up.
+     */
+    private APIManagerTenantContext getTenantContext(String organization) throws APIManagementException {
+        APIManagerTenantContext tenantContext = tenantContexts.get(organization);
+        if (tenantContext == null) {
+            tenantContext = APIManagerTenantContext.resolve(organization);
+            if (tenantContext.getTenantId() != MultitenantConstants.INVALID_TENANT_ID) {
+                tenantContexts.put(organization, tenantContext);
+            }
+        }
+        return tenantContext;
     }
 
     public APIProvider getAPIProvider(String username) throws APIManagementException {
-        return newProvider(username);
+        if (username == null) {
+            return new UserAwareAPIProvider(null);
+        }
+        return getAPIManagerFromCache(providers, username, () -> newProvider(username));
     }
 
     public APIConsumer getAPIConsumer() throws APIManagementException {
@@ -84,23 +121,58 @@ public class APIManagerFactory {
 
     public APIConsumer getAPIConsumerFromCache(String key, ConsumerCreator consumerCreator)
             throws APIManagementException {
-        APIConsumer consumer = consumers.get(key);
-        if (consumer == null) {
+        return getAPIManagerFromCache(consumers, key, consumerCreator);
+    }
+
+    private <T> T getAPIManagerFromCache(APIManagerCache<T> cache, String key, ManagerCreator<T> managerCreator)
+            throws APIManagementException {
+        T manager = cache.get(key);
+        if (manager == null) {
             synchronized (key.intern()) {
-                consumer = consumers.get(key);
-                if (consumer != null) {
-                    return consumer;
+                manager = cache.get(key);
+                if (manager != null) {
+                    cache.getMetrics().hits.inc();
+                    return manager;
                 }
 
-                consumer = consumerCreator.create();
-                consumers.put(key, consumer);
+                CacheMetrics metrics = cache.getMetrics();
+                metrics.misses.inc();
+                Timer.Context timerContext = metrics.creationTimer.start();
+                try {
+                    manager = managerCreator.create();
+                } finally {
+                    timerContext.stop();
+                }
+                cache.put(key, manager);
             }
+        } else {
+            cache.getMetrics().hits.inc();
+        }
+        return manager;
+    }
+
+    private static String getMetricName(String metric) {
+        return MetricManager.name(APIConstants.METRICS_PREFIX, APIManagerFactory.class.getSimpleName(), metric);
+    }
+
+    private static final class CacheMetrics {
+
+        private final Counter hits;
+        private final Counter misses;
+        private final Timer creationTimer;
+
+        private CacheMetrics(String type) {
+            hits = MetricManager.counter(Level.INFO, getMetricName(type + CACHE_HIT));
+            misses = MetricManager.counter(Level.INFO, getMetricName(type + CACHE_MISS));
+            creationTimer = MetricManager.timer(Level.INFO, getMetricName(type + CREATE));
         }
-        return consumer;
     }
 
-    interface ConsumerCreator {
-        APIConsumer create() throws APIManagementException;
+    interface ManagerCreator<T> {
+        T create() throws APIManagementException;
+    }
+
+    interface ConsumerCreator extends ManagerCreator<APIConsumer> {
     }
 
     public void clearAll() {
@@ -123,6 +195,7 @@ public class APIManagerFactory {
         } finally {
             providers.release();
         }
+        tenantContexts.clear();
     }
 
     private void cleanupSilently(APIManager manager) {
@@ -137,8 +210,25 @@ public class APIManagerFactory {
 
     private class APIManagerCache<T> extends LRUCache<String,T> {
 
-        public APIManagerCache(int maxEntries) {
+        private final String type;
+        private volatile CacheMetrics metrics;
+
+        public APIManagerCache(int maxEntries, String type) {
             super(maxEntries);
+            this.type = type;
+        }
+
+        /**
+         * The metrics are resolved on first use rather than when the factory is created, as the metric service may
+         * not be available yet at that point.
+         */
+        CacheMetrics getMetrics() {
+            CacheMetrics cacheMetrics = metrics;
+            if (cacheMetrics == null) {
+                cacheMetrics = new CacheMetrics(type);
+                metrics = cacheMetrics;
+            }
+            return cacheMetrics;
         }
 
         protected void handleRemovableEntry(Map.Entry<String,T> entry) {
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.impl;
+
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.impl.internal.ServiceReferenceHolder;
+import org.wso2.carbon.apimgt.impl.utils.APIUtil;
+import org.wso2.carbon.user.api.UserStoreException;
+
+/**
+ * Tenant scoped state of an API manager instance. It is resolved once per organization and shared by the managers
+ * of all users of that organization, so that building a manager for a user does not query the tenant manager.
+ */
+public final class APIManagerTenantContext {
+
+    private final String organization;
+    private final String tenantDomain;
+    private final int tenantId;
+
+    APIManagerTenantContext(String organization, String tenantDomain, int tenantId) {
+
+        this.organization = organization;
+        this.tenantDomain = tenantDomain;
+        this.tenantId = tenantId;
+    }
+
+    /**
+     * Resolve the tenant context of the given organization.
+     *
+     * @param organization organization
+     * @return tenant context of the organization
+     * @throws APIManagementException if the tenant of the organization could not be resolved
+     */
+    public static APIManagerTenantContext resolve(String organization) throws APIManagementException {
+
+        String tenantDomain = APIUtil.getInternalOrganizationDomain(organization);
+        try {
+            int tenantId = ServiceReferenceHolder.getInstance().getRealmService().getTenantManager()
+                    .getTenantId(tenantDomain);
+            return new APIManagerTenantContext(organization, tenantDomain, tenantId);
+        } catch (UserStoreException e) {
+            throw new APIManagementException("Error while resolving the tenant of organization:" + organization, e);
+        }
+    }
+
+    public String getOrganization() {
+
+        return organization;
+    }
+
+    public String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    public int getTenantId() {
+
+        return tenantId;
+    }
+}
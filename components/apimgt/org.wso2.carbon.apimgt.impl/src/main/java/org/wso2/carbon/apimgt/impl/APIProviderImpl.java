@@ -141,18 +141,38 @@ class APIProviderImpl extends AbstractAPIManager implements APIProvider {
     protected GatewayArtifactsMgtDAO gatewayArtifactsMgtDAO;
     private RecommendationEnvironment recommendationEnvironment;
     String migrationEnabled = System.getProperty(APIConstants.MIGRATE);
-    private GlobalMediationPolicyImpl globalMediationPolicyImpl;
+    private volatile GlobalMediationPolicyImpl globalMediationPolicyImpl;
 
     public APIProviderImpl(String username) throws APIManagementException {
         super(username);
         this.userNameWithoutChange = username;
+        init();
+    }
+
+    public APIProviderImpl(String username, APIManagerTenantContext tenantContext) {
+        super(username, tenantContext);
+        this.userNameWithoutChange = username;
+        init();
+    }
+
+    private void init() {
         certificateManager = CertificateManagerImpl.getInstance();
         this.artifactSaver = ServiceReferenceHolder.getInstance().getArtifactSaver();
         this.importExportAPI = ServiceReferenceHolder.getInstance().getImportExportService();
         this.gatewayArtifactsMgtDAO = GatewayArtifactsMgtDAO.getInstance();
         this.recommendationEnvironment = ServiceReferenceHolder.getInstance().getAPIManagerConfigurationService()
                 .getAPIManagerConfiguration().getApiRecommendationEnvironment();
-        globalMediationPolicyImpl = new GlobalMediationPolicyImpl(organization);
+    }
+
+    /**
+     * The global mediation policies are only needed while loading the mediation policies of an API, so the registry
+     * of the organization is looked up on first use instead of on every construction.
+     */
+    private GlobalMediationPolicyImpl getGlobalMediationPolicyImpl() throws APIManagementException {
+        if (globalMediationPolicyImpl == null) {
+            globalMediationPolicyImpl = new GlobalMediationPolicyImpl(organization);
+        }
+        return globalMediationPolicyImpl;
     }
 
     protected String getUserNameWithoutChange() {
@@ -1135,12 +1155,13 @@ class APIProviderImpl extends AbstractAPIManager implements APIProvider {
                     }
                     if (!found) { // global policy
                         if (globalPolicies == null) {
-                            globalPolicies = globalMediationPolicyImpl.getAllGlobalMediationPolicies();
+                            globalPolicies = getGlobalMediationPolicyImpl().getAllGlobalMediationPolicies();
                         }
                         for (Mediation m : globalPolicies) {
                             if (APIConstants.API_CUSTOM_SEQUENCE_TYPE_IN.equals(m.getType())
                                     && api.getInSequence().equals(m.getName())) {
-                                Mediation mediation = globalMediationPolicyImpl.getGlobalMediationPolicy(m.getUuid());
+                                Mediation mediation =
+                                        getGlobalMediationPolicyImpl().getGlobalMediationPolicy(m.getUuid());
                                 mediation.setGlobal(true);
                                 api.setInSequenceMediation(mediation);
                                 found = true;
@@ -1169,12 +1190,13 @@ class APIProviderImpl extends AbstractAPIManager implements APIProvider {
                     }
                     if (!found) { // global policy
                         if (globalPolicies == null) {
-                            globalPolicies = globalMediationPolicyImpl.getAllGlobalMediationPolicies();
+                            globalPolicies = getGlobalMediationPolicyImpl().getAllGlobalMediationPolicies();
                         }
                         for (Mediation m : globalPolicies) {
                             if (APIConstants.API_CUSTOM_SEQUENCE_TYPE_OUT.equals(m.getType())
                                     && api.getOutSequence().equals(m.getName())) {
-                                Mediation mediation = globalMediationPolicyImpl.getGlobalMediationPolicy(m.getUuid());
+                                Mediation mediation =
+                                        getGlobalMediationPolicyImpl().getGlobalMediationPolicy(m.getUuid());
                                 mediation.setGlobal(true);
                                 api.setOutSequenceMediation(mediation);
                                 found = true;
@@ -1203,12 +1225,13 @@ class APIProviderImpl extends AbstractAPIManager implements APIProvider {
                     }
                     if (!found) { // global policy
                         if (globalPolicies == null) {
-                            globalPolicies = globalMediationPolicyImpl.getAllGlobalMediationPolicies();
+                            globalPolicies = getGlobalMediationPolicyImpl().getAllGlobalMediationPolicies();
                         }
                         for (Mediation m : globalPolicies) {
                             if (APIConstants.API_CUSTOM_SEQUENCE_TYPE_FAULT.equals(m.getType())
                                     && api.getFaultSequence().equals(m.getName())) {
-                                Mediation mediation = globalMediationPolicyImpl.getGlobalMediationPolicy(m.getUuid());
+                                Mediation mediation =
+                                        getGlobalMediationPolicyImpl().getGlobalMediationPolicy(m.getUuid());
                                 mediation.setGlobal(true);
                                 api.setFaultSequenceMediation(mediation);
                                 found = true;
@@ -6443,6 +6466,8 @@ class APIProviderImpl extends AbstractAPIManager implements APIProvider {
             EnvironmentPropertiesDTO environmentPropertyDTO) throws APIManagementException {
         String content = new Gson().toJson(environmentPropertyDTO);
         environmentSpecificAPIPropertyDAO.addOrUpdateEnvironmentSpecificAPIProperties(apiUuid, envUuid, content);
+        // The properties are applied when the gateway bundle is generated, so the deployed artifacts are outdated
+        gatewayArtifactsMgtDAO.updateGatewayArtifactTimeStamp(apiUuid);
     }
 
     @Override
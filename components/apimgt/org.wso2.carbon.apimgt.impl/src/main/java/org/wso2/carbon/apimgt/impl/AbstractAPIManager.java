@@ -128,6 +128,29 @@ public abstract class AbstractAPIManager implements APIManager {
         apiPersistenceInstance = PersistenceFactory.getAPIPersistenceInstance();
     }
 
+    /**
+     * Create an API manager for the given user with an already resolved tenant context.
+     *
+     * @param username      username of the user
+     * @param tenantContext tenant context of the organization of the user
+     */
+    public AbstractAPIManager(String username, APIManagerTenantContext tenantContext) {
+
+        apiMgtDAO = ApiMgtDAO.getInstance();
+        scopesDAO = ScopesDAO.getInstance();
+        environmentSpecificAPIPropertyDAO = EnvironmentSpecificAPIPropertyDAO.getInstance();
+
+        if (username == null) {
+            this.username = CarbonConstants.REGISTRY_ANONNYMOUS_USERNAME;
+        } else {
+            this.tenantId = tenantContext.getTenantId();
+            this.tenantDomain = tenantContext.getTenantDomain();
+            this.organization = tenantContext.getOrganization();
+            this.username = getTenantAwareUsername(username);
+        }
+        apiPersistenceInstance = PersistenceFactory.getAPIPersistenceInstance();
+    }
+
     public void cleanup() {
 
     }
@@ -59,6 +59,12 @@ public class UserAwareAPIConsumer extends APIConsumerImpl {
         readAccessControlConfig();
     }
 
+    UserAwareAPIConsumer(String username, APIManagerTenantContext tenantContext) {
+        super(username, tenantContext);
+        this.username = username;
+        readAccessControlConfig();
+    }
+
     private void readAccessControlConfig() {
         APIManagerConfiguration config = ServiceReferenceHolder.getInstance().
                 getAPIManagerConfigurationService().getAPIManagerConfiguration();
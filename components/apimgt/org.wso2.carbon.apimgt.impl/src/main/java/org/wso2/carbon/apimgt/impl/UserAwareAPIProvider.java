@@ -49,6 +49,17 @@ public class UserAwareAPIProvider extends APIProviderImpl {
         super(username);
         this.username = username;
         this.tenantDomain = MultitenantUtils.getTenantDomain(username);
+        readAccessControlConfig();
+    }
+
+    UserAwareAPIProvider(String username, APIManagerTenantContext tenantContext) {
+        super(username, tenantContext);
+        this.username = username;
+        this.tenantDomain = MultitenantUtils.getTenantDomain(username);
+        readAccessControlConfig();
+    }
+
+    private void readAccessControlConfig() {
         APIManagerConfiguration config = ServiceReferenceHolder.getInstance().
                 getAPIManagerConfigurationService().getAPIManagerConfiguration();
         isAccessControlRestrictionEnabled = Boolean
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.impl.caching;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the total number of applications visible to a subscriber and group, which is needed for every page of the
+ * Developer Portal application listing. Entries are grouped per tenant, dropped when an application of the tenant is
+ * created, updated or deleted, and expire after a short time. Every node drops the counts of a tenant when it receives
+ * the application event of the tenant, the expiry only bounds the staleness when an event is lost.
+ * Each tenant has an invalidation generation. A count is stored with the generation read before it was computed, and
+ * a count computed before an invalidation is never served after it.
+ */
+public final class ApplicationCountCache {
+
+    private static final ApplicationCountCache instance = new ApplicationCountCache();
+    private static final long EXPIRY_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    private static final int MAX_ENTRIES_PER_TENANT = 10000;
+    private static final int EVICTION_BATCH_SIZE = MAX_ENTRIES_PER_TENANT / 10;
+    private static final String KEY_SEPARATOR = "\u0000";
+
+    private final Map<String, Map<String, CountEntry>> tenantEntries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> tenantGenerations = new ConcurrentHashMap<>();
+
+    private ApplicationCountCache() {
+
+    }
+
+    public static ApplicationCountCache getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Builds the cache key of an application count query.
+     *
+     * @param subscriber subscriber name
+     * @param groupId    group ids of the subscriber
+     * @param search     search string of the query
+     * @return cache key
+     */
+    public static String getKey(String subscriber, String groupId, String search) {
+
+        return subscriber + KEY_SEPARATOR + groupId + KEY_SEPARATOR + search;
+    }
+
+    /**
+     * Returns the cached application count.
+     *
+     * @param tenantDomain tenant domain of the subscriber
+     * @param key          key built with {@link #getKey(String, String, String)}
+     * @return application count or null if it is not cached or has expired
+     */
+    public Integer get(String tenantDomain, String key) {
+
+        Map<String, CountEntry> entries = tenantEntries.get(tenantDomain);
+        if (entries == null) {
+            return null;
+        }
+        CountEntry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis() || entry.generation != getGeneration(tenantDomain)) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.count;
+    }
+
+    /**
+     * Returns the invalidation generation of a tenant. It has to be read before the count to be cached is computed.
+     *
+     * @param tenantDomain tenant domain
+     * @return current generation of the tenant
+     */
+    public long getGeneration(String tenantDomain) {
+
+        return tenantGenerations.computeIfAbsent(tenantDomain, domain -> new AtomicLong()).get();
+    }
+
+    /**
+     * Caches an application count, unless the tenant was invalidated after the count was computed.
+     *
+     * @param tenantDomain tenant domain of the subscriber
+     * @param key          key built with {@link #getKey(String, String, String)}
+     * @param count        application count
+     * @param generation   generation returned by {@link #getGeneration(String)} before the count was computed
+     */
+    public void put(String tenantDomain, String key, int count, long generation) {
+
+        if (generation != getGeneration(tenantDomain)) {
+            return;
+        }
+        Map<String, CountEntry> entries = tenantEntries.computeIfAbsent(tenantDomain,
+                domain -> new ConcurrentHashMap<>());
+        if (entries.size() >= MAX_ENTRIES_PER_TENANT) {
+            evict(entries, generation);
+        }
+        entries.put(key, new CountEntry(count, generation, System.currentTimeMillis() + EXPIRY_MILLIS));
+    }
+
+    /**
+     * Drops all application counts of a tenant. Counts of shared applications depend on the applications of other
+     * group members, hence the whole tenant is invalidated.
+     *
+     * @param tenantDomain tenant domain
+     */
+    public void invalidate(String tenantDomain) {
+
+        if (tenantDomain != null) {
+            // bump the generation first, so that a count being stored concurrently is rejected on read
+            tenantGenerations.computeIfAbsent(tenantDomain, domain -> new AtomicLong()).incrementAndGet();
+            tenantEntries.remove(tenantDomain);
+        }
+    }
+
+    /**
+     * Makes room in a full tenant map. Expired and invalidated counts are dropped first, and if the map is still full
+     * the counts closest to expiry are dropped in a batch, so that the sort is not repeated on every put.
+     */
+    private static void evict(Map<String, CountEntry> entries, long generation) {
+
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt < now || entry.generation != generation);
+        if (entries.size() < MAX_ENTRIES_PER_TENANT) {
+            return;
+        }
+        List<Map.Entry<String, CountEntry>> candidates = new ArrayList<>(entries.entrySet());
+        candidates.sort(Comparator.comparingLong(candidate -> candidate.getValue().expiresAt));
+        for (int i = 0; i < EVICTION_BATCH_SIZE && i < candidates.size(); i++) {
+            Map.Entry<String, CountEntry> candidate = candidates.get(i);
+            entries.remove(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    private static final class CountEntry {
+
+        private final int count;
+        private final long generation;
+        private final long expiresAt;
+
+        private CountEntry(int count, long generation, long expiresAt) {
+
+            this.count = count;
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -108,6 +108,7 @@ import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
 import org.wso2.carbon.apimgt.impl.ThrottlePolicyConstants;
 import org.wso2.carbon.apimgt.impl.alertmgt.AlertMgtConstants;
+import org.wso2.carbon.apimgt.impl.caching.ApplicationCountCache;
 import org.wso2.carbon.apimgt.impl.dao.constants.SQLConstants;
 import org.wso2.carbon.apimgt.impl.dao.constants.SQLConstants.ThrottleSQLConstants;
 import org.wso2.carbon.apimgt.impl.dto.APIInfoDTO;
@@ -172,6 +173,7 @@ public class ApiMgtDAO {
     private static final Log log = LogFactory.getLog(ApiMgtDAO.class);
     private static ApiMgtDAO INSTANCE = null;
     private final Object scopeMutex = new Object();
+    private static final int APPLICATION_PAGE_QUERY_CHUNK_SIZE = 500;
     private boolean forceCaseInsensitiveComparisons = false;
     private boolean multiGroupAppSharingEnabled = false;
     private String KeyManagerAccessPublic = "PUBLIC";
@@ -3934,6 +3936,22 @@ public class ApiMgtDAO {
 
     public int getAllApplicationCount(Subscriber subscriber, String groupingId, String search) throws APIManagementException {
 
+        String tenantDomain = MultitenantUtils.getTenantDomain(subscriber.getName());
+        String cacheKey = ApplicationCountCache.getKey(subscriber.getName(), groupingId, search);
+        ApplicationCountCache countCache = ApplicationCountCache.getInstance();
+        Integer cachedCount = countCache.get(tenantDomain, cacheKey);
+        if (cachedCount != null) {
+            return cachedCount;
+        }
+        long generation = countCache.getGeneration(tenantDomain);
+        int applicationCount = getAllApplicationCountFromDB(subscriber, groupingId, search);
+        countCache.put(tenantDomain, cacheKey, applicationCount, generation);
+        return applicationCount;
+    }
+
+    private int getAllApplicationCountFromDB(Subscriber subscriber, String groupingId, String search)
+            throws APIManagementException {
+
         Connection connection = null;
         PreparedStatement prepStmt = null;
         ResultSet resultSet = null;
@@ -4164,22 +4182,11 @@ public class ApiMgtDAO {
                 application.setTokenType(rs.getString("TOKEN_TYPE"));
                 application.setLastUpdatedTime(String.valueOf(rs.getTimestamp("APP_UPDATED_TIME").getTime()));
                 application.setCreatedTime(String.valueOf(rs.getTimestamp("APP_CREATED_TIME").getTime()));
-
-                if (multiGroupAppSharingEnabled) {
-                    setGroupIdInApplication(connection,application);
-                }
-
-                //setting subscription count
-                int subscriptionCount = getSubscriptionCountByApplicationId(connection,application, organization);
-                application.setSubscriptionCount(subscriptionCount);
-
-                // Get custom attributes of application
-                Map<String, String> applicationAttributes = getApplicationAttributes(connection, applicationId);
-                application.setApplicationAttributes(applicationAttributes);
-
                 applicationsList.add(application);
             }
 
+            // Subscription counts, attributes and group ids of the whole page are read with grouped queries
+            populateApplicationPage(connection, applicationsList, organization);
             applications = applicationsList.toArray(new Application[applicationsList.size()]);
         } catch (SQLException e) {
             handleException("Error when reading the application information from" + " the persistence store.", e);
@@ -6311,6 +6318,94 @@ public class ApiMgtDAO {
         return application;
     }
 
+    /**
+     * Sets the subscription count, the custom attributes and, when multiple group sharing is enabled, the group ids
+     * of a page of applications. Each of them is read with one grouped query for the whole page instead of a query
+     * per application.
+     *
+     * @param connection   Database connection
+     * @param applications Applications of the page
+     * @param organization Organization of the subscribed APIs to count
+     * @throws SQLException if reading from the database fails
+     */
+    private void populateApplicationPage(Connection connection, List<Application> applications, String organization)
+            throws SQLException {
+
+        Map<Integer, Application> applicationsById = new LinkedHashMap<>();
+        List<Integer> applicationIdsWithoutGroup = new ArrayList<>();
+        for (Application application : applications) {
+            applicationsById.put(application.getId(), application);
+            application.setSubscriptionCount(0);
+            application.setApplicationAttributes(new HashMap<>());
+            if (multiGroupAppSharingEnabled) {
+                if (StringUtils.isEmpty(application.getGroupId())) {
+                    applicationIdsWithoutGroup.add(application.getId());
+                } else {
+                    setGroupIdInApplication(connection, application);
+                }
+            }
+        }
+        List<Integer> applicationIds = new ArrayList<>(applicationsById.keySet());
+        for (int from = 0; from < applicationIds.size(); from += APPLICATION_PAGE_QUERY_CHUNK_SIZE) {
+            List<Integer> chunk = applicationIds.subList(from,
+                    Math.min(from + APPLICATION_PAGE_QUERY_CHUNK_SIZE, applicationIds.size()));
+            String sqlQuery = SQLConstants.GET_SUBSCRIPTION_COUNTS_BY_APP_IDS_SQL
+                    .replace("$params", String.join(",", Collections.nCopies(chunk.size(), "?")));
+            try (PreparedStatement ps = connection.prepareStatement(sqlQuery)) {
+                int index = fillApplicationIds(ps, chunk);
+                ps.setString(index, organization);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        applicationsById.get(rs.getInt("APPLICATION_ID")).setSubscriptionCount(rs.getInt("SUB_COUNT"));
+                    }
+                }
+            }
+            sqlQuery = SQLConstants.GET_APPLICATION_ATTRIBUTES_BY_APPLICATION_IDS_SQL
+                    .replace("$params", String.join(",", Collections.nCopies(chunk.size(), "?")));
+            try (PreparedStatement ps = connection.prepareStatement(sqlQuery)) {
+                fillApplicationIds(ps, chunk);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        applicationsById.get(rs.getInt("APPLICATION_ID")).getApplicationAttributes()
+                                .put(rs.getString("NAME"), rs.getString("APP_ATTRIBUTE"));
+                    }
+                }
+            }
+        }
+        if (!applicationIdsWithoutGroup.isEmpty()) {
+            Map<Integer, List<String>> groupIds = new HashMap<>();
+            for (int from = 0; from < applicationIdsWithoutGroup.size(); from += APPLICATION_PAGE_QUERY_CHUNK_SIZE) {
+                List<Integer> chunk = applicationIdsWithoutGroup.subList(from,
+                        Math.min(from + APPLICATION_PAGE_QUERY_CHUNK_SIZE, applicationIdsWithoutGroup.size()));
+                String sqlQuery = SQLConstants.GET_GROUP_IDS_BY_APPLICATION_IDS_SQL
+                        .replace("$params", String.join(",", Collections.nCopies(chunk.size(), "?")));
+                try (PreparedStatement ps = connection.prepareStatement(sqlQuery)) {
+                    fillApplicationIds(ps, chunk);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            groupIds.computeIfAbsent(rs.getInt("APPLICATION_ID"), id -> new ArrayList<>())
+                                    .add(rs.getString("GROUP_ID"));
+                        }
+                    }
+                }
+            }
+            for (Integer applicationId : applicationIdsWithoutGroup) {
+                List<String> applicationGroupIds = groupIds.get(applicationId);
+                applicationsById.get(applicationId).setGroupId(applicationGroupIds == null ? "" :
+                        String.join(",", applicationGroupIds));
+            }
+        }
+    }
+
+    private int fillApplicationIds(PreparedStatement ps, List<Integer> applicationIds) throws SQLException {
+
+        int index = 1;
+        for (Integer applicationId : applicationIds) {
+            ps.setInt(index++, applicationId);
+        }
+        return index;
+    }
+
     private void setGroupIdInApplication(Connection connection, Application application) throws SQLException {
 
         String applicationGroupId = application.getGroupId();
@@ -8,6 +8,7 @@ import org.wso2.carbon.apimgt.api.model.APIRevisionDeployment;
 import org.wso2.carbon.apimgt.impl.dao.constants.SQLConstants;
 import org.wso2.carbon.apimgt.impl.dto.APIRuntimeArtifactDto;
 import org.wso2.carbon.apimgt.impl.dto.APIArtifactPropertyValues;
+import org.wso2.carbon.apimgt.impl.gatewayartifactsynchronizer.RuntimeArtifactCache;
 import org.wso2.carbon.apimgt.impl.utils.APIMgtDBUtil;
 import org.wso2.carbon.apimgt.impl.utils.GatewayArtifactsMgtDBUtil;
 import org.wso2.carbon.apimgt.impl.utils.VHostUtils;
@@ -101,6 +102,7 @@ public class GatewayArtifactsMgtDAO {
         boolean result = false;
         if (isAPIArtifactExists(connection, apiId, revision)) {
             updateGatewayPublishedAPIArtifacts(connection, apiId, revision, inputStream);
+            RuntimeArtifactCache.getInstance().invalidate(apiId, revision);
         } else {
             try (PreparedStatement statement = connection.prepareStatement(dbQuery)) {
                 statement.setBinaryStream(1, inputStream);
@@ -140,6 +142,58 @@ public class GatewayArtifactsMgtDAO {
         throw new APIManagementException(msg, t);
     }
 
+    /**
+     * Set the artifact of the API revision in the current row. The row only carries the artifact timestamp; the
+     * artifact blob is read with a separate query only if the revision is not already cached with the same timestamp.
+     *
+     * @param connection            connection the row was read with
+     * @param resultSet             result set positioned at the row of the API revision
+     * @param apiRuntimeArtifactDto runtime artifact to populate
+     */
+    private void setRuntimeArtifact(Connection connection, ResultSet resultSet,
+                                    APIRuntimeArtifactDto apiRuntimeArtifactDto) throws SQLException, IOException {
+
+        String apiId = apiRuntimeArtifactDto.getApiId();
+        String revision = apiRuntimeArtifactDto.getRevision();
+        RuntimeArtifactCache runtimeArtifactCache = RuntimeArtifactCache.getInstance();
+        Timestamp timeStamp = resultSet.getTimestamp("ARTIFACT_TIME_STAMP");
+        if (timeStamp != null) {
+            RuntimeArtifactCache.CachedArtifact cachedArtifact =
+                    runtimeArtifactCache.get(apiId, revision, timeStamp.getTime());
+            if (cachedArtifact != null) {
+                apiRuntimeArtifactDto.setArtifact(new ByteArrayInputStream(cachedArtifact.getContent()));
+                apiRuntimeArtifactDto.setContentHash(cachedArtifact.getContentHash());
+                apiRuntimeArtifactDto.setArtifactTimeStamp(timeStamp.getTime());
+                return;
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(SQLConstants.GET_API_ARTIFACT_BY_REVISION)) {
+            statement.setString(1, apiId);
+            statement.setString(2, revision);
+            try (ResultSet artifactResultSet = statement.executeQuery()) {
+                if (!artifactResultSet.next()) {
+                    return;
+                }
+                InputStream artifact = artifactResultSet.getBinaryStream("ARTIFACT");
+                if (artifact == null) {
+                    return;
+                }
+                byte[] artifactByte = APIMgtDBUtil.getBytesFromInputStream(artifact);
+                // Cached with the timestamp read along with the blob in case the artifact changed in between
+                Timestamp artifactTimeStamp = artifactResultSet.getTimestamp("TIME_STAMP");
+                if (artifactTimeStamp == null) {
+                    apiRuntimeArtifactDto.setArtifact(new ByteArrayInputStream(artifactByte));
+                    return;
+                }
+                RuntimeArtifactCache.CachedArtifact cachedArtifact =
+                        runtimeArtifactCache.put(apiId, revision, artifactTimeStamp.getTime(), artifactByte);
+                apiRuntimeArtifactDto.setArtifact(new ByteArrayInputStream(cachedArtifact.getContent()));
+                apiRuntimeArtifactDto.setContentHash(cachedArtifact.getContentHash());
+                apiRuntimeArtifactDto.setArtifactTimeStamp(artifactTimeStamp.getTime());
+            }
+        }
+    }
+
     /**
      * Retrieve the API ID of the API
      *
@@ -318,6 +372,7 @@ public class GatewayArtifactsMgtDAO {
                     preparedStatement.executeUpdate();
                 }
                 connection.commit();
+                RuntimeArtifactCache.getInstance().invalidate(apiId, revision);
             } catch (SQLException e) {
                 connection.rollback();
                 handleException("Failed to delete Gateway Artifact" + apiId, e);
@@ -327,6 +382,34 @@ public class GatewayArtifactsMgtDAO {
         }
     }
 
+    /**
+     * Mark the artifacts of all revisions of an API as modified, so that the revisions are read again instead of
+     * being served from {@link RuntimeArtifactCache} and the entity tag of bundles holding them changes. Used when
+     * a property applied while generating the bundle, such as an environment specific API property, is changed.
+     *
+     * @param apiId UUID of the API
+     * @throws APIManagementException if an error occurs while updating the artifacts
+     */
+    public void updateGatewayArtifactTimeStamp(String apiId) throws APIManagementException {
+
+        try (Connection connection = GatewayArtifactsMgtDBUtil.getArtifactSynchronizerConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(
+                    SQLConstants.UPDATE_API_ARTIFACT_TIME_STAMP)) {
+                preparedStatement.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+                preparedStatement.setString(2, apiId);
+                preparedStatement.executeUpdate();
+                connection.commit();
+                RuntimeArtifactCache.getInstance().invalidate(apiId);
+            } catch (SQLException e) {
+                connection.rollback();
+                handleException("Failed to update the timestamp of Gateway Artifacts of " + apiId, e);
+            }
+        } catch (SQLException e) {
+            handleException("Failed to update the timestamp of Gateway Artifacts of " + apiId, e);
+        }
+    }
+
     public void deleteGatewayArtifacts(String apiId) throws APIManagementException {
 
         String deleteGWArtifact = SQLConstants.DELETE_GW_PUBLISHED_API_DETAILS;
@@ -338,6 +421,7 @@ public class GatewayArtifactsMgtDAO {
                     preparedStatement.executeUpdate();
                 }
                 connection.commit();
+                RuntimeArtifactCache.getInstance().invalidate(apiId);
             } catch (SQLException e) {
                 connection.rollback();
                 handleException("Failed to delete Gateway Artifact" + apiId, e);
@@ -704,13 +788,7 @@ public class GatewayArtifactsMgtDAO {
                         apiRuntimeArtifactDto.setRevision(resultSet.getString("REVISION_ID"));
                         apiRuntimeArtifactDto.setType(resultSet.getString("API_TYPE"));
                         apiRuntimeArtifactDto.setContext(resultSet.getString("CONTEXT"));
-                        InputStream artifact = resultSet.getBinaryStream("ARTIFACT");
-                        if (artifact != null) {
-                            byte[] artifactByte = APIMgtDBUtil.getBytesFromInputStream(artifact);
-                            try (InputStream newArtifact = new ByteArrayInputStream(artifactByte)) {
-                                apiRuntimeArtifactDto.setArtifact(newArtifact);
-                            }
-                        }
+                        setRuntimeArtifact(connection, resultSet, apiRuntimeArtifactDto);
                         apiRuntimeArtifactDto.setFile(true);
                         apiRuntimeArtifactDtoList.add(apiRuntimeArtifactDto);
                     } catch (APIManagementException e) {
@@ -766,13 +844,7 @@ public class GatewayArtifactsMgtDAO {
                         apiRuntimeArtifactDto.setRevision(resultSet.getString("REVISION_ID"));
                         apiRuntimeArtifactDto.setType(resultSet.getString("API_TYPE"));
                         apiRuntimeArtifactDto.setContext(resultSet.getString("CONTEXT"));
-                        InputStream artifact = resultSet.getBinaryStream("ARTIFACT");
-                        if (artifact != null) {
-                            byte[] artifactByte = APIMgtDBUtil.getBytesFromInputStream(artifact);
-                            try (InputStream newArtifact = new ByteArrayInputStream(artifactByte)) {
-                                apiRuntimeArtifactDto.setArtifact(newArtifact);
-                            }
-                        }
+                        setRuntimeArtifact(connection, resultSet, apiRuntimeArtifactDto);
                         apiRuntimeArtifactDto.setFile(true);
                         apiRuntimeArtifactDtoList.add(apiRuntimeArtifactDto);
                     } catch (APIManagementException e) {
@@ -824,13 +896,7 @@ public class GatewayArtifactsMgtDAO {
                         apiRuntimeArtifactDto.setRevision(resultSet.getString("REVISION_ID"));
                         apiRuntimeArtifactDto.setType(resultSet.getString("API_TYPE"));
                         apiRuntimeArtifactDto.setContext(resultSet.getString("CONTEXT"));
-                        InputStream artifact = resultSet.getBinaryStream("ARTIFACT");
-                        if (artifact != null) {
-                            byte[] artifactByte = APIMgtDBUtil.getBytesFromInputStream(artifact);
-                            try (InputStream newArtifact = new ByteArrayInputStream(artifactByte)) {
-                                apiRuntimeArtifactDto.setArtifact(newArtifact);
-                            }
-                        }
+                        setRuntimeArtifact(connection, resultSet, apiRuntimeArtifactDto);
                         apiRuntimeArtifactDto.setFile(true);
                         apiRuntimeArtifactDtoList.add(apiRuntimeArtifactDto);
                     } catch (APIManagementException e) {
@@ -878,13 +944,7 @@ public class GatewayArtifactsMgtDAO {
                         apiRuntimeArtifactDto.setRevision(resultSet.getString("REVISION_ID"));
                         apiRuntimeArtifactDto.setType(resultSet.getString("API_TYPE"));
                         apiRuntimeArtifactDto.setContext(resultSet.getString("CONTEXT"));
-                        InputStream artifact = resultSet.getBinaryStream("ARTIFACT");
-                        if (artifact != null) {
-                            byte[] artifactByte = APIMgtDBUtil.getBytesFromInputStream(artifact);
-                            try (InputStream newArtifact = new ByteArrayInputStream(artifactByte)) {
-                                apiRuntimeArtifactDto.setArtifact(newArtifact);
-                            }
-                        }
+                        setRuntimeArtifact(connection, resultSet, apiRuntimeArtifactDto);
                         apiRuntimeArtifactDto.setFile(true);
                         apiRuntimeArtifactDtoList.add(apiRuntimeArtifactDto);
                     } catch (APIManagementException e) {
@@ -987,6 +1047,7 @@ public class GatewayArtifactsMgtDAO {
                 preparedStatement.setString(1, organization);
                 preparedStatement.executeUpdate();
                 artifactSynchronizerConn.commit();
+                RuntimeArtifactCache.getInstance().invalidateAll();
             } catch (SQLException e) {
                 throw e;
             }
@@ -459,6 +459,16 @@ public class SQLConstants {
                     "   AND APP.APPLICATION_ID = ?" +
                     "   AND API.ORGANIZATION = ?";
 
+    public static final String GET_SUBSCRIPTION_COUNTS_BY_APP_IDS_SQL =
+            " SELECT SUBS.APPLICATION_ID, COUNT(*) AS SUB_COUNT " +
+                    " FROM " +
+                    "   AM_SUBSCRIPTION SUBS, AM_API API " +
+                    " WHERE SUBS.SUBS_CREATE_STATE ='" + APIConstants.SubscriptionCreatedStatus.SUBSCRIBE + "'" +
+                    "   AND API.API_ID = SUBS.API_ID" +
+                    "   AND SUBS.APPLICATION_ID IN ($params)" +
+                    "   AND API.ORGANIZATION = ?" +
+                    " GROUP BY SUBS.APPLICATION_ID";
+
     public static final String GET_SUBSCRIPTION_COUNT_CASE_INSENSITIVE_SQL =
             " SELECT COUNT(*) AS SUB_COUNT " +
             " FROM " +
@@ -1568,6 +1578,14 @@ public class SQLConstants {
                     " FROM " +
                     "   AM_APPLICATION_ATTRIBUTES APP WHERE APPLICATION_ID = ?";
 
+    public static final String GET_APPLICATION_ATTRIBUTES_BY_APPLICATION_IDS_SQL =
+            " SELECT " +
+                    "   APP.APPLICATION_ID," +
+                    "   APP.NAME," +
+                    "   APP.APP_ATTRIBUTE" +
+                    " FROM " +
+                    "   AM_APPLICATION_ATTRIBUTES APP WHERE APPLICATION_ID IN ($params)";
+
     public static final String GET_APPLICATION_BY_ID_SQL =
             " SELECT " +
             "   APP.APPLICATION_ID," +
@@ -2687,6 +2705,9 @@ public class SQLConstants {
     public static final String GET_GROUP_ID_SQL =
             "SELECT GROUP_ID  FROM AM_APPLICATION_GROUP_MAPPING WHERE APPLICATION_ID = ?";
 
+    public static final String GET_GROUP_IDS_BY_APPLICATION_IDS_SQL =
+            "SELECT APPLICATION_ID, GROUP_ID FROM AM_APPLICATION_GROUP_MAPPING WHERE APPLICATION_ID IN ($params)";
+
     public static final String REMOVE_MIGRATED_GROUP_ID_SQL =
             "UPDATE AM_APPLICATION SET GROUP_ID = '' WHERE APPLICATION_ID = ?";
 
@@ -2847,12 +2868,18 @@ public class SQLConstants {
     public static final String UPDATE_API_ARTIFACT = "UPDATE AM_GW_API_ARTIFACTS SET ARTIFACT = ?, " +
             "TIME_STAMP = ? WHERE (API_ID = ?) AND (REVISION_ID = ?)";
 
+    public static final String UPDATE_API_ARTIFACT_TIME_STAMP =
+            "UPDATE AM_GW_API_ARTIFACTS SET TIME_STAMP = ? WHERE API_ID = ?";
+
     public static final String GET_API_ARTIFACT = "SELECT ARTIFACT FROM AM_GW_API_ARTIFACTS WHERE API_ID =? AND " +
             "GATEWAY_LABEL =? AND GATEWAY_INSTRUCTION = ?";
 
     public static final String GET_API_ARTIFACT_ANY_INSTRUCTION = "SELECT ARTIFACT FROM AM_GW_API_ARTIFACTS WHERE " +
             "API_ID =? AND GATEWAY_LABEL =?";
 
+    public static final String GET_API_ARTIFACT_BY_REVISION = "SELECT ARTIFACT, TIME_STAMP FROM AM_GW_API_ARTIFACTS " +
+            "WHERE API_ID = ? AND REVISION_ID = ?";
+
     public static final String GET_API_ID = "SELECT API_ID  FROM AM_GW_PUBLISHED_API_DETAILS " +
             "WHERE API_NAME =? AND " + "TENANT_DOMAIN =? AND API_VERSION =?";
 
@@ -2974,7 +3001,8 @@ public class SQLConstants {
                     "AM_GW_PUBLISHED_API_DETAILS" +
                     ".API_PROVIDER AS API_PROVIDER," +
                     "AM_GW_PUBLISHED_API_DETAILS.API_NAME AS API_NAME,AM_GW_PUBLISHED_API_DETAILS.API_VERSION AS API_VERSION," +
-                    "AM_GW_PUBLISHED_API_DETAILS.API_TYPE AS API_TYPE,AM_GW_API_ARTIFACTS.ARTIFACT AS ARTIFACT," +
+                    "AM_GW_PUBLISHED_API_DETAILS.API_TYPE AS API_TYPE," +
+                    "AM_GW_API_ARTIFACTS.TIME_STAMP AS ARTIFACT_TIME_STAMP," +
                     "AM_GW_API_DEPLOYMENTS.LABEL AS LABEL,AM_GW_API_DEPLOYMENTS.VHOST AS VHOST, " +
                     "AM_API.CONTEXT AS CONTEXT FROM " +
                     "AM_GW_PUBLISHED_API_DETAILS,AM_GW_API_ARTIFACTS,AM_GW_API_DEPLOYMENTS,AM_API WHERE " +
@@ -2990,7 +3018,8 @@ public class SQLConstants {
                     "AM_GW_PUBLISHED_API_DETAILS" +
                     ".API_PROVIDER AS API_PROVIDER," +
                     "AM_GW_PUBLISHED_API_DETAILS.API_NAME AS API_NAME,AM_GW_PUBLISHED_API_DETAILS.API_VERSION AS API_VERSION," +
-                    "AM_GW_PUBLISHED_API_DETAILS.API_TYPE AS API_TYPE,AM_GW_API_ARTIFACTS.ARTIFACT AS ARTIFACT," +
+                    "AM_GW_PUBLISHED_API_DETAILS.API_TYPE AS API_TYPE," +
+                    "AM_GW_API_ARTIFACTS.TIME_STAMP AS ARTIFACT_TIME_STAMP," +
                     "AM_GW_API_DEPLOYMENTS.LABEL AS LABEL,AM_GW_API_DEPLOYMENTS.VHOST AS VHOST, " +
                     "AM_API.CONTEXT AS CONTEXT FROM " +
                     "AM_GW_PUBLISHED_API_DETAILS,AM_GW_API_ARTIFACTS,AM_GW_API_DEPLOYMENTS,AM_API WHERE " +
@@ -3004,7 +3033,8 @@ public class SQLConstants {
                     "AM_GW_PUBLISHED_API_DETAILS.TENANT_DOMAIN AS TENANT_DOMAIN,AM_GW_PUBLISHED_API_DETAILS.API_PROVIDER AS " +
                     "API_PROVIDER,AM_GW_PUBLISHED_API_DETAILS.API_NAME AS API_NAME,AM_GW_PUBLISHED_API_DETAILS.API_VERSION AS " +
                     "API_VERSION," +
-                    "AM_GW_PUBLISHED_API_DETAILS.API_TYPE AS API_TYPE,AM_GW_API_ARTIFACTS.ARTIFACT AS ARTIFACT," +
+                    "AM_GW_PUBLISHED_API_DETAILS.API_TYPE AS API_TYPE," +
+                    "AM_GW_API_ARTIFACTS.TIME_STAMP AS ARTIFACT_TIME_STAMP," +
                     "AM_GW_API_DEPLOYMENTS.LABEL AS LABEL,AM_GW_API_DEPLOYMENTS.VHOST AS VHOST, " +
                     "AM_API.CONTEXT AS CONTEXT FROM " +
                     "AM_GW_PUBLISHED_API_DETAILS,AM_GW_API_ARTIFACTS,AM_GW_API_DEPLOYMENTS,AM_API WHERE " +
@@ -3019,7 +3049,8 @@ public class SQLConstants {
                     "AM_GW_PUBLISHED_API_DETAILS.API_PROVIDER AS " +
                     "API_PROVIDER, AM_GW_PUBLISHED_API_DETAILS.API_NAME AS API_NAME,AM_GW_PUBLISHED_API_DETAILS.API_VERSION AS " +
                     "API_VERSION," +
-                    "AM_GW_PUBLISHED_API_DETAILS.API_TYPE AS API_TYPE,AM_GW_API_ARTIFACTS.ARTIFACT AS ARTIFACT," +
+                    "AM_GW_PUBLISHED_API_DETAILS.API_TYPE AS API_TYPE," +
+                    "AM_GW_API_ARTIFACTS.TIME_STAMP AS ARTIFACT_TIME_STAMP," +
                     "AM_GW_API_DEPLOYMENTS.LABEL AS LABEL,AM_GW_API_DEPLOYMENTS.VHOST AS VHOST, " +
                     "AM_API.CONTEXT AS CONTEXT FROM " +
                     "AM_GW_PUBLISHED_API_DETAILS,AM_GW_API_ARTIFACTS,AM_GW_API_DEPLOYMENTS,AM_API WHERE " +
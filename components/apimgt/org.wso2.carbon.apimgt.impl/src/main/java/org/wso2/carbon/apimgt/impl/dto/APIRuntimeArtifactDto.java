@@ -14,6 +14,8 @@ public class APIRuntimeArtifactDto extends RuntimeArtifactDto {
     private String context;
 
     private long deployedTimeStamp;
+    private String contentHash;
+    private long artifactTimeStamp;
 
     public String getType() {
 
@@ -131,4 +133,20 @@ public class APIRuntimeArtifactDto extends RuntimeArtifactDto {
     public void setDeployedTimeStamp(long deployedTimeStamp) {
         this.deployedTimeStamp = deployedTimeStamp;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public long getArtifactTimeStamp() {
+        return artifactTimeStamp;
+    }
+
+    public void setArtifactTimeStamp(long artifactTimeStamp) {
+        this.artifactTimeStamp = artifactTimeStamp;
+    }
 }
@@ -29,6 +29,8 @@ public class EventHubConfigurationDto {
     private EventHubReceiverConfiguration eventHubReceiverConfiguration;
     private EventHubPublisherConfiguration eventHubPublisherConfiguration ;
     private long eventWaitingTime = 0;
+    private int applicationEventLanes = 4;
+    private int apiEventLanes = 2;
 
     public boolean isEnabled() {
 
@@ -81,6 +83,26 @@ public class EventHubConfigurationDto {
         this.eventWaitingTime = eventWaitingTime;
     }
 
+    public int getApplicationEventLanes() {
+
+        return applicationEventLanes;
+    }
+
+    public void setApplicationEventLanes(int applicationEventLanes) {
+
+        this.applicationEventLanes = applicationEventLanes;
+    }
+
+    public int getApiEventLanes() {
+
+        return apiEventLanes;
+    }
+
+    public void setApiEventLanes(int apiEventLanes) {
+
+        this.apiEventLanes = apiEventLanes;
+    }
+
     public boolean hasEventWaitingTime() {
 
         return eventWaitingTime > 0;
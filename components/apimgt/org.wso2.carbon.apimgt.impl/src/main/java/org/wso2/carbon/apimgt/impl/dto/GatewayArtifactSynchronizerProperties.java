@@ -19,6 +19,7 @@ public class GatewayArtifactSynchronizerProperties {
     private String gatewayStartup = "sync";
     private long eventWaitingTime = 1;
     private boolean onDemandLoading;
+    private long runtimeArtifactCacheSize = 128;
 
 
     public String getSaverName() {
@@ -148,4 +149,16 @@ public class GatewayArtifactSynchronizerProperties {
     public boolean isOnDemandLoading() {
         return onDemandLoading;
     }
+
+    /**
+     * Returns the maximum total size of the runtime artifacts kept in memory by the control plane, in megabytes.
+     * 0 disables the cache.
+     */
+    public long getRuntimeArtifactCacheSize() {
+        return runtimeArtifactCacheSize;
+    }
+
+    public void setRuntimeArtifactCacheSize(long runtimeArtifactCacheSize) {
+        this.runtimeArtifactCacheSize = runtimeArtifactCacheSize;
+    }
 }
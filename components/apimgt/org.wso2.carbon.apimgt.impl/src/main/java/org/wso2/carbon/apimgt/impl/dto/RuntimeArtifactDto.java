@@ -4,6 +4,8 @@ public class RuntimeArtifactDto {
 
     private Object artifact;
     private boolean file;
+    private String eTag;
+    private boolean notModified;
 
     public Object getArtifact() {
 
@@ -24,4 +26,24 @@ public class RuntimeArtifactDto {
 
         this.file = file;
     }
+
+    public String getETag() {
+
+        return eTag;
+    }
+
+    public void setETag(String eTag) {
+
+        this.eTag = eTag;
+    }
+
+    public boolean isNotModified() {
+
+        return notModified;
+    }
+
+    public void setNotModified(boolean notModified) {
+
+        this.notModified = notModified;
+    }
 }
@@ -46,6 +46,9 @@ public class ThrottleProperties {
     private boolean enableHeaderConditions = false;
     private boolean enableJwtConditions = false;
     private boolean enableQueryParamConditions =false;
+    private boolean enableNativeThrottleCounters = false;
+    private boolean nativeThrottleCounterSlidingWindow = false;
+    private boolean enableNativeSpikeArrest = false;
     private String[] skipRedeployingPolicies = new String[]{};
     private Map<String, Long> defaultThrottleTierLimits = new HashMap<String, Long>();
     private TrafficManager trafficManager;
@@ -154,6 +157,30 @@ public class ThrottleProperties {
         this.enableQueryParamConditions = enableQueryParamConditions;
     }
 
+    public boolean isEnableNativeThrottleCounters() {
+        return enableNativeThrottleCounters;
+    }
+
+    public void setEnableNativeThrottleCounters(boolean enableNativeThrottleCounters) {
+        this.enableNativeThrottleCounters = enableNativeThrottleCounters;
+    }
+
+    public boolean isNativeThrottleCounterSlidingWindow() {
+        return nativeThrottleCounterSlidingWindow;
+    }
+
+    public void setNativeThrottleCounterSlidingWindow(boolean nativeThrottleCounterSlidingWindow) {
+        this.nativeThrottleCounterSlidingWindow = nativeThrottleCounterSlidingWindow;
+    }
+
+    public boolean isEnableNativeSpikeArrest() {
+        return enableNativeSpikeArrest;
+    }
+
+    public void setEnableNativeSpikeArrest(boolean enableNativeSpikeArrest) {
+        this.enableNativeSpikeArrest = enableNativeSpikeArrest;
+    }
+
     public void setTrafficManager(TrafficManager trafficManager) {
         this.trafficManager = trafficManager;
     }
@@ -66,14 +66,15 @@ public class MicroGatewayArtifactGenerator implements GatewayArtifactGenerator {
             File tempDirectory = CommonUtil.createTempDirectory(null);
             for (APIRuntimeArtifactDto apiRuntimeArtifactDto : apiRuntimeArtifactDtoList) {
                 if (apiRuntimeArtifactDto.isFile()) {
-                    InputStream artifact = (InputStream) apiRuntimeArtifactDto.getArtifact();
                     String fileName = apiRuntimeArtifactDto.getApiId().concat("-").concat(apiRuntimeArtifactDto.getRevision())
                             .concat(APIConstants.ZIP_FILE_EXTENSION);
-                    Path path = Paths.get(tempDirectory.getAbsolutePath(), fileName);
-                    FileUtils.copyInputStreamToFile(artifact, path.toFile());
 
                     ApiProjectDto apiProjectDto = deploymentsMap.get(fileName);
                     if (apiProjectDto == null) {
+                        // a revision deployed to several environments is written to the bundle only once
+                        InputStream artifact = (InputStream) apiRuntimeArtifactDto.getArtifact();
+                        Path path = Paths.get(tempDirectory.getAbsolutePath(), fileName);
+                        FileUtils.copyInputStreamToFile(artifact, path.toFile());
                         apiProjectDto = new ApiProjectDto();
                         deploymentsMap.put(fileName, apiProjectDto);
                         apiProjectDto.setApiFile(fileName);
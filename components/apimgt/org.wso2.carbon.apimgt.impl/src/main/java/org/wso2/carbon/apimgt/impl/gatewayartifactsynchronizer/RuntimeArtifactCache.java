@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.impl.gatewayartifactsynchronizer;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+import org.wso2.carbon.apimgt.impl.APIManagerConfigurationService;
+import org.wso2.carbon.apimgt.impl.internal.ServiceReferenceHolder;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the runtime artifacts of deployed API revisions in memory so that every gateway pulling artifacts after a
+ * deployment does not make the control plane copy the same blob out of the database again. An entry is only served
+ * while the artifact timestamp stored in the database still matches, so updates made through other nodes are picked
+ * up on the next read. The cache is bounded by the total size of the cached artifacts, configured with
+ * RuntimeArtifactCacheSize in megabytes, and evicts the least recently used revisions first.
+ */
+public final class RuntimeArtifactCache {
+
+    private static final long DEFAULT_CACHE_SIZE_IN_MB = 128;
+    private static final String KEY_SEPARATOR = ":";
+
+    private final LinkedHashMap<String, CachedArtifact> artifacts = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxCachedBytes;
+    private long cachedBytes;
+
+    RuntimeArtifactCache(long maxCachedBytes) {
+
+        this.maxCachedBytes = maxCachedBytes;
+    }
+
+    public static RuntimeArtifactCache getInstance() {
+
+        return InstanceHolder.INSTANCE;
+    }
+
+    private static long getConfiguredCacheSizeInMB() {
+
+        APIManagerConfigurationService configurationService =
+                ServiceReferenceHolder.getInstance().getAPIManagerConfigurationService();
+        if (configurationService != null) {
+            APIManagerConfiguration configuration = configurationService.getAPIManagerConfiguration();
+            if (configuration != null) {
+                return configuration.getGatewayArtifactSynchronizerProperties().getRuntimeArtifactCacheSize();
+            }
+        }
+        return DEFAULT_CACHE_SIZE_IN_MB;
+    }
+
+    /**
+     * Returns the cached artifact of an API revision.
+     *
+     * @param apiId     UUID of the API
+     * @param revision  revision UUID
+     * @param timeStamp time the artifact was last written to the database
+     * @return cached artifact or null if it is not cached or is outdated
+     */
+    public synchronized CachedArtifact get(String apiId, String revision, long timeStamp) {
+
+        CachedArtifact cachedArtifact = artifacts.get(getKey(apiId, revision));
+        if (cachedArtifact != null && cachedArtifact.getTimeStamp() == timeStamp) {
+            return cachedArtifact;
+        }
+        return null;
+    }
+
+    /**
+     * Caches the artifact of an API revision and computes its content hash.
+     *
+     * @param apiId     UUID of the API
+     * @param revision  revision UUID
+     * @param timeStamp time the artifact was last written to the database
+     * @param content   artifact content
+     * @return cached artifact
+     */
+    public CachedArtifact put(String apiId, String revision, long timeStamp, byte[] content) {
+
+        CachedArtifact cachedArtifact = new CachedArtifact(timeStamp, content, DigestUtils.sha256Hex(content));
+        if (content.length > maxCachedBytes) {
+            return cachedArtifact;
+        }
+        synchronized (this) {
+            CachedArtifact previous = artifacts.put(getKey(apiId, revision), cachedArtifact);
+            if (previous != null) {
+                cachedBytes -= previous.getContent().length;
+            }
+            cachedBytes += content.length;
+            Iterator<CachedArtifact> iterator = artifacts.values().iterator();
+            while (cachedBytes > maxCachedBytes && iterator.hasNext()) {
+                cachedBytes -= iterator.next().getContent().length;
+                iterator.remove();
+            }
+        }
+        return cachedArtifact;
+    }
+
+    /**
+     * Removes the cached artifact of an API revision.
+     *
+     * @param apiId    UUID of the API
+     * @param revision revision UUID
+     */
+    public synchronized void invalidate(String apiId, String revision) {
+
+        CachedArtifact removed = artifacts.remove(getKey(apiId, revision));
+        if (removed != null) {
+            cachedBytes -= removed.getContent().length;
+        }
+    }
+
+    /**
+     * Removes the cached artifacts of all revisions of an API.
+     *
+     * @param apiId UUID of the API
+     */
+    public synchronized void invalidate(String apiId) {
+
+        String prefix = apiId + KEY_SEPARATOR;
+        Iterator<Map.Entry<String, CachedArtifact>> iterator = artifacts.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CachedArtifact> entry = iterator.next();
+            if (entry.getKey().startsWith(prefix)) {
+                cachedBytes -= entry.getValue().getContent().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all cached artifacts.
+     */
+    public synchronized void invalidateAll() {
+
+        artifacts.clear();
+        cachedBytes = 0;
+    }
+
+    private static String getKey(String apiId, String revision) {
+
+        return apiId + KEY_SEPARATOR + revision;
+    }
+
+    /**
+     * Creates the cache on first use so that the configured size is read once the configuration is loaded.
+     */
+    private static final class InstanceHolder {
+
+        private static final RuntimeArtifactCache INSTANCE =
+                new RuntimeArtifactCache(getConfiguredCacheSizeInMB() * 1024 * 1024);
+    }
+
+    /**
+     * Artifact content of an API revision along with its content hash.
+     */
+    public static final class CachedArtifact {
+
+        private final long timeStamp;
+        private final byte[] content;
+        private final String contentHash;
+
+        CachedArtifact(long timeStamp, byte[] content, String contentHash) {
+
+            this.timeStamp = timeStamp;
+            this.content = content;
+            this.contentHash = contentHash;
+        }
+
+        public long getTimeStamp() {
+
+            return timeStamp;
+        }
+
+        public byte[] getContent() {
+
+            return content;
+        }
+
+        public String getContentHash() {
+
+            return contentHash;
+        }
+    }
+}
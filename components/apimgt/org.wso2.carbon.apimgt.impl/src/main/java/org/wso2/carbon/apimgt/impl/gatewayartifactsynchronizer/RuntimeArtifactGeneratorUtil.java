@@ -18,6 +18,7 @@
 package org.wso2.carbon.apimgt.impl.gatewayartifactsynchronizer;
 
 import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -38,6 +39,8 @@ import org.wso2.carbon.apimgt.impl.internal.ServiceReferenceHolder;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -54,11 +57,34 @@ public class RuntimeArtifactGeneratorUtil {
                                                              String gatewayLabel, String type, String tenantDomain)
             throws APIManagementException {
 
+        return generateRuntimeArtifact(apiId, name, version, gatewayLabel, type, tenantDomain, null);
+    }
+
+    /**
+     * Generate the runtime artifact of the APIs deployed in the given gateway labels of a tenant. If the client
+     * already holds the artifact identified by {@code ifNoneMatch}, the returned artifact is only marked as not
+     * modified and no bundle is generated.
+     *
+     * @param apiId        UUID of the API or empty for all APIs
+     * @param name         name of the API
+     * @param version      version of the API
+     * @param gatewayLabel base64 encoded gateway labels separated by '|'
+     * @param type         type of the gateway artifact generator
+     * @param tenantDomain tenant domain
+     * @param ifNoneMatch  entity tag of the artifact held by the client, may be null
+     * @return generated runtime artifact
+     * @throws APIManagementException if an error occurs while generating the artifact
+     */
+    public static RuntimeArtifactDto generateRuntimeArtifact(String apiId, String name, String version,
+                                                             String gatewayLabel, String type, String tenantDomain,
+                                                             String ifNoneMatch)
+            throws APIManagementException {
+
         GatewayArtifactGenerator gatewayArtifactGenerator =
                 ServiceReferenceHolder.getInstance().getGatewayArtifactGenerator(type);
         if (gatewayArtifactGenerator != null) {
             List<APIRuntimeArtifactDto> gatewayArtifacts = getRuntimeArtifacts(apiId, gatewayLabel, tenantDomain);
-            return gatewayArtifactGenerator.generateGatewayArtifact(gatewayArtifacts);
+            return generateRuntimeArtifact(gatewayArtifactGenerator, type, gatewayArtifacts, ifNoneMatch);
         } else {
             Set<String> gatewayArtifactGeneratorTypes =
                     ServiceReferenceHolder.getInstance().getGatewayArtifactGeneratorTypes();
@@ -72,11 +98,32 @@ public class RuntimeArtifactGeneratorUtil {
                                                                 String gatewayLabel, String type)
             throws APIManagementException {
 
+        return generateAllRuntimeArtifact(apiId, name, version, gatewayLabel, type, null);
+    }
+
+    /**
+     * Generate the runtime artifact of the APIs deployed in the given gateway labels of all tenants. If the client
+     * already holds the artifact identified by {@code ifNoneMatch}, the returned artifact is only marked as not
+     * modified and no bundle is generated.
+     *
+     * @param apiId        UUID of the API or empty for all APIs
+     * @param name         name of the API
+     * @param version      version of the API
+     * @param gatewayLabel base64 encoded gateway labels separated by '|'
+     * @param type         type of the gateway artifact generator
+     * @param ifNoneMatch  entity tag of the artifact held by the client, may be null
+     * @return generated runtime artifact
+     * @throws APIManagementException if an error occurs while generating the artifact
+     */
+    public static RuntimeArtifactDto generateAllRuntimeArtifact(String apiId, String name, String version,
+                                                                String gatewayLabel, String type, String ifNoneMatch)
+            throws APIManagementException {
+
         GatewayArtifactGenerator gatewayArtifactGenerator =
                 ServiceReferenceHolder.getInstance().getGatewayArtifactGenerator(type);
         if (gatewayArtifactGenerator != null) {
             List<APIRuntimeArtifactDto> gatewayArtifacts = getAllRuntimeArtifacts(apiId, gatewayLabel);
-            return gatewayArtifactGenerator.generateGatewayArtifact(gatewayArtifacts);
+            return generateRuntimeArtifact(gatewayArtifactGenerator, type, gatewayArtifacts, ifNoneMatch);
         } else {
             Set<String> gatewayArtifactGeneratorTypes =
                     ServiceReferenceHolder.getInstance().getGatewayArtifactGeneratorTypes();
@@ -191,6 +238,56 @@ public class RuntimeArtifactGeneratorUtil {
         }
     }
 
+    private static RuntimeArtifactDto generateRuntimeArtifact(GatewayArtifactGenerator gatewayArtifactGenerator,
+                                                              String type,
+                                                              List<APIRuntimeArtifactDto> gatewayArtifacts,
+                                                              String ifNoneMatch) throws APIManagementException {
+
+        String eTag = gatewayArtifacts != null ? getRuntimeArtifactETag(type, gatewayArtifacts) : null;
+        if (eTag != null && eTag.equals(StringUtils.strip(ifNoneMatch, "\""))) {
+            if (log.isDebugEnabled()) {
+                log.debug("Runtime artifacts of gateway type " + type + " are not modified since " + eTag);
+            }
+            RuntimeArtifactDto runtimeArtifactDto = new RuntimeArtifactDto();
+            runtimeArtifactDto.setETag(eTag);
+            runtimeArtifactDto.setNotModified(true);
+            return runtimeArtifactDto;
+        }
+        RuntimeArtifactDto runtimeArtifactDto = gatewayArtifactGenerator.generateGatewayArtifact(gatewayArtifacts);
+        if (runtimeArtifactDto != null) {
+            runtimeArtifactDto.setETag(eTag);
+        }
+        return runtimeArtifactDto;
+    }
+
+    /**
+     * Compute an entity tag identifying the given set of runtime artifacts. The tag is derived from the content hash
+     * and the timestamp of each deployed revision together with its deployment details. Changing an environment
+     * specific property of an API updates the timestamp of its revisions, so the tag changes whenever the generated
+     * bundle would change without reading the properties on each request.
+     *
+     * @param type             type of the gateway artifact generator
+     * @param gatewayArtifacts runtime artifacts
+     * @return entity tag or null if a content hash of an artifact is not available
+     */
+    private static String getRuntimeArtifactETag(String type, List<APIRuntimeArtifactDto> gatewayArtifacts) {
+
+        List<String> entries = new ArrayList<>(gatewayArtifacts.size());
+        for (APIRuntimeArtifactDto apiRuntimeArtifactDto : gatewayArtifacts) {
+            if (apiRuntimeArtifactDto.getContentHash() == null) {
+                return null;
+            }
+            entries.add(String.join("|", apiRuntimeArtifactDto.getApiId(), apiRuntimeArtifactDto.getRevision(),
+                    apiRuntimeArtifactDto.getLabel(), apiRuntimeArtifactDto.getVhost(),
+                    apiRuntimeArtifactDto.getOrganization(),
+                    String.valueOf(apiRuntimeArtifactDto.getDeployedTimeStamp()),
+                    String.valueOf(apiRuntimeArtifactDto.getArtifactTimeStamp()),
+                    apiRuntimeArtifactDto.getContentHash()));
+        }
+        Collections.sort(entries);
+        return DigestUtils.sha256Hex(type + "\n" + String.join("\n", entries));
+    }
+
     private static List<APIRuntimeArtifactDto> getRuntimeArtifacts(String apiId, String gatewayLabel,
                                                                    String tenantDomain) throws APIManagementException {
         List<APIRuntimeArtifactDto> gatewayArtifacts;
@@ -55,6 +55,32 @@ public interface ImportExportAPI {
             boolean exportLatestRevision, String originalDevPortalUrl, String organization)
             throws APIManagementException, APIImportExportException;
 
+    /**
+     * Used to export the artifacts of an API into a directory without archiving them, so that the archive can be
+     * streamed to the client with CommonUtil.archiveDirectory(String, OutputStream). The caller has to delete the
+     * returned directory once the archive is written.
+     *
+     * @param apiId                UUID of API.
+     * @param name                 name of API.
+     * @param version              version of API.
+     * @param revisionNum          revision number.
+     * @param providerName         provider of API.
+     * @param preserveStatus       Preserve API status on export
+     * @param format               Format of output documents. Can be YAML or JSON
+     * @param preserveDocs         Preserve documentation on Export.
+     * @param exportLatestRevision Export the latest revision.
+     * @param originalDevPortalUrl Original DevPortal URL (redirect URL) for the original Store
+     *                             (This is used for advertise only APIs).
+     * @param organization         Organization
+     * @return Directory holding the API artifacts.
+     * @throws APIManagementException
+     * @throws APIImportExportException
+     */
+    public File exportAPIToDirectory(String apiId, String name, String version, String revisionNum,
+            String providerName, boolean preserveStatus, ExportFormat format, boolean preserveDocs,
+            boolean preserveCredentials, boolean exportLatestRevision, String originalDevPortalUrl,
+            String organization) throws APIManagementException, APIImportExportException;
+
 
     /**
      * Used to export API artifact
@@ -30,6 +30,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang.RandomStringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -40,16 +41,16 @@ import org.wso2.carbon.apimgt.impl.importexport.APIImportExportException;
 import org.wso2.carbon.apimgt.impl.importexport.ExportFormat;
 import org.wso2.carbon.apimgt.impl.importexport.ImportExportConstants;
 
-import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
@@ -62,6 +63,7 @@ import java.util.zip.ZipOutputStream;
  */
 public class CommonUtil {
     private static final Log log = LogFactory.getLog(CommonUtil.class);
+    private static final int ARCHIVE_BUFFER_SIZE = 64 * 1024;
 
     /**
      * Create directory at the given path.
@@ -123,10 +125,30 @@ public class CommonUtil {
      */
     public static void archiveDirectory(String sourceDirectory) throws APIImportExportException {
 
+        try (OutputStream fileOutputStream = Files.newOutputStream(Paths.get(sourceDirectory + ".zip"))) {
+            archiveDirectory(sourceDirectory, fileOutputStream);
+        } catch (IOException e) {
+            String errorMessage = "I/O error while creating the archive of " + sourceDirectory;
+            throw new APIImportExportException(errorMessage, e);
+        }
+    }
+
+    /**
+     * Archive a directory into the given output stream, such as the response of an export request. Files are
+     * streamed into the archive one by one so that the archive is never held in memory or written to disk as a
+     * whole. The output stream is not closed by this method.
+     *
+     * @param sourceDirectory Source directory
+     * @param outputStream    Stream to write the archive into
+     * @throws APIImportExportException If an error occurs while adding files to the archive
+     */
+    public static void archiveDirectory(String sourceDirectory, OutputStream outputStream)
+            throws APIImportExportException {
+
         File directoryToZip = new File(sourceDirectory);
         List<File> fileList = new ArrayList<>();
         getAllFiles(directoryToZip, fileList);
-        writeArchiveFile(directoryToZip, fileList);
+        writeArchive(directoryToZip, fileList, outputStream);
 
         if (log.isDebugEnabled()) {
             log.debug("Archived API generated successfully from source: " + sourceDirectory);
@@ -153,19 +175,25 @@ public class CommonUtil {
     }
 
     /**
-     * Generate archive file.
+     * Write the archive to the given output stream. Entries are streamed into the archive one by one through a
+     * buffered stream.
      *
      * @param directoryToZip Location of the archive
      * @param fileList       List of files to be included in the archive
+     * @param outputStream   Stream to write the archive into
      * @throws APIImportExportException If an error occurs while adding files to the archive
      */
-    private static void writeArchiveFile(File directoryToZip, List<File> fileList) throws APIImportExportException {
+    private static void writeArchive(File directoryToZip, List<File> fileList, OutputStream outputStream)
+            throws APIImportExportException {
 
-        try (FileOutputStream fileOutputStream = new FileOutputStream(directoryToZip.getPath() + ".zip");
-                ZipOutputStream zipOutputStream = new ZipOutputStream(fileOutputStream)) {
+        // Closing the zip stream writes the central directory, the shield keeps the caller's stream open
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(
+                new BufferedOutputStream(new CloseShieldOutputStream(outputStream), ARCHIVE_BUFFER_SIZE))) {
+            // Resolved once for the whole archive instead of once per entry
+            String basePath = directoryToZip.getCanonicalPath();
             for (File file : fileList) {
                 if (!file.isDirectory()) {
-                    addToArchive(directoryToZip, file, zipOutputStream);
+                    addToArchive(basePath, file, zipOutputStream);
                 }
             }
         } catch (IOException e) {
@@ -177,24 +205,24 @@ public class CommonUtil {
     /**
      * Add files of the directory to the archive.
      *
-     * @param directoryToZip  Location of the archive
+     * @param basePath        Canonical path of the directory being archived
      * @param file            File to be included in the archive
      * @param zipOutputStream Output stream
      * @throws APIImportExportException If an error occurs while writing files to the archive
      */
-    private static void addToArchive(File directoryToZip, File file, ZipOutputStream zipOutputStream)
+    private static void addToArchive(String basePath, File file, ZipOutputStream zipOutputStream)
             throws APIImportExportException {
 
-        try (FileInputStream fileInputStream = new FileInputStream(file)) {
+        try {
             // Get relative path from archive directory to the specific file
-            String zipFilePath = file.getCanonicalPath().substring(directoryToZip.getCanonicalPath().length() + 1);
+            String zipFilePath = file.getCanonicalPath().substring(basePath.length() + 1);
             if (File.separatorChar != ImportExportConstants.ZIP_FILE_SEPARATOR) {
                 zipFilePath = zipFilePath.replace(File.separatorChar, ImportExportConstants.ZIP_FILE_SEPARATOR);
             }
             ZipEntry zipEntry = new ZipEntry(zipFilePath);
             zipOutputStream.putNextEntry(zipEntry);
 
-            IOUtils.copy(fileInputStream, zipOutputStream);
+            Files.copy(file.toPath(), zipOutputStream);
 
             zipOutputStream.closeEntry();
         } catch (IOException e) {
@@ -278,12 +306,9 @@ public class CommonUtil {
     public static void transferFile(InputStream uploadedInputStream, String newFileName, String storageLocation)
             throws APIImportExportException {
 
-        try (FileOutputStream outFileStream = new FileOutputStream(new File(storageLocation, newFileName))) {
-            int read;
-            byte[] bytes = new byte[1024];
-            while ((read = uploadedInputStream.read(bytes)) != -1) {
-                outFileStream.write(bytes, 0, read);
-            }
+        try {
+            Files.copy(uploadedInputStream, new File(storageLocation, newFileName).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
             String errorMessage = "Error in transferring files.";
             throw new APIImportExportException(errorMessage, e);
@@ -303,6 +328,7 @@ public class CommonUtil {
         String archiveName = null;
         try (ZipFile zip = new ZipFile(sourceFile)) {
 
+            String canonicalizedDestinationPath = new File(destination).getCanonicalPath();
             Enumeration zipFileEntries = zip.entries();
             int index = 0;
 
@@ -329,7 +355,7 @@ public class CommonUtil {
                 File destinationFile = new File(destination, currentEntry);
                 File destinationParent = destinationFile.getParentFile();
                 String canonicalizedDestinationFilePath = destinationFile.getCanonicalPath();
-                if (!canonicalizedDestinationFilePath.startsWith(new File(destination).getCanonicalPath())) {
+                if (!canonicalizedDestinationFilePath.startsWith(canonicalizedDestinationPath)) {
                     String errorMessage = "Attempt to upload invalid zip archive with file at " + currentEntry
                             + ". File path is outside target directory";
                     throw new APIImportExportException(errorMessage);
@@ -342,10 +368,8 @@ public class CommonUtil {
 
                 if (!entry.isDirectory()) {
                     // write the current file to the destination
-                    try (InputStream zipInputStream = zip.getInputStream(entry);
-                            BufferedInputStream inputStream = new BufferedInputStream(zipInputStream);
-                            FileOutputStream outputStream = new FileOutputStream(destinationFile)) {
-                        IOUtils.copy(inputStream, outputStream);
+                    try (InputStream zipInputStream = zip.getInputStream(entry)) {
+                        Files.copy(zipInputStream, destinationFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
                     }
                 }
             }
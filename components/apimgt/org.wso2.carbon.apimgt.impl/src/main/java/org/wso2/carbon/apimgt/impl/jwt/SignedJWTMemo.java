@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.impl.jwt;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded in-memory cache of parsed JWTs. Entries are keyed on a hash of the token signature, expire with the token
+ * and are only returned for the exact token they were created from. Parsing does not depend on any server side state,
+ * so the cache is local to the node and needs no invalidation. Validation results are kept in the token caches.
+ */
+public class SignedJWTMemo {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public SignedJWTMemo(int maxEntries) {
+
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the parsed form of the given token, parsing it only if it is not cached yet.
+     *
+     * @param token serialized JWT
+     * @return signed JWT info of the token
+     * @throws ParseException if the token is not a signed JWT
+     */
+    public SignedJWTInfo getSignedJWTInfo(String token) throws ParseException {
+
+        return getSignedJWTInfo(token, System.currentTimeMillis());
+    }
+
+    SignedJWTInfo getSignedJWTInfo(String token, long now) throws ParseException {
+
+        String key = getSignatureHash(token);
+        Entry entry = getEntry(key, token, now);
+        if (entry != null) {
+            return entry.signedJWTInfo;
+        }
+        SignedJWT signedJWT = SignedJWT.parse(token);
+        JWTClaimsSet jwtClaimsSet = signedJWT.getJWTClaimsSet();
+        SignedJWTInfo signedJWTInfo = new SignedJWTInfo(token, signedJWT, jwtClaimsSet);
+        Date expirationTime = jwtClaimsSet.getExpirationTime();
+        if (expirationTime != null && expirationTime.getTime() > now) {
+            put(key, new Entry(token, signedJWTInfo, expirationTime.getTime()), now);
+        }
+        return signedJWTInfo;
+    }
+
+    int size() {
+
+        return entries.size();
+    }
+
+    private Entry getEntry(String key, String token, long now) {
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiryTime <= now) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.token.equals(token) ? entry : null;
+    }
+
+    private void put(String key, Entry entry, long now) {
+
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evict(now);
+        }
+        entries.put(key, entry);
+    }
+
+    /**
+     * Remove expired tokens. If the bound is still exceeded, arbitrary tokens are removed until a tenth of the
+     * capacity is free, so that eviction does not run on every new token.
+     */
+    private synchronized void evict(long now) {
+
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.expiryTime <= now);
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static String getSignatureHash(String token) {
+
+        return DigestUtils.sha256Hex(token.substring(token.lastIndexOf('.') + 1));
+    }
+
+    private static final class Entry {
+
+        private final String token;
+        private final SignedJWTInfo signedJWTInfo;
+        private final long expiryTime;
+
+        private Entry(String token, SignedJWTInfo signedJWTInfo, long expiryTime) {
+
+            this.token = token;
+            this.signedJWTInfo = signedJWTInfo;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
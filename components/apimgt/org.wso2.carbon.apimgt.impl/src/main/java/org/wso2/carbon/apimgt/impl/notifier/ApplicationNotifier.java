@@ -19,6 +19,7 @@
 package org.wso2.carbon.apimgt.impl.notifier;
 
 import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.caching.ApplicationCountCache;
 import org.wso2.carbon.apimgt.impl.notifier.events.Event;
 import org.wso2.carbon.apimgt.impl.notifier.exceptions.NotifierException;
 
@@ -31,6 +32,7 @@ public class ApplicationNotifier extends AbstractNotifier {
     @Override
     public boolean publishEvent(Event event) throws NotifierException {
 
+        ApplicationCountCache.getInstance().invalidate(event.getTenantDomain());
         publishEventToEventHub(event);
         return true;
     }
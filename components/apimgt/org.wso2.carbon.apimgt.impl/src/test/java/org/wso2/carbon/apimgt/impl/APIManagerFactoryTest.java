@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.impl;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.wso2.carbon.apimgt.api.APIConsumer;
+import org.wso2.carbon.metrics.manager.Counter;
+import org.wso2.carbon.metrics.manager.Level;
+import org.wso2.carbon.metrics.manager.MetricManager;
+import org.wso2.carbon.metrics.manager.Timer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({MetricManager.class, Timer.Context.class})
+public class APIManagerFactoryTest {
+
+    private Counter hits;
+    private Counter misses;
+    private Timer creationTimer;
+
+    @Before
+    public void init() {
+        hits = Mockito.mock(Counter.class);
+        misses = Mockito.mock(Counter.class);
+        creationTimer = Mockito.mock(Timer.class);
+        Mockito.when(creationTimer.start()).thenReturn(Mockito.mock(Timer.Context.class));
+        PowerMockito.mockStatic(MetricManager.class);
+        PowerMockito.when(MetricManager.name(APIConstants.METRICS_PREFIX, "APIManagerFactory", "CONSUMER_CACHE_HIT"))
+                .thenReturn("hits");
+        PowerMockito.when(MetricManager.name(APIConstants.METRICS_PREFIX, "APIManagerFactory", "CONSUMER_CACHE_MISS"))
+                .thenReturn("misses");
+        PowerMockito.when(MetricManager.name(APIConstants.METRICS_PREFIX, "APIManagerFactory", "CONSUMER_CREATE"))
+                .thenReturn("create");
+        PowerMockito.when(MetricManager.counter(Level.INFO, "hits")).thenReturn(hits);
+        PowerMockito.when(MetricManager.counter(Level.INFO, "misses")).thenReturn(misses);
+        PowerMockito.when(MetricManager.timer(Level.INFO, "create")).thenReturn(creationTimer);
+    }
+
+    @After
+    public void cleanup() {
+        APIManagerFactory.getInstance().clearAll();
+    }
+
+    @Test
+    public void testConsumerIsCachedAndMetricsAreResolvedOnce() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        APIManagerFactory.ConsumerCreator consumerCreator = () -> {
+            created.incrementAndGet();
+            return Mockito.mock(APIConsumer.class);
+        };
+        APIManagerFactory apiManagerFactory = APIManagerFactory.getInstance();
+
+        APIConsumer consumer = apiManagerFactory.getAPIConsumerFromCache("admin@carbon.super", consumerCreator);
+        Assert.assertSame(consumer, apiManagerFactory.getAPIConsumerFromCache("admin@carbon.super", consumerCreator));
+        Assert.assertSame(consumer, apiManagerFactory.getAPIConsumerFromCache("admin@carbon.super", consumerCreator));
+        apiManagerFactory.getAPIConsumerFromCache("alice@carbon.super", consumerCreator);
+
+        Assert.assertEquals(2, created.get());
+        Mockito.verify(misses, Mockito.times(2)).inc();
+        Mockito.verify(hits, Mockito.times(2)).inc();
+        Mockito.verify(creationTimer, Mockito.times(2)).start();
+        // the metrics are looked up on the first call only
+        PowerMockito.verifyStatic(MetricManager.class, Mockito.times(1));
+        MetricManager.counter(Level.INFO, "hits");
+        PowerMockito.verifyStatic(MetricManager.class, Mockito.times(1));
+        MetricManager.counter(Level.INFO, "misses");
+        PowerMockito.verifyStatic(MetricManager.class, Mockito.times(1));
+        MetricManager.timer(Level.INFO, "create");
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.impl.caching;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for ApplicationCountCache.
+ */
+public class ApplicationCountCacheTest {
+
+    @Test
+    public void testCountIsCachedPerSubscriberAndGroup() {
+
+        ApplicationCountCache cache = ApplicationCountCache.getInstance();
+        String key = ApplicationCountCache.getKey("admin", "group1", "");
+        cache.put("cache.test.com", key, 12, cache.getGeneration("cache.test.com"));
+        Assert.assertEquals(Integer.valueOf(12), cache.get("cache.test.com", key));
+        Assert.assertNull(cache.get("cache.test.com", ApplicationCountCache.getKey("admin", "group2", "")));
+        Assert.assertNull(cache.get("other.test.com", key));
+    }
+
+    @Test
+    public void testInvalidateDropsCountsOfTenant() {
+
+        ApplicationCountCache cache = ApplicationCountCache.getInstance();
+        String key = ApplicationCountCache.getKey("subscriber", "null", "app");
+        cache.put("invalidate.test.com", key, 3, cache.getGeneration("invalidate.test.com"));
+        cache.put("retain.test.com", key, 4, cache.getGeneration("retain.test.com"));
+        cache.invalidate("invalidate.test.com");
+        Assert.assertNull(cache.get("invalidate.test.com", key));
+        Assert.assertEquals(Integer.valueOf(4), cache.get("retain.test.com", key));
+    }
+
+    @Test
+    public void testCountComputedBeforeInvalidationIsNotCached() {
+
+        ApplicationCountCache cache = ApplicationCountCache.getInstance();
+        String key = ApplicationCountCache.getKey("subscriber", "null", "");
+        long generation = cache.getGeneration("race.test.com");
+        // an application is created while the count is being read from the database
+        cache.invalidate("race.test.com");
+        cache.put("race.test.com", key, 5, generation);
+        Assert.assertNull(cache.get("race.test.com", key));
+
+        cache.put("race.test.com", key, 6, cache.getGeneration("race.test.com"));
+        Assert.assertEquals(Integer.valueOf(6), cache.get("race.test.com", key));
+    }
+
+    @Test
+    public void testFullTenantEvictsEntriesInsteadOfDroppingAll() {
+
+        ApplicationCountCache cache = ApplicationCountCache.getInstance();
+        String tenantDomain = "full.test.com";
+        int entries = 10000;
+        for (int i = 0; i < entries; i++) {
+            cache.put(tenantDomain, ApplicationCountCache.getKey("user" + i, "null", ""), i,
+                    cache.getGeneration(tenantDomain));
+        }
+        String newKey = ApplicationCountCache.getKey("newUser", "null", "");
+        cache.put(tenantDomain, newKey, 1, cache.getGeneration(tenantDomain));
+        Assert.assertEquals(Integer.valueOf(1), cache.get(tenantDomain, newKey));
+        int retained = 0;
+        for (int i = 0; i < entries; i++) {
+            if (cache.get(tenantDomain, ApplicationCountCache.getKey("user" + i, "null", "")) != null) {
+                retained++;
+            }
+        }
+        Assert.assertTrue("Only a batch of counts should be evicted", retained >= entries - entries / 10);
+    }
+}
@@ -1224,6 +1224,60 @@ public class APIMgtDAOTest {
         apiMgtDAO.unSubscribeAlerts("admin","publisher");
     }
 
+    @Test
+    public void testGetApplicationsWithPaginationAcrossQueryChunks() throws Exception {
+        // Page details are read with IN queries of at most 500 application ids
+        int applicationCount = 501;
+        Subscriber subscriber = new Subscriber("chunked_page_user");
+        subscriber.setEmail("chunked_page_user@wso2.com");
+        subscriber.setSubscribedDate(new Date());
+        subscriber.setTenantId(MultitenantConstants.SUPER_TENANT_ID);
+        apiMgtDAO.addSubscriber(subscriber, null);
+        Application firstApplication = null;
+        Application lastApplication = null;
+        for (int i = 0; i < applicationCount; i++) {
+            String name = String.format("chunkedPageApp%04d", i);
+            Application application = new Application(name, subscriber);
+            Map<String, String> attributes = new HashMap<>();
+            attributes.put("index", name);
+            application.setApplicationAttributes(attributes);
+            application.setId(apiMgtDAO.addApplication(application, subscriber.getName(), "testOrg"));
+            if (i == 0) {
+                firstApplication = application;
+            }
+            lastApplication = application;
+        }
+        API api = new API(new APIIdentifier("chunkedPageProvider", "ChunkedPageAPI", "1.0.0"));
+        api.setContext("/chunkedPage");
+        api.setContextTemplate("/chunkedPage/{version}");
+        api.setVersionTimestamp(String.valueOf(System.currentTimeMillis()));
+        api.getId().setId(apiMgtDAO.addAPI(api, MultitenantConstants.SUPER_TENANT_ID, "testOrg"));
+        apiMgtDAO.addSubscription(new ApiTypeWrapper(api), firstApplication,
+                APIConstants.SubscriptionStatus.UNBLOCKED, subscriber.getName());
+        apiMgtDAO.addSubscription(new ApiTypeWrapper(api), lastApplication,
+                APIConstants.SubscriptionStatus.UNBLOCKED, subscriber.getName());
+
+        // A page of exactly one chunk, a page ending on the chunk boundary and a page spilling into a second chunk
+        assertApplicationPage(subscriber, 0, 500, 0);
+        assertApplicationPage(subscriber, 1, 500, 1);
+        assertApplicationPage(subscriber, 0, applicationCount, 0);
+    }
+
+    private void assertApplicationPage(Subscriber subscriber, int start, int limit, int firstIndex)
+            throws APIManagementException {
+        Application[] page = apiMgtDAO.getApplicationsWithPagination(subscriber, null, start, limit,
+                "chunkedPageApp", "NAME", "asc", "testOrg");
+        assertEquals(limit, page.length);
+        for (int i = 0; i < page.length; i++) {
+            int index = firstIndex + i;
+            String name = String.format("chunkedPageApp%04d", index);
+            assertEquals(name, page[i].getName());
+            assertEquals(name, page[i].getApplicationAttributes().get("index"));
+            int expectedSubscriptions = index == 0 || index == 500 ? 1 : 0;
+            assertEquals(name, expectedSubscriptions, page[i].getSubscriptionCount());
+        }
+    }
+
     @Test
     public void testAddAndGetApi() throws Exception{
         APIIdentifier apiIdentifier = new APIIdentifier("testAddAndGetApi",
@@ -20,6 +20,7 @@ package org.wso2.carbon.apimgt.impl.dao.test;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.impl.builder.StAXOMBuilder;
 import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
@@ -206,4 +207,70 @@ public class GatewayArtifactsMgtDAOTest {
         Assert.assertNotNull(artifact);
         Assert.assertEquals(context, artifacts.get(0).getContext());
     }
+
+    @Test
+    public void testRetrieveGatewayArtifactsByLabelReadsArtifactOnCacheMiss() throws Exception {
+        String uuid = UUID.randomUUID().toString();
+        String name = "cachedapiname";
+        String version = "1.0.0";
+        String revision = UUID.randomUUID().toString();
+        URL resource = getClass().getClassLoader().getResource("admin-PizzaShackAPI-1.0.0.zip");
+        File file = new File(resource.getPath());
+        byte[] content = FileUtils.readFileToByteArray(file);
+        gatewayArtifactsMgtDAO.addGatewayAPIArtifactAndMetaData(uuid, name, version, revision, "carbon.super",
+                APIConstants.HTTP_PROTOCOL, file);
+
+        API api = new API(new APIIdentifier("test-provider", name, version));
+        api.setContext("/cachedcontext");
+        api.setContextTemplate("/cachedcontext/{version}");
+        api.setUUID(uuid);
+        apiMgtDAO.addAPI(api, -1234, "testOrg");
+        Map<String, String> gatewayVhosts = new HashMap<>();
+        gatewayVhosts.put("cachelabel", "dev.wso2.com");
+        gatewayArtifactsMgtDAO.addAndRemovePublishedGatewayLabels(uuid, revision, Collections.asSet("cachelabel"),
+                gatewayVhosts);
+
+        // The first read misses the cache and reads the blob, the second one is served from the cache
+        for (int i = 0; i < 2; i++) {
+            List<APIRuntimeArtifactDto> artifacts = gatewayArtifactsMgtDAO.retrieveGatewayArtifactsByLabel(
+                    new String[]{"cachelabel"}, "carbon.super");
+            Assert.assertEquals(1, artifacts.size());
+            APIRuntimeArtifactDto artifact = artifacts.get(0);
+            Assert.assertArrayEquals(content, IOUtils.toByteArray((InputStream) artifact.getArtifact()));
+            Assert.assertEquals(DigestUtils.sha256Hex(content), artifact.getContentHash());
+        }
+    }
+
+    @Test
+    public void testUpdateGatewayArtifactTimeStampMarksRevisionsModified() throws Exception {
+        String uuid = UUID.randomUUID().toString();
+        String name = "envpropsapiname";
+        String version = "1.0.0";
+        String revision = UUID.randomUUID().toString();
+        URL resource = getClass().getClassLoader().getResource("admin-PizzaShackAPI-1.0.0.zip");
+        File file = new File(resource.getPath());
+        gatewayArtifactsMgtDAO.addGatewayAPIArtifactAndMetaData(uuid, name, version, revision, "carbon.super",
+                APIConstants.HTTP_PROTOCOL, file);
+
+        API api = new API(new APIIdentifier("test-provider", name, version));
+        api.setContext("/envpropscontext");
+        api.setContextTemplate("/envpropscontext/{version}");
+        api.setUUID(uuid);
+        apiMgtDAO.addAPI(api, -1234, "testOrg");
+        Map<String, String> gatewayVhosts = new HashMap<>();
+        gatewayVhosts.put("envpropslabel", "dev.wso2.com");
+        gatewayArtifactsMgtDAO.addAndRemovePublishedGatewayLabels(uuid, revision, Collections.asSet("envpropslabel"),
+                gatewayVhosts);
+
+        APIRuntimeArtifactDto before = gatewayArtifactsMgtDAO.retrieveGatewayArtifactsByLabel(
+                new String[]{"envpropslabel"}, "carbon.super").get(0);
+        // Make sure the updated timestamp differs from the one set when the artifact was added
+        Thread.sleep(10);
+        gatewayArtifactsMgtDAO.updateGatewayArtifactTimeStamp(uuid);
+        APIRuntimeArtifactDto after = gatewayArtifactsMgtDAO.retrieveGatewayArtifactsByLabel(
+                new String[]{"envpropslabel"}, "carbon.super").get(0);
+
+        Assert.assertTrue(after.getArtifactTimeStamp() > before.getArtifactTimeStamp());
+        Assert.assertEquals(before.getContentHash(), after.getContentHash());
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.impl.gatewayartifactsynchronizer;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RuntimeArtifactCacheTest {
+
+    @Test
+    public void testHitOnlyWhileTimeStampMatches() {
+
+        RuntimeArtifactCache cache = new RuntimeArtifactCache(1024);
+        byte[] content = new byte[]{1, 2, 3};
+        cache.put("api1", "rev1", 1000L, content);
+
+        RuntimeArtifactCache.CachedArtifact cachedArtifact = cache.get("api1", "rev1", 1000L);
+        Assert.assertNotNull(cachedArtifact);
+        Assert.assertArrayEquals(content, cachedArtifact.getContent());
+        Assert.assertEquals(DigestUtils.sha256Hex(content), cachedArtifact.getContentHash());
+        // The artifact was rewritten in the database
+        Assert.assertNull(cache.get("api1", "rev1", 2000L));
+        Assert.assertNull(cache.get("api1", "rev2", 1000L));
+        Assert.assertNull(cache.get("api2", "rev1", 1000L));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedRevisionsAreEvictedBeyondCapacity() {
+
+        RuntimeArtifactCache cache = new RuntimeArtifactCache(10);
+        cache.put("api1", "rev1", 1L, new byte[4]);
+        cache.put("api2", "rev1", 1L, new byte[4]);
+        // Reading api1 makes api2 the least recently used revision
+        Assert.assertNotNull(cache.get("api1", "rev1", 1L));
+        cache.put("api3", "rev1", 1L, new byte[4]);
+
+        Assert.assertNotNull(cache.get("api1", "rev1", 1L));
+        Assert.assertNull(cache.get("api2", "rev1", 1L));
+        Assert.assertNotNull(cache.get("api3", "rev1", 1L));
+    }
+
+    @Test
+    public void testArtifactLargerThanCapacityIsNotCached() {
+
+        RuntimeArtifactCache cache = new RuntimeArtifactCache(10);
+        cache.put("api1", "rev1", 1L, new byte[4]);
+        RuntimeArtifactCache.CachedArtifact cachedArtifact = cache.put("api2", "rev1", 1L, new byte[11]);
+
+        // The content hash is still computed for the caller
+        Assert.assertEquals(DigestUtils.sha256Hex(new byte[11]), cachedArtifact.getContentHash());
+        Assert.assertNull(cache.get("api2", "rev1", 1L));
+        Assert.assertNotNull(cache.get("api1", "rev1", 1L));
+    }
+
+    @Test
+    public void testReplacedAndInvalidatedEntriesReleaseCapacity() {
+
+        RuntimeArtifactCache cache = new RuntimeArtifactCache(10);
+        cache.put("api1", "rev1", 1L, new byte[6]);
+        cache.put("api1", "rev1", 2L, new byte[6]);
+        cache.put("api1", "rev2", 1L, new byte[4]);
+        Assert.assertNotNull(cache.get("api1", "rev1", 2L));
+        Assert.assertNotNull(cache.get("api1", "rev2", 1L));
+
+        cache.invalidate("api1", "rev1");
+        Assert.assertNull(cache.get("api1", "rev1", 2L));
+        cache.put("api2", "rev1", 1L, new byte[6]);
+        Assert.assertNotNull(cache.get("api1", "rev2", 1L));
+
+        cache.invalidate("api1");
+        Assert.assertNull(cache.get("api1", "rev2", 1L));
+        Assert.assertNotNull(cache.get("api2", "rev1", 1L));
+
+        cache.invalidateAll();
+        Assert.assertNull(cache.get("api2", "rev1", 1L));
+        cache.put("api3", "rev1", 1L, new byte[10]);
+        Assert.assertNotNull(cache.get("api3", "rev1", 1L));
+    }
+}
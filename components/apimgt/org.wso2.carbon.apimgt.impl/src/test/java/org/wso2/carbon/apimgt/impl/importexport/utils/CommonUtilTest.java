@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.impl.importexport.utils;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+public class CommonUtilTest {
+
+    private Path workingDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+
+        workingDirectory = Files.createTempDirectory("common-util-test");
+    }
+
+    @After
+    public void tearDown() {
+
+        FileUtils.deleteQuietly(workingDirectory.toFile());
+    }
+
+    @Test
+    public void testArchiveDirectoryWritesAllFilesWithRelativePaths() throws Exception {
+
+        Path sourceDirectory = workingDirectory.resolve("PizzaShackAPI-1.0.0");
+        Files.createDirectories(sourceDirectory.resolve("Definitions"));
+        Files.createDirectories(sourceDirectory.resolve("Docs").resolve("empty"));
+        Files.write(sourceDirectory.resolve("api.yaml"), "name: PizzaShackAPI".getBytes(StandardCharsets.UTF_8));
+        Files.write(sourceDirectory.resolve("Definitions").resolve("swagger.yaml"),
+                "openapi: 3.0.1".getBytes(StandardCharsets.UTF_8));
+        // Larger than the archive buffer so that the entry is streamed in several writes
+        byte[] largeContent = new byte[200 * 1024];
+        for (int i = 0; i < largeContent.length; i++) {
+            largeContent[i] = (byte) i;
+        }
+        Files.write(sourceDirectory.resolve("Definitions").resolve("large.bin"), largeContent);
+
+        CommonUtil.archiveDirectory(sourceDirectory.toString());
+
+        File archive = new File(sourceDirectory + ".zip");
+        Assert.assertTrue(archive.exists());
+        Map<String, byte[]> entries = readEntries(archive);
+        Assert.assertEquals(3, entries.size());
+        Assert.assertEquals("name: PizzaShackAPI", new String(entries.get("api.yaml"), StandardCharsets.UTF_8));
+        Assert.assertEquals("openapi: 3.0.1",
+                new String(entries.get("Definitions/swagger.yaml"), StandardCharsets.UTF_8));
+        Assert.assertArrayEquals(largeContent, entries.get("Definitions/large.bin"));
+    }
+
+    @Test
+    public void testArchiveDirectoryOfEmptyDirectory() throws Exception {
+
+        Path sourceDirectory = Files.createDirectories(workingDirectory.resolve("EmptyAPI-1.0.0"));
+
+        CommonUtil.archiveDirectory(sourceDirectory.toString());
+
+        Assert.assertTrue(readEntries(new File(sourceDirectory + ".zip")).isEmpty());
+    }
+
+    @Test
+    public void testArchiveDirectoryIntoStreamLeavesStreamOpen() throws Exception {
+
+        Path sourceDirectory = Files.createDirectories(workingDirectory.resolve("StreamedAPI-1.0.0"));
+        Files.write(sourceDirectory.resolve("api.yaml"), "name: StreamedAPI".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+
+            @Override
+            public void close() {
+
+                Assert.fail("The caller's stream must not be closed");
+            }
+        };
+
+        CommonUtil.archiveDirectory(sourceDirectory.toString(), outputStream);
+
+        Assert.assertFalse("No archive file should be written", new File(sourceDirectory + ".zip").exists());
+        Map<String, byte[]> entries = new HashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(
+                new ByteArrayInputStream(outputStream.toByteArray()))) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zipInputStream.getNextEntry()) != null) {
+                entries.put(zipEntry.getName(), IOUtils.toByteArray(zipInputStream));
+            }
+        }
+        Assert.assertEquals(1, entries.size());
+        Assert.assertEquals("name: StreamedAPI", new String(entries.get("api.yaml"), StandardCharsets.UTF_8));
+    }
+
+    private Map<String, byte[]> readEntries(File archive) throws IOException {
+
+        Map<String, byte[]> entries = new HashMap<>();
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry zipEntry = zipEntries.nextElement();
+                try (InputStream inputStream = zipFile.getInputStream(zipEntry)) {
+                    entries.put(zipEntry.getName(), IOUtils.toByteArray(inputStream));
+                }
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.impl.jwt;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Test cases for SignedJWTMemo.
+ */
+public class SignedJWTMemoTest {
+
+    private static final long NOW = 1700000000000L;
+    private static final long EXPIRY = NOW + 3600000L;
+
+    @Test
+    public void testParsedTokenIsReused() throws Exception {
+
+        SignedJWTMemo memo = new SignedJWTMemo(10);
+        String token = createToken("admin", EXPIRY, "c2lnbmF0dXJl");
+        SignedJWTInfo signedJWTInfo = memo.getSignedJWTInfo(token, NOW);
+        Assert.assertEquals("admin", signedJWTInfo.getJwtClaimsSet().getSubject());
+        Assert.assertSame(signedJWTInfo, memo.getSignedJWTInfo(token, NOW));
+        Assert.assertNotSame(signedJWTInfo, memo.getSignedJWTInfo(token, EXPIRY));
+    }
+
+    @Test
+    public void testParsedTokenIsOnlyReturnedForTheSameToken() throws Exception {
+
+        SignedJWTMemo memo = new SignedJWTMemo(10);
+        memo.getSignedJWTInfo(createToken("admin", EXPIRY, "c2lnbmF0dXJl"), NOW);
+
+        String forgedToken = createToken("attacker", EXPIRY, "c2lnbmF0dXJl");
+        Assert.assertEquals("attacker", memo.getSignedJWTInfo(forgedToken, NOW).getJwtClaimsSet().getSubject());
+    }
+
+    @Test
+    public void testMemoIsBounded() throws Exception {
+
+        SignedJWTMemo memo = new SignedJWTMemo(10);
+        for (int i = 0; i < 25; i++) {
+            memo.getSignedJWTInfo(createToken("user" + i, EXPIRY, "c2lnbmF0dXJl" + i), NOW);
+            Assert.assertTrue(memo.size() <= 10);
+        }
+    }
+
+    private String createToken(String subject, long expiry, String signature) {
+
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = "{\"alg\":\"RS256\",\"typ\":\"JWT\"}";
+        String payload = "{\"sub\":\"" + subject + "\",\"iss\":\"https://localhost:9443/oauth2/token\",\"exp\":"
+                + expiry / 1000 + "}";
+        return encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + signature;
+    }
+}
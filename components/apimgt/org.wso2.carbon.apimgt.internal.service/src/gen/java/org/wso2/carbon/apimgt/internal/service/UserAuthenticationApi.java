@@ -0,0 +1,51 @@
+package org.wso2.carbon.apimgt.internal.service;
+
+import org.wso2.carbon.apimgt.internal.service.dto.ErrorDTO;
+import org.wso2.carbon.apimgt.internal.service.dto.UserAuthenticationInfoDTO;
+import org.wso2.carbon.apimgt.internal.service.dto.UserCredentialsDTO;
+import org.wso2.carbon.apimgt.internal.service.UserAuthenticationApiService;
+import org.wso2.carbon.apimgt.internal.service.impl.UserAuthenticationApiServiceImpl;
+import org.wso2.carbon.apimgt.api.APIManagementException;
+
+import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.inject.Inject;
+
+import io.swagger.annotations.*;
+import java.io.InputStream;
+
+import org.apache.cxf.jaxrs.ext.MessageContext;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.apache.cxf.jaxrs.ext.multipart.Multipart;
+
+import java.util.Map;
+import java.util.List;
+import javax.validation.constraints.*;
+@Path("/user-authentication")
+
+@Api(description = "the user-authentication API")
+
+@Produces({ "application/json" })
+
+
+public class UserAuthenticationApi  {
+
+  @Context MessageContext securityContext;
+
+UserAuthenticationApiService delegate = new UserAuthenticationApiServiceImpl();
+
+
+    @POST
+    
+    
+    @Produces({ "application/json" })
+    @ApiOperation(value = "Authenticate a user and retrieve the roles of the user.", notes = "This validates the given user credentials against the user store and returns the domain qualified username and the role list of the user in a single call. ", response = UserAuthenticationInfoDTO.class, tags={ "User Authentication" })
+    @ApiResponses(value = { 
+        @ApiResponse(code = 200, message = "User authentication information", response = UserAuthenticationInfoDTO.class),
+        @ApiResponse(code = 200, message = "Unexpected error", response = ErrorDTO.class) })
+    public Response userAuthenticationPost(@ApiParam(value = "User credentials to be validated" ,required=true) UserCredentialsDTO body) throws APIManagementException{
+        return delegate.userAuthenticationPost(body, securityContext);
+    }
+}
@@ -0,0 +1,121 @@
+package org.wso2.carbon.apimgt.internal.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.constraints.*;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+
+import javax.xml.bind.annotation.*;
+import org.wso2.carbon.apimgt.rest.api.common.annotations.Scope;
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+
+
+public class UserAuthenticationInfoDTO   {
+  
+    private Boolean authenticated = null;
+    private String domainQualifiedUsername = null;
+    private List<String> roles = new ArrayList<>();
+
+  /**
+   * Whether the given credentials are valid.
+   **/
+  public UserAuthenticationInfoDTO authenticated(Boolean authenticated) {
+    this.authenticated = authenticated;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "Whether the given credentials are valid.")
+  @JsonProperty("authenticated")
+  public Boolean isAuthenticated() {
+    return authenticated;
+  }
+  public void setAuthenticated(Boolean authenticated) {
+    this.authenticated = authenticated;
+  }
+
+  /**
+   * User store domain qualified username.
+   **/
+  public UserAuthenticationInfoDTO domainQualifiedUsername(String domainQualifiedUsername) {
+    this.domainQualifiedUsername = domainQualifiedUsername;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "User store domain qualified username.")
+  @JsonProperty("domainQualifiedUsername")
+  public String getDomainQualifiedUsername() {
+    return domainQualifiedUsername;
+  }
+  public void setDomainQualifiedUsername(String domainQualifiedUsername) {
+    this.domainQualifiedUsername = domainQualifiedUsername;
+  }
+
+  /**
+   * Roles of the user.
+   **/
+  public UserAuthenticationInfoDTO roles(List<String> roles) {
+    this.roles = roles;
+    return this;
+  }
+
+  
+  @ApiModelProperty(value = "Roles of the user.")
+  @JsonProperty("roles")
+  public List<String> getRoles() {
+    return roles;
+  }
+  public void setRoles(List<String> roles) {
+    this.roles = roles;
+  }
+
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    UserAuthenticationInfoDTO userAuthenticationInfo = (UserAuthenticationInfoDTO) o;
+    return Objects.equals(authenticated, userAuthenticationInfo.authenticated) &&
+        Objects.equals(domainQualifiedUsername, userAuthenticationInfo.domainQualifiedUsername) &&
+        Objects.equals(roles, userAuthenticationInfo.roles);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(authenticated, domainQualifiedUsername, roles);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class UserAuthenticationInfoDTO {\n");
+    
+    sb.append("    authenticated: ").append(toIndentedString(authenticated)).append("\n");
+    sb.append("    domainQualifiedUsername: ").append(toIndentedString(domainQualifiedUsername)).append("\n");
+    sb.append("    roles: ").append(toIndentedString(roles)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
@@ -0,0 +1,100 @@
+package org.wso2.carbon.apimgt.internal.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import javax.validation.constraints.*;
+
+
+import io.swagger.annotations.*;
+import java.util.Objects;
+
+import javax.xml.bind.annotation.*;
+import org.wso2.carbon.apimgt.rest.api.common.annotations.Scope;
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+
+
+public class UserCredentialsDTO   {
+  
+    private String username = null;
+    private String password = null;
+
+  /**
+   * Tenant qualified username.
+   **/
+  public UserCredentialsDTO username(String username) {
+    this.username = username;
+    return this;
+  }
+
+  
+  @ApiModelProperty(required = true, value = "Tenant qualified username.")
+  @JsonProperty("username")
+  @NotNull
+  public String getUsername() {
+    return username;
+  }
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  /**
+   * Password of the user.
+   **/
+  public UserCredentialsDTO password(String password) {
+    this.password = password;
+    return this;
+  }
+
+  
+  @ApiModelProperty(required = true, value = "Password of the user.")
+  @JsonProperty("password")
+  @NotNull
+  public String getPassword() {
+    return password;
+  }
+  public void setPassword(String password) {
+    this.password = password;
+  }
+
+
+  @Override
+  public boolean equals(java.lang.Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    UserCredentialsDTO userCredentials = (UserCredentialsDTO) o;
+    return Objects.equals(username, userCredentials.username) &&
+        Objects.equals(password, userCredentials.password);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(username, password);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class UserCredentialsDTO {\n");
+    
+    sb.append("    username: ").append(toIndentedString(username)).append("\n");
+    sb.append("    password: ").append(toIndentedString("*****")).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces
+   * (except the first line).
+   */
+  private String toIndentedString(java.lang.Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
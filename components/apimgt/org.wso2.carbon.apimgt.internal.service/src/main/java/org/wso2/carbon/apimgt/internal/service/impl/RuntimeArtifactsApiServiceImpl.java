@@ -33,6 +33,8 @@ import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
 import org.wso2.carbon.apimgt.rest.api.util.utils.RestApiUtil;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 import java.io.File;
@@ -48,6 +50,8 @@ public class RuntimeArtifactsApiServiceImpl implements RuntimeArtifactsApiServic
                                         String name, String version, MessageContext messageContext)
             throws APIManagementException {
         RuntimeArtifactDto runtimeArtifactDto;
+        String ifNoneMatch = messageContext.getHttpHeaders() != null ?
+                messageContext.getHttpHeaders().getHeaderString(HttpHeaders.IF_NONE_MATCH) : null;
         xWSO2Tenant = SubscriptionValidationDataUtil.validateTenantDomain(xWSO2Tenant, messageContext);
         String organization = RestApiUtil.getOrganization(messageContext);
         if (StringUtils.isNotEmpty(organization) && !organization.equalsIgnoreCase(APIConstants.ORG_ALL_QUERY_PARAM)) {
@@ -56,12 +60,15 @@ public class RuntimeArtifactsApiServiceImpl implements RuntimeArtifactsApiServic
         if (StringUtils.isNotEmpty(organization) && organization.equalsIgnoreCase(APIConstants.ORG_ALL_QUERY_PARAM) &&
                 xWSO2Tenant.equalsIgnoreCase(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME)) {
             runtimeArtifactDto = RuntimeArtifactGeneratorUtil.generateAllRuntimeArtifact(apiId,
-                    name, version, gatewayLabel, type);
+                    name, version, gatewayLabel, type, ifNoneMatch);
         } else {
             runtimeArtifactDto = RuntimeArtifactGeneratorUtil.generateRuntimeArtifact(apiId,
-                    name, version, gatewayLabel, type, xWSO2Tenant);
+                    name, version, gatewayLabel, type, xWSO2Tenant, ifNoneMatch);
         }
         if (runtimeArtifactDto != null) {
+            if (runtimeArtifactDto.isNotModified()) {
+                return Response.notModified(new EntityTag(runtimeArtifactDto.getETag())).build();
+            }
             if (runtimeArtifactDto.isFile()) {
                 File artifact = (File) runtimeArtifactDto.getArtifact();
                 StreamingOutput streamingOutput = (outputStream) -> {
@@ -71,9 +78,13 @@ public class RuntimeArtifactsApiServiceImpl implements RuntimeArtifactsApiServic
                         Files.delete(artifact.toPath());
                     }
                 };
-                return Response.ok(streamingOutput).header(RestApiConstants.HEADER_CONTENT_DISPOSITION,
-                        "attachment; filename=apis.zip").header(RestApiConstants.HEADER_CONTENT_TYPE,
-                        APIConstants.APPLICATION_ZIP).build();
+                Response.ResponseBuilder responseBuilder = Response.ok(streamingOutput)
+                        .header(RestApiConstants.HEADER_CONTENT_DISPOSITION, "attachment; filename=apis.zip")
+                        .header(RestApiConstants.HEADER_CONTENT_TYPE, APIConstants.APPLICATION_ZIP);
+                if (runtimeArtifactDto.getETag() != null) {
+                    responseBuilder.tag(runtimeArtifactDto.getETag());
+                }
+                return responseBuilder.build();
             } else {
                 SynapseArtifactListDTO synapseArtifactListDTO = new SynapseArtifactListDTO();
                 if (runtimeArtifactDto.getArtifact() instanceof List) {
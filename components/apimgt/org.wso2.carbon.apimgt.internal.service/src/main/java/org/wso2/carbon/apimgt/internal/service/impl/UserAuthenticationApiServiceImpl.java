@@ -0,0 +1,44 @@
+package org.wso2.carbon.apimgt.internal.service.impl;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.cxf.jaxrs.ext.MessageContext;
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.impl.dto.BasicAuthValidationInfoDTO;
+import org.wso2.carbon.apimgt.impl.service.APIKeyMgtRemoteUserStoreMgtService;
+import org.wso2.carbon.apimgt.internal.service.UserAuthenticationApiService;
+import org.wso2.carbon.apimgt.internal.service.dto.UserAuthenticationInfoDTO;
+import org.wso2.carbon.apimgt.internal.service.dto.UserCredentialsDTO;
+import org.wso2.carbon.apimgt.rest.api.util.utils.RestApiUtil;
+
+import java.util.Arrays;
+
+import javax.ws.rs.core.Response;
+
+/**
+ * Validates basic auth credentials on behalf of the gateways. The authentication result and the role list of the
+ * user are returned together so that a gateway needs a single round trip per credential.
+ */
+public class UserAuthenticationApiServiceImpl implements UserAuthenticationApiService {
+
+    private static final Log log = LogFactory.getLog(UserAuthenticationApiServiceImpl.class);
+
+    @Override
+    public Response userAuthenticationPost(UserCredentialsDTO body, MessageContext messageContext)
+            throws APIManagementException {
+
+        if (body == null || StringUtils.isEmpty(body.getUsername()) || body.getPassword() == null) {
+            RestApiUtil.handleBadRequest("Username and password are required", log);
+        }
+        BasicAuthValidationInfoDTO validationInfo = new APIKeyMgtRemoteUserStoreMgtService()
+                .getUserAuthenticationInfo(body.getUsername(), body.getPassword());
+        UserAuthenticationInfoDTO userAuthenticationInfoDTO = new UserAuthenticationInfoDTO();
+        userAuthenticationInfoDTO.setAuthenticated(validationInfo.isAuthenticated());
+        userAuthenticationInfoDTO.setDomainQualifiedUsername(validationInfo.getDomainQualifiedUsername());
+        if (validationInfo.getUserRoleList() != null) {
+            userAuthenticationInfoDTO.setRoles(Arrays.asList(validationInfo.getUserRoleList()));
+        }
+        return Response.ok().entity(userAuthenticationInfoDTO).build();
+    }
+}
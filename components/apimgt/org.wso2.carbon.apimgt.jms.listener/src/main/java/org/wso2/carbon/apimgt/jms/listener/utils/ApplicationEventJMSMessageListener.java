@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.jms.listener.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.common.jms.JMSConstants;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.caching.ApplicationCountCache;
+
+import java.nio.charset.StandardCharsets;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageListener;
+import javax.jms.TextMessage;
+import javax.jms.Topic;
+
+/**
+ * The JMS Message Listener for application events. Drops the cached application counts of the tenant of the event, so
+ * that every node sees applications created, updated or deleted through another node.
+ */
+public class ApplicationEventJMSMessageListener implements MessageListener {
+
+    private static final Log log = LogFactory.getLog(ApplicationEventJMSMessageListener.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String TENANT_DOMAIN = "tenantDomain";
+
+    @Override
+    public void onMessage(Message message) {
+
+        try {
+            if (message == null) {
+                log.warn("Dropping the empty/null event received through jms receiver");
+                return;
+            }
+            if (!(message instanceof TextMessage)) {
+                log.warn("Event dropped due to unsupported message type " + message.getClass());
+                return;
+            }
+            Topic jmsDestination = (Topic) message.getJMSDestination();
+            if (!JMSConstants.TOPIC_NOTIFICATION.equalsIgnoreCase(jmsDestination.getTopicName())) {
+                return;
+            }
+            JsonNode payloadData = objectMapper.readTree(((TextMessage) message).getText())
+                    .path(APIConstants.EVENT_PAYLOAD).path(APIConstants.EVENT_PAYLOAD_DATA);
+            String eventType = payloadData.path(APIConstants.EVENT_TYPE).asText();
+            if (isApplicationEvent(eventType)) {
+                String eventJson = new String(Base64.decodeBase64(payloadData.path(APIConstants.EVENT_PAYLOAD)
+                        .asText()), StandardCharsets.UTF_8);
+                String tenantDomain = objectMapper.readTree(eventJson).path(TENANT_DOMAIN).asText(null);
+                if (log.isDebugEnabled()) {
+                    log.debug("Invalidating application counts of tenant " + tenantDomain + " on " + eventType);
+                }
+                ApplicationCountCache.getInstance().invalidate(tenantDomain);
+            }
+        } catch (JMSException | JsonProcessingException e) {
+            log.error("JMSException occurred when processing the received message ", e);
+        }
+    }
+
+    private static boolean isApplicationEvent(String eventType) {
+
+        return APIConstants.EventType.APPLICATION_CREATE.name().equals(eventType)
+                || APIConstants.EventType.APPLICATION_UPDATE.name().equals(eventType)
+                || APIConstants.EventType.APPLICATION_DELETE.name().equals(eventType);
+    }
+}
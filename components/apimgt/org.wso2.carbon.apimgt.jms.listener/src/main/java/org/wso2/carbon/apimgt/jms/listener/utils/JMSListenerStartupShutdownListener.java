@@ -68,6 +68,10 @@ public class JMSListenerStartupShutdownListener implements ServerStartupObserver
         if (migrationEnabled == null) {
             APIManagerConfiguration apimConfiguration = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
             if (apimConfiguration != null) {
+                if (jmsTransportHandlerForEventHub != null) {
+                    jmsTransportHandlerForEventHub.subscribeForJmsEvents(APIConstants.TopicNames.TOPIC_NOTIFICATION,
+                            new ApplicationEventJMSMessageListener());
+                }
                 String enableKeyManagerRetrieval =
                         apimConfiguration.getFirstProperty(APIConstants.ENABLE_KEY_MANAGER_RETRIVAL);
                 if (JavaUtils.isTrueExplicitly(enableKeyManagerRetrieval)) {
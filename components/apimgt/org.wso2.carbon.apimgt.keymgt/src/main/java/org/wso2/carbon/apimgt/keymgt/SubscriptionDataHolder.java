@@ -39,12 +39,7 @@ public class SubscriptionDataHolder {
 
     public SubscriptionDataStore registerTenantSubscriptionStore(String tenantDomain) {
 
-        SubscriptionDataStore tenantStore = subscriptionStore.get(tenantDomain);
-        if (tenantStore == null) {
-            tenantStore = new SubscriptionDataStoreImpl(tenantDomain);
-        }
-        subscriptionStore.put(tenantDomain, tenantStore);
-        return tenantStore;
+        return subscriptionStore.computeIfAbsent(tenantDomain, SubscriptionDataStoreImpl::new);
     }
 
     public void initializeSubscriptionStore(String tenantDomain) {
@@ -57,11 +52,23 @@ public class SubscriptionDataHolder {
 
     public void unregisterTenantSubscriptionStore(String tenantDomain) {
 
-        SubscriptionDataStore subscriptionDataStore = subscriptionStore.get(tenantDomain);
-        if (subscriptionDataStore!= null){
+        SubscriptionDataStore subscriptionDataStore = subscriptionStore.remove(tenantDomain);
+        if (subscriptionDataStore != null) {
             subscriptionDataStore.destroy();
         }
-        subscriptionStore.remove(tenantDomain);
+    }
+
+    /**
+     * Whether the subscription store of the given tenant is still being loaded. Stores created on demand and stores
+     * whose loading failed report false, as they fetch the missing entries when requested.
+     *
+     * @param tenantDomain tenant domain
+     * @return true if the initialization of the tenant store is in progress
+     */
+    public boolean isTenantSubscriptionStoreLoading(String tenantDomain) {
+
+        SubscriptionDataStore subscriptionDataStore = subscriptionStore.get(tenantDomain);
+        return subscriptionDataStore != null && subscriptionDataStore.isLoading();
     }
 
     public SubscriptionDataStore getTenantSubscriptionStore(String tenantDomain) {
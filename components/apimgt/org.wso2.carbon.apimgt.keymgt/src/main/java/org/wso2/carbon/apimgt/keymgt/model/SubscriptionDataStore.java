@@ -166,6 +166,21 @@ public interface SubscriptionDataStore {
 
     boolean isScopesInitialized();
 
+    /**
+     * Whether the bulk loading scheduled by {@link #init()} is still running. Stores that were never initialized fetch
+     * each entry on demand and report false.
+     *
+     * @return true until every loading task of the last initialization has finished
+     */
+    boolean isLoading();
+
+    /**
+     * Whether a loading task of the last initialization failed. The entries it did not load are fetched on demand.
+     *
+     * @return true if the bulk loading of an entity type failed
+     */
+    boolean isLoadingFailed();
+
     Subscription getSubscriptionBySubscriptionUUID(String subscriptionUUID);
 
     List<Application> getApplicationsByName(String name);
@@ -24,7 +24,7 @@ import org.wso2.carbon.apimgt.keymgt.model.util.SubscriptionDataStoreUtil;
 /**
  * Entity for representing a SubscriptionDTO in APIM
  */
-public class Subscription implements CacheableEntity<String> {
+public class Subscription implements CacheableEntity<Long> {
 
     private String subscriptionUUID;
     private String subscriptionId = null;
@@ -117,9 +117,9 @@ public class Subscription implements CacheableEntity<String> {
     }
 
     @Override
-    public String getCacheKey() {
+    public Long getCacheKey() {
 
-        return SubscriptionDataStoreUtil.getSubscriptionCacheKey(getAppId(), getApiId());
+        return SubscriptionDataStoreUtil.getSubscriptionKey(getAppId(), getApiId());
     }
 
     public long getTimeStamp() {
@@ -47,9 +47,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -69,12 +72,21 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
     private Map<String, ApiPolicy> apiPolicyMap;
     private Map<String, SubscriptionPolicy> subscriptionPolicyMap;
     private Map<String, ApplicationPolicy> appPolicyMap;
-    private Map<String, Subscription> subscriptionMap;
+    private Map<Long, Subscription> subscriptionMap;
+    // Canonical instances of the tiers and states shared by the subscriptions. There are only a few of them, so they
+    // are kept for the lifetime of the store.
+    private Map<String, String> subscriptionStringPool;
     private Map<String, Scope> scopesMap;
     private boolean apisInitialized;
     private boolean apiPoliciesInitialized;
     private String tenantDomain;
-    private ScheduledExecutorService executorService = Executors.newScheduledThreadPool(LOADING_POOL_SIZE);
+    // Loading pool shared by the stores of all tenants, so the thread count does not grow with the tenant count.
+    private static final ScheduledExecutorService LOADING_EXECUTOR =
+            Executors.newScheduledThreadPool(LOADING_POOL_SIZE, new SubscriptionLoaderThreadFactory());
+    private final List<ScheduledFuture<?>> loadingTasks = new CopyOnWriteArrayList<>();
+    private final AtomicInteger pendingLoadingTasks = new AtomicInteger();
+    private volatile boolean loadingStarted;
+    private volatile boolean loadingFailed;
 
     public SubscriptionDataStoreImpl(String tenantDomain) {
 
@@ -94,6 +106,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
         this.appPolicyMap = new ConcurrentHashMap<>();
         this.apiPolicyMap = new ConcurrentHashMap<>();
         this.subscriptionMap = new ConcurrentHashMap<>();
+        this.subscriptionStringPool = new ConcurrentHashMap<>();
         this.scopesMap = new ConcurrentHashMap<>();
         this.apiNameVersionMap = new ConcurrentHashMap<>();
     }
@@ -254,10 +267,10 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
     @Override
     public Subscription getSubscriptionById(int appId, int apiId) {
 
-        String subscriptionCacheKey = SubscriptionDataStoreUtil.getSubscriptionCacheKey(appId, apiId);
-        String synchronizeKey = "SubscriptionDataStoreImpl-Subscription-" + subscriptionCacheKey;
+        Long subscriptionCacheKey = SubscriptionDataStoreUtil.getSubscriptionKey(appId, apiId);
         Subscription subscription = subscriptionMap.get(subscriptionCacheKey);
         if (subscription == null) {
+            String synchronizeKey = "SubscriptionDataStoreImpl-Subscription-" + subscriptionCacheKey;
             synchronized (synchronizeKey.intern()) {
                 subscription = subscriptionMap.get(subscriptionCacheKey);
                 if (subscription != null) {
@@ -272,7 +285,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                 if (subscription != null && !StringUtils.isEmpty(subscription.getSubscriptionId())) {
                     // load to the memory
                     log.debug("Loading Subscription to the in-memory datastore.");
-                    subscriptionMap.put(subscription.getCacheKey(), subscription);
+                    subscriptionMap.put(subscription.getCacheKey(), compact(subscription));
                 }
             }
         }
@@ -299,6 +312,11 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
 
     public void initializeLoadingTasks() {
 
+        // Held until every task is scheduled, so that a fast task cannot mark the store as loaded too early.
+        pendingLoadingTasks.incrementAndGet();
+        loadingFailed = false;
+        loadingStarted = true;
+
         Runnable apiTask = new PopulateTask<>(apiMap,
                 () -> {
                     try {
@@ -314,24 +332,33 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                         return apiList;
                     } catch (APIManagementException e) {
                         log.error("Exception while loading APIs " + e);
+                        loadingFailed = true;
                     }
                     return null;
                 });
 
-        executorService.schedule(apiTask, eventHubConfiguration.getInitDelay(), TimeUnit.MILLISECONDS);
+        scheduleLoadingTask(apiTask);
 
         Runnable subscriptionLoadingTask = new PopulateTask<>(subscriptionMap,
                 () -> {
                     try {
                         log.debug("Calling loadAllSubscriptions.");
-                        return new SubscriptionDataLoaderImpl().loadAllSubscriptions(tenantDomain);
+                        List<Subscription> subscriptionList =
+                                new SubscriptionDataLoaderImpl().loadAllSubscriptions(tenantDomain);
+                        if (subscriptionList != null) {
+                            for (Subscription subscription : subscriptionList) {
+                                compact(subscription);
+                            }
+                        }
+                        return subscriptionList;
                     } catch (APIManagementException e) {
                         log.error("Exception while loading Subscriptions " + e);
+                        loadingFailed = true;
                     }
                     return null;
                 });
 
-        executorService.schedule(subscriptionLoadingTask, eventHubConfiguration.getInitDelay(), TimeUnit.MILLISECONDS);
+        scheduleLoadingTask(subscriptionLoadingTask);
 
         Runnable applicationLoadingTask = new PopulateTask<>(applicationMap,
                 () -> {
@@ -340,11 +367,12 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                         return new SubscriptionDataLoaderImpl().loadAllApplications(tenantDomain);
                     } catch (APIManagementException e) {
                         log.error("Exception while loading Applications " + e);
+                        loadingFailed = true;
                     }
                     return null;
                 });
 
-        executorService.schedule(applicationLoadingTask, eventHubConfiguration.getInitDelay(), TimeUnit.MILLISECONDS);
+        scheduleLoadingTask(applicationLoadingTask);
 
         Runnable keyMappingsTask =
                 new PopulateTask<>(applicationKeyMappingMap,
@@ -354,11 +382,12 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                                 return new SubscriptionDataLoaderImpl().loadAllKeyMappings(tenantDomain);
                             } catch (APIManagementException e) {
                                 log.error("Exception while loading ApplicationKeyMapping " + e);
+                                loadingFailed = true;
                             }
                             return null;
                         });
 
-        executorService.schedule(keyMappingsTask, eventHubConfiguration.getInitDelay(), TimeUnit.MILLISECONDS);
+        scheduleLoadingTask(keyMappingsTask);
 
         Runnable apiPolicyLoadingTask =
                 new PopulateTask<>(apiPolicyMap,
@@ -371,11 +400,12 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                                 return apiPolicyList;
                             } catch (APIManagementException e) {
                                 log.error("Exception while loading api Policies " + e);
+                                loadingFailed = true;
                             }
                             return null;
                         });
 
-        executorService.schedule(apiPolicyLoadingTask, eventHubConfiguration.getInitDelay(), TimeUnit.MILLISECONDS);
+        scheduleLoadingTask(apiPolicyLoadingTask);
 
         Runnable subPolicyLoadingTask =
                 new PopulateTask<>(subscriptionPolicyMap,
@@ -385,11 +415,12 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                                 return new SubscriptionDataLoaderImpl().loadAllSubscriptionPolicies(tenantDomain);
                             } catch (APIManagementException e) {
                                 log.error("Exception while loading Subscription Policies " + e);
+                                loadingFailed = true;
                             }
                             return null;
                         });
 
-        executorService.schedule(subPolicyLoadingTask, eventHubConfiguration.getInitDelay(), TimeUnit.MILLISECONDS);
+        scheduleLoadingTask(subPolicyLoadingTask);
 
         Runnable appPolicyLoadingTask =
                 new PopulateTask<>(appPolicyMap,
@@ -399,11 +430,12 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                                 return new SubscriptionDataLoaderImpl().loadAllAppPolicies(tenantDomain);
                             } catch (APIManagementException e) {
                                 log.error("Exception while loading Application Policies " + e);
+                                loadingFailed = true;
                             }
                             return null;
                         });
 
-        executorService.schedule(appPolicyLoadingTask, eventHubConfiguration.getInitDelay(), TimeUnit.MILLISECONDS);
+        scheduleLoadingTask(appPolicyLoadingTask);
         Runnable scopesLoadingTask =
                 new PopulateTask<>(scopesMap,
                         () -> {
@@ -415,11 +447,53 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                                 return scopeList;
                             } catch (APIManagementException e) {
                                 log.error("Exception while loading Scopes " + e);
+                                loadingFailed = true;
                             }
                             return null;
                         });
 
-        executorService.schedule(scopesLoadingTask, eventHubConfiguration.getInitDelay(), TimeUnit.MILLISECONDS);
+        scheduleLoadingTask(scopesLoadingTask);
+        completeLoadingTask();
+    }
+
+    private void scheduleLoadingTask(Runnable task) {
+
+        pendingLoadingTasks.incrementAndGet();
+        loadingTasks.add(LOADING_EXECUTOR.schedule(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                loadingFailed = true;
+                log.error("Error while loading the subscription data store of tenant " + tenantDomain, e);
+            } finally {
+                completeLoadingTask();
+            }
+        }, eventHubConfiguration.getInitDelay(), TimeUnit.MILLISECONDS));
+    }
+
+    private void completeLoadingTask() {
+
+        if (pendingLoadingTasks.decrementAndGet() == 0) {
+            loadingTasks.clear();
+            if (loadingFailed) {
+                log.warn("Subscription data store of tenant " + tenantDomain + " was partly loaded. The missing "
+                        + "entries will be fetched on demand.");
+            } else if (log.isDebugEnabled()) {
+                log.debug("Completed loading the subscription data store of tenant " + tenantDomain);
+            }
+        }
+    }
+
+    @Override
+    public boolean isLoading() {
+
+        return loadingStarted && pendingLoadingTasks.get() > 0;
+    }
+
+    @Override
+    public boolean isLoadingFailed() {
+
+        return loadingFailed;
     }
 
     public boolean isApisInitialized() {
@@ -436,6 +510,7 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
     public void addOrUpdateSubscription(Subscription subscription) {
         String synchronizeKey = "SubscriptionDataStoreImpl-API-" + subscription.getCacheKey();
 
+        compact(subscription);
         synchronized (synchronizeKey.intern()) {
             Subscription retrievedSubscription = subscriptionMap.get(subscription.getCacheKey());
             if (retrievedSubscription == null) {
@@ -688,7 +763,11 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
 
     @Override
     public void destroy() {
-        executorService.shutdown();
+
+        for (ScheduledFuture<?> loadingTask : loadingTasks) {
+            loadingTask.cancel(false);
+        }
+        loadingTasks.clear();
     }
 
     @Override
@@ -755,6 +834,29 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
         }
     }
 
+    /**
+     * Replaces the tier and the state of the given subscription with their canonical instances, so that a tenant
+     * with a large number of subscriptions keeps a single copy of each of them.
+     *
+     * @param subscription subscription to be stored
+     * @return the same subscription instance
+     */
+    private Subscription compact(Subscription subscription) {
+
+        subscription.setPolicyId(canonicalize(subscription.getPolicyId()));
+        subscription.setSubscriptionState(canonicalize(subscription.getSubscriptionState()));
+        return subscription;
+    }
+
+    private String canonicalize(String value) {
+
+        if (value == null) {
+            return null;
+        }
+        String canonical = subscriptionStringPool.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
     public boolean isAPIResourceValidationEnabled() {
 
         APIManagerConfiguration config =
@@ -794,11 +896,11 @@ public class SubscriptionDataStoreImpl implements SubscriptionDataStore {
                     if (log.isDebugEnabled()) {
                         log.debug(String.format("Adding entry Key : %s Value : %s", v.getCacheKey(), v));
                     }
+                }
 
-                    if (!tempMap.isEmpty()) {
-                        entityMap.clear();
-                        entityMap.putAll(tempMap);
-                    }
+                if (!tempMap.isEmpty()) {
+                    entityMap.clear();
+                    entityMap.putAll(tempMap);
                 }
 
             } else {
@@ -27,9 +27,17 @@ public class SubscriptionDataStoreUtil {
         return context + DELEM_PERIOD + version;
     }
 
-    public static String getSubscriptionCacheKey(int appId, int apiId) {
-
-        return appId + DELEM_PERIOD + apiId;
+    /**
+     * Packs an application id and an API id into a single primitive key, so that in-memory subscription lookups
+     * do not need to build and hash a concatenated string for every request.
+     *
+     * @param appId application id
+     * @param apiId API id
+     * @return key holding the API id in the high 32 bits and the application id in the low 32 bits
+     */
+    public static long getSubscriptionKey(int appId, int apiId) {
+
+        return ((long) apiId << 32) | (appId & 0xffffffffL);
     }
 
     public static String getPolicyCacheKey(String tierName, int tenantId) {
@@ -66,6 +66,26 @@ import java.util.Set;
 public class APIKeyValidationService {
     private static final Log log = LogFactory.getLog(APIKeyValidationService.class);
 
+    /**
+     * Timers of the key validation stages. They are resolved once, on first use, instead of building the metric
+     * name and looking the timer up in the registry on every call. The returned timers still honour the metric
+     * level configured at runtime.
+     */
+    private static final class Timers {
+
+        private static final Timer VALIDATE_MAIN = timer("VALIDATE_MAIN");
+        private static final Timer VALIDATE_TOKEN = timer("VALIDATE_TOKEN");
+        private static final Timer VALIDATE_SUBSCRIPTION = timer("VALIDATE_SUBSCRIPTION");
+        private static final Timer VALIDATE_SCOPES = timer("VALIDATE_SCOPES");
+        private static final Timer GENERATE_JWT = timer("GENERATE_JWT");
+        private static final Timer GET_URI_TEMPLATE = timer("GET_URI_TEMPLATE");
+
+        private static Timer timer(String name) {
+            return MetricManager.timer(org.wso2.carbon.metrics.manager.Level.INFO, MetricManager.name(
+                    APIConstants.METRICS_PREFIX, APIKeyValidationService.class.getSimpleName(), name));
+        }
+    }
+
     /**
      * Validates the access tokens issued for a particular user to access an API.
      *
@@ -81,9 +101,7 @@ public class APIKeyValidationService {
                                                List keyManagers)
             throws APIKeyMgtException, APIManagementException {
 
-        Timer timer = MetricManager.timer(org.wso2.carbon.metrics.manager.Level.INFO, MetricManager.name(
-                APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), "VALIDATE_MAIN"));
-        Timer.Context timerContext = timer.start();
+        Timer.Context timerContext = Timers.VALIDATE_MAIN.start();
 
         MessageContext axis2MessageContext = MessageContext.getCurrentMessageContext();
         Map headersMap = null;
@@ -145,9 +163,7 @@ public class APIKeyValidationService {
         }
         log.debug("Before calling Validate Token method...");
 
-        Timer timer2 = MetricManager.timer(org.wso2.carbon.metrics.manager.Level.INFO, MetricManager.name(
-                APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), "VALIDATE_TOKEN"));
-        Timer.Context timerContext2 = timer2.start();
+        Timer.Context timerContext2 = Timers.VALIDATE_TOKEN.start();
         KeyValidationHandler keyValidationHandler =
                 ServiceReferenceHolder.getInstance().getKeyValidationHandler(tenantDomain);
         boolean state = keyValidationHandler.validateToken(validationContext);
@@ -155,18 +171,14 @@ public class APIKeyValidationService {
         log.debug("State after calling validateToken ... " + state);
 
         if (state) {
-            Timer timer3 = MetricManager.timer(org.wso2.carbon.metrics.manager.Level.INFO, MetricManager.name(
-                    APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), "VALIDATE_SUBSCRIPTION"));
-            Timer.Context timerContext3 = timer3.start();
+            Timer.Context timerContext3 = Timers.VALIDATE_SUBSCRIPTION.start();
             state = keyValidationHandler.validateSubscription(validationContext);
             timerContext3.stop();
         }
         log.debug("State after calling validateSubscription... " + state);
 
         if (state) {
-            Timer timer4 = MetricManager.timer(org.wso2.carbon.metrics.manager.Level.INFO, MetricManager.name(
-                    APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), "VALIDATE_SCOPES"));
-            Timer.Context timerContext4 = timer4.start();
+            Timer.Context timerContext4 = Timers.VALIDATE_SCOPES.start();
             state = keyValidationHandler.validateScopes(validationContext);
             timerContext4.stop();
         }
@@ -174,9 +186,7 @@ public class APIKeyValidationService {
 
         if (state && APIKeyMgtDataHolder.isJwtGenerationEnabled() &&
                 validationContext.getValidationInfoDTO().getEndUserName() != null && !validationContext.isCacheHit()) {
-            Timer timer5 = MetricManager.timer(org.wso2.carbon.metrics.manager.Level.INFO, MetricManager.name(
-                    APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), "GENERATE_JWT"));
-            Timer.Context timerContext5 = timer5.start();
+            Timer.Context timerContext5 = Timers.GENERATE_JWT.start();
             keyValidationHandler.generateConsumerToken(validationContext);
             timerContext5.stop();
         }
@@ -207,9 +217,7 @@ public class APIKeyValidationService {
      */
     public ArrayList<URITemplate> getAllURITemplates(String context, String version)
             throws APIManagementException {
-        Timer timer6 = MetricManager.timer(org.wso2.carbon.metrics.manager.Level.INFO, MetricManager.name(
-                APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), "GET_URI_TEMPLATE"));
-        Timer.Context timerContext6 = timer6.start();
+        Timer.Context timerContext6 = Timers.GET_URI_TEMPLATE.start();
         if (log.isDebugEnabled()) {
             log.debug("getAllURITemplates request from gateway to keymanager: requestTime="
                     + new SimpleDateFormat("[yyyy.MM.dd HH:mm:ss,SSS zzz]").format(new Date())
@@ -345,9 +353,7 @@ public class APIKeyValidationService {
 
     public ArrayList<URITemplate> getAPIProductURITemplates(String context, String version)
             throws APIManagementException {
-        Timer timer6 = MetricManager.timer(org.wso2.carbon.metrics.manager.Level.INFO, MetricManager.name(
-                APIConstants.METRICS_PREFIX, this.getClass().getSimpleName(), "GET_URI_TEMPLATE"));
-        Timer.Context timerContext6 = timer6.start();
+        Timer.Context timerContext6 = Timers.GET_URI_TEMPLATE.start();
         if (log.isDebugEnabled()) {
             log.debug("getAllURITemplates request from gateway to keymanager: requestTime="
                     + new SimpleDateFormat("[yyyy.MM.dd HH:mm:ss,SSS zzz]").format(new Date())
@@ -423,10 +429,14 @@ public class APIKeyValidationService {
                 if (APIKeyMgtDataHolder.isJwtGenerationEnabled() &&
                         validationContext.getValidationInfoDTO().getEndUserName() != null
                         && !validationContext.isCacheHit()) {
-                    Application application = APIUtil.getApplicationByClientId(validationContext.getValidationInfoDTO()
-                            .getConsumerKey());
-                    validationContext.getValidationInfoDTO().setApplicationId(String.valueOf(application.getId()));
-                    validationContext.getValidationInfoDTO().setApplicationTier(application.getTier());
+                    // The subscription validation resolves the application from the in-memory datastore. Fall
+                    // back to the database only for handlers that do not populate it.
+                    if (validationContext.getValidationInfoDTO().getApplicationId() == null) {
+                        Application application = APIUtil.getApplicationByClientId(
+                                validationContext.getValidationInfoDTO().getConsumerKey());
+                        validationContext.getValidationInfoDTO().setApplicationId(String.valueOf(application.getId()));
+                        validationContext.getValidationInfoDTO().setApplicationTier(application.getTier());
+                    }
                     keyValidationHandler.generateConsumerToken(validationContext);
                     info.setEndUserToken(validationContext.getValidationInfoDTO().getEndUserToken());
                 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.keymgt.model.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.carbon.apimgt.keymgt.model.entity.Subscription;
+
+public class SubscriptionDataStoreUtilTestCase {
+
+    @Test
+    public void testSubscriptionKeyIsUniquePerApplicationAndApi() {
+
+        Assert.assertNotEquals(SubscriptionDataStoreUtil.getSubscriptionKey(1, 2),
+                SubscriptionDataStoreUtil.getSubscriptionKey(2, 1));
+        Assert.assertNotEquals(SubscriptionDataStoreUtil.getSubscriptionKey(-1, 0),
+                SubscriptionDataStoreUtil.getSubscriptionKey(0, -1));
+        Assert.assertEquals((5L << 32) | 7L, SubscriptionDataStoreUtil.getSubscriptionKey(7, 5));
+        Assert.assertEquals(0xffffffffL, SubscriptionDataStoreUtil.getSubscriptionKey(-1, 0));
+    }
+
+    @Test
+    public void testSubscriptionCacheKeyMatchesStoreKey() {
+
+        Subscription subscription = new Subscription();
+        subscription.setAppId(12);
+        subscription.setApiId(34);
+        Assert.assertEquals(Long.valueOf(SubscriptionDataStoreUtil.getSubscriptionKey(12, 34)),
+                subscription.getCacheKey());
+    }
+}
@@ -29,7 +29,6 @@ import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
-import org.wso2.uri.template.URITemplateException;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -41,6 +40,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -59,6 +59,7 @@ public class RestApiCommonUtil {
     private static Set<URITemplate> publisherResourceMappings;
     private static Set<URITemplate> adminAPIResourceMappings;
     private static Set<URITemplate> serviceCatalogAPIResourceMappings;
+    private static final Map<String, RestApiScopeMatcher> scopeMatchers = new ConcurrentHashMap<>();
 
     public static void unsetThreadLocalRequestedTenant() {
 
@@ -107,57 +108,42 @@ public class RestApiCommonUtil {
             return true;
         }
 
-        for (Object template : uriTemplates.toArray()) {
-            org.wso2.uri.template.URITemplate templateToValidate = null;
-            Map<String, String> var = new HashMap<>();
-            //check scopes with what we have
-            String templateString = ((URITemplate) template).getUriTemplate();
-            try {
-                templateToValidate = new org.wso2.uri.template.URITemplate(templateString);
-            } catch (URITemplateException e) {
-                log.error("Error while creating URI Template object to validate request. Template pattern: " +
-                        templateString, e);
+        RestApiScopeMatcher.Decision decision = RestApiCommonUtil.getScopeMatcher(basePath + version, uriTemplates)
+                .match(resource, verb, scopes);
+        if (decision == RestApiScopeMatcher.Decision.SCOPE_MATCHED) {
+            if (log.isDebugEnabled()) {
+                log.debug("Scope validation successful for access token: " +
+                        message.get(RestApiConstants.MASKED_TOKEN) + " for resource path: " + path + " and verb "
+                        + verb);
             }
-            if (templateToValidate != null && templateToValidate.matches(resource, var) && scopes != null
-                    && verb != null && verb.equalsIgnoreCase(((URITemplate) template).getHTTPVerb())) {
-                for (String scope : scopes) {
-                    Scope scp = ((URITemplate) template).getScope();
-                    if (scp != null) {
-                        if (scope.equalsIgnoreCase(scp.getKey())) {
-                            //we found scopes matches
-                            if (log.isDebugEnabled()) {
-                                log.debug("Scope validation successful for access token: " +
-                                        message.get(RestApiConstants.MASKED_TOKEN) + " with scope: " + scp.getKey() +
-                                        " for resource path: " + path + " and verb " + verb);
-                            }
-                            return true;
-                        }
-                    } else if (!((URITemplate) template).retrieveAllScopes().isEmpty()) {
-                        List<Scope> scopesList = ((URITemplate) template).retrieveAllScopes();
-                        for (Scope scpObj : scopesList) {
-                            if (scope.equalsIgnoreCase(scpObj.getKey())) {
-                                //we found scopes matches
-                                if (log.isDebugEnabled()) {
-                                    log.debug("Scope validation successful for access token: " +
-                                            message.get(RestApiConstants.MASKED_TOKEN) + " with scope: " + scpObj.getKey() +
-                                            " for resource path: " + path + " and verb " + verb);
-                                }
-                                return true;
-                            }
-                        }
-                    } else {
-                        if (log.isDebugEnabled()) {
-                            log.debug("Scope not defined in swagger for matching resource " + resource + " and verb "
-                                    + verb + " . So consider as anonymous permission and let request to continue.");
-                        }
-                        return true;
-                    }
-                }
+            return true;
+        } else if (decision == RestApiScopeMatcher.Decision.NO_SCOPE_REQUIRED) {
+            if (log.isDebugEnabled()) {
+                log.debug("Scope not defined in swagger for matching resource " + resource + " and verb "
+                        + verb + " . So consider as anonymous permission and let request to continue.");
             }
+            return true;
         }
         return false;
     }
 
+    /**
+     * Get the compiled scope matching table of a REST API. The table is built once per base path, and rebuilt only if
+     * the URI templates of the REST API are reloaded.
+     *
+     * @param basePath     Base path of the REST API including the version
+     * @param uriTemplates URI templates of the REST API
+     * @return Scope matching table of the REST API
+     */
+    public static RestApiScopeMatcher getScopeMatcher(String basePath, Set<URITemplate> uriTemplates) {
+        RestApiScopeMatcher scopeMatcher = scopeMatchers.get(basePath);
+        if (scopeMatcher == null || !scopeMatcher.isCompiledFrom(uriTemplates)) {
+            scopeMatcher = new RestApiScopeMatcher(uriTemplates);
+            scopeMatchers.put(basePath, scopeMatcher);
+        }
+        return scopeMatcher;
+    }
+
     /**
      * This method is used to get the URI template set for the relevant REST API using the given base path.
      *
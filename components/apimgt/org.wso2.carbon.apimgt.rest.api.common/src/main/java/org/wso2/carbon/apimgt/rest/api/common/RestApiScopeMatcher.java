@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.rest.api.common;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.api.model.Scope;
+import org.wso2.carbon.apimgt.api.model.URITemplate;
+import org.wso2.uri.template.URITemplateException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Scope matching table of a REST API, compiled once from the URI templates of the API. Resource paths are stored in a
+ * trie of path segments with a single child for path parameters, so that the templates matching a request are found
+ * by walking the request path once. The scopes of each resource are kept as a bit set of scope indexes, which is
+ * checked against the scopes of the access token.
+ */
+public class RestApiScopeMatcher {
+
+    private static final Log log = LogFactory.getLog(RestApiScopeMatcher.class);
+    private static final Pattern PATH_PARAMETER = Pattern.compile("\\{[\\w.\\-]+}");
+
+    /**
+     * Outcome of matching a request against the table.
+     */
+    public enum Decision {
+        /** The token has one of the scopes of a matching resource. */
+        SCOPE_MATCHED,
+        /** A matching resource does not define scopes. */
+        NO_SCOPE_REQUIRED,
+        /** No matching resource allows the token. */
+        DENIED
+    }
+
+    private final Set<URITemplate> uriTemplates;
+    private final Map<String, Integer> scopeIndexes = new HashMap<>();
+    private final Node root = new Node();
+    private final List<FallbackTemplate> fallbackTemplates = new ArrayList<>();
+
+    public RestApiScopeMatcher(Set<URITemplate> uriTemplates) {
+
+        this.uriTemplates = uriTemplates;
+        for (URITemplate uriTemplate : uriTemplates) {
+            String templateString = uriTemplate.getUriTemplate();
+            if (templateString == null || uriTemplate.getHTTPVerb() == null) {
+                continue;
+            }
+            ResourceScopes resourceScopes = new ResourceScopes();
+            addScopes(uriTemplate, resourceScopes);
+            String verb = uriTemplate.getHTTPVerb().toUpperCase(Locale.ENGLISH);
+            Node node = compile(templateString);
+            if (node != null) {
+                node.resources.computeIfAbsent(verb, key -> new ResourceScopes()).merge(resourceScopes);
+            } else {
+                try {
+                    fallbackTemplates.add(new FallbackTemplate(new org.wso2.uri.template.URITemplate(templateString),
+                            verb, resourceScopes));
+                } catch (URITemplateException e) {
+                    log.error("Error while creating URI Template object to validate request. Template pattern: " +
+                            templateString, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether this table was compiled from the given URI templates.
+     *
+     * @param uriTemplates URI templates of the REST API
+     * @return true if the table was compiled from the same set of templates
+     */
+    public boolean isCompiledFrom(Set<URITemplate> uriTemplates) {
+
+        return this.uriTemplates == uriTemplates;
+    }
+
+    /**
+     * Match a request against the resources of the REST API.
+     *
+     * @param resource request path relative to the base path of the REST API
+     * @param verb     HTTP method of the request
+     * @param scopes   scopes of the access token
+     * @return decision of the scope validation
+     */
+    public Decision match(String resource, String verb, String[] scopes) {
+
+        if (resource == null || verb == null || scopes == null) {
+            return Decision.DENIED;
+        }
+        String method = verb.toUpperCase(Locale.ENGLISH);
+        String[] segments = split(resource);
+        ResourceScopes matched = new ResourceScopes();
+        collect(root, segments, 0, method, matched);
+        for (FallbackTemplate fallbackTemplate : fallbackTemplates) {
+            if (fallbackTemplate.verb.equals(method)
+                    && fallbackTemplate.template.matches(resource, new HashMap<String, String>())) {
+                matched.merge(fallbackTemplate.resourceScopes);
+            }
+        }
+        for (String scope : scopes) {
+            Integer scopeIndex = scopeIndexes.get(scope.toLowerCase(Locale.ENGLISH));
+            if (scopeIndex != null && matched.scopes.get(scopeIndex)) {
+                return Decision.SCOPE_MATCHED;
+            }
+        }
+        if (matched.anonymous && scopes.length > 0) {
+            return Decision.NO_SCOPE_REQUIRED;
+        }
+        return Decision.DENIED;
+    }
+
+    private void addScopes(URITemplate uriTemplate, ResourceScopes resourceScopes) {
+
+        Scope scope = uriTemplate.getScope();
+        if (scope != null) {
+            resourceScopes.scopes.set(getScopeIndex(scope.getKey()));
+        } else if (uriTemplate.retrieveAllScopes() != null && !uriTemplate.retrieveAllScopes().isEmpty()) {
+            for (Scope resourceScope : uriTemplate.retrieveAllScopes()) {
+                resourceScopes.scopes.set(getScopeIndex(resourceScope.getKey()));
+            }
+        } else {
+            resourceScopes.anonymous = true;
+        }
+    }
+
+    private int getScopeIndex(String scopeKey) {
+
+        String key = scopeKey != null ? scopeKey.toLowerCase(Locale.ENGLISH) : "";
+        Integer scopeIndex = scopeIndexes.get(key);
+        if (scopeIndex == null) {
+            scopeIndex = scopeIndexes.size();
+            scopeIndexes.put(key, scopeIndex);
+        }
+        return scopeIndex;
+    }
+
+    /**
+     * Add the path of a template to the trie. Templates using expressions other than whole segment path parameters
+     * are not added and are matched with the URI template library instead.
+     */
+    private Node compile(String templateString) {
+
+        Node node = root;
+        for (String segment : split(templateString)) {
+            if (PATH_PARAMETER.matcher(segment).matches()) {
+                if (node.parameter == null) {
+                    node.parameter = new Node();
+                }
+                node = node.parameter;
+            } else if (segment.indexOf('{') < 0 && segment.indexOf('}') < 0 && segment.indexOf('*') < 0) {
+                node = node.literals.computeIfAbsent(segment, key -> new Node());
+            } else {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private static void collect(Node node, String[] segments, int index, String verb, ResourceScopes matched) {
+
+        if (index == segments.length) {
+            ResourceScopes resourceScopes = node.resources.get(verb);
+            if (resourceScopes != null) {
+                matched.merge(resourceScopes);
+            }
+            return;
+        }
+        String segment = segments[index];
+        Node literal = node.literals.get(segment);
+        if (literal != null) {
+            collect(literal, segments, index + 1, verb, matched);
+        }
+        if (node.parameter != null && !segment.isEmpty()) {
+            collect(node.parameter, segments, index + 1, verb, matched);
+        }
+    }
+
+    private static String[] split(String path) {
+
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.endsWith("/") && path.length() > start ? path.length() - 1 : path.length();
+        if (start >= end) {
+            return new String[0];
+        }
+        return path.substring(start, end).split("/", -1);
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> literals = new HashMap<>();
+        private final Map<String, ResourceScopes> resources = new HashMap<>();
+        private Node parameter;
+    }
+
+    private static final class ResourceScopes {
+
+        private final BitSet scopes = new BitSet();
+        private boolean anonymous;
+
+        private void merge(ResourceScopes other) {
+
+            scopes.or(other.scopes);
+            anonymous |= other.anonymous;
+        }
+    }
+
+    private static final class FallbackTemplate {
+
+        private final org.wso2.uri.template.URITemplate template;
+        private final String verb;
+        private final ResourceScopes resourceScopes;
+
+        private FallbackTemplate(org.wso2.uri.template.URITemplate template, String verb,
+                                 ResourceScopes resourceScopes) {
+
+            this.template = template;
+            this.verb = verb;
+            this.resourceScopes = resourceScopes;
+        }
+    }
+}
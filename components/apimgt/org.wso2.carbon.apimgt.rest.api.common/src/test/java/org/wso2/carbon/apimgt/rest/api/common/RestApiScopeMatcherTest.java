@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.rest.api.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.carbon.apimgt.api.model.Scope;
+import org.wso2.carbon.apimgt.api.model.URITemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class RestApiScopeMatcherTest {
+
+    private static URITemplate createTemplate(String path, String verb, String... scopeKeys) {
+
+        URITemplate uriTemplate = new URITemplate();
+        uriTemplate.setUriTemplate(path);
+        uriTemplate.setHTTPVerb(verb);
+        for (String scopeKey : scopeKeys) {
+            Scope scope = new Scope();
+            scope.setKey(scopeKey);
+            uriTemplate.setScopes(scope);
+        }
+        return uriTemplate;
+    }
+
+    private static RestApiScopeMatcher createMatcher() {
+
+        Set<URITemplate> uriTemplates = new HashSet<>();
+        uriTemplates.add(createTemplate("/apis", "GET", "apim:api_view", "apim:api_create"));
+        uriTemplates.add(createTemplate("/apis/{apiId}", "GET", "apim:api_view"));
+        uriTemplates.add(createTemplate("/apis/{apiId}", "DELETE", "apim:api_delete"));
+        uriTemplates.add(createTemplate("/apis/copy-api", "POST", "apim:api_create"));
+        uriTemplates.add(createTemplate("/apis/{apiId}/documents/{documentId}", "GET", "apim:document_view"));
+        uriTemplates.add(createTemplate("/settings", "GET"));
+        return new RestApiScopeMatcher(uriTemplates);
+    }
+
+    @Test
+    public void testMatchWithTokenScope() {
+
+        RestApiScopeMatcher matcher = createMatcher();
+        Assert.assertEquals(RestApiScopeMatcher.Decision.SCOPE_MATCHED,
+                matcher.match("/apis", "get", new String[]{"openid", "APIM:API_CREATE"}));
+        Assert.assertEquals(RestApiScopeMatcher.Decision.SCOPE_MATCHED,
+                matcher.match("/apis/123/", "GET", new String[]{"apim:api_view"}));
+        Assert.assertEquals(RestApiScopeMatcher.Decision.SCOPE_MATCHED,
+                matcher.match("/apis/123/documents/456", "GET", new String[]{"apim:document_view"}));
+    }
+
+    @Test
+    public void testMatchWithoutTokenScope() {
+
+        RestApiScopeMatcher matcher = createMatcher();
+        Assert.assertEquals(RestApiScopeMatcher.Decision.DENIED,
+                matcher.match("/apis/123", "DELETE", new String[]{"apim:api_view"}));
+        Assert.assertEquals(RestApiScopeMatcher.Decision.DENIED,
+                matcher.match("/apis/123", "GET", new String[0]));
+        Assert.assertEquals(RestApiScopeMatcher.Decision.DENIED,
+                matcher.match("/apis/123", "GET", null));
+        Assert.assertEquals(RestApiScopeMatcher.Decision.DENIED,
+                matcher.match("/apis/123/documents", "GET", new String[]{"apim:api_view"}));
+        Assert.assertEquals(RestApiScopeMatcher.Decision.DENIED,
+                matcher.match("/apis//documents/456", "GET", new String[]{"apim:document_view"}));
+    }
+
+    @Test
+    public void testLiteralAndParameterSegmentsBothMatch() {
+
+        RestApiScopeMatcher matcher = createMatcher();
+        Assert.assertEquals(RestApiScopeMatcher.Decision.SCOPE_MATCHED,
+                matcher.match("/apis/copy-api", "POST", new String[]{"apim:api_create"}));
+        Assert.assertEquals(RestApiScopeMatcher.Decision.SCOPE_MATCHED,
+                matcher.match("/apis/copy-api", "GET", new String[]{"apim:api_view"}));
+    }
+
+    @Test
+    public void testResourceWithoutScopes() {
+
+        RestApiScopeMatcher matcher = createMatcher();
+        Assert.assertEquals(RestApiScopeMatcher.Decision.NO_SCOPE_REQUIRED,
+                matcher.match("/settings", "GET", new String[]{"openid"}));
+        Assert.assertEquals(RestApiScopeMatcher.Decision.DENIED,
+                matcher.match("/settings", "GET", new String[0]));
+    }
+}
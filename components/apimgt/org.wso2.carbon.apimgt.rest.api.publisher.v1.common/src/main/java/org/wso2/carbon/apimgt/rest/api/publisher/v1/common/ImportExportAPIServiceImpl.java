@@ -60,6 +60,17 @@ public class ImportExportAPIServiceImpl implements ImportExportAPI {
             boolean exportLatestRevision, String originalDevPortalUrl, String organization)
             throws APIManagementException, APIImportExportException {
 
+        File exportDirectory = exportAPIToDirectory(apiId, name, version, revisionNum, providerName, preserveStatus,
+                format, preserveDocs, preserveCredentials, exportLatestRevision, originalDevPortalUrl, organization);
+        return ExportUtils.archiveExportDirectory(exportDirectory);
+    }
+
+    @Override
+    public File exportAPIToDirectory(String apiId, String name, String version, String revisionNum,
+            String providerName, boolean preserveStatus, ExportFormat format, boolean preserveDocs,
+            boolean preserveCredentials, boolean exportLatestRevision, String originalDevPortalUrl,
+            String organization) throws APIManagementException, APIImportExportException {
+
         APIIdentifier apiIdentifier;
         APIDTO apiDtoToReturn;
         APIProvider apiProvider = RestApiCommonUtil.getLoggedInUserProvider();
@@ -99,8 +110,8 @@ public class ImportExportAPIServiceImpl implements ImportExportAPI {
         apiDtoToReturn = APIMappingUtil.fromAPItoDTO(api, preserveCredentials, apiProvider);
         apiIdentifier = api.getId();
         apiIdentifier.setUuid(exportAPIUUID);
-        return ExportUtils.exportApi(apiProvider, apiIdentifier, apiDtoToReturn, api, userName, format, preserveStatus,
-                preserveDocs, originalDevPortalUrl, organization);
+        return ExportUtils.exportApiToDirectory(apiProvider, apiIdentifier, apiDtoToReturn, api, userName, format,
+                preserveStatus, preserveDocs, originalDevPortalUrl, organization);
     }
 
     @Override
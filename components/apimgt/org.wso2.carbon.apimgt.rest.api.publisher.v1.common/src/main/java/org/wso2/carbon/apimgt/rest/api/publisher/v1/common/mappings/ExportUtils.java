@@ -166,6 +166,35 @@ public class ExportUtils {
                                  boolean preserveDocs, String originalDevPortalUrl, String organization)
             throws APIManagementException, APIImportExportException {
 
+        File exportDirectory = exportApiToDirectory(apiProvider, apiIdentifier, apiDtoToReturn, api, userName,
+                exportFormat, preserveStatus, preserveDocs, originalDevPortalUrl, organization);
+        return archiveExportDirectory(exportDirectory);
+    }
+
+    /**
+     * Writes the artifacts of an API into a temporary directory without archiving them, so that the caller can
+     * stream the archive with {@link CommonUtil#archiveDirectory(String, java.io.OutputStream)}. The caller has to
+     * delete the directory once the archive is written.
+     *
+     * @param apiProvider          API Provider
+     * @param apiIdentifier        API Identifier
+     * @param apiDtoToReturn       API DTO
+     * @param userName             Username
+     * @param exportFormat         Format of output documents. Can be YAML or JSON
+     * @param preserveStatus       Preserve API status on export
+     * @param preserveDocs         Preserve documentation on Export.
+     * @param originalDevPortalUrl Original DevPortal URL (redirect URL) for the original Store
+     *                             (This is used for advertise only APIs).
+     * @param organization         Organization
+     * @return Directory holding the exported artifacts
+     * @throws APIManagementException If an error occurs while getting governance registry
+     */
+    public static File exportApiToDirectory(APIProvider apiProvider, APIIdentifier apiIdentifier,
+                                            APIDTO apiDtoToReturn, API api, String userName,
+                                            ExportFormat exportFormat, boolean preserveStatus, boolean preserveDocs,
+                                            String originalDevPortalUrl, String organization)
+            throws APIManagementException, APIImportExportException {
+
         int tenantId;
         String currentApiUuid;
 
@@ -232,8 +261,21 @@ public class ExportUtils {
         }
         addAPIMetaInformationToArchive(archivePath, apiDtoToReturn, exportFormat, apiProvider, apiIdentifier,
                 organization, currentApiUuid);
+        return exportFolder;
+    }
+
+    /**
+     * Archives an export directory next to it and deletes the directory.
+     *
+     * @param exportDirectory Directory holding the exported artifacts
+     * @return Archive of the exported artifacts
+     * @throws APIImportExportException If an error occurs while creating the archive
+     */
+    public static File archiveExportDirectory(File exportDirectory) throws APIImportExportException {
+
+        String exportAPIBasePath = exportDirectory.toString();
         CommonUtil.archiveDirectory(exportAPIBasePath);
-        FileUtils.deleteQuietly(new File(exportAPIBasePath));
+        FileUtils.deleteQuietly(exportDirectory);
         return new File(exportAPIBasePath + APIConstants.ZIP_FILE_EXTENSION);
     }
 
@@ -305,9 +347,7 @@ public class ExportUtils {
         addClientCertificatesToArchive(archivePath, apiProductIdentifier, tenantId, apiProvider, exportFormat,
                 organization);
 
-        CommonUtil.archiveDirectory(exportAPIBasePath);
-        FileUtils.deleteQuietly(new File(exportAPIBasePath));
-        return new File(exportAPIBasePath + APIConstants.ZIP_FILE_EXTENSION);
+        return archiveExportDirectory(exportFolder);
     }
 
     /**
@@ -22,6 +22,7 @@ import com.amazonaws.SdkClientException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
 import org.apache.commons.collections.MapUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -79,6 +80,7 @@ import org.wso2.carbon.core.util.CryptoUtil;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.io.*;
 import java.net.*;
 import java.util.*;
@@ -3290,11 +3292,23 @@ public class ApisApiServiceImpl implements ApisApiService {
         try {
             String organization = RestApiUtil.getValidatedOrganization(messageContext);
             ImportExportAPI importExportAPI = APIImportExportUtil.getImportExportAPI();
-            File file = importExportAPI
-                    .exportAPI(apiId, name, version, revisionNum, providerName, preserveStatus, exportFormat,
-                            Boolean.TRUE, Boolean.FALSE, exportLatestRevision, StringUtils.EMPTY, organization);
-            return Response.ok(file).header(RestApiConstants.HEADER_CONTENT_DISPOSITION,
-                    "attachment; filename=\"" + file.getName() + "\"").build();
+            File exportDirectory = importExportAPI
+                    .exportAPIToDirectory(apiId, name, version, revisionNum, providerName, preserveStatus,
+                            exportFormat, Boolean.TRUE, Boolean.FALSE, exportLatestRevision, StringUtils.EMPTY,
+                            organization);
+            // The archive is zipped straight into the response instead of being written to a temporary file first
+            StreamingOutput streamingOutput = (outputStream) -> {
+                try {
+                    CommonUtil.archiveDirectory(exportDirectory.getPath(), outputStream);
+                } catch (APIImportExportException e) {
+                    throw new IOException("Error while streaming the archive of " + exportDirectory.getName(), e);
+                } finally {
+                    FileUtils.deleteQuietly(exportDirectory);
+                }
+            };
+            return Response.ok(streamingOutput).header(RestApiConstants.HEADER_CONTENT_DISPOSITION,
+                    "attachment; filename=\"" + exportDirectory.getName() + APIConstants.ZIP_FILE_EXTENSION + "\"")
+                    .header(RestApiConstants.HEADER_CONTENT_TYPE, APIConstants.APPLICATION_ZIP).build();
         } catch (APIImportExportException e) {
             throw new APIManagementException("Error while exporting " + RestApiConstants.RESOURCE_API, e);
         }
@@ -19,7 +19,6 @@ package org.wso2.carbon.apimgt.rest.api.util.impl;
 
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
-import com.nimbusds.jwt.util.DateUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -34,6 +33,7 @@ import org.wso2.carbon.apimgt.impl.APIConstants.JwtTokenConstants;
 import org.wso2.carbon.apimgt.impl.RESTAPICacheConfiguration;
 import org.wso2.carbon.apimgt.impl.jwt.JWTValidator;
 import org.wso2.carbon.apimgt.impl.jwt.SignedJWTInfo;
+import org.wso2.carbon.apimgt.impl.jwt.SignedJWTMemo;
 import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 import org.wso2.carbon.apimgt.rest.api.common.APIMConfigUtil;
 import org.wso2.carbon.apimgt.rest.api.common.RestApiCommonUtil;
@@ -48,13 +48,11 @@ import org.wso2.carbon.utils.CarbonUtils;
 import org.wso2.carbon.utils.multitenancy.MultitenantConstants;
 import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.text.ParseException;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.wso2.carbon.apimgt.rest.api.common.APIMConfigUtil.getRestApiJWTAuthAudiences;
 
@@ -67,7 +65,10 @@ public class OAuthJwtAuthenticatorImpl extends AbstractOAuthAuthenticator {
     private static final Log log = LogFactory.getLog(OAuthJwtAuthenticatorImpl.class);
     private static final String SUPER_TENANT_SUFFIX =
             APIConstants.EMAIL_DOMAIN_SEPARATOR + MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
-    private boolean isRESTApiTokenCacheEnabled;
+    private static final String SCHEME_SEPARATOR = "://";
+    private static final int MAX_CACHED_TOKENS = 10000;
+    // Shared by the REST APIs of all webapps, as the UIs call several of them with the same token
+    private static final SignedJWTMemo signedJWTMemo = new SignedJWTMemo(MAX_CACHED_TOKENS);
     private Map<String, TokenIssuerDto> tokenIssuers;
     private java.util.Map<String, List<String>> audiencesMap;
 
@@ -84,7 +85,6 @@ public class OAuthJwtAuthenticatorImpl extends AbstractOAuthAuthenticator {
     public boolean authenticate(Message message) throws APIManagementException {
 
         RESTAPICacheConfiguration cacheConfiguration = APIUtil.getRESTAPICacheConfig();
-        isRESTApiTokenCacheEnabled = cacheConfiguration.isTokenCacheEnabled();
         String accessToken = RestApiUtil.extractOAuthAccessTokenFromMessage(message,
                 RestApiConstants.REGEX_BEARER_PATTERN, RestApiConstants.AUTH_HEADER_NAME);
 
@@ -93,20 +93,20 @@ public class OAuthJwtAuthenticatorImpl extends AbstractOAuthAuthenticator {
             return false;
         }
         try {
-            SignedJWTInfo signedJWTInfo = getSignedJwt(accessToken);
-            String jwtTokenIdentifier = getJWTTokenIdentifier(signedJWTInfo);
+            SignedJWTInfo signedJWTInfo = getSignedJwt(accessToken, cacheConfiguration.isTokenCacheEnabled());
             String maskedToken = message.get(RestApiConstants.MASKED_TOKEN).toString();
-            URL basePath = new URL(message.get(APIConstants.BASE_PATH).toString());
+            String basePath = getPath(message.get(APIConstants.BASE_PATH).toString());
+            if (basePath == null) {
+                log.error("Malformed URL found in request path: " + message.get(APIConstants.BASE_PATH));
+                return false;
+            }
 
             //Validate token
             log.debug("Starting JWT token validation " + maskedToken);
             JWTValidationInfo jwtValidationInfo =
-                    validateJWTToken(signedJWTInfo, jwtTokenIdentifier, accessToken, maskedToken, basePath);
+                    validateJWTToken(signedJWTInfo, accessToken, maskedToken, basePath, cacheConfiguration);
             if (jwtValidationInfo != null) {
                 if (jwtValidationInfo.isValid()) {
-                    if (isRESTApiTokenCacheEnabled) {
-                        getRESTAPITokenCache().put(jwtTokenIdentifier, jwtValidationInfo);
-                    }
                     //Validating scopes
                     return handleScopeValidation(message, signedJWTInfo, accessToken);
                 } else {
@@ -120,8 +120,6 @@ public class OAuthJwtAuthenticatorImpl extends AbstractOAuthAuthenticator {
             }
         } catch (ParseException e) {
             log.error("Not a JWT token. Failed to decode the token. Reason: " + e.getMessage());
-        } catch (MalformedURLException e) {
-            log.error("Malformed URL found in request path.Reason: " + e.getMessage());
         }
         return false;
     }
@@ -201,12 +199,16 @@ public class OAuthJwtAuthenticatorImpl extends AbstractOAuthAuthenticator {
     /**
      * Get signed jwt info.
      *
-     * @param accessToken JWT token
+     * @param accessToken    JWT token
+     * @param isCacheEnabled whether parsed tokens can be taken from the cache
      * @return SignedJWTInfo : Signed token info
      */
     @MethodStats
-    private SignedJWTInfo getSignedJwt(String accessToken) throws ParseException {
+    private SignedJWTInfo getSignedJwt(String accessToken, boolean isCacheEnabled) throws ParseException {
 
+        if (isCacheEnabled) {
+            return signedJWTMemo.getSignedJWTInfo(accessToken);
+        }
         SignedJWT signedJWT = SignedJWT.parse(accessToken);
         JWTClaimsSet jwtClaimsSet = signedJWT.getJWTClaimsSet();
         return new SignedJWTInfo(accessToken, signedJWT, jwtClaimsSet);
@@ -215,14 +217,17 @@ public class OAuthJwtAuthenticatorImpl extends AbstractOAuthAuthenticator {
     /**
      * Validate the JWT token.
      *
-     * @param jti           jwtTokenIdentifier
-     * @param signedJWTInfo signed jwt info object
+     * @param signedJWTInfo      signed jwt info object
+     * @param basePath           path of the base URL of the REST API
+     * @param cacheConfiguration REST API cache configuration
      * @return JWTValidationInfo : token validated info
      */
     @MethodStats
-    private JWTValidationInfo validateJWTToken(SignedJWTInfo signedJWTInfo, String jti, String accessToken,
-                                               String maskedToken, URL basePath) throws APIManagementException {
+    private JWTValidationInfo validateJWTToken(SignedJWTInfo signedJWTInfo, String accessToken, String maskedToken,
+                                               String basePath, RESTAPICacheConfiguration cacheConfiguration)
+            throws APIManagementException {
 
+        boolean isRESTApiTokenCacheEnabled = cacheConfiguration.isTokenCacheEnabled();
         JWTValidationInfo jwtValidationInfo;
         String issuer = signedJWTInfo.getJwtClaimsSet().getIssuer();
 
@@ -231,29 +236,21 @@ public class OAuthJwtAuthenticatorImpl extends AbstractOAuthAuthenticator {
             List<String> tokenAudiences = signedJWTInfo.getJwtClaimsSet().getAudience();
             if (tokenIssuers != null && tokenIssuers.containsKey(issuer)) {
                 //validate audience
-                if (audiencesMap != null && audiencesMap.get(basePath.getPath()) != null &&
-                        tokenAudiences.stream().anyMatch(audiencesMap.get(basePath.getPath())::contains)) {
+                List<String> audiences = audiencesMap != null ? audiencesMap.get(basePath) : null;
+                if (audiences != null && tokenAudiences.stream().anyMatch(audiences::contains)) {
+                    String jti = getJWTTokenIdentifier(signedJWTInfo);
                     if (isRESTApiTokenCacheEnabled) {
                         JWTValidationInfo tempJWTValidationInfo = (JWTValidationInfo) getRESTAPITokenCache().get(jti);
                         if (tempJWTValidationInfo != null) {
-                            Boolean isExpired = checkTokenExpiration(new Date(tempJWTValidationInfo.getExpiryTime()));
-                            if (isExpired) {
-                                tempJWTValidationInfo.setValid(false);
-                                getRESTAPITokenCache().remove(jti);
-                                getRESTAPIInvalidTokenCache().put(jti, tempJWTValidationInfo);
-                                log.error("JWT token validation failed. Reason: Expired Token. " + maskedToken);
-                                return tempJWTValidationInfo;
-                            }
                             //check accessToken
-                            if (!tempJWTValidationInfo.getRawPayload().equals(accessToken)) {
-                                tempJWTValidationInfo.setValid(false);
-                                getRESTAPITokenCache().remove(jti);
-                                getRESTAPIInvalidTokenCache().put(jti, tempJWTValidationInfo);
+                            if (!accessToken.equals(tempJWTValidationInfo.getRawPayload())) {
                                 log.error("JWT token validation failed. Reason: Invalid Token. " + maskedToken);
+                                return null;
+                            }
+                            if (!checkTokenExpiration(tempJWTValidationInfo.getExpiryTime())) {
                                 return tempJWTValidationInfo;
                             }
-                            return tempJWTValidationInfo;
-
+                            getRESTAPITokenCache().remove(jti);
                         } else if (getRESTAPIInvalidTokenCache().get(jti) != null) {
                             if (log.isDebugEnabled()) {
                                 log.debug("Token retrieved from the invalid token cache. Token: " + maskedToken);
@@ -283,14 +280,14 @@ public class OAuthJwtAuthenticatorImpl extends AbstractOAuthAuthenticator {
                     if (audiencesMap == null) {
                         log.error("JWT token audience validation failed. Reason: No audiences registered " +
                                 "in the server");
-                    } else if (audiencesMap.get(basePath.getPath()) == null) {
+                    } else if (audiences == null) {
                         log.error("JWT token audience validation failed. Reason: No audiences registered " +
-                                "in the server for the base path (" + basePath.getPath() + ")");
+                                "in the server for the base path (" + basePath + ")");
                     } else {
                         log.error("JWT token audience validation failed. Reason: None of the aud present "
                                 + "in the JWT (" + tokenAudiences.toString() +
-                                ") matches the intended audience (" + audiencesMap.get(basePath.getPath())
-                                .toString() + ") for base path ( " + basePath.getPath() +  " ).");
+                                ") matches the intended audience (" + audiences.toString() + ") for base path ( "
+                                + basePath +  " ).");
                     }
                     return null;
                 }
@@ -319,12 +316,34 @@ public class OAuthJwtAuthenticatorImpl extends AbstractOAuthAuthenticator {
     /**
      * Check whether the jwt token is expired or not.
      *
-     * @param tokenExp The ExpiryTime of the JWT token
-     * @return
+     * @param tokenExp The ExpiryTime of the JWT token in milliseconds
+     * @return true if the token is expired
      */
-    private boolean checkTokenExpiration(Date tokenExp) {
-        Date now = new Date();
-        return DateUtils.isBefore(tokenExp, now, RestApiConstants.TIMESTAMP_SKEW_INSECONDS);
+    private boolean checkTokenExpiration(long tokenExp) {
+        return tokenExp + TimeUnit.SECONDS.toMillis(RestApiConstants.TIMESTAMP_SKEW_INSECONDS)
+                < System.currentTimeMillis();
+    }
+
+    /**
+     * Get the path of the base URL of a REST API without building a URL object for each request.
+     *
+     * @param basePath base URL of the REST API
+     * @return path of the base URL, or null if the base URL is not an absolute URL
+     */
+    private String getPath(String basePath) {
+        int schemeEnd = basePath.indexOf(SCHEME_SEPARATOR);
+        if (schemeEnd <= 0) {
+            return null;
+        }
+        int pathStart = basePath.indexOf('/', schemeEnd + SCHEME_SEPARATOR.length());
+        if (pathStart < 0) {
+            return "";
+        }
+        int pathEnd = pathStart;
+        while (pathEnd < basePath.length() && basePath.charAt(pathEnd) != '?' && basePath.charAt(pathEnd) != '#') {
+            pathEnd++;
+        }
+        return basePath.substring(pathStart, pathEnd);
     }
 
     /**
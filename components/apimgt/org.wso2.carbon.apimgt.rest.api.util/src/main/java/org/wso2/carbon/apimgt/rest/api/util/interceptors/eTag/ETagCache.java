@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.rest.api.util.interceptors.eTag;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+import org.wso2.carbon.apimgt.impl.APIManagerConfigurationService;
+import org.wso2.carbon.apimgt.impl.internal.ServiceReferenceHolder;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Index of the ETags returned for GET requests of the REST APIs, used to answer conditional requests without invoking
+ * the service. Each organization has a version which is increased by every modifying request made to the
+ * organization, and an ETag is only reused while the version of its organization is unchanged and the entry has not
+ * expired. The expiry bounds how long changes made by other nodes or outside the REST APIs can go unnoticed.
+ * <p>
+ * The index is local to the node and is not replicated. It is only invalidated by the REST APIs which register the
+ * ETag interceptors, so changes made through the admin REST API, which does not register them, or through another node
+ * are only picked up once the entries expire. For this reason it is disabled unless an expiry is configured with
+ * apim.rest_api.etag_cache_expiry.
+ */
+public class ETagCache {
+
+    private static final Log log = LogFactory.getLog(ETagCache.class);
+    private static final int MAX_ENTRIES = 10000;
+    private static final long DEFAULT_EXPIRY_SECONDS = 0;
+    private static final ETagCache instance = new ETagCache(MAX_ENTRIES, getExpiryFromConfig());
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries;
+    private final long expiryInMillis;
+
+    ETagCache(final int maxEntries, long expiryInMillis) {
+
+        this.expiryInMillis = expiryInMillis;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public static ETagCache getInstance() {
+
+        return instance;
+    }
+
+    public boolean isEnabled() {
+
+        return expiryInMillis > 0;
+    }
+
+    /**
+     * Get the current version of the given organization. The version has to be read before the service is invoked, so
+     * that an ETag computed from a response is not associated with a newer version than its content.
+     *
+     * @param organization organization
+     * @return version of the organization
+     */
+    public long getVersion(String organization) {
+
+        AtomicLong version = versions.get(organization);
+        return version != null ? version.get() : 0;
+    }
+
+    /**
+     * Invalidate all ETags of the given organization.
+     *
+     * @param organization organization
+     */
+    public void invalidate(String organization) {
+
+        versions.computeIfAbsent(organization, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Record the ETag of a GET response.
+     *
+     * @param requestKey   key of the request
+     * @param organization organization of the request
+     * @param version      version of the organization read before the service was invoked
+     * @param eTag         ETag of the response
+     */
+    public void put(String requestKey, String organization, long version, String eTag) {
+
+        if (isEnabled() && eTag != null) {
+            entries.put(requestKey, new Entry(eTag, organization, version, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Check whether the ETag sent by the client is still the current ETag of the request.
+     *
+     * @param requestKey  key of the request
+     * @param ifNoneMatch value of the If-None-Match header
+     * @return the current ETag if the client copy is up to date, null otherwise
+     */
+    public String getMatchingETag(String requestKey, String ifNoneMatch) {
+
+        if (!isEnabled() || ifNoneMatch == null) {
+            return null;
+        }
+        Entry entry = entries.get(requestKey);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.createdTime > expiryInMillis
+                || entry.version != getVersion(entry.organization)) {
+            entries.remove(requestKey);
+            return null;
+        }
+        return matches(entry.eTag, ifNoneMatch) ? entry.eTag : null;
+    }
+
+    /**
+     * Check whether the If-None-Match header value contains the given ETag. Quoted, weak and listed values are
+     * accepted.
+     *
+     * @param eTag        ETag of the resource
+     * @param ifNoneMatch value of the If-None-Match header
+     * @return true if the header contains the ETag
+     */
+    public static boolean matches(String eTag, String ifNoneMatch) {
+
+        if (eTag == null || ifNoneMatch == null) {
+            return false;
+        }
+        for (String value : ifNoneMatch.split(",")) {
+            String candidate = value.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (eTag.equals(StringUtils.strip(candidate, "\""))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long getExpiryFromConfig() {
+
+        long expiry = DEFAULT_EXPIRY_SECONDS;
+        APIManagerConfigurationService configurationService =
+                ServiceReferenceHolder.getInstance().getAPIManagerConfigurationService();
+        if (configurationService != null && configurationService.getAPIManagerConfiguration() != null) {
+            APIManagerConfiguration configuration = configurationService.getAPIManagerConfiguration();
+            String configuredExpiry = configuration.getFirstProperty(APIConstants.API_RESTAPI_ETAG_CACHE_EXPIRY);
+            if (StringUtils.isNotEmpty(configuredExpiry)) {
+                try {
+                    expiry = Long.parseLong(configuredExpiry.trim());
+                } catch (NumberFormatException e) {
+                    log.warn("Invalid ETag cache expiry " + configuredExpiry + " configured. The ETag cache is "
+                            + "disabled");
+                }
+            }
+        }
+        return TimeUnit.SECONDS.toMillis(expiry);
+    }
+
+    private static final class Entry {
+
+        private final String eTag;
+        private final String organization;
+        private final long version;
+        private final long createdTime;
+
+        private Entry(String eTag, String organization, long version, long createdTime) {
+
+            this.eTag = eTag;
+            this.organization = organization;
+            this.version = version;
+            this.createdTime = createdTime;
+        }
+    }
+}
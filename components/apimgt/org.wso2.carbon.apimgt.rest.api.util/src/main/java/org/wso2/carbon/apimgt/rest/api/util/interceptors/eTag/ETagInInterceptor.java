@@ -22,11 +22,14 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.jaxrs.model.OperationResourceInfo;
+import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageContentsList;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
 import org.apache.cxf.phase.Phase;
+import org.wso2.carbon.apimgt.rest.api.common.RestApiCommonUtil;
 import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
+import org.wso2.carbon.apimgt.rest.api.util.interceptors.OrganizationInterceptor;
 import org.wso2.carbon.apimgt.rest.api.util.utils.ETagGenerator;
 
 import javax.ws.rs.core.HttpHeaders;
@@ -36,37 +39,68 @@ import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.wso2.carbon.apimgt.rest.api.util.utils.RestApiUtil.checkETagSkipList;
 
 public class ETagInInterceptor extends AbstractPhaseInterceptor<Message> {
     private static final Log log = LogFactory.getLog(ETagInInterceptor.class);
+    static final String ETAG_REQUEST_KEY = "ETagRequestKey";
+    static final String ETAG_ORGANIZATION = "ETagOrganization";
+    static final String ETAG_VERSION = "ETagVersion";
+    private static final String HEAD = "HEAD";
+    private static final String OPTIONS = "OPTIONS";
+
+    // Resource methods without a <method>GetLastUpdatedTime counterpart are remembered, so that the lookup does not
+    // throw a NoSuchMethodException on every request
+    private static final Map<Method, Optional<Method>> lastUpdatedTimeMethods = new ConcurrentHashMap<>();
+
+    private final ETagCache eTagCache;
 
     public ETagInInterceptor() {
+        this(ETagCache.getInstance());
+    }
+
+    ETagInInterceptor(ETagCache eTagCache) {
         super(Phase.PRE_INVOKE);
+        // the organization is part of the request key
+        addAfter(OrganizationInterceptor.class.getName());
+        this.eTagCache = eTagCache;
     }
 
     @Override
     public void handleMessage(Message message) throws Fault {
 
-        if (checkETagSkipList(message.get(Message.PATH_INFO).toString(),
-                message.get(Message.HTTP_REQUEST_METHOD).toString())) {
+        String httpMethod = String.valueOf(message.get(Message.HTTP_REQUEST_METHOD));
+        if (checkETagSkipList(message.get(Message.PATH_INFO).toString(), httpMethod)) {
             if (log.isDebugEnabled()){
                 log.debug("Skipping ETagInInterceptor for URI : " + message.get(Message.PATH_INFO).toString());
             }
+            // a skipped modification still has to invalidate the ETags served for its organization
+            invalidateOnModification(message, httpMethod);
+            return;
+        }
+        Map<String, List<String>> headers = CastUtils.cast((Map) message.get(Message.PROTOCOL_HEADERS));
+        if (handleContentETag(message, httpMethod, headers)) {
             return;
         }
 
         OperationResourceInfo operationResource = message.getExchange().get(OperationResourceInfo.class);
-        Map<String, List<String>> headers = CastUtils.cast((Map) message.get(Message.PROTOCOL_HEADERS));
+        if (operationResource == null) {
+            return;
+        }
+        Method methodToInvoke = operationResource.getMethodToInvoke();
+        Optional<Method> lastUpdatedTimeMethod =
+                lastUpdatedTimeMethods.computeIfAbsent(methodToInvoke, ETagInInterceptor::findLastUpdatedTimeMethod);
+        if (!lastUpdatedTimeMethod.isPresent()) {
+            return;
+        }
         List<Object> arguments = MessageContentsList.getContentsList(message);
         try {
-            Class aClass = Class.forName(operationResource.getMethodToInvoke().getDeclaringClass().getName());
-            Method aClassMethod = aClass.getMethod(operationResource.getMethodToInvoke().getName() +
-                    RestApiConstants.GET_LAST_UPDATED, operationResource.getMethodToInvoke().getParameterTypes());
-            Object o = aClass.newInstance();
-            String lastUpdatedTime = String.valueOf(aClassMethod.invoke(o, arguments.toArray()));
-            if (message.get(Message.HTTP_REQUEST_METHOD).equals(RestApiConstants.GET)) {
+            Object o = methodToInvoke.getDeclaringClass().newInstance();
+            String lastUpdatedTime = String.valueOf(lastUpdatedTimeMethod.get().invoke(o, arguments.toArray()));
+            if (RestApiConstants.GET.equals(httpMethod)) {
                 if (!Objects.equals(lastUpdatedTime, "null")) {
                     String eTag = ETagGenerator.getETag(lastUpdatedTime);
                     if (headers.containsKey(HttpHeaders.IF_NONE_MATCH)) {
@@ -85,8 +119,7 @@ public class ETagInInterceptor extends AbstractPhaseInterceptor<Message> {
             resource and the header value will be compared and if they do not match then the flow will be terminated
             with 412 PRECONDITION FAILED
              */
-            if (((RestApiConstants.PUT.equals(message.get(Message.HTTP_REQUEST_METHOD))
-                    || RestApiConstants.DELETE.equals(message.get(Message.HTTP_REQUEST_METHOD))))
+            if ((RestApiConstants.PUT.equals(httpMethod) || RestApiConstants.DELETE.equals(httpMethod))
                     && headers.containsKey(HttpHeaders.IF_MATCH)) {
                 String ifMatchHeaderValue;
                 ifMatchHeaderValue = String.valueOf(headers.get(HttpHeaders.IF_MATCH).get(0));
@@ -98,8 +131,7 @@ public class ETagInInterceptor extends AbstractPhaseInterceptor<Message> {
                     }
                 }
             }
-        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException |
-                InvocationTargetException | InstantiationException e) {
+        } catch (IllegalAccessException | InvocationTargetException | InstantiationException e) {
             if (log.isDebugEnabled()) {
                 log.debug(" Error while retrieving the ETag Resource timestamps due to " + e.getMessage(), e);
             }
@@ -107,4 +139,114 @@ public class ETagInInterceptor extends AbstractPhaseInterceptor<Message> {
 
     }
 
+    /**
+     * Short-circuit a conditional GET with 304 Not Modified when the If-None-Match header carries the content ETag
+     * last served for the same request and nothing has changed in the organization since. Any other modifying request
+     * invalidates the content ETags of the organization.
+     *
+     * @param message    request message
+     * @param httpMethod HTTP method of the request
+     * @param headers    request headers
+     * @return true if the request was answered with 304 Not Modified
+     */
+    private boolean handleContentETag(Message message, String httpMethod, Map<String, List<String>> headers) {
+
+        if (!eTagCache.isEnabled()) {
+            return false;
+        }
+        if (RestApiConstants.GET.equals(httpMethod)) {
+            Exchange exchange = message.getExchange();
+            String organization = getOrganization(message);
+            String requestKey = getRequestKey(message, headers, organization);
+            String eTag = eTagCache.getMatchingETag(requestKey, getFirstHeader(headers, HttpHeaders.IF_NONE_MATCH));
+            if (eTag != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Content of " + message.get(Message.PATH_INFO) + " is not modified since ETag " + eTag);
+                }
+                exchange.put(Response.class, Response.notModified(eTag).build());
+                return true;
+            }
+            exchange.put(ETAG_REQUEST_KEY, requestKey);
+            exchange.put(ETAG_VERSION, eTagCache.getVersion(organization));
+            exchange.put(ETAG_ORGANIZATION, organization);
+        } else {
+            invalidateOnModification(message, httpMethod);
+        }
+        return false;
+    }
+
+    /**
+     * Invalidate the content ETags of the organization when the request may modify a resource. The organization is
+     * recorded in the exchange so that {@link ETagOutInterceptor} invalidates it again once the modification is
+     * complete.
+     *
+     * @param message    request message
+     * @param httpMethod HTTP method of the request
+     */
+    private void invalidateOnModification(Message message, String httpMethod) {
+
+        if (!eTagCache.isEnabled() || RestApiConstants.GET.equals(httpMethod) || HEAD.equals(httpMethod)
+                || OPTIONS.equals(httpMethod)) {
+            return;
+        }
+        String organization = getOrganization(message);
+        eTagCache.invalidate(organization);
+        message.getExchange().put(ETAG_ORGANIZATION, organization);
+    }
+
+    /**
+     * Get the organization resolved for the request by {@link OrganizationInterceptor}, which is the organization whose
+     * resources the request reads or modifies. The tenant of the user is used for the REST APIs which do not resolve
+     * an organization.
+     *
+     * @param message request message
+     * @return organization of the request
+     */
+    private static String getOrganization(Message message) {
+
+        Object organization = message.get(RestApiConstants.ORGANIZATION);
+        if (organization != null) {
+            return organization.toString();
+        }
+        return String.valueOf(RestApiCommonUtil.getLoggedInUserTenantDomain());
+    }
+
+    /**
+     * Build the key of a GET request. Responses differ per organization, user, path, query and representation, so all
+     * of them are part of the key.
+     *
+     * @param message      request message
+     * @param headers      request headers
+     * @param organization organization of the request
+     * @return key of the request
+     */
+    private static String getRequestKey(Message message, Map<String, List<String>> headers, String organization) {
+
+        return organization + ':' + RestApiCommonUtil.getLoggedInUserTenantDomain() + ':'
+                + RestApiCommonUtil.getLoggedInUsername() + ':' + message.get(Message.PATH_INFO) + '?'
+                + message.get(Message.QUERY_STRING) + ':' + getFirstHeader(headers, HttpHeaders.ACCEPT);
+    }
+
+    private static String getFirstHeader(Map<String, List<String>> headers, String name) {
+
+        if (headers == null) {
+            return null;
+        }
+        List<String> values = headers.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    private static Optional<Method> findLastUpdatedTimeMethod(Method methodToInvoke) {
+
+        try {
+            return Optional.of(methodToInvoke.getDeclaringClass().getMethod(methodToInvoke.getName() +
+                    RestApiConstants.GET_LAST_UPDATED, methodToInvoke.getParameterTypes()));
+        } catch (NoSuchMethodException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("No last updated time resolver found for " + methodToInvoke.getName());
+            }
+            return Optional.empty();
+        }
+    }
+
 }
@@ -18,46 +18,140 @@
 
 package org.wso2.carbon.apimgt.rest.api.util.interceptors.eTag;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.jaxrs.impl.MetadataMap;
+import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageContentsList;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
 import org.apache.cxf.phase.Phase;
+import org.wso2.carbon.apimgt.rest.api.util.utils.ETagGenerator;
 
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 
 import static org.wso2.carbon.apimgt.rest.api.util.utils.RestApiUtil.checkETagSkipList;
 
 public class ETagOutInterceptor extends AbstractPhaseInterceptor<Message> {
     private static final Log log = LogFactory.getLog(ETagOutInterceptor.class);
     private static final String ETAG = "ETag";
+    private static final String REST_API_PACKAGE = "org.wso2.carbon.apimgt.rest.api.";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ETagCache eTagCache;
 
     public ETagOutInterceptor() {
+        this(ETagCache.getInstance());
+    }
+
+    ETagOutInterceptor(ETagCache eTagCache) {
         super(Phase.PRE_PROTOCOL);
+        this.eTagCache = eTagCache;
     }
 
     @Override
     public void handleMessage(Message message) throws Fault {
-        if (checkETagSkipList(message.getExchange().getInMessage().get(Message.PATH_INFO).toString(),
-                message.getExchange().getInMessage().get(Message.HTTP_REQUEST_METHOD).toString())) {
+
+        Exchange exchange = message.getExchange();
+        String organization = (String) exchange.get(ETagInInterceptor.ETAG_ORGANIZATION);
+        String requestKey = (String) exchange.get(ETagInInterceptor.ETAG_REQUEST_KEY);
+        if (checkETagSkipList(exchange.getInMessage().get(Message.PATH_INFO).toString(),
+                exchange.getInMessage().get(Message.HTTP_REQUEST_METHOD).toString())) {
             if (log.isDebugEnabled()){
-                log.debug("Skipping ETagOutInterceptor for URI : " + message.getExchange().getInMessage().get(Message.PATH_INFO).toString());
+                log.debug("Skipping ETagOutInterceptor for URI : "
+                        + exchange.getInMessage().get(Message.PATH_INFO).toString());
+            }
+            if (organization != null) {
+                // only a skipped modification records its organization
+                eTagCache.invalidate(organization);
             }
             return;
-
+        }
+        if (organization != null && requestKey == null) {
+            // The organization is invalidated again once the modification is complete, so that a GET served while
+            // it was in progress cannot be matched later
+            eTagCache.invalidate(organization);
+            return;
         }
         MultivaluedMap<String, Object> headers = (MetadataMap<String, Object>) message.get(Message.PROTOCOL_HEADERS);
         if (headers == null) {
             headers = new MetadataMap<>();
         }
-        if (message.getExchange().containsKey(ETAG)) {
-            String eTag = (String) message.getExchange().get(ETAG);
+        if (exchange.containsKey(ETAG)) {
+            String eTag = (String) exchange.get(ETAG);
+            setOutBoundHeaders(message, headers, eTag);
+        } else if (requestKey != null) {
+            MessageContentsList contents = MessageContentsList.getContentsList(message);
+            if (contents == null || contents.isEmpty() || !(contents.get(0) instanceof Response)) {
+                return;
+            }
+            Response response = (Response) contents.get(0);
+            byte[] content = getContent(response);
+            if (content == null) {
+                return;
+            }
+            String eTag = ETagGenerator.getContentETag(content);
+            if (eTag == null) {
+                return;
+            }
+            eTagCache.put(requestKey, organization, (Long) exchange.get(ETagInInterceptor.ETAG_VERSION), eTag);
+            Map<String, List<String>> requestHeaders =
+                    CastUtils.cast((Map) exchange.getInMessage().get(Message.PROTOCOL_HEADERS));
+            List<String> ifNoneMatch = requestHeaders != null ? requestHeaders.get(HttpHeaders.IF_NONE_MATCH) : null;
+            if (ifNoneMatch != null && !ifNoneMatch.isEmpty() && ETagCache.matches(eTag, ifNoneMatch.get(0))) {
+                contents.set(0, Response.notModified(eTag).build());
+                return;
+            }
+            if (content != response.getEntity()) {
+                // write the content which was hashed instead of serializing the entity again
+                contents.set(0, Response.fromResponse(response).entity(content).build());
+            }
             setOutBoundHeaders(message, headers, eTag);
         }
     }
 
+    /**
+     * Get the serialized content of a successful response. REST API DTOs are serialized the same way as the JSON
+     * provider of the REST APIs does. Streamed entities and responses that already carry an ETag are not considered.
+     *
+     * @param response response returned by the resource
+     * @return the content of the response, or null if the response is not eligible for a content ETag
+     */
+    private byte[] getContent(Response response) {
+
+        if (response.getStatus() != Response.Status.OK.getStatusCode() || response.getMetadata().containsKey(ETAG)) {
+            return null;
+        }
+        Object entity = response.getEntity();
+        byte[] content;
+        if (entity instanceof String) {
+            content = ((String) entity).getBytes(StandardCharsets.UTF_8);
+        } else if (entity instanceof byte[]) {
+            content = (byte[]) entity;
+        } else if (entity != null && entity.getClass().getName().startsWith(REST_API_PACKAGE)) {
+            try {
+                content = objectMapper.writeValueAsBytes(entity);
+            } catch (JsonProcessingException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Unable to compute the ETag of " + entity.getClass().getName(), e);
+                }
+                return null;
+            }
+        } else {
+            return null;
+        }
+        return content;
+    }
+
     private void setOutBoundHeaders(Message message, MultivaluedMap<String, Object> headers, String eTag) {
         headers.add(ETAG, "\"" + eTag + "\"");
         message.put(Message.PROTOCOL_HEADERS, headers);
@@ -56,8 +56,12 @@ public class ETagGenerator {
      * @throws NoSuchAlgorithmException if the given algorithm is invalid or not found in {@link MessageDigest}
      */
     private static String getHash(long updatedTimeInMillis, String algorithm) throws NoSuchAlgorithmException {
+        return getHash(String.valueOf(updatedTimeInMillis).getBytes(), algorithm);
+    }
+
+    private static String getHash(byte[] content, String algorithm) throws NoSuchAlgorithmException {
         MessageDigest messageDigest = MessageDigest.getInstance(algorithm);
-        messageDigest.update(String.valueOf(updatedTimeInMillis).getBytes());
+        messageDigest.update(content);
         byte[] digest = messageDigest.digest();
 
         StringBuilder sb = new StringBuilder();
@@ -81,6 +85,21 @@ public class ETagGenerator {
         return getHash(updatedTimeInMillis, "MD5");
     }
 
+    /**
+     * Method returns the ETag value for the given representation of a resource using SHA-256 hashing
+     *
+     * @param content serialized content of the resource
+     * @return String
+     */
+    public static String getContentETag(byte[] content) {
+        try {
+            return getHash(content, "SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            log.error("Failed to generate E-Tag due to " + e.getMessage(), e);
+        }
+        return null;
+    }
+
     public static String getETag(String lastUpdatedTimeInMillis) {
         try {
             return getETag(Long.parseLong(lastUpdatedTimeInMillis));
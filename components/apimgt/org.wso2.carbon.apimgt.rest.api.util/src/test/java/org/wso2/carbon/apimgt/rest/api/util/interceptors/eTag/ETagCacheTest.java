@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.rest.api.util.interceptors.eTag;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ETagCacheTest {
+
+    private static final long EXPIRY = 60000;
+
+    @Test
+    public void testMatchingETag() {
+
+        ETagCache eTagCache = new ETagCache(10, EXPIRY);
+        eTagCache.put("carbon.super:admin:/apis?null:null", "carbon.super", eTagCache.getVersion("carbon.super"),
+                "abc");
+
+        Assert.assertEquals("abc", eTagCache.getMatchingETag("carbon.super:admin:/apis?null:null", "\"abc\""));
+        Assert.assertEquals("abc", eTagCache.getMatchingETag("carbon.super:admin:/apis?null:null", "W/\"abc\""));
+        Assert.assertEquals("abc", eTagCache.getMatchingETag("carbon.super:admin:/apis?null:null", "\"x\", \"abc\""));
+        Assert.assertNull(eTagCache.getMatchingETag("carbon.super:admin:/apis?null:null", "\"abd\""));
+        Assert.assertNull(eTagCache.getMatchingETag("carbon.super:admin:/apis?null:null", null));
+        Assert.assertNull(eTagCache.getMatchingETag("carbon.super:admin:/tags?null:null", "\"abc\""));
+    }
+
+    @Test
+    public void testInvalidateOnlyAffectsOrganization() {
+
+        ETagCache eTagCache = new ETagCache(10, EXPIRY);
+        eTagCache.put("carbon.super:key", "carbon.super", eTagCache.getVersion("carbon.super"), "abc");
+        eTagCache.put("wso2.com:key", "wso2.com", eTagCache.getVersion("wso2.com"), "abc");
+
+        eTagCache.invalidate("wso2.com");
+
+        Assert.assertEquals("abc", eTagCache.getMatchingETag("carbon.super:key", "\"abc\""));
+        Assert.assertNull(eTagCache.getMatchingETag("wso2.com:key", "\"abc\""));
+    }
+
+    @Test
+    public void testETagComputedBeforeInvalidationIsNotReused() {
+
+        ETagCache eTagCache = new ETagCache(10, EXPIRY);
+        // version read before the service was invoked, while a modification completed concurrently
+        long version = eTagCache.getVersion("carbon.super");
+        eTagCache.invalidate("carbon.super");
+        eTagCache.put("carbon.super:key", "carbon.super", version, "abc");
+
+        Assert.assertNull(eTagCache.getMatchingETag("carbon.super:key", "\"abc\""));
+    }
+
+    @Test
+    public void testExpiredETagIsNotReused() throws Exception {
+
+        ETagCache eTagCache = new ETagCache(10, 1);
+        eTagCache.put("carbon.super:key", "carbon.super", eTagCache.getVersion("carbon.super"), "abc");
+        Thread.sleep(10);
+
+        Assert.assertNull(eTagCache.getMatchingETag("carbon.super:key", "\"abc\""));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedETagIsEvicted() {
+
+        ETagCache eTagCache = new ETagCache(2, EXPIRY);
+        eTagCache.put("key1", "carbon.super", 0, "abc");
+        eTagCache.put("key2", "carbon.super", 0, "def");
+        Assert.assertEquals("abc", eTagCache.getMatchingETag("key1", "\"abc\""));
+        eTagCache.put("key3", "carbon.super", 0, "ghi");
+
+        Assert.assertEquals("abc", eTagCache.getMatchingETag("key1", "\"abc\""));
+        Assert.assertNull(eTagCache.getMatchingETag("key2", "\"def\""));
+        Assert.assertEquals("ghi", eTagCache.getMatchingETag("key3", "\"ghi\""));
+    }
+
+    @Test
+    public void testDisabledCache() {
+
+        ETagCache eTagCache = new ETagCache(10, 0);
+        eTagCache.put("carbon.super:key", "carbon.super", 0, "abc");
+
+        Assert.assertFalse(eTagCache.isEnabled());
+        Assert.assertNull(eTagCache.getMatchingETag("carbon.super:key", "\"abc\""));
+    }
+}
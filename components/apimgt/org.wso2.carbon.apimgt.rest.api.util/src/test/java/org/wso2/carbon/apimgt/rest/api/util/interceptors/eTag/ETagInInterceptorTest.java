@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.rest.api.util.interceptors.eTag;
+
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.wso2.carbon.apimgt.rest.api.common.RestApiCommonUtil;
+import org.wso2.carbon.apimgt.rest.api.common.RestApiConstants;
+import org.wso2.carbon.apimgt.rest.api.util.utils.RestApiUtil;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({RestApiCommonUtil.class, RestApiUtil.class})
+public class ETagInInterceptorTest {
+
+    private static final String APIS_PATH = "/apis";
+    private static final String POST = "POST";
+
+    private ETagCache eTagCache;
+    private ETagInInterceptor eTagInInterceptor;
+
+    @Before
+    public void init() {
+
+        PowerMockito.mockStatic(RestApiCommonUtil.class);
+        PowerMockito.mockStatic(RestApiUtil.class);
+        Mockito.when(RestApiCommonUtil.getLoggedInUserTenantDomain()).thenReturn("carbon.super");
+        Mockito.when(RestApiCommonUtil.getLoggedInUsername()).thenReturn("admin");
+        Mockito.when(RestApiUtil.checkETagSkipList(Mockito.anyString(), Mockito.anyString())).thenReturn(false);
+        eTagCache = new ETagCache(100, 60000);
+        eTagInInterceptor = new ETagInInterceptor(eTagCache);
+    }
+
+    @Test
+    public void testNotModifiedForSameRequest() {
+
+        serve("org1", "application/json", "abc");
+
+        Exchange exchange = handle(RestApiConstants.GET, APIS_PATH, "org1", "application/json", "\"abc\"");
+        Response response = exchange.get(Response.class);
+        Assert.assertNotNull(response);
+        Assert.assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+    }
+
+    @Test
+    public void testRequestKeyIsolation() {
+
+        serve("org1", "application/json", "abc");
+
+        // another organization of the same tenant
+        Assert.assertNull(handle(RestApiConstants.GET, APIS_PATH, "org2", "application/json", "\"abc\"")
+                .get(Response.class));
+        // another representation
+        Assert.assertNull(handle(RestApiConstants.GET, APIS_PATH, "org1", "application/yaml", "\"abc\"")
+                .get(Response.class));
+        // another user
+        Mockito.when(RestApiCommonUtil.getLoggedInUsername()).thenReturn("alice");
+        Assert.assertNull(handle(RestApiConstants.GET, APIS_PATH, "org1", "application/json", "\"abc\"")
+                .get(Response.class));
+        // another tenant
+        Mockito.when(RestApiCommonUtil.getLoggedInUsername()).thenReturn("admin");
+        Mockito.when(RestApiCommonUtil.getLoggedInUserTenantDomain()).thenReturn("wso2.com");
+        Assert.assertNull(handle(RestApiConstants.GET, APIS_PATH, "org1", "application/json", "\"abc\"")
+                .get(Response.class));
+    }
+
+    @Test
+    public void testModificationInvalidatesOrganization() {
+
+        serve("org1", "application/json", "abc");
+        serve("org2", "application/json", "def");
+
+        Exchange exchange = handle(POST, APIS_PATH, "org1", "application/json", null);
+        Assert.assertEquals("org1", exchange.get(ETagInInterceptor.ETAG_ORGANIZATION));
+        Assert.assertNull(exchange.get(ETagInInterceptor.ETAG_REQUEST_KEY));
+
+        Assert.assertNull(handle(RestApiConstants.GET, APIS_PATH, "org1", "application/json", "\"abc\"")
+                .get(Response.class));
+        Assert.assertNotNull(handle(RestApiConstants.GET, APIS_PATH, "org2", "application/json", "\"def\"")
+                .get(Response.class));
+    }
+
+    @Test
+    public void testModificationByAnotherTenantUserInvalidatesOrganization() {
+
+        // a super tenant user reads the organization through the X-WSO2-Tenant header
+        serve("wso2.com", "application/json", "abc");
+
+        // while a user of the organization modifies it
+        Mockito.when(RestApiCommonUtil.getLoggedInUserTenantDomain()).thenReturn("wso2.com");
+        handle(POST, APIS_PATH, "wso2.com", "application/json", null);
+        Mockito.when(RestApiCommonUtil.getLoggedInUserTenantDomain()).thenReturn("carbon.super");
+
+        Assert.assertNull(handle(RestApiConstants.GET, APIS_PATH, "wso2.com", "application/json", "\"abc\"")
+                .get(Response.class));
+    }
+
+    @Test
+    public void testTenantIsUsedWithoutOrganization() {
+
+        Exchange exchange = handle(POST, APIS_PATH, null, "application/json", null);
+        Assert.assertEquals("carbon.super", exchange.get(ETagInInterceptor.ETAG_ORGANIZATION));
+    }
+
+    @Test
+    public void testSkippedModificationInvalidatesOrganization() {
+
+        serve("org1", "application/json", "abc");
+        Mockito.when(RestApiUtil.checkETagSkipList("/subscriptions", POST)).thenReturn(true);
+
+        Exchange exchange = handle(POST, "/subscriptions", "org1", "application/json", null);
+        Assert.assertEquals("org1", exchange.get(ETagInInterceptor.ETAG_ORGANIZATION));
+
+        Assert.assertNull(handle(RestApiConstants.GET, APIS_PATH, "org1", "application/json", "\"abc\"")
+                .get(Response.class));
+    }
+
+    @Test
+    public void testSkippedGetIsNotTracked() {
+
+        Mockito.when(RestApiUtil.checkETagSkipList(APIS_PATH, RestApiConstants.GET)).thenReturn(true);
+
+        Exchange exchange = handle(RestApiConstants.GET, APIS_PATH, "org1", "application/json", null);
+        Assert.assertNull(exchange.get(ETagInInterceptor.ETAG_REQUEST_KEY));
+        Assert.assertNull(exchange.get(ETagInInterceptor.ETAG_ORGANIZATION));
+    }
+
+    /**
+     * Record the ETag served for a GET request the same way as the out interceptor does.
+     */
+    private void serve(String organization, String accept, String eTag) {
+
+        Exchange exchange = handle(RestApiConstants.GET, APIS_PATH, organization, accept, null);
+        Assert.assertNull(exchange.get(Response.class));
+        eTagCache.put((String) exchange.get(ETagInInterceptor.ETAG_REQUEST_KEY),
+                (String) exchange.get(ETagInInterceptor.ETAG_ORGANIZATION),
+                (Long) exchange.get(ETagInInterceptor.ETAG_VERSION), eTag);
+    }
+
+    private Exchange handle(String httpMethod, String path, String organization, String accept, String ifNoneMatch) {
+
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.ACCEPT, Collections.singletonList(accept));
+        if (ifNoneMatch != null) {
+            headers.put(HttpHeaders.IF_NONE_MATCH, Collections.singletonList(ifNoneMatch));
+        }
+        Message message = new MessageImpl();
+        message.put(Message.HTTP_REQUEST_METHOD, httpMethod);
+        message.put(Message.PATH_INFO, path);
+        message.put(Message.PROTOCOL_HEADERS, headers);
+        message.put(RestApiConstants.ORGANIZATION, organization);
+        Exchange exchange = new ExchangeImpl();
+        exchange.setInMessage(message);
+        eTagInInterceptor.handleMessage(message);
+        return exchange;
+    }
+}
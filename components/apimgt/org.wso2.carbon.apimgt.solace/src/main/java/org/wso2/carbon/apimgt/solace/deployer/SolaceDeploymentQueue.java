@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.solace.deployer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.apimgt.api.APIManagementException;
+import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.metrics.manager.Level;
+import org.wso2.carbon.metrics.manager.MetricManager;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queues the Solace admin API operations triggered by subscription and application events and applies them in the
+ * background, so that the publisher and devportal requests which raised the events do not wait on the Solace broker.
+ * <p>
+ * Operations are grouped into lanes, one per Solace application. Operations of a lane run one after the other in
+ * submission order, while different lanes run concurrently on a bounded pool. A queued operation is dropped when a
+ * newer operation for the same target is submitted before it started, so that bursts of updates result in a single
+ * admin call. The newer operation is queued behind the operations submitted before it, such as a rename of the
+ * application. Failed operations are retried with a linear back off and the outcome of the last operation of each
+ * lane is kept as its reconciliation status.
+ * <p>
+ * The number of queued operations, of succeeded, retried and failed attempts and of applications whose last operation
+ * failed are published as metrics under {@code org.wso2.am.SolaceDeploymentQueue}.
+ */
+public class SolaceDeploymentQueue {
+
+    private static final Log log = LogFactory.getLog(SolaceDeploymentQueue.class);
+    private static final int DEFAULT_CONCURRENCY = 10;
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final long DEFAULT_RETRY_DELAY_MILLIS = 1000;
+    private static final int MAX_STATUS_ENTRIES = 1000;
+    private static final String PENDING_OPERATIONS = "pendingOperations";
+    private static final String SUCCEEDED_OPERATIONS = "succeededOperations";
+    private static final String RETRIED_OPERATIONS = "retriedOperations";
+    private static final String FAILED_OPERATIONS = "failedOperations";
+    private static final String FAILED_APPLICATIONS = "failedApplications";
+    private static final SolaceDeploymentQueue INSTANCE = new SolaceDeploymentQueue(DEFAULT_CONCURRENCY,
+            DEFAULT_MAX_ATTEMPTS, DEFAULT_RETRY_DELAY_MILLIS);
+
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retryScheduler;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final Map<String, Lane> lanes = new HashMap<>();
+    private final Map<String, Status> statuses = new LinkedHashMap<String, Status>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Status> eldest) {
+            if (size() > MAX_STATUS_ENTRIES) {
+                if (eldest.getValue().getState() == State.FAILED) {
+                    count(FAILED_APPLICATIONS, -1);
+                }
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * An admin API operation against the Solace broker.
+     */
+    public interface SolaceOperation {
+
+        void execute() throws APIManagementException, IOException;
+    }
+
+    /**
+     * Reconciliation state of a lane.
+     */
+    public enum State {
+        QUEUED, IN_PROGRESS, SYNCED, FAILED
+    }
+
+    SolaceDeploymentQueue(int concurrency, int maxAttempts, long retryDelayMillis) {
+        this.workers = Executors.newFixedThreadPool(concurrency, new QueueThreadFactory("SolaceDeploymentWorker"));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                new QueueThreadFactory("SolaceDeploymentRetry"));
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    public static SolaceDeploymentQueue getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queues an operation. The operation runs with the tenant domain and user of the calling thread.
+     *
+     * @param applicationUUID UUID of the Solace application the operation applies to
+     * @param targetKey       key of the target within the application, such as the subscribed API. A queued
+     *                        operation with the same key is dropped in favour of this operation
+     * @param description     description of the operation used in logs and in the reconciliation status
+     * @param operation       operation to execute
+     */
+    public void submit(String applicationUUID, String targetKey, String description, SolaceOperation operation) {
+        submit(applicationUUID, targetKey, description, operation, false);
+    }
+
+    /**
+     * Queues an operation which makes all the operations queued for the application obsolete, such as deleting the
+     * application. Queued operations of the application are dropped.
+     *
+     * @param applicationUUID UUID of the Solace application the operation applies to
+     * @param description     description of the operation used in logs and in the reconciliation status
+     * @param operation       operation to execute
+     */
+    public void submitReplacingQueued(String applicationUUID, String description, SolaceOperation operation) {
+        submit(applicationUUID, applicationUUID, description, operation, true);
+    }
+
+    /**
+     * Returns the reconciliation status of the given Solace application.
+     *
+     * @param applicationUUID UUID of the Solace application
+     * @return status of the last operation of the application or null if there was none recently
+     */
+    public Status getStatus(String applicationUUID) {
+        synchronized (statuses) {
+            return statuses.get(applicationUUID);
+        }
+    }
+
+    /**
+     * Stops processing queued operations.
+     */
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+    }
+
+    private void submit(String applicationUUID, String targetKey, String description, SolaceOperation operation,
+                        boolean replaceQueued) {
+        PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+        PendingOperation pendingOperation = new PendingOperation(targetKey, description, operation,
+                carbonContext.getTenantDomain(), carbonContext.getUsername());
+        boolean startLane = false;
+        int dropped = 0;
+        synchronized (lanes) {
+            Lane lane = lanes.computeIfAbsent(applicationUUID, k -> new Lane());
+            if (replaceQueued) {
+                if (log.isDebugEnabled() && !lane.pending.isEmpty()) {
+                    log.debug("Dropping " + lane.pending.size() + " queued Solace operations of application "
+                            + applicationUUID + " superseded by " + description);
+                }
+                dropped = lane.pending.size();
+                lane.pending.clear();
+            } else {
+                // The newer operation is appended rather than taking the place of the queued one, so that it is not
+                // applied before operations that were submitted in between
+                Iterator<PendingOperation> iterator = lane.pending.iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().targetKey.equals(targetKey)) {
+                        iterator.remove();
+                        dropped++;
+                        if (log.isDebugEnabled()) {
+                            log.debug("Coalesced queued Solace operation of application " + applicationUUID
+                                    + " into " + description);
+                        }
+                        break;
+                    }
+                }
+            }
+            lane.pending.add(pendingOperation);
+            if (!lane.active) {
+                lane.active = true;
+                startLane = true;
+            }
+        }
+        count(PENDING_OPERATIONS, 1 - dropped);
+        updateStatus(applicationUUID, State.QUEUED, description, 0, null);
+        if (startLane) {
+            dispatch(() -> drain(applicationUUID));
+        }
+    }
+
+    private void drain(String applicationUUID) {
+        PendingOperation operation;
+        synchronized (lanes) {
+            Lane lane = lanes.get(applicationUUID);
+            operation = lane.pending.poll();
+            if (operation == null) {
+                lanes.remove(applicationUUID);
+                return;
+            }
+        }
+        count(PENDING_OPERATIONS, -1);
+        run(applicationUUID, operation);
+    }
+
+    private void run(String applicationUUID, PendingOperation operation) {
+        int attempt = ++operation.attempts;
+        updateStatus(applicationUUID, State.IN_PROGRESS, operation.description, attempt, null);
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext carbonContext = PrivilegedCarbonContext.getThreadLocalCarbonContext();
+            carbonContext.setTenantDomain(operation.tenantDomain, true);
+            carbonContext.setUsername(operation.username);
+            operation.operation.execute();
+            count(SUCCEEDED_OPERATIONS, 1);
+            updateStatus(applicationUUID, State.SYNCED, operation.description, attempt, null);
+        } catch (APIManagementException | IOException | RuntimeException e) {
+            if (attempt < maxAttempts) {
+                count(RETRIED_OPERATIONS, 1);
+                log.warn("Attempt " + attempt + " of " + operation.description + " failed. Retrying. : "
+                        + e.getMessage());
+                scheduleRetry(applicationUUID, operation, attempt);
+                return;
+            }
+            log.error("Error while applying " + operation.description + " in Solace broker after " + attempt
+                    + " attempts", e);
+            count(FAILED_OPERATIONS, 1);
+            updateStatus(applicationUUID, State.FAILED, operation.description, attempt, e.getMessage());
+        } finally {
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+        dispatch(() -> drain(applicationUUID));
+    }
+
+    private void scheduleRetry(String applicationUUID, PendingOperation operation, int attempt) {
+        try {
+            retryScheduler.schedule(() -> dispatch(() -> run(applicationUUID, operation)),
+                    retryDelayMillis * attempt, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.warn("Solace deployment queue is shut down. Dropping " + operation.description);
+        }
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            workers.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Solace deployment queue is shut down. Dropping queued Solace operations");
+        }
+    }
+
+    private void updateStatus(String applicationUUID, State state, String operation, int attempts, String error) {
+        synchronized (statuses) {
+            Status previous = statuses.put(applicationUUID, new Status(state, operation, attempts, error));
+            boolean failedBefore = previous != null && previous.getState() == State.FAILED;
+            if (failedBefore != (state == State.FAILED)) {
+                count(FAILED_APPLICATIONS, failedBefore ? -1 : 1);
+            }
+        }
+    }
+
+    private static void count(String metric, long delta) {
+        if (delta != 0) {
+            MetricManager.counter(Level.INFO, MetricManager.name(APIConstants.METRICS_PREFIX,
+                    SolaceDeploymentQueue.class.getSimpleName(), metric)).inc(delta);
+        }
+    }
+
+    /**
+     * Reconciliation status of a Solace application.
+     */
+    public static final class Status {
+
+        private final State state;
+        private final String operation;
+        private final int attempts;
+        private final String error;
+        private final long lastUpdated;
+
+        Status(State state, String operation, int attempts, String error) {
+            this.state = state;
+            this.operation = operation;
+            this.attempts = attempts;
+            this.error = error;
+            this.lastUpdated = System.currentTimeMillis();
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public long getLastUpdated() {
+            return lastUpdated;
+        }
+    }
+
+    private static final class Lane {
+
+        private final Deque<PendingOperation> pending = new ArrayDeque<>();
+        private boolean active;
+    }
+
+    private static final class PendingOperation {
+
+        private final String targetKey;
+        private final String description;
+        private final SolaceOperation operation;
+        private final String tenantDomain;
+        private final String username;
+        private int attempts;
+
+        PendingOperation(String targetKey, String description, SolaceOperation operation, String tenantDomain,
+                         String username) {
+            this.targetKey = targetKey;
+            this.description = description;
+            this.operation = operation;
+            this.tenantDomain = tenantDomain;
+            this.username = username;
+        }
+    }
+
+    private static final class QueueThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+        private final String namePrefix;
+
+        QueueThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
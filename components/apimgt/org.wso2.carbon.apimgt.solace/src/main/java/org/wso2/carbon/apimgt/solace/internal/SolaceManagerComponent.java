@@ -25,6 +25,7 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 
 import org.wso2.carbon.apimgt.impl.notifier.Notifier;
+import org.wso2.carbon.apimgt.solace.deployer.SolaceDeploymentQueue;
 import org.wso2.carbon.apimgt.solace.notifiers.SolaceApplicationNotifier;
 import org.wso2.carbon.apimgt.solace.notifiers.SolaceKeyGenNotifier;
 import org.wso2.carbon.apimgt.solace.notifiers.SolaceSubscriptionsNotifier;
@@ -62,5 +63,6 @@ public class SolaceManagerComponent {
         if (log.isDebugEnabled()) {
             log.debug("Deactivating SolaceManager component");
         }
+        SolaceDeploymentQueue.getInstance().shutdown();
     }
 }
@@ -34,6 +34,7 @@ import org.wso2.carbon.apimgt.impl.notifier.events.Event;
 import org.wso2.carbon.apimgt.impl.notifier.exceptions.NotifierException;
 import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 import org.wso2.carbon.apimgt.solace.SolaceAdminApis;
+import org.wso2.carbon.apimgt.solace.deployer.SolaceDeploymentQueue;
 import org.wso2.carbon.apimgt.solace.utils.SolaceConstants;
 import org.wso2.carbon.apimgt.solace.utils.SolaceNotifierUtils;
 
@@ -111,54 +112,60 @@ public class SolaceApplicationNotifier extends ApplicationNotifier {
                 }
             }
 
-            boolean applicationFoundInSolaceBroker = false;
             if (hasSubscribedAPIDeployedInSolace) {
-                SolaceAdminApis solaceAdminApis = SolaceNotifierUtils.getSolaceAdminApis();
-
-                // check existence of application in Solace Broker
-                CloseableHttpResponse response1 = solaceAdminApis.applicationGet(organizationNameOfSolaceDeployment,
-                        event.getUuid(), "default");
-                if (response1.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
-                    applicationFoundInSolaceBroker = true;
-
-                    if (log.isDebugEnabled()) {
-                        log.info("Found application '" + event.getApplicationName() + "' in Solace broker");
-                        log.info("Waiting until application removing workflow gets finished");
-                    }
+                String solaceOrganization = organizationNameOfSolaceDeployment;
+                // Queued subscription updates of the application are dropped as the application is being deleted
+                SolaceDeploymentQueue.getInstance().submitReplacingQueued(event.getUuid(),
+                        "deletion of Solace application " + event.getUuid(),
+                        () -> deleteSolaceApplication(solaceOrganization, event));
+            }
+        } catch (APIManagementException e) {
+            throw new NotifierException(e.getMessage());
+        }
+    }
 
-                } else if (response1.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_FOUND) {
-                    throw new NotifierException("Application '" + event.getApplicationName() + "' cannot be found in " +
-                            "Solace Broker");
-                } else {
-                    if (log.isDebugEnabled()) {
-                        log.error("Error while searching for application '" + event.getApplicationName() + "'" +
-                                " in Solace Broker. : " + response1.getStatusLine().toString());
-                    }
-                    throw new NotifierException("Error while searching for application '" + event.getApplicationName() +
-                            "' in Solace Broker");
-                }
+    /**
+     * Delete the application from the Solace broker
+     *
+     * @param organization Name of the organization in Solace broker
+     * @param event        ApplicationEvent to remove Solace applications
+     * @throws APIManagementException if error occurs when removing applications from Solace broker
+     */
+    private void deleteSolaceApplication(String organization, ApplicationEvent event) throws APIManagementException {
+        SolaceAdminApis solaceAdminApis = SolaceNotifierUtils.getSolaceAdminApis();
+
+        // check existence of application in Solace Broker
+        CloseableHttpResponse response1 = solaceAdminApis.applicationGet(organization, event.getUuid(), "default");
+        if (response1.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+            if (log.isDebugEnabled()) {
+                log.info("Found application '" + event.getApplicationName() + "' in Solace broker");
             }
+        } else if (response1.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+            log.info("Application '" + event.getApplicationName() + "' cannot be found in Solace Broker. Nothing to "
+                    + "delete");
+            return;
+        } else {
+            if (log.isDebugEnabled()) {
+                log.error("Error while searching for application '" + event.getApplicationName() + "'" +
+                        " in Solace Broker. : " + response1.getStatusLine().toString());
+            }
+            throw new APIManagementException("Error while searching for application '" + event.getApplicationName()
+                    + "' in Solace Broker");
+        }
 
-            if (applicationFoundInSolaceBroker) {
-                log.info("Deleting application from Solace Broker");
-                // delete application from solace
-                SolaceAdminApis solaceAdminApis = SolaceNotifierUtils.getSolaceAdminApis();
-                CloseableHttpResponse response2 = solaceAdminApis.deleteApplication(organizationNameOfSolaceDeployment,
-                        event.getUuid());
-                if (response2.getStatusLine().getStatusCode() == HttpStatus.SC_NO_CONTENT) {
-                    log.info("Successfully deleted application '" + event.getApplicationName() + "' " +
-                            "in Solace Broker");
-                } else {
-                    if (log.isDebugEnabled()) {
-                        log.error("Error while deleting application " + event.getApplicationName() + " in Solace. :"
+        log.info("Deleting application from Solace Broker");
+        // delete application from solace
+        CloseableHttpResponse response2 = solaceAdminApis.deleteApplication(organization, event.getUuid());
+        if (response2.getStatusLine().getStatusCode() == HttpStatus.SC_NO_CONTENT) {
+            log.info("Successfully deleted application '" + event.getApplicationName() + "' " +
+                    "in Solace Broker");
+        } else {
+            if (log.isDebugEnabled()) {
+                log.error("Error while deleting application " + event.getApplicationName() + " in Solace. :"
                         + response2.getStatusLine().toString());
-                    }
-                    throw new NotifierException("Error while deleting application '" + event.getApplicationName() +
-                            "' in Solace");
-                }
             }
-        } catch (APIManagementException e) {
-            throw new NotifierException(e.getMessage());
+            throw new APIManagementException("Error while deleting application '" + event.getApplicationName() +
+                    "' in Solace");
         }
     }
 
@@ -199,7 +206,10 @@ public class SolaceApplicationNotifier extends ApplicationNotifier {
             }
             // Renaming application using Solace Admin Apis
             if (isContainsSolaceApis) {
-                SolaceNotifierUtils.renameSolaceApplication(organizationNameOfSolaceDeployment, application);
+                String solaceOrganization = organizationNameOfSolaceDeployment;
+                SolaceDeploymentQueue.getInstance().submit(application.getUUID(), "rename",
+                        "renaming of Solace application " + application.getUUID(),
+                        () -> SolaceNotifierUtils.renameSolaceApplication(solaceOrganization, application));
             }
         } catch (APIManagementException e) {
             throw new NotifierException(e.getMessage());
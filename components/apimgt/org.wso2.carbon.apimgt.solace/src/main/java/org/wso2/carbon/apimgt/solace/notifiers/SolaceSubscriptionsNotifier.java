@@ -31,6 +31,7 @@ import org.wso2.carbon.apimgt.impl.notifier.SubscriptionsNotifier;
 import org.wso2.carbon.apimgt.impl.notifier.events.Event;
 import org.wso2.carbon.apimgt.impl.notifier.events.SubscriptionEvent;
 import org.wso2.carbon.apimgt.impl.notifier.exceptions.NotifierException;
+import org.wso2.carbon.apimgt.solace.deployer.SolaceDeploymentQueue;
 import org.wso2.carbon.apimgt.solace.utils.SolaceConstants;
 import org.wso2.carbon.apimgt.solace.utils.SolaceNotifierUtils;
 import org.wso2.carbon.context.CarbonContext;
@@ -107,11 +108,9 @@ public class SolaceSubscriptionsNotifier extends SubscriptionsNotifier {
             if (application.getKeys().isEmpty()) {
                 return;
             }
-            deployApplication(api, application);
+            queueApplicationDeployment(api, application);
         } catch (APIManagementException e) {
             throw new NotifierException("Error while creating application solace Broker " + e.getMessage());
-        }  catch (IOException e) {
-            throw new NotifierException("I/O Error while creating application solace Broker " + e.getMessage());
         }
     }
 
@@ -143,11 +142,9 @@ public class SolaceSubscriptionsNotifier extends SubscriptionsNotifier {
             if (application.getKeys().isEmpty()) {
                 return;
             }
-            deployApplication(api, application);
+            queueApplicationDeployment(api, application);
         } catch (APIManagementException e) {
             throw new NotifierException("Error while updating application solace Broker " + e.getMessage());
-        }  catch (IOException e) {
-            throw new NotifierException("I/O Error while updating application solace Broker " + e.getMessage());
         }
     }
 
@@ -169,13 +166,30 @@ public class SolaceSubscriptionsNotifier extends SubscriptionsNotifier {
 
             //Check whether the subscription is belongs to an API deployed in Solace
             if (SolaceConstants.SOLACE_ENVIRONMENT.equals(api.getGatewayVendor())) {
-                SolaceNotifierUtils.unsubscribeAPIProductFromSolaceApplication(api, application);
+                SolaceDeploymentQueue.getInstance().submit(applicationUUID, apiUUID,
+                        "removal of API " + apiUUID + " from Solace application " + applicationUUID,
+                        () -> SolaceNotifierUtils.unsubscribeAPIProductFromSolaceApplication(api, application));
             }
         } catch (APIManagementException e) {
             throw new NotifierException("Error while removing application solace Broker " + e.getMessage());
         }
     }
 
+    /**
+     * Queue the deployment of the application to solace Broker, so that the subscription request does not wait on
+     * the Solace admin API. Repeated updates of the same subscription are coalesced by the queue.
+     *
+     * @param api Subscribed API of the application
+     * @param application Application which needs to be created/updated in solace broker
+     */
+    private void queueApplicationDeployment(API api, Application application) {
+        if (!SolaceConstants.SOLACE_ENVIRONMENT.equals(api.getGatewayVendor())) {
+            return;
+        }
+        SolaceDeploymentQueue.getInstance().submit(application.getUUID(), api.getUuid(),
+                "subscription of Solace application " + application.getUUID() + " to API " + api.getUuid(),
+                () -> deployApplication(api, application));
+    }
 
     /**
      * Deploy the application to solace Broker
@@ -297,9 +297,9 @@ public class SolaceNotifierUtils {
     public static boolean checkApiProductAlreadyDeployedIntoSolaceEnvironments(API api, List<Environment> environments)
             throws IOException, APIManagementException {
         int numberOfDeployedEnvironmentsInSolace = 0;
+        SolaceAdminApis solaceAdminApis = SolaceNotifierUtils.getSolaceAdminApis();
         for (Environment environment : environments) {
             String apiNameWithContext = generateApiProductNameForSolaceBroker(api, environment.getName());
-            SolaceAdminApis solaceAdminApis = SolaceNotifierUtils.getSolaceAdminApis();
             CloseableHttpResponse response = solaceAdminApis.apiProductGet(environment.getAdditionalProperties().get(
                     SolaceConstants.SOLACE_ENVIRONMENT_ORGANIZATION), apiNameWithContext);
             if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
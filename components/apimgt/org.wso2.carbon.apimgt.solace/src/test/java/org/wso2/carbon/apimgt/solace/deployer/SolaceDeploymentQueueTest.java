@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.solace.deployer;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.metrics.manager.Counter;
+import org.wso2.carbon.metrics.manager.Level;
+import org.wso2.carbon.metrics.manager.MetricManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test cases for SolaceDeploymentQueue. The Solace broker is replaced by stub operations which record the calls made.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({PrivilegedCarbonContext.class, MetricManager.class})
+public class SolaceDeploymentQueueTest {
+
+    private static final String APPLICATION_UUID = "7c0a3f52-3d4e-4c6b-9a55-3f1a6e2b8d10";
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private SolaceDeploymentQueue queue;
+
+    @Before
+    public void init() {
+
+        PowerMockito.mockStatic(PrivilegedCarbonContext.class);
+        PrivilegedCarbonContext carbonContext = Mockito.mock(PrivilegedCarbonContext.class);
+        PowerMockito.when(PrivilegedCarbonContext.getThreadLocalCarbonContext()).thenReturn(carbonContext);
+        Mockito.when(carbonContext.getTenantDomain()).thenReturn("carbon.super");
+        Mockito.when(carbonContext.getUsername()).thenReturn("admin");
+        PowerMockito.mockStatic(MetricManager.class);
+        PowerMockito.when(MetricManager.counter(Mockito.any(Level.class), Mockito.any()))
+                .thenReturn(Mockito.mock(Counter.class));
+        queue = new SolaceDeploymentQueue(2, 3, 1);
+    }
+
+    @After
+    public void cleanup() {
+
+        queue.shutdown();
+    }
+
+    @Test
+    public void testFailedOperationIsReportedAfterRetries() throws Exception {
+
+        AtomicInteger calls = new AtomicInteger();
+        queue.submit(APPLICATION_UUID, "api1", "subscribing to api1", () -> {
+            calls.incrementAndGet();
+            throw new IOException("Solace broker is not reachable");
+        });
+
+        SolaceDeploymentQueue.Status status = awaitState(SolaceDeploymentQueue.State.FAILED);
+        Assert.assertEquals(3, calls.get());
+        Assert.assertEquals(3, status.getAttempts());
+        Assert.assertEquals("subscribing to api1", status.getOperation());
+        Assert.assertEquals("Solace broker is not reachable", status.getError());
+    }
+
+    @Test
+    public void testRetriedOperationIsSynced() throws Exception {
+
+        AtomicInteger calls = new AtomicInteger();
+        queue.submit(APPLICATION_UUID, "api1", "subscribing to api1", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IOException("Solace broker is not reachable");
+            }
+        });
+
+        SolaceDeploymentQueue.Status status = awaitState(SolaceDeploymentQueue.State.SYNCED);
+        Assert.assertEquals(2, status.getAttempts());
+        Assert.assertNull(status.getError());
+    }
+
+    @Test
+    public void testCoalescedOperationKeepsSubmissionOrder() throws Exception {
+
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        queue.submit(APPLICATION_UUID, "api1", "subscribing to api1", () -> {
+            started.countDown();
+            await(release);
+            applied.add("subscribe api1");
+        });
+        Assert.assertTrue(started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+        // queued while the lane is busy
+        queue.submit(APPLICATION_UUID, "api2", "updating api2", () -> applied.add("update api2 v1"));
+        queue.submit(APPLICATION_UUID, "rename", "renaming the application", () -> applied.add("rename"));
+        queue.submit(APPLICATION_UUID, "api2", "updating api2", () -> {
+            applied.add("update api2 v2");
+            done.countDown();
+        });
+        release.countDown();
+
+        Assert.assertTrue(done.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(Arrays.asList("subscribe api1", "rename", "update api2 v2"), applied);
+    }
+
+    @Test
+    public void testReplacingOperationDropsQueuedOperations() throws Exception {
+
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        queue.submit(APPLICATION_UUID, "api1", "subscribing to api1", () -> {
+            started.countDown();
+            await(release);
+            applied.add("subscribe api1");
+        });
+        Assert.assertTrue(started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+        queue.submit(APPLICATION_UUID, "api2", "subscribing to api2", () -> applied.add("subscribe api2"));
+        queue.submitReplacingQueued(APPLICATION_UUID, "deleting the application", () -> {
+            applied.add("delete");
+            done.countDown();
+        });
+        release.countDown();
+
+        Assert.assertTrue(done.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(Arrays.asList("subscribe api1", "delete"), applied);
+    }
+
+    private SolaceDeploymentQueue.Status awaitState(SolaceDeploymentQueue.State state) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        SolaceDeploymentQueue.Status status = queue.getStatus(APPLICATION_UUID);
+        while ((status == null || status.getState() != state) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = queue.getStatus(APPLICATION_UUID);
+        }
+        Assert.assertNotNull(status);
+        Assert.assertEquals(state, status.getState());
+        return status;
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+
+        try {
+            if (!latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting for the test");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+}
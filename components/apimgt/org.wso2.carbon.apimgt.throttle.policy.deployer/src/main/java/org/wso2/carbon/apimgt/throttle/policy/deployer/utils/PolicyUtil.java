@@ -17,6 +17,7 @@
  */
 package org.wso2.carbon.apimgt.throttle.policy.deployer.utils;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.apimgt.api.model.policy.PolicyConstants;
@@ -47,9 +48,16 @@ import org.wso2.carbon.event.processor.core.exception.ExecutionPlanConfiguration
 import org.wso2.carbon.event.processor.core.exception.ExecutionPlanDependencyValidationException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * An Utility class for policy deploy operations.
@@ -58,6 +66,8 @@ public class PolicyUtil {
 
     private static final Log log = LogFactory.getLog(PolicyUtil.class);
     private static final String migrationEnabled = System.getProperty(APIConstants.MIGRATE);
+    private static final int POLICY_RENDERING_THREAD_COUNT = 4;
+    private static final Map<String, String> deployedPlanFingerprints = new ConcurrentHashMap<>();
 
     /**
      * Deploy the given throttle policy in the Traffic Manager.
@@ -71,53 +81,22 @@ public class PolicyUtil {
                 ServiceReferenceHolder.getInstance().getEventProcessorService();
         ThrottlePolicyTemplateBuilder policyTemplateBuilder = new ThrottlePolicyTemplateBuilder();
 
-        Map<String, String> policiesToDeploy = new HashMap<>();
         List<String> policiesToUndeploy = new ArrayList<>();
 
         try {
             PrivilegedCarbonContext.startTenantFlow();
             PrivilegedCarbonContext.getThreadLocalCarbonContext()
                     .setTenantDomain(APIConstants.SUPER_TENANT_DOMAIN, true);
-            String policyFile;
-            String policyString;
-            if (Policy.PolicyType.SUBSCRIPTION.equals(policy.getType()) && policy instanceof SubscriptionPolicy) {
-                // Add Subscription policy
-                policyFile = String.join(APIConstants.DELEM_UNDERSCORE,
-                        policy.getTenantDomain(), PolicyConstants.POLICY_LEVEL_SUB, policy.getName());
-                policyString = policyTemplateBuilder.getThrottlePolicyForSubscriptionLevel((SubscriptionPolicy) policy);
-                policiesToDeploy.put(policyFile, policyString);
-            } else if (Policy.PolicyType.APPLICATION.equals(policy.getType()) && policy instanceof ApplicationPolicy) {
-                // Add Application policy
-                policyFile = String.join(APIConstants.DELEM_UNDERSCORE,
-                        policy.getTenantDomain(), PolicyConstants.POLICY_LEVEL_APP, policy.getName());
-                policyString = policyTemplateBuilder.getThrottlePolicyForAppLevel((ApplicationPolicy) policy);
-                policiesToDeploy.put(policyFile, policyString);
-            } else if (Policy.PolicyType.API.equals(policy.getType()) && policy instanceof ApiPolicy) {
-                // Add API policy
-                policiesToDeploy = policyTemplateBuilder.getThrottlePolicyForAPILevel((ApiPolicy) policy);
-                String defaultPolicy = policyTemplateBuilder.getThrottlePolicyForAPILevelDefault((ApiPolicy) policy);
-                policyFile = String.join(APIConstants.DELEM_UNDERSCORE,
-                        policy.getTenantDomain(), PolicyConstants.POLICY_LEVEL_RESOURCE, policy.getName());
-                String defaultPolicyName = policyFile + APIConstants.THROTTLE_POLICY_DEFAULT;
-                policiesToDeploy.put(defaultPolicyName, defaultPolicy);
-                if (policyEvent instanceof APIPolicyEvent) {
-                    List<Integer> deletedConditionGroupIds =
-                            ((APIPolicyEvent) policyEvent).getDeletedConditionGroupIds();
-                    // Undeploy removed condition groups
-                    if (deletedConditionGroupIds != null) {
-                        for (int conditionGroupId : deletedConditionGroupIds) {
-                            policiesToUndeploy
-                                    .add(policyFile + APIConstants.THROTTLE_POLICY_CONDITION + conditionGroupId);
-                        }
+            Map<String, String> policiesToDeploy = renderPolicy(policy, policyTemplateBuilder);
+            if (Policy.PolicyType.API.equals(policy.getType()) && policyEvent instanceof APIPolicyEvent) {
+                List<Integer> deletedConditionGroupIds = ((APIPolicyEvent) policyEvent).getDeletedConditionGroupIds();
+                // Undeploy removed condition groups
+                if (deletedConditionGroupIds != null) {
+                    String policyFile = getPolicyFileName(policy);
+                    for (int conditionGroupId : deletedConditionGroupIds) {
+                        policiesToUndeploy.add(policyFile + APIConstants.THROTTLE_POLICY_CONDITION + conditionGroupId);
                     }
                 }
-            } else if (Policy.PolicyType.GLOBAL.equals(policy.getType()) && policy instanceof GlobalPolicy) {
-                // Add Global policy
-                GlobalPolicy globalPolicy = (GlobalPolicy) policy;
-                policyFile = String.join(APIConstants.DELEM_UNDERSCORE,
-                        PolicyConstants.POLICY_LEVEL_GLOBAL, policy.getName());
-                policyString = policyTemplateBuilder.getThrottlePolicyForGlobalLevel(globalPolicy);
-                policiesToDeploy.put(policyFile, policyString);
             }
 
             // Undeploy removed policies
@@ -137,6 +116,7 @@ public class PolicyUtil {
                     // Update existing policies
                     eventProcessorService.editActiveExecutionPlan(flowString, policyPlanName);
                 }
+                deployedPlanFingerprints.put(policyPlanName, DigestUtils.sha256Hex(flowString));
             }
 
         } catch (APITemplateException e) {
@@ -149,7 +129,65 @@ public class PolicyUtil {
     }
 
     /**
-     * Deploy all the throttle policies retrieved from the database in the Traffic Manager.
+     * Render the execution plans of the given throttle policy.
+     *
+     * @param policy                policy object
+     * @param policyTemplateBuilder template builder used to render the plans
+     * @return execution plans of the policy keyed by plan name
+     * @throws APITemplateException if an execution plan could not be rendered
+     */
+    private static Map<String, String> renderPolicy(Policy policy, ThrottlePolicyTemplateBuilder policyTemplateBuilder)
+            throws APITemplateException {
+
+        Map<String, String> policiesToDeploy = new HashMap<>();
+        String policyFile = getPolicyFileName(policy);
+        if (Policy.PolicyType.SUBSCRIPTION.equals(policy.getType()) && policy instanceof SubscriptionPolicy) {
+            // Add Subscription policy
+            policiesToDeploy.put(policyFile,
+                    policyTemplateBuilder.getThrottlePolicyForSubscriptionLevel((SubscriptionPolicy) policy));
+        } else if (Policy.PolicyType.APPLICATION.equals(policy.getType()) && policy instanceof ApplicationPolicy) {
+            // Add Application policy
+            policiesToDeploy.put(policyFile,
+                    policyTemplateBuilder.getThrottlePolicyForAppLevel((ApplicationPolicy) policy));
+        } else if (Policy.PolicyType.API.equals(policy.getType()) && policy instanceof ApiPolicy) {
+            // Add API policy
+            policiesToDeploy.putAll(policyTemplateBuilder.getThrottlePolicyForAPILevel((ApiPolicy) policy));
+            String defaultPolicy = policyTemplateBuilder.getThrottlePolicyForAPILevelDefault((ApiPolicy) policy);
+            policiesToDeploy.put(policyFile + APIConstants.THROTTLE_POLICY_DEFAULT, defaultPolicy);
+        } else if (Policy.PolicyType.GLOBAL.equals(policy.getType()) && policy instanceof GlobalPolicy) {
+            // Add Global policy
+            policiesToDeploy.put(policyFile,
+                    policyTemplateBuilder.getThrottlePolicyForGlobalLevel((GlobalPolicy) policy));
+        }
+        return policiesToDeploy;
+    }
+
+    /**
+     * Get the execution plan name of the given policy. API policies use it as the prefix of their default and
+     * condition group plans.
+     *
+     * @param policy policy object
+     * @return execution plan name
+     */
+    private static String getPolicyFileName(Policy policy) {
+
+        if (Policy.PolicyType.SUBSCRIPTION.equals(policy.getType())) {
+            return String.join(APIConstants.DELEM_UNDERSCORE,
+                    policy.getTenantDomain(), PolicyConstants.POLICY_LEVEL_SUB, policy.getName());
+        } else if (Policy.PolicyType.APPLICATION.equals(policy.getType())) {
+            return String.join(APIConstants.DELEM_UNDERSCORE,
+                    policy.getTenantDomain(), PolicyConstants.POLICY_LEVEL_APP, policy.getName());
+        } else if (Policy.PolicyType.API.equals(policy.getType())) {
+            return String.join(APIConstants.DELEM_UNDERSCORE,
+                    policy.getTenantDomain(), PolicyConstants.POLICY_LEVEL_RESOURCE, policy.getName());
+        }
+        return String.join(APIConstants.DELEM_UNDERSCORE, PolicyConstants.POLICY_LEVEL_GLOBAL, policy.getName());
+    }
+
+    /**
+     * Deploy all the throttle policies retrieved from the database in the Traffic Manager. The execution plans of all
+     * policies are rendered and compared with the active ones, so that only new and changed plans are deployed and
+     * plans of removed policies are undeployed. Plans which did not change keep running along with their counters.
      */
     public static void deployAllPolicies() {
         PolicyRetriever policyRetriever = new PolicyRetriever();
@@ -162,70 +200,187 @@ public class PolicyUtil {
             ApplicationPolicyList applicationPolicies = policyRetriever.getAllApplicationPolicies();
             ApiPolicyList apiPolicies = policyRetriever.getAllApiPolicies();
             GlobalPolicyList globalPolicies = policyRetriever.getAllGlobalPolicies();
-            // Undeploy all existing policies
-            undeployAllPolicies();
+            List<Policy> policies = new ArrayList<>();
             for (SubscriptionPolicy subscriptionPolicy : subscriptionPolicies.getList()) {
                 if (!(APIConstants.UNLIMITED_TIER.equalsIgnoreCase(subscriptionPolicy.getName())
                         || APIConstants.DEFAULT_SUB_POLICY_ASYNC_UNLIMITED.
                         equalsIgnoreCase(subscriptionPolicy.getName())
                         || APIConstants.DEFAULT_SUB_POLICY_ASYNC_WH_UNLIMITED.
                         equalsIgnoreCase(subscriptionPolicy.getName()))) {
-                    deployPolicy(subscriptionPolicy, null);
+                    policies.add(subscriptionPolicy);
                 }
             }
             for (ApplicationPolicy applicationPolicy : applicationPolicies.getList()) {
                 if (!APIConstants.UNLIMITED_TIER.equalsIgnoreCase(applicationPolicy.getName())) {
-                    deployPolicy(applicationPolicy, null);
+                    policies.add(applicationPolicy);
                 }
             }
             for (ApiPolicy apiPolicy : apiPolicies.getList()) {
                 if (!APIConstants.UNLIMITED_TIER.equalsIgnoreCase(apiPolicy.getName())) {
-                    deployPolicy(apiPolicy, null);
+                    policies.add(apiPolicy);
                 }
             }
-            for (GlobalPolicy globalPolicy : globalPolicies.getList()) {
-                deployPolicy(globalPolicy, null);
-            }
+            policies.addAll(globalPolicies.getList());
+
+            Set<String> failedPolicyFiles = ConcurrentHashMap.newKeySet();
+            Map<String, String> executionPlans = renderPolicies(policies, failedPolicyFiles);
+            reconcilePolicies(executionPlans, failedPolicyFiles);
         } catch (ThrottlePolicyDeployerException e) {
             log.error("Error in retrieving throttle policies", e);
         }
     }
 
     /**
-     * Undeploy all the throttle policies in the Traffic Manager except the excluded ones.
+     * Render the execution plans of the given policies in parallel.
+     *
+     * @param policies          policies to render
+     * @param failedPolicyFiles collects the plan names of the policies which could not be rendered
+     * @return execution plans of all policies keyed by plan name
      */
-    private static void undeployAllPolicies() {
+    private static Map<String, String> renderPolicies(List<Policy> policies, Set<String> failedPolicyFiles) {
+
+        Map<String, String> executionPlans = new HashMap<>();
+        if (policies.isEmpty()) {
+            return executionPlans;
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(
+                Math.min(policies.size(), POLICY_RENDERING_THREAD_COUNT), new PolicyRetrieverThreadFactory());
+        try {
+            List<Future<Map<String, String>>> renderedPolicies = new ArrayList<>(policies.size());
+            for (Policy policy : policies) {
+                renderedPolicies.add(executorService.submit(() -> {
+                    try {
+                        return renderPolicy(policy, new ThrottlePolicyTemplateBuilder());
+                    } catch (APITemplateException | RuntimeException e) {
+                        failedPolicyFiles.add(getPolicyFileName(policy));
+                        log.error("Error in creating execution plan for policy " + policy.getName(), e);
+                        return Collections.<String, String>emptyMap();
+                    }
+                }));
+            }
+            for (Future<Map<String, String>> renderedPolicy : renderedPolicies) {
+                executionPlans.putAll(renderedPolicy.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while creating execution plans", e);
+        } catch (ExecutionException e) {
+            log.error("Error in creating execution plans", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+        return executionPlans;
+    }
+
+    /**
+     * Bring the active execution plans in line with the given ones. Plans are deployed when they are new, edited when
+     * their content changed and undeployed when they no longer belong to a policy, except the ones configured to be
+     * skipped and the ones of policies which could not be rendered.
+     *
+     * @param executionPlans    execution plans keyed by plan name
+     * @param failedPolicyFiles plan names of the policies which could not be rendered
+     */
+    private static void reconcilePolicies(Map<String, String> executionPlans, Set<String> failedPolicyFiles) {
 
         APIManagerConfiguration apiManagerConfiguration =
                 ServiceReferenceHolder.getInstance().getAPIMConfiguration();
         EventProcessorService eventProcessorService =
                 ServiceReferenceHolder.getInstance().getEventProcessorService();
+        int deployed = 0;
+        int updated = 0;
+        int undeployed = 0;
         try {
             PrivilegedCarbonContext.startTenantFlow();
             PrivilegedCarbonContext.getThreadLocalCarbonContext()
                     .setTenantDomain(APIConstants.SUPER_TENANT_DOMAIN, true);
             Map<String, ExecutionPlanConfiguration> executionPlanConfigurationMap =
                     eventProcessorService.getAllActiveExecutionConfigurations();
-            // Undeploy all the policies except the skip ones provided
-            for (Map.Entry<String, ExecutionPlanConfiguration> pair : executionPlanConfigurationMap.entrySet()) {
+            for (Map.Entry<String, String> pair : executionPlans.entrySet()) {
                 String policyPlanName = pair.getKey();
-                boolean skiped = false;
-                for (String skipPolicyName :
-                        apiManagerConfiguration.getThrottleProperties().getSkipRedeployingPolicies()) {
-                    if (skipPolicyName.equalsIgnoreCase(policyPlanName)) {
-                        skiped = true;
-                        break;
+                String flowString = pair.getValue();
+                String fingerprint = DigestUtils.sha256Hex(flowString);
+                try {
+                    if (executionPlanConfigurationMap.containsKey(policyPlanName)) {
+                        if (isExecutionPlanUnchanged(eventProcessorService, policyPlanName, flowString,
+                                fingerprint)) {
+                            continue;
+                        }
+                        eventProcessorService.editActiveExecutionPlan(flowString, policyPlanName);
+                        updated++;
+                    } else {
+                        eventProcessorService.deployExecutionPlan(flowString);
+                        deployed++;
                     }
+                    deployedPlanFingerprints.put(policyPlanName, fingerprint);
+                } catch (ExecutionPlanConfigurationException | ExecutionPlanDependencyValidationException e) {
+                    log.error("Error in deploying execution plan " + policyPlanName, e);
+                }
+            }
+            // Undeploy the plans of removed policies except the skip ones provided
+            String[] skipPolicyNames = apiManagerConfiguration.getThrottleProperties().getSkipRedeployingPolicies();
+            for (String policyPlanName : executionPlanConfigurationMap.keySet()) {
+                if (executionPlans.containsKey(policyPlanName)
+                        || isSkippedPolicy(policyPlanName, skipPolicyNames)
+                        || isFailedPolicy(policyPlanName, failedPolicyFiles)) {
+                    continue;
                 }
-                if (!skiped) {
+                try {
                     eventProcessorService.undeployActiveExecutionPlan(policyPlanName);
+                    deployedPlanFingerprints.remove(policyPlanName);
+                    undeployed++;
+                } catch (ExecutionPlanConfigurationException e) {
+                    log.error("Error in removing execution plan " + policyPlanName, e);
                 }
             }
         } catch (ExecutionPlanConfigurationException e) {
-            log.error("Error in removing existing throttle policies", e);
+            log.error("Error in retrieving existing throttle policies", e);
         } finally {
             PrivilegedCarbonContext.endTenantFlow();
         }
+        log.info("Throttle policies synchronized. Deployed: " + deployed + ", updated: " + updated
+                + ", undeployed: " + undeployed + ", unchanged: "
+                + (executionPlans.size() - deployed - updated));
+    }
+
+    private static boolean isExecutionPlanUnchanged(EventProcessorService eventProcessorService,
+                                                    String policyPlanName, String flowString, String fingerprint) {
+
+        if (fingerprint.equals(deployedPlanFingerprints.get(policyPlanName))) {
+            return true;
+        }
+        // Plans deployed before this node started are compared with their content once
+        try {
+            if (flowString.equals(eventProcessorService.getActiveExecutionPlan(policyPlanName))) {
+                deployedPlanFingerprints.put(policyPlanName, fingerprint);
+                return true;
+            }
+        } catch (ExecutionPlanConfigurationException e) {
+            // Compared as changed when the active plan could not be read
+        }
+        return false;
+    }
+
+    private static boolean isSkippedPolicy(String policyPlanName, String[] skipPolicyNames) {
+
+        if (skipPolicyNames != null) {
+            for (String skipPolicyName : skipPolicyNames) {
+                if (skipPolicyName.equalsIgnoreCase(policyPlanName)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFailedPolicy(String policyPlanName, Set<String> failedPolicyFiles) {
+
+        for (String failedPolicyFile : failedPolicyFiles) {
+            if (policyPlanName.equals(failedPolicyFile)
+                    || policyPlanName.startsWith(failedPolicyFile + APIConstants.DELEM_UNDERSCORE)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -311,6 +466,7 @@ public class PolicyUtil {
                 if (executionPlan != null) {
                     eventProcessorService.undeployActiveExecutionPlan(policyFileName);
                 }
+                deployedPlanFingerprints.remove(policyFileName);
             }
         } catch (ExecutionPlanConfigurationException e) {
             log.error("Error in removing execution plan", e);
@@ -35,6 +35,8 @@ import org.wso2.carbon.apimgt.api.model.policy.JWTClaimsCondition;
 import org.wso2.carbon.apimgt.api.model.policy.PolicyConstants;
 import org.wso2.carbon.apimgt.api.model.policy.QueryParameterCondition;
 import org.wso2.carbon.apimgt.impl.APIConstants;
+import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+import org.wso2.carbon.apimgt.impl.dto.ThrottleProperties;
 import org.wso2.carbon.apimgt.impl.template.APITemplateException;
 import org.wso2.carbon.apimgt.impl.utils.APIUtil;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.APIPolicyConditionGroup;
@@ -43,6 +45,7 @@ import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.ApplicationPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.Condition;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.GlobalPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.SubscriptionPolicy;
+import org.wso2.carbon.apimgt.throttle.policy.deployer.internal.ServiceReferenceHolder;
 import org.wso2.carbon.utils.CarbonUtils;
 
 import java.io.File;
@@ -67,6 +70,7 @@ public class ThrottlePolicyTemplateBuilder {
     private static final String POLICY_VELOCITY_APP = "throttle_policy_template_app";
     private static final String POLICY_VELOCITY_SUB = "throttle_policy_template_sub";
     private static final String POLICY_VELOCITY_ASYNC_SUB = "throttle_policy_template_async_sub";
+    private static final String POLICY_VELOCITY_NATIVE_SUFFIX = "_native";
     private final String policyTemplateLocation = "repository" + File.separator + "resources" + File.separator
             + "policy_templates" + File.separator;
 
@@ -421,6 +425,7 @@ public class ThrottlePolicyTemplateBuilder {
             setConstantContext(context);
             context.put("policy", policy);
             context.put("quotaPolicy", policy.getDefaultLimit());
+            context.put("slidingWindow", isNativeThrottleCounterSlidingWindow());
             template.merge(context, writer);
             if (log.isDebugEnabled()) {
                 log.debug("Policy : " + writer.toString());
@@ -464,6 +469,7 @@ public class ThrottlePolicyTemplateBuilder {
             setConstantContext(context);
             context.put("policy", policy);
             context.put("quotaPolicy", policy.getDefaultLimit());
+            context.put("slidingWindow", isNativeThrottleCounterSlidingWindow());
             template.merge(context, writer);
             if (log.isDebugEnabled()) {
                 log.debug("Policy : " + writer.toString());
@@ -488,11 +494,43 @@ public class ThrottlePolicyTemplateBuilder {
     }
 
     private String getTemplatePathForApplication() {
-        return policyTemplateLocation + ThrottlePolicyTemplateBuilder.POLICY_VELOCITY_APP + ".xml";
+        return policyTemplateLocation + ThrottlePolicyTemplateBuilder.POLICY_VELOCITY_APP + getNativeSuffix()
+                + ".xml";
     }
 
     private String getTemplatePathForSubscription() {
-        return policyTemplateLocation + ThrottlePolicyTemplateBuilder.POLICY_VELOCITY_SUB + ".xml";
+        return policyTemplateLocation + ThrottlePolicyTemplateBuilder.POLICY_VELOCITY_SUB + getNativeSuffix()
+                + ".xml";
+    }
+
+    /**
+     * Application and subscription policies can be evaluated with the native throttle counter instead of a time
+     * batch window, in which case their templates carry the native suffix.
+     *
+     * @return template name suffix of the configured evaluation mode
+     */
+    private String getNativeSuffix() {
+        ThrottleProperties throttleProperties = getThrottleProperties();
+        if (throttleProperties != null && throttleProperties.isEnableNativeThrottleCounters()) {
+            return POLICY_VELOCITY_NATIVE_SUFFIX;
+        }
+        return "";
+    }
+
+    /**
+     * Native throttle counters use fixed windows unless sliding windows are configured, in which case the previous
+     * window is weighed by its overlap with the current one.
+     *
+     * @return whether the native templates should count over sliding windows
+     */
+    private boolean isNativeThrottleCounterSlidingWindow() {
+        ThrottleProperties throttleProperties = getThrottleProperties();
+        return throttleProperties != null && throttleProperties.isNativeThrottleCounterSlidingWindow();
+    }
+
+    private ThrottleProperties getThrottleProperties() {
+        APIManagerConfiguration configuration = ServiceReferenceHolder.getInstance().getAPIMConfiguration();
+        return configuration != null ? configuration.getThrottleProperties() : null;
     }
 
     private String getTemplatePathForAsyncSubscription() {
@@ -376,4 +376,82 @@ public class PolicyUtilTest {
         Mockito.verify(eventProcessorService, Mockito.times(5)).deployExecutionPlan(Mockito.anyString());
     }
 
+    @Test
+    public void testDeployAllPoliciesReconcilesAddedUpdatedAndRemovedPlans() throws Exception {
+
+        ApplicationPolicy applicationPolicy = TestUtil.getPolicyAppLevel();
+        applicationPolicy.setName("reconcileUpdatedPolicy");
+        GlobalPolicy globalPolicy = TestUtil.getPolicyGlobalLevel();
+        globalPolicy.setName("reconcileAddedPolicy");
+        mockRetrievedPolicies(applicationPolicy, globalPolicy);
+        String applicationPlanName = applicationPolicy.getTenantDomain() + "_" + PolicyConstants.POLICY_LEVEL_APP
+                + "_" + applicationPolicy.getName();
+        String globalPlanName = PolicyConstants.POLICY_LEVEL_GLOBAL + "_" + globalPolicy.getName();
+        String removedPlanName = "carbon.super_" + PolicyConstants.POLICY_LEVEL_APP + "_reconcileRemovedPolicy";
+
+        Map<String, ExecutionPlanConfiguration> executionPlanConfigurationMap = new HashMap<>();
+        executionPlanConfigurationMap.put(applicationPlanName, Mockito.mock(ExecutionPlanConfiguration.class));
+        executionPlanConfigurationMap.put(removedPlanName, Mockito.mock(ExecutionPlanConfiguration.class));
+        executionPlanConfigurationMap.put("skipPolicy1", Mockito.mock(ExecutionPlanConfiguration.class));
+        Mockito.when(eventProcessorService.getAllActiveExecutionConfigurations())
+                .thenReturn(executionPlanConfigurationMap);
+        Mockito.when(eventProcessorService.getActiveExecutionPlan(applicationPlanName)).thenReturn("OLD_PLAN");
+
+        PolicyUtil.deployAllPolicies();
+
+        String globalPlan = new ThrottlePolicyTemplateBuilder().getThrottlePolicyForGlobalLevel(globalPolicy);
+        String applicationPlan = new ThrottlePolicyTemplateBuilder().getThrottlePolicyForAppLevel(applicationPolicy);
+        Mockito.verify(eventProcessorService, Mockito.times(1)).deployExecutionPlan(Mockito.anyString());
+        Mockito.verify(eventProcessorService).deployExecutionPlan(globalPlan);
+        Mockito.verify(eventProcessorService, Mockito.times(1))
+                .editActiveExecutionPlan(Mockito.anyString(), Mockito.anyString());
+        Mockito.verify(eventProcessorService).editActiveExecutionPlan(applicationPlan, applicationPlanName);
+        Mockito.verify(eventProcessorService, Mockito.times(1)).undeployActiveExecutionPlan(Mockito.anyString());
+        Mockito.verify(eventProcessorService).undeployActiveExecutionPlan(removedPlanName);
+    }
+
+    @Test
+    public void testDeployAllPoliciesKeepsUnchangedPlans() throws Exception {
+
+        ApplicationPolicy applicationPolicy = TestUtil.getPolicyAppLevel();
+        applicationPolicy.setName("reconcileUnchangedPolicy");
+        mockRetrievedPolicies(applicationPolicy, null);
+        String applicationPlanName = applicationPolicy.getTenantDomain() + "_" + PolicyConstants.POLICY_LEVEL_APP
+                + "_" + applicationPolicy.getName();
+        String applicationPlan = new ThrottlePolicyTemplateBuilder().getThrottlePolicyForAppLevel(applicationPolicy);
+
+        Map<String, ExecutionPlanConfiguration> executionPlanConfigurationMap = new HashMap<>();
+        executionPlanConfigurationMap.put(applicationPlanName, Mockito.mock(ExecutionPlanConfiguration.class));
+        Mockito.when(eventProcessorService.getAllActiveExecutionConfigurations())
+                .thenReturn(executionPlanConfigurationMap);
+        // Deployed before this node started, so the content is compared
+        Mockito.when(eventProcessorService.getActiveExecutionPlan(applicationPlanName)).thenReturn(applicationPlan);
+
+        PolicyUtil.deployAllPolicies();
+        // The second run is decided by the fingerprint kept from the first one
+        PolicyUtil.deployAllPolicies();
+
+        Mockito.verify(eventProcessorService, Mockito.times(1)).getActiveExecutionPlan(applicationPlanName);
+        Mockito.verify(eventProcessorService, Mockito.never()).deployExecutionPlan(Mockito.anyString());
+        Mockito.verify(eventProcessorService, Mockito.never())
+                .editActiveExecutionPlan(Mockito.anyString(), Mockito.anyString());
+        Mockito.verify(eventProcessorService, Mockito.never()).undeployActiveExecutionPlan(Mockito.anyString());
+    }
+
+    private void mockRetrievedPolicies(ApplicationPolicy applicationPolicy, GlobalPolicy globalPolicy)
+            throws ThrottlePolicyDeployerException {
+
+        Mockito.when(policyRetriever.getAllSubscriptionPolicies()).thenReturn(new SubscriptionPolicyList());
+        ApplicationPolicyList applicationPolicyList = new ApplicationPolicyList();
+        if (applicationPolicy != null) {
+            applicationPolicyList.getList().add(applicationPolicy);
+        }
+        Mockito.when(policyRetriever.getAllApplicationPolicies()).thenReturn(applicationPolicyList);
+        Mockito.when(policyRetriever.getAllApiPolicies()).thenReturn(new ApiPolicyList());
+        GlobalPolicyList globalPolicyList = new GlobalPolicyList();
+        if (globalPolicy != null) {
+            globalPolicyList.getList().add(globalPolicy);
+        }
+        Mockito.when(policyRetriever.getAllGlobalPolicies()).thenReturn(globalPolicyList);
+    }
 }
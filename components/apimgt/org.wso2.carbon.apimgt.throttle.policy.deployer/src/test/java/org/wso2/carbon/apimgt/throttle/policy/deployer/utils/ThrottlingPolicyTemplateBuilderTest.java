@@ -28,6 +28,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.wso2.carbon.apimgt.impl.APIConstants;
 import org.wso2.carbon.apimgt.impl.APIManagerConfiguration;
+import org.wso2.carbon.apimgt.impl.dto.ThrottleProperties;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.ApiPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.ApplicationPolicy;
 import org.wso2.carbon.apimgt.throttle.policy.deployer.dto.GlobalPolicy;
@@ -41,6 +42,7 @@ import java.util.Map;
 public class ThrottlingPolicyTemplateBuilderTest {
 
     private ThrottlePolicyTemplateBuilder templateBuilder;
+    private ThrottleProperties throttleProperties;
 
     @Before
     public void setUp() {
@@ -55,6 +57,8 @@ public class ThrottlingPolicyTemplateBuilderTest {
                 thenReturn("not-defined");
         Mockito.when(serviceReferenceHolder.getAPIMConfiguration()).
                 thenReturn(apiManagerConfiguration);
+        throttleProperties = new ThrottleProperties();
+        Mockito.when(apiManagerConfiguration.getThrottleProperties()).thenReturn(throttleProperties);
     }
 
     @Test
@@ -88,4 +92,24 @@ public class ThrottlingPolicyTemplateBuilderTest {
         String policyString = templateBuilder.getThrottlePolicyForSubscriptionLevel(policy);
         Assert.assertNotNull(policyString);
     }
+
+    @Test
+    public void testNativeThrottleCounterUsesFixedWindowsByDefault() throws Exception {
+        throttleProperties.setEnableNativeThrottleCounters(true);
+
+        String appPolicy = templateBuilder.getThrottlePolicyForAppLevel(TestUtil.getPolicyAppLevel());
+        Assert.assertTrue(appPolicy.contains("#throttler:counter(1 min, 0, 1, throttleKey, 1, false)"));
+    }
+
+    @Test
+    public void testNativeThrottleCounterWithSlidingWindows() throws Exception {
+        throttleProperties.setEnableNativeThrottleCounters(true);
+        throttleProperties.setNativeThrottleCounterSlidingWindow(true);
+
+        String appPolicy = templateBuilder.getThrottlePolicyForAppLevel(TestUtil.getPolicyAppLevel());
+        Assert.assertTrue(appPolicy.contains("#throttler:counter(1 min, 0, 1, throttleKey, 1, true)"));
+        String subPolicy = templateBuilder.getThrottlePolicyForSubscriptionLevel(TestUtil.getPolicySubLevel());
+        Assert.assertTrue(subPolicy.contains("#throttler:counter("));
+        Assert.assertTrue(subPolicy.contains("throttleKey, 1, true)"));
+    }
 }
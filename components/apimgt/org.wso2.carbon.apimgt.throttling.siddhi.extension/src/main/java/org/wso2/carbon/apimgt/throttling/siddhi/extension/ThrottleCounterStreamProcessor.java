@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import org.wso2.siddhi.core.config.ExecutionPlanContext;
+import org.wso2.siddhi.core.event.ComplexEvent;
+import org.wso2.siddhi.core.event.ComplexEventChunk;
+import org.wso2.siddhi.core.event.stream.StreamEvent;
+import org.wso2.siddhi.core.event.stream.StreamEventCloner;
+import org.wso2.siddhi.core.event.stream.populater.ComplexEventPopulater;
+import org.wso2.siddhi.core.executor.ConstantExpressionExecutor;
+import org.wso2.siddhi.core.executor.ExpressionExecutor;
+import org.wso2.siddhi.core.query.processor.Processor;
+import org.wso2.siddhi.core.query.processor.SchedulingProcessor;
+import org.wso2.siddhi.core.query.processor.stream.StreamProcessor;
+import org.wso2.siddhi.core.util.Scheduler;
+import org.wso2.siddhi.query.api.definition.AbstractDefinition;
+import org.wso2.siddhi.query.api.definition.Attribute;
+import org.wso2.siddhi.query.api.exception.ExecutionPlanValidationException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Makes the throttling decision of each event natively instead of keeping every event of the window for a
+ * time batch window and an aggregation grouped by the throttle key. Request counts or bandwidth are kept per key in a
+ * {@link ThrottleWindowCounter}, so an event is processed with a single counter update and is never retained.
+ * <p/>
+ * Each event is emitted with the throttling decision. When a window ends, an event with isThrottled set to false is
+ * emitted for every key which was throttled and has fallen below the limit, so throttled and unthrottled state changes
+ * reach emitOnStateChange the same way as with the time batch window.
+ * <p/>
+ * Usage:
+ * throttler:counter(windowTime, startTime, limit, key, amount)
+ * throttler:counter(windowTime, startTime, limit, key, amount, sliding)
+ * <p/>
+ * Parameters:
+ * windowTime: Length of the window.
+ * startTime: Time the windows are aligned to, 0 aligns them to the epoch.
+ * limit: Value at which a key gets throttled.
+ * key: The throttle key.
+ * amount: Amount the event adds to the key, 1 for request counts or the message size for bandwidth.
+ * sliding: Whether the value of the previous window is taken into account, false by default.
+ * <p/>
+ * Example on usage:
+ * from EligibilityStream[isEligible==true]#throttler:counter(1 min, 0, 100L, throttleKey, 1L)
+ * select throttleKey, isThrottled, expiryTimeStamp
+ * insert into ResultStream;
+ */
+public class ThrottleCounterStreamProcessor extends StreamProcessor implements SchedulingProcessor {
+
+    private ThrottleWindowCounter counter;
+    private long limit;
+    private ExpressionExecutor keyExpressionExecutor;
+    private ExpressionExecutor amountExpressionExecutor;
+    private Scheduler scheduler;
+    private ExecutionPlanContext executionPlanContext;
+    private final AtomicLong scheduledTime = new AtomicLong(-1);
+    private final Map<String, StreamEvent> throttledEvents = new ConcurrentHashMap<String, StreamEvent>();
+
+    @Override
+    public void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    @Override
+    protected List<Attribute> init(AbstractDefinition inputDefinition,
+                                   ExpressionExecutor[] attributeExpressionExecutors,
+                                   ExecutionPlanContext executionPlanContext) {
+        this.executionPlanContext = executionPlanContext;
+        if (attributeExpressionExecutors.length != 5 && attributeExpressionExecutors.length != 6) {
+            throw new ExecutionPlanValidationException("Invalid no of arguments passed to throttler:counter" +
+                    "(windowTime, startTime, limit, key, amount[, sliding]), required 5 or 6, but found "
+                    + attributeExpressionExecutors.length);
+        }
+        long windowTime = getConstantLong(attributeExpressionExecutors[0], "windowTime");
+        long startTime = getConstantLong(attributeExpressionExecutors[1], "startTime");
+        limit = getConstantLong(attributeExpressionExecutors[2], "limit");
+        if (attributeExpressionExecutors[3].getReturnType() != Attribute.Type.STRING) {
+            throw new ExecutionPlanValidationException("throttler:counter key should be of type "
+                    + Attribute.Type.STRING + ", but found " + attributeExpressionExecutors[3].getReturnType());
+        }
+        keyExpressionExecutor = attributeExpressionExecutors[3];
+        Attribute.Type amountType = attributeExpressionExecutors[4].getReturnType();
+        if (amountType != Attribute.Type.INT && amountType != Attribute.Type.LONG) {
+            throw new ExecutionPlanValidationException("throttler:counter amount should be either int or long, " +
+                    "but found " + amountType);
+        }
+        amountExpressionExecutor = attributeExpressionExecutors[4];
+        boolean sliding = false;
+        if (attributeExpressionExecutors.length == 6) {
+            if (!(attributeExpressionExecutors[5] instanceof ConstantExpressionExecutor)
+                    || attributeExpressionExecutors[5].getReturnType() != Attribute.Type.BOOL) {
+                throw new ExecutionPlanValidationException("throttler:counter sliding should be a constant bool");
+            }
+            sliding = (Boolean) ((ConstantExpressionExecutor) attributeExpressionExecutors[5]).getValue();
+        }
+        try {
+            counter = new ThrottleWindowCounter(windowTime, startTime, sliding);
+        } catch (IllegalArgumentException e) {
+            throw new ExecutionPlanValidationException("Invalid throttler:counter window time", e);
+        }
+
+        List<Attribute> attributeList = new ArrayList<Attribute>();
+        attributeList.add(new Attribute("isThrottled", Attribute.Type.BOOL));
+        attributeList.add(new Attribute("expiryTimeStamp", Attribute.Type.LONG));
+        return attributeList;
+    }
+
+    @Override
+    protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor nextProcessor,
+                           StreamEventCloner streamEventCloner, ComplexEventPopulater complexEventPopulater) {
+
+        long currentTime = executionPlanContext.getTimestampGenerator().currentTime();
+        boolean windowEnded = false;
+        while (streamEventChunk.hasNext()) {
+            StreamEvent streamEvent = streamEventChunk.next();
+            if (streamEvent.getType() == ComplexEvent.Type.TIMER) {
+                windowEnded = true;
+                streamEventChunk.remove();
+                continue;
+            }
+            if (streamEvent.getType() != ComplexEvent.Type.CURRENT) {
+                streamEventChunk.remove();
+                continue;
+            }
+            String key = (String) keyExpressionExecutor.execute(streamEvent);
+            Object amount = amountExpressionExecutor.execute(streamEvent);
+            long value = counter.add(key, amount == null ? 0 : ((Number) amount).longValue(), currentTime);
+            long windowEnd = counter.getWindowEnd(currentTime);
+            boolean throttled = value >= limit;
+            complexEventPopulater.populateComplexEvent(streamEvent, new Object[]{throttled, windowEnd});
+            if (throttled && key != null) {
+                throttledEvents.put(key, streamEventCloner.copyStreamEvent(streamEvent));
+                scheduleAt(windowEnd);
+            }
+        }
+        if (windowEnded) {
+            addUnthrottledEvents(streamEventChunk, complexEventPopulater, currentTime);
+        }
+        if (streamEventChunk.getFirst() != null) {
+            nextProcessor.process(streamEventChunk);
+        }
+    }
+
+    /**
+     * Emits an unthrottled event for every throttled key which has fallen below the limit and drops the counters
+     * which no longer affect any decision.
+     */
+    private void addUnthrottledEvents(ComplexEventChunk<StreamEvent> streamEventChunk,
+                                      ComplexEventPopulater complexEventPopulater, long currentTime) {
+
+        long windowEnd = counter.getWindowEnd(currentTime);
+        Iterator<Map.Entry<String, StreamEvent>> iterator = throttledEvents.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, StreamEvent> entry = iterator.next();
+            if (counter.get(entry.getKey(), currentTime) >= limit) {
+                scheduleAt(windowEnd);
+                continue;
+            }
+            iterator.remove();
+            StreamEvent unthrottledEvent = entry.getValue();
+            unthrottledEvent.setNext(null);
+            unthrottledEvent.setType(ComplexEvent.Type.CURRENT);
+            unthrottledEvent.setTimestamp(currentTime);
+            complexEventPopulater.populateComplexEvent(unthrottledEvent, new Object[]{false, windowEnd});
+            streamEventChunk.add(unthrottledEvent);
+        }
+        counter.purge(currentTime);
+    }
+
+    private void scheduleAt(long time) {
+        long scheduled = scheduledTime.get();
+        while (scheduled < time) {
+            if (scheduledTime.compareAndSet(scheduled, time)) {
+                scheduler.notifyAt(time);
+                return;
+            }
+            scheduled = scheduledTime.get();
+        }
+    }
+
+    private static long getConstantLong(ExpressionExecutor expressionExecutor, String name) {
+        if (!(expressionExecutor instanceof ConstantExpressionExecutor)) {
+            throw new ExecutionPlanValidationException("throttler:counter " + name + " needs to be a constant " +
+                    "but found a dynamic attribute " + expressionExecutor.getClass().getCanonicalName());
+        }
+        Attribute.Type type = expressionExecutor.getReturnType();
+        if (type != Attribute.Type.INT && type != Attribute.Type.LONG) {
+            throw new ExecutionPlanValidationException("throttler:counter " + name + " should be either int or " +
+                    "long, but found " + type);
+        }
+        return ((Number) ((ConstantExpressionExecutor) expressionExecutor).getValue()).longValue();
+    }
+
+    @Override
+    public void start() {
+        //Do nothing
+    }
+
+    @Override
+    public void stop() {
+        //Do nothing
+    }
+
+    @Override
+    public Object[] currentState() {
+        return new Object[]{counter.snapshot(), new HashMap<String, StreamEvent>(throttledEvents)};
+    }
+
+    @Override
+    public void restoreState(Object[] state) {
+        counter.restore((Map<String, long[]>) state[0]);
+        throttledEvents.clear();
+        throttledEvents.putAll((Map<String, StreamEvent>) state[1]);
+        scheduledTime.set(-1);
+        if (!throttledEvents.isEmpty()) {
+            scheduleAt(counter.getWindowEnd(executionPlanContext.getTimestampGenerator().currentTime()));
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Keeps per throttle key request counts or bandwidth for windows aligned to a start time. Counters are spread over a
+ * fixed number of shards, each guarded by its own lock, so concurrent events of different keys rarely contend.
+ * <p/>
+ * In fixed mode the value of a key is the amount accumulated in the current window. In sliding mode the amount of the
+ * previous window is weighted by the part of it that still overlaps a window ending now, which approximates a sliding
+ * window without keeping the individual events.
+ */
+public class ThrottleWindowCounter {
+
+    private static final int SHARD_COUNT = 64;
+    private static final int WINDOW_START = 0;
+    private static final int CURRENT = 1;
+    private static final int PREVIOUS = 2;
+
+    private final long windowMillis;
+    private final long startTime;
+    private final boolean sliding;
+    private final Shard[] shards = new Shard[SHARD_COUNT];
+
+    public ThrottleWindowCounter(long windowMillis, long startTime, boolean sliding) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Window time should be positive but found " + windowMillis);
+        }
+        this.windowMillis = windowMillis;
+        this.startTime = startTime;
+        this.sliding = sliding;
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * Adds an amount to the counter of a key.
+     *
+     * @param key    throttle key
+     * @param amount amount to add, 1 for request counts or the message size for bandwidth
+     * @param now    current time in milliseconds
+     * @return value of the key after adding the amount
+     */
+    public long add(String key, long amount, long now) {
+        long windowStart = getWindowStart(now);
+        Shard shard = shardOf(key);
+        synchronized (shard) {
+            long[] slot = shard.slots.get(key);
+            if (slot == null) {
+                slot = new long[3];
+                slot[WINDOW_START] = windowStart;
+                shard.slots.put(key, slot);
+            } else {
+                roll(slot, windowStart);
+            }
+            slot[CURRENT] += amount;
+            return valueOf(slot, windowStart, now);
+        }
+    }
+
+    /**
+     * Returns the value of a key without changing it.
+     *
+     * @param key throttle key
+     * @param now current time in milliseconds
+     * @return value of the key or 0 if the key has no counter
+     */
+    public long get(String key, long now) {
+        long windowStart = getWindowStart(now);
+        Shard shard = shardOf(key);
+        synchronized (shard) {
+            long[] slot = shard.slots.get(key);
+            if (slot == null) {
+                return 0;
+            }
+            roll(slot, windowStart);
+            return valueOf(slot, windowStart, now);
+        }
+    }
+
+    /**
+     * Returns the start of the window the given time falls into.
+     *
+     * @param now current time in milliseconds
+     * @return window start time in milliseconds
+     */
+    public long getWindowStart(long now) {
+        return now - Math.floorMod(now - startTime, windowMillis);
+    }
+
+    /**
+     * Returns the end of the window the given time falls into.
+     *
+     * @param now current time in milliseconds
+     * @return window end time in milliseconds
+     */
+    public long getWindowEnd(long now) {
+        return getWindowStart(now) + windowMillis;
+    }
+
+    /**
+     * Removes counters which no longer contribute to the value of their key.
+     *
+     * @param now current time in milliseconds
+     */
+    public void purge(long now) {
+        long oldestUsefulStart = getWindowStart(now) - (sliding ? windowMillis : 0);
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                Iterator<long[]> iterator = shard.slots.values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next()[WINDOW_START] < oldestUsefulStart) {
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of all counters, used to persist the state of the counter.
+     *
+     * @return counters keyed by throttle key
+     */
+    public HashMap<String, long[]> snapshot() {
+        HashMap<String, long[]> snapshot = new HashMap<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (Map.Entry<String, long[]> entry : shard.slots.entrySet()) {
+                    snapshot.put(entry.getKey(), entry.getValue().clone());
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replaces all counters with the given ones.
+     *
+     * @param snapshot counters keyed by throttle key, as returned by {@link #snapshot()}
+     */
+    public void restore(Map<String, long[]> snapshot) {
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.slots.clear();
+            }
+        }
+        for (Map.Entry<String, long[]> entry : snapshot.entrySet()) {
+            Shard shard = shardOf(entry.getKey());
+            synchronized (shard) {
+                shard.slots.put(entry.getKey(), entry.getValue().clone());
+            }
+        }
+    }
+
+    private void roll(long[] slot, long windowStart) {
+        if (slot[WINDOW_START] == windowStart) {
+            return;
+        }
+        if (slot[WINDOW_START] == windowStart - windowMillis) {
+            slot[PREVIOUS] = slot[CURRENT];
+        } else {
+            slot[PREVIOUS] = 0;
+        }
+        slot[CURRENT] = 0;
+        slot[WINDOW_START] = windowStart;
+    }
+
+    private long valueOf(long[] slot, long windowStart, long now) {
+        if (!sliding || slot[PREVIOUS] == 0) {
+            return slot[CURRENT];
+        }
+        long remaining = windowMillis - (now - windowStart);
+        return slot[CURRENT] + (long) ((double) slot[PREVIOUS] * remaining / windowMillis);
+    }
+
+    private Shard shardOf(String key) {
+        int hash = key == null ? 0 : key.hashCode();
+        hash ^= (hash >>> 16);
+        return shards[hash & (SHARD_COUNT - 1)];
+    }
+
+    private static final class Shard {
+        private final Map<String, long[]> slots = new HashMap<>();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.siddhi.core.ExecutionPlanRuntime;
+import org.wso2.siddhi.core.SiddhiManager;
+import org.wso2.siddhi.core.event.Event;
+import org.wso2.siddhi.core.query.output.callback.QueryCallback;
+import org.wso2.siddhi.core.stream.input.InputHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ThrottleCounterStreamProcessorTestCase {
+
+    private static final String STREAM_DEFINITION = "define stream requestStream (throttleKey string, size long);";
+    private List<Event> outputEvents;
+
+    @Before
+    public void init() {
+        outputEvents = Collections.synchronizedList(new ArrayList<Event>());
+    }
+
+    @Test
+    public void testRequestCountThrottlesPerKeyAndReleasesAtWindowEnd() throws InterruptedException {
+
+        // Windows are aligned to now so that all requests of the test fall into the first window
+        long startTime = System.currentTimeMillis();
+        ExecutionPlanRuntime executionPlanRuntime = createExecutionPlanRuntime(
+                "throttler:counter(2 sec, " + startTime + "L, 3L, throttleKey, 1L)");
+        InputHandler inputHandler = executionPlanRuntime.getInputHandler("requestStream");
+        executionPlanRuntime.start();
+        try {
+            inputHandler.send(new Object[]{"app1", 10L});
+            inputHandler.send(new Object[]{"app1", 10L});
+            inputHandler.send(new Object[]{"app2", 10L});
+            inputHandler.send(new Object[]{"app1", 10L});
+            inputHandler.send(new Object[]{"app1", 10L});
+
+            Assert.assertEquals(5, outputEvents.size());
+            assertDecision(outputEvents.get(0), "app1", false, startTime + 2000);
+            assertDecision(outputEvents.get(1), "app1", false, startTime + 2000);
+            assertDecision(outputEvents.get(2), "app2", false, startTime + 2000);
+            assertDecision(outputEvents.get(3), "app1", true, startTime + 2000);
+            assertDecision(outputEvents.get(4), "app1", true, startTime + 2000);
+
+            // The window end releases the throttled key only; app2 was never throttled
+            Thread.sleep(3000);
+            Assert.assertEquals(6, outputEvents.size());
+            Assert.assertEquals("app1", outputEvents.get(5).getData()[0]);
+            Assert.assertEquals(false, outputEvents.get(5).getData()[1]);
+
+            inputHandler.send(new Object[]{"app1", 10L});
+            Assert.assertEquals(7, outputEvents.size());
+            Assert.assertEquals(false, outputEvents.get(6).getData()[1]);
+        } finally {
+            executionPlanRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void testBandwidthThrottlesOnSummedAmount() throws InterruptedException {
+
+        long startTime = System.currentTimeMillis();
+        ExecutionPlanRuntime executionPlanRuntime = createExecutionPlanRuntime(
+                "throttler:counter(1 min, " + startTime + "L, 1000L, throttleKey, size)");
+        InputHandler inputHandler = executionPlanRuntime.getInputHandler("requestStream");
+        executionPlanRuntime.start();
+        try {
+            inputHandler.send(new Object[]{"sub1", 600L});
+            inputHandler.send(new Object[]{"sub1", 300L});
+            inputHandler.send(new Object[]{"sub1", 100L});
+
+            Assert.assertEquals(3, outputEvents.size());
+            Assert.assertEquals(false, outputEvents.get(0).getData()[1]);
+            Assert.assertEquals(false, outputEvents.get(1).getData()[1]);
+            Assert.assertEquals(true, outputEvents.get(2).getData()[1]);
+        } finally {
+            executionPlanRuntime.shutdown();
+        }
+    }
+
+    private ExecutionPlanRuntime createExecutionPlanRuntime(String counter) {
+
+        String query = "@info(name = 'query1') " +
+                "from requestStream#" + counter + " " +
+                "select throttleKey, isThrottled, expiryTimeStamp " +
+                "insert into outputStream ;";
+        ExecutionPlanRuntime executionPlanRuntime =
+                new SiddhiManager().createExecutionPlanRuntime(STREAM_DEFINITION + query);
+        executionPlanRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                if (inEvents != null) {
+                    Collections.addAll(outputEvents, inEvents);
+                }
+            }
+        });
+        return executionPlanRuntime;
+    }
+
+    private static void assertDecision(Event event, String throttleKey, boolean throttled, long expiryTimeStamp) {
+        Assert.assertEquals(throttleKey, event.getData()[0]);
+        Assert.assertEquals(throttled, event.getData()[1]);
+        Assert.assertEquals(expiryTimeStamp, event.getData()[2]);
+    }
+}
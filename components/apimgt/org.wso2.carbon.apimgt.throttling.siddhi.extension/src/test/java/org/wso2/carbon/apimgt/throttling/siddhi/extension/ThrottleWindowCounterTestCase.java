@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023, WSO2 LLC (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.apimgt.throttling.siddhi.extension;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+public class ThrottleWindowCounterTestCase {
+
+    private static final long WINDOW = 60000;
+
+    @Test
+    public void testFixedWindowCountsPerKeyAndResets() {
+        ThrottleWindowCounter counter = new ThrottleWindowCounter(WINDOW, 0, false);
+        long now = 10 * WINDOW + 1000;
+
+        Assert.assertEquals(1, counter.add("key1", 1, now));
+        Assert.assertEquals(2, counter.add("key1", 1, now + 10));
+        Assert.assertEquals(1, counter.add("key2", 1, now + 20));
+        Assert.assertEquals(11 * WINDOW, counter.getWindowEnd(now));
+
+        // a new window starts from zero
+        Assert.assertEquals(0, counter.get("key1", 11 * WINDOW));
+        Assert.assertEquals(1, counter.add("key1", 1, 11 * WINDOW + 5));
+    }
+
+    @Test
+    public void testWindowsAreAlignedToStartTime() {
+        ThrottleWindowCounter counter = new ThrottleWindowCounter(WINDOW, 1000, false);
+
+        Assert.assertEquals(1000, counter.getWindowStart(1000));
+        Assert.assertEquals(1000, counter.getWindowStart(WINDOW + 999));
+        Assert.assertEquals(WINDOW + 1000, counter.getWindowEnd(WINDOW + 999));
+    }
+
+    @Test
+    public void testSlidingWindowWeighsPreviousWindow() {
+        ThrottleWindowCounter counter = new ThrottleWindowCounter(WINDOW, 0, true);
+
+        counter.add("key", 100, WINDOW / 2);
+        // a quarter into the next window three quarters of the previous window still overlap
+        Assert.assertEquals(75, counter.get("key", WINDOW + WINDOW / 4));
+        Assert.assertEquals(85, counter.add("key", 10, WINDOW + WINDOW / 4));
+        // two windows later nothing of the first window is left
+        Assert.assertEquals(0, counter.get("key", 3 * WINDOW));
+    }
+
+    @Test
+    public void testPurgeAndRestore() {
+        ThrottleWindowCounter counter = new ThrottleWindowCounter(WINDOW, 0, false);
+        counter.add("key1", 5, 0);
+        counter.add("key2", 7, WINDOW);
+
+        HashMap<String, long[]> snapshot = counter.snapshot();
+        counter.purge(WINDOW);
+        Assert.assertEquals(1, counter.snapshot().size());
+
+        counter.restore(snapshot);
+        Assert.assertEquals(5, counter.get("key1", 0));
+        Assert.assertEquals(7, counter.get("key2", WINDOW));
+    }
+}